@@ -0,0 +1,84 @@
+package com.example.cpuscheduler.benchmark;
+
+import com.example.cpuscheduler.engine.ArrayWorkload;
+import com.example.cpuscheduler.engine.Workload;
+import com.example.cpuscheduler.engine.WorkloadGenerator;
+import com.example.cpuscheduler.engine.WorkloadSpec;
+import com.example.cpuscheduler.model.CpuTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic benchmark inputs, so results are comparable between commits.
+ */
+public final class BenchmarkWorkloads {
+
+    public enum Arrivals {
+        // One task every ~5 time units with uniform jitter; the queue stays short
+        UNIFORM,
+        // Groups of 64 tasks arriving together, separated by exponential gaps
+        BURSTY,
+        // Every task is ready at t=0; the ready queue holds the whole workload
+        ALL_AT_ZERO
+    }
+
+    static final long SEED = 42L;
+
+    private BenchmarkWorkloads() {
+    }
+
+    // Shared with the workload endpoint and load tests: same spec, same tasks
+    public static WorkloadSpec spec(int taskCount, Arrivals arrivals) {
+        WorkloadSpec spec = new WorkloadSpec();
+        spec.setTaskCount(taskCount);
+        spec.setSeed(SEED);
+        switch (arrivals) {
+            case UNIFORM:
+                spec.setArrivalDistribution(WorkloadSpec.ArrivalDistribution.UNIFORM);
+                spec.setMeanInterArrival(5);
+                break;
+            case BURSTY:
+                spec.setArrivalDistribution(WorkloadSpec.ArrivalDistribution.BURSTY);
+                spec.setBatchSize(64);
+                spec.setMeanInterArrival(600.0 / 64);
+                break;
+            case ALL_AT_ZERO:
+            default:
+                spec.setArrivalDistribution(WorkloadSpec.ArrivalDistribution.ALL_AT_ZERO);
+                break;
+        }
+        spec.setBurstDistribution(WorkloadSpec.BurstDistribution.UNIFORM);
+        spec.setBurstMin(1);
+        spec.setBurstMax(20);
+        spec.setPriorityDistribution(WorkloadSpec.PriorityDistribution.UNIFORM);
+        spec.setPriorityLevels(10);
+        return spec;
+    }
+
+    static ArrayWorkload generate(int taskCount, Arrivals arrivals) {
+        return WorkloadGenerator.generate(spec(taskCount, arrivals));
+    }
+
+    static List<CpuTask> toTasks(Workload workload) {
+        List<CpuTask> tasks = new ArrayList<>(workload.size());
+        for (int i = 0; i < workload.size(); i++) {
+            CpuTask task = new CpuTask(workload.arrivalTime(i), workload.burstTime(i), workload.priority(i));
+            task.setProcessId(workload.processId(i));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    // The request body format: space-separated values
+    static String join(Workload workload, boolean arrivals) {
+        StringBuilder builder = new StringBuilder(workload.size() * 4);
+        for (int i = 0; i < workload.size(); i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(arrivals ? workload.arrivalTime(i) : workload.burstTime(i));
+        }
+        return builder.toString();
+    }
+}
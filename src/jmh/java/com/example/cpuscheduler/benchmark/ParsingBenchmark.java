@@ -0,0 +1,39 @@
+package com.example.cpuscheduler.benchmark;
+
+import com.example.cpuscheduler.engine.ArrayWorkload;
+import com.example.cpuscheduler.service.ScheduleInputParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning the posted "0 2 4" strings into primitive arrays.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ParsingBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int taskCount;
+
+    private String arrivalTimes;
+    private String burstTimes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ArrayWorkload workload = BenchmarkWorkloads.generate(taskCount, BenchmarkWorkloads.Arrivals.UNIFORM);
+        arrivalTimes = BenchmarkWorkloads.join(workload, true);
+        burstTimes = BenchmarkWorkloads.join(workload, false);
+    }
+
+    @Benchmark
+    public long[] parseArrivalTimes() {
+        return ScheduleInputParser.parseTimes(arrivalTimes);
+    }
+
+    @Benchmark
+    public long[] parseBurstTimes() {
+        return ScheduleInputParser.parseTimes(burstTimes);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.cpuscheduler.benchmark;
+
+import com.example.cpuscheduler.engine.ArrayWorkload;
+import com.example.cpuscheduler.engine.ScheduleEngine;
+import com.example.cpuscheduler.engine.ScheduleSink;
+import com.example.cpuscheduler.engine.ScheduleSummary;
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.model.CpuTask;
+import com.example.cpuscheduler.service.SchedulingAlgorithmService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class RoundRobinBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int taskCount;
+
+    @Param({"UNIFORM", "BURSTY", "ALL_AT_ZERO"})
+    public BenchmarkWorkloads.Arrivals arrivals;
+
+    // Bursts are 1..20, so quantum 1 maximises slices and 16 is close to FCFS
+    @Param({"1", "4", "16"})
+    public int quantum;
+
+    private ArrayWorkload workload;
+    private List<CpuTask> tasks;
+    private SchedulingAlgorithmService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = BenchmarkWorkloads.generate(taskCount, arrivals);
+        tasks = BenchmarkWorkloads.toTasks(workload);
+        service = new SchedulingAlgorithmService();
+    }
+
+    @Benchmark
+    public ScheduleSummary engineRr() {
+        return new ScheduleEngine(workload, ScheduleSink.NONE).run(SchedulingAlgorithm.RR, quantum);
+    }
+
+    @Benchmark
+    public Map<String, Object> serviceRr() {
+        return service.scheduleRR(tasks, quantum);
+    }
+}
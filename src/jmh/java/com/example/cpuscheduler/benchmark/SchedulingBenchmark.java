@@ -0,0 +1,71 @@
+package com.example.cpuscheduler.benchmark;
+
+import com.example.cpuscheduler.engine.ArrayWorkload;
+import com.example.cpuscheduler.engine.ScheduleEngine;
+import com.example.cpuscheduler.engine.ScheduleSink;
+import com.example.cpuscheduler.engine.ScheduleSummary;
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.model.CpuTask;
+import com.example.cpuscheduler.service.SchedulingAlgorithmService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-preemptive algorithms, both on the bare engine and through the
+ * service's response-building path. Round Robin lives in {@link RoundRobinBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SchedulingBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int taskCount;
+
+    @Param({"UNIFORM", "BURSTY", "ALL_AT_ZERO"})
+    public BenchmarkWorkloads.Arrivals arrivals;
+
+    private ArrayWorkload workload;
+    private List<CpuTask> tasks;
+    private SchedulingAlgorithmService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = BenchmarkWorkloads.generate(taskCount, arrivals);
+        tasks = BenchmarkWorkloads.toTasks(workload);
+        service = new SchedulingAlgorithmService();
+    }
+
+    @Benchmark
+    public ScheduleSummary engineFcfs() {
+        return new ScheduleEngine(workload, ScheduleSink.NONE).run(SchedulingAlgorithm.FCFS, 0);
+    }
+
+    @Benchmark
+    public ScheduleSummary engineSjf() {
+        return new ScheduleEngine(workload, ScheduleSink.NONE).run(SchedulingAlgorithm.SJF, 0);
+    }
+
+    @Benchmark
+    public ScheduleSummary enginePriority() {
+        return new ScheduleEngine(workload, ScheduleSink.NONE).run(SchedulingAlgorithm.PRIORITY, 0);
+    }
+
+    @Benchmark
+    public Map<String, Object> serviceFcfs() {
+        return service.scheduleFCFS(tasks);
+    }
+
+    @Benchmark
+    public Map<String, Object> serviceSjf() {
+        return service.scheduleSJF(tasks);
+    }
+
+    @Benchmark
+    public Map<String, Object> servicePriority() {
+        return service.schedulePriority(tasks);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.cpuscheduler.benchmark;
+
+import com.example.cpuscheduler.service.SchedulingAlgorithmService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding of a finished schedule result, as done for the HTTP
+ * response and again for the history row.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int taskCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Map<String, Object> fcfsResult;
+    private Map<String, Object> rrResult;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SchedulingAlgorithmService service = new SchedulingAlgorithmService();
+        BenchmarkWorkloads.Arrivals arrivals = BenchmarkWorkloads.Arrivals.UNIFORM;
+        fcfsResult = service.scheduleFCFS(BenchmarkWorkloads.toTasks(BenchmarkWorkloads.generate(taskCount, arrivals)));
+        rrResult = service.scheduleRR(BenchmarkWorkloads.toTasks(BenchmarkWorkloads.generate(taskCount, arrivals)), 4);
+    }
+
+    @Benchmark
+    public byte[] serializeFcfsResult() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(fcfsResult);
+    }
+
+    @Benchmark
+    public byte[] serializeRrResult() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(rrResult);
+    }
+}
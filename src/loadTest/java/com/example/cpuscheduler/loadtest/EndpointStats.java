@@ -0,0 +1,75 @@
+package com.example.cpuscheduler.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one endpoint. Recording is
+ * lock-free, so every session thread writes into the same instance.
+ */
+final class EndpointStats {
+
+    // One hour in nanoseconds at 3 significant digits
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+
+    void success(long latencyNanos) {
+        recorder.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        successes.increment();
+    }
+
+    // status 0 means the request failed before a response arrived
+    void error(int status) {
+        errors.increment();
+        errorsByStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    // Drop everything recorded so far, e.g. at the end of warmup
+    void reset() {
+        recorder.reset();
+        successes.reset();
+        errors.reset();
+        errorsByStatus.clear();
+    }
+
+    Map<String, Object> report(double elapsedSeconds) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        long ok = successes.sum();
+        long failed = errors.sum();
+        long total = ok + failed;
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p95", millis(histogram.getValueAtPercentile(95)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+        latency.put("mean", histogram.getTotalCount() == 0 ? 0.0 : histogram.getMean() / 1_000_000.0);
+
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        errorsByStatus.forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", total);
+        report.put("errors", failed);
+        report.put("errorRate", total == 0 ? 0.0 : (double) failed / total);
+        report.put("throughputPerSecond", total / elapsedSeconds);
+        report.put("latencyMs", latency);
+        report.put("errorsByStatus", statuses);
+        return report;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.cpuscheduler.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load test settings, read from {@code loadTest.*} system properties. The
+ * Gradle task forwards {@code -PloadTest.x=y} project properties unchanged.
+ */
+final class LoadTestConfig {
+
+    enum Mode {
+        // Each session sends its next request as soon as the previous one returns
+        CLOSED,
+        // Requests are issued at a fixed rate regardless of how fast the server answers
+        OPEN
+    }
+
+    final Mode mode;
+    final List<String> threads;
+    final int sessions;
+    final double rate;
+    final int warmupSeconds;
+    final int durationSeconds;
+    final List<String> algorithms;
+    final int quantum;
+    final int taskCount;
+    final int workloadPool;
+    final double historyRatio;
+    final String database;
+    final String baseUrl;
+    final String reportDir;
+
+    private LoadTestConfig() {
+        this.mode = Mode.valueOf(property("mode", "closed").toUpperCase());
+        // platform, virtual, or compare to run both back to back against fresh application contexts
+        String threadMode = property("threads", "platform");
+        this.threads = threadMode.equals("compare") ? List.of("platform", "virtual") : List.of(threadMode);
+        this.sessions = Integer.parseInt(property("sessions", "16"));
+        this.rate = Double.parseDouble(property("rate", "200"));
+        this.warmupSeconds = Integer.parseInt(property("warmupSeconds", "5"));
+        this.durationSeconds = Integer.parseInt(property("durationSeconds", "30"));
+        this.algorithms = Arrays.asList(property("algorithms", "fcfs,sjf,priority,rr").split(","));
+        this.quantum = Integer.parseInt(property("quantum", "4"));
+        this.taskCount = Integer.parseInt(property("taskCount", "20"));
+        this.workloadPool = Integer.parseInt(property("workloadPool", "64"));
+        this.historyRatio = Double.parseDouble(property("historyRatio", "0.25"));
+        this.database = property("database", "h2");
+        this.baseUrl = property("baseUrl", "");
+        this.reportDir = property("reportDir", "build/reports/loadtest");
+
+        if (sessions < 1 || durationSeconds < 1 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("sessions and durationSeconds must be positive");
+        }
+        if (mode == Mode.OPEN && !(rate > 0)) {
+            throw new IllegalArgumentException("Open-loop runs need a positive rate");
+        }
+        for (String threadsOption : threads) {
+            if (!threadsOption.equals("platform") && !threadsOption.equals("virtual")) {
+                throw new IllegalArgumentException("threads must be platform, virtual or compare");
+            }
+        }
+        if (threads.contains("virtual") && Runtime.version().feature() < 21) {
+            throw new IllegalArgumentException("Virtual threads need JDK 21, run with -Pjdk21");
+        }
+        if (!baseUrl.isEmpty() && threads.size() > 1) {
+            throw new IllegalArgumentException("threads=compare boots the application itself and cannot use baseUrl");
+        }
+        if (!database.equals("h2") && !database.equals("postgres")) {
+            throw new IllegalArgumentException("database must be h2 or postgres");
+        }
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadTest." + name, defaultValue);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.cpuscheduler.loadtest;
+
+import com.example.cpuscheduler.CpuschedulerApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entry point of {@code ./gradlew loadTest}. Boots the application in-process
+ * on a random port (against an in-memory H2 database in PostgreSQL mode unless
+ * {@code loadTest.database=postgres}), runs the configured load and writes a
+ * JSON report. Set {@code loadTest.baseUrl} to target an already running server,
+ * or {@code loadTest.threads=compare} to run on platform and virtual threads in turn.
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        Instant startedAt = Instant.now();
+        Map<String, Object> runs = new LinkedHashMap<>();
+        for (String threads : config.threads) {
+            System.out.println("Load test: " + config.mode.name().toLowerCase() + " loop, " + threads + " threads");
+            Map<String, Object> endpoints = run(config, threads, args);
+            printSummary(endpoints);
+            runs.put(threads, endpoints);
+        }
+        Path report = writeReport(config, startedAt, runs);
+        System.out.println("Load test report: " + report.toAbsolutePath());
+    }
+
+    private static Map<String, Object> run(LoadTestConfig config, String threads, String[] args) throws Exception {
+        if (!config.baseUrl.isEmpty()) {
+            return new LoadTestRunner(config, config.baseUrl).run();
+        }
+        ConfigurableApplicationContext context = boot(config, threads, args);
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            return new LoadTestRunner(config, baseUrl).run();
+        } finally {
+            SpringApplication.exit(context);
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(LoadTestConfig config, String threads, String[] args) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.threads.virtual.enabled", threads.equals("virtual"));
+        if (config.database.equals("h2")) {
+            // a fresh database per run so a comparison starts both modes from empty tables
+            properties.put("spring.datasource.url",
+                    "jdbc:h2:mem:loadtest-" + threads + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+            properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        }
+        // postgres: the SPRING_DATASOURCE_* settings from application.properties apply unchanged
+        return new SpringApplicationBuilder(CpuschedulerApplication.class)
+                .properties(properties)
+                .run(args);
+    }
+
+    private static Path writeReport(LoadTestConfig config, Instant startedAt, Map<String, Object> runs)
+            throws IOException {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("mode", config.mode.name().toLowerCase());
+        settings.put("threads", config.threads);
+        settings.put("sessions", config.sessions);
+        settings.put("rate", config.mode == LoadTestConfig.Mode.OPEN ? config.rate : null);
+        settings.put("warmupSeconds", config.warmupSeconds);
+        settings.put("durationSeconds", config.durationSeconds);
+        settings.put("algorithms", config.algorithms);
+        settings.put("quantum", config.quantum);
+        settings.put("taskCount", config.taskCount);
+        settings.put("historyRatio", config.historyRatio);
+        settings.put("database", config.baseUrl.isEmpty() ? config.database : "external");
+
+        String commit = System.getProperty("loadTest.commit", "unknown");
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commit", commit);
+        report.put("startedAt", startedAt.toString());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("config", settings);
+        report.put("runs", runs);
+        if (runs.size() > 1) {
+            report.put("comparison", compare(runs));
+        }
+
+        Path directory = Paths.get(config.reportDir);
+        Files.createDirectories(directory);
+        Path file = directory.resolve(commit + "-" + config.mode.name().toLowerCase() + "-"
+                + startedAt.getEpochSecond() + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return file;
+    }
+
+    // Virtual relative to platform per endpoint: above 1.0 throughput and below 1.0 latency favour virtual threads
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> compare(Map<String, Object> runs) {
+        Map<String, Object> platform = (Map<String, Object>) runs.get("platform");
+        Map<String, Object> virtual = (Map<String, Object>) runs.get("virtual");
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        platform.forEach((endpoint, value) -> {
+            Map<String, Object> base = (Map<String, Object>) value;
+            Map<String, Object> other = (Map<String, Object>) virtual.get(endpoint);
+            Map<String, Object> baseLatency = (Map<String, Object>) base.get("latencyMs");
+            Map<String, Object> otherLatency = (Map<String, Object>) other.get("latencyMs");
+            Map<String, Object> ratios = new LinkedHashMap<>();
+            ratios.put("throughputRatio", ratio(other.get("throughputPerSecond"), base.get("throughputPerSecond")));
+            ratios.put("p50Ratio", ratio(otherLatency.get("p50"), baseLatency.get("p50")));
+            ratios.put("p99Ratio", ratio(otherLatency.get("p99"), baseLatency.get("p99")));
+            ratios.put("errorRateDelta", (double) other.get("errorRate") - (double) base.get("errorRate"));
+            comparison.put(endpoint, ratios);
+        });
+        return comparison;
+    }
+
+    private static Double ratio(Object numerator, Object denominator) {
+        double bottom = ((Number) denominator).doubleValue();
+        return bottom == 0 ? null : ((Number) numerator).doubleValue() / bottom;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printSummary(Map<String, Object> endpoints) {
+        System.out.printf("%-45s %9s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms");
+        endpoints.forEach((endpoint, value) -> {
+            Map<String, Object> stats = (Map<String, Object>) value;
+            Map<String, Object> latency = (Map<String, Object>) stats.get("latencyMs");
+            System.out.printf("%-45s %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint, stats.get("requests"), stats.get("errors"), stats.get("throughputPerSecond"),
+                    latency.get("p50"), latency.get("p95"), latency.get("p99"), latency.get("p999"));
+        });
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.cpuscheduler.loadtest;
+
+import com.example.cpuscheduler.engine.WorkloadSpec;
+import com.example.cpuscheduler.service.WorkloadGeneratorService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the schedule and history endpoints over real HTTP.
+ *
+ * <p>Closed loop: {@code sessions} threads each send a request, wait for the
+ * answer and immediately send the next. Open loop: requests are issued on a
+ * fixed schedule of {@code rate} per second and latency is measured from the
+ * intended send time, so a stalled server shows up as queueing delay instead
+ * of silently lowering the offered load.
+ */
+final class LoadTestRunner {
+
+    static final String HISTORY_ENDPOINT = "GET /api/simulation-history";
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Map<String, Object>> workloads = new ArrayList<>();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    LoadTestRunner(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        // Pre-generate a pool of seeded workloads so generation stays out of the measured loop
+        WorkloadGeneratorService generator = new WorkloadGeneratorService(config.taskCount, config.taskCount);
+        for (int i = 0; i < config.workloadPool; i++) {
+            WorkloadSpec spec = new WorkloadSpec();
+            spec.setTaskCount(config.taskCount);
+            spec.setSeed(i + 1);
+            workloads.add(generator.toScheduleRequest(spec));
+        }
+        for (String algorithm : config.algorithms) {
+            stats.put(scheduleEndpoint(algorithm), new EndpointStats());
+        }
+        stats.put(HISTORY_ENDPOINT, new EndpointStats());
+    }
+
+    // Returns the per-endpoint results of the measured window
+    Map<String, Object> run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+
+        Thread warmupReset = new Thread(() -> {
+            LockSupport.parkNanos(measureFrom - System.nanoTime());
+            stats.values().forEach(EndpointStats::reset);
+        }, "loadtest-warmup");
+        warmupReset.start();
+
+        if (config.mode == LoadTestConfig.Mode.CLOSED) {
+            runClosed(end);
+        } else {
+            runOpen(start, end);
+        }
+        warmupReset.join();
+
+        double elapsedSeconds = config.durationSeconds;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> endpoints.put(endpoint, endpointStats.report(elapsedSeconds)));
+        return endpoints;
+    }
+
+    private void runClosed(long end) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int session = 0; session < config.sessions; session++) {
+            int sessionIndex = session;
+            Thread thread = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(sessionIndex);
+                while (System.nanoTime() < end) {
+                    iteration(sessionIndex, random, System.nanoTime());
+                }
+            }, "loadtest-session-" + session);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private void runOpen(long start, long end) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(config.sessions);
+        SplittableRandom seeds = new SplittableRandom(0);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / config.rate);
+        long intended = start;
+        for (long sent = 0; intended < end; sent++) {
+            long delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            int session = (int) (sent % config.sessions);
+            SplittableRandom random = seeds.split();
+            long intendedStart = intended;
+            workers.execute(() -> iteration(session, random, intendedStart));
+            intended = start + (sent + 1) * interval;
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(2, TimeUnit.MINUTES)) {
+            workers.shutdownNow();
+        }
+    }
+
+    // One user action: schedule a workload and sometimes reload the history list
+    private void iteration(int session, SplittableRandom random, long intendedStart) {
+        String sessionId = "loadtest-" + session;
+        String algorithm = config.algorithms.get(random.nextInt(config.algorithms.size()));
+        Map<String, Object> body = new LinkedHashMap<>(workloads.get(random.nextInt(workloads.size())));
+        body.put("sessionId", sessionId);
+        body.put("quantum", String.valueOf(config.quantum));
+
+        HttpRequest schedule;
+        try {
+            schedule = HttpRequest.newBuilder(URI.create(baseUrl + "/api/cpu-tasks/schedule/" + algorithm))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not encode request body", e);
+        }
+        send(stats.get(scheduleEndpoint(algorithm)), schedule, intendedStart);
+
+        if (random.nextDouble() < config.historyRatio) {
+            HttpRequest history = HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/api/simulation-history?sessionId=" + sessionId))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            send(stats.get(HISTORY_ENDPOINT), history, System.nanoTime());
+        }
+    }
+
+    private void send(EndpointStats endpointStats, HttpRequest request, long startNanos) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() < 400) {
+                endpointStats.success(System.nanoTime() - startNanos);
+            } else {
+                endpointStats.error(response.statusCode());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            endpointStats.error(0);
+        } catch (Exception e) {
+            endpointStats.error(0);
+        }
+    }
+
+    private static String scheduleEndpoint(String algorithm) {
+        return "POST /api/cpu-tasks/schedule/" + algorithm;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.cpuscheduler;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * With scheduler.history.store=file nothing uses the database, so the
+ * datasource, Hibernate and the JPA repositories are left out and the app
+ * starts without the remote database being reachable or configured.
+ * Registered in META-INF/spring.factories; it runs after the application
+ * properties are loaded, so the store can be chosen in any of them.
+ */
+public class FileHistoryStoreEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String EXCLUDE_PROPERTY = "spring.autoconfigure.exclude";
+
+    static final List<String> DATABASE_AUTO_CONFIGURATIONS = List.of(
+            DataSourceAutoConfiguration.class.getName(),
+            DataSourceTransactionManagerAutoConfiguration.class.getName(),
+            HibernateJpaAutoConfiguration.class.getName(),
+            JpaRepositoriesAutoConfiguration.class.getName());
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!"file".equals(environment.getProperty("scheduler.history.store"))) {
+            return;
+        }
+        // Keep whatever was already excluded
+        Set<String> excluded = new LinkedHashSet<>();
+        for (String name : environment.getProperty(EXCLUDE_PROPERTY, "").split(",")) {
+            if (!name.isBlank()) {
+                excluded.add(name.trim());
+            }
+        }
+        excluded.addAll(DATABASE_AUTO_CONFIGURATIONS);
+        environment.getPropertySources().addFirst(new MapPropertySource("fileHistoryStore",
+                Map.of(EXCLUDE_PROPERTY, String.join(",", excluded))));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.cpuscheduler.controller;
+
+import com.example.cpuscheduler.service.BatchSimulationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cpu-tasks/batch")
+public class BatchSimulationController {
+
+    private final BatchSimulationService batchSimulationService;
+
+    @Autowired
+    public BatchSimulationController(BatchSimulationService batchSimulationService) {
+        this.batchSimulationService = batchSimulationService;
+    }
+
+    // Each entry is a schedule request plus an "algorithm" field; results stream back in the same order
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> scheduleBatch(@RequestBody List<Map<String, String>> entries) {
+        batchSimulationService.validate(entries);
+        StreamingResponseBody body = out -> batchSimulationService.run(entries, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badBatch(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
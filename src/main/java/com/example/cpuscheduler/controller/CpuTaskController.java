@@ -1,10 +1,11 @@
 package com.example.cpuscheduler.controller;
 
-import com.example.cpuscheduler.model.*;
-import com.example.cpuscheduler.service.CpuTaskService;
-import com.example.cpuscheduler.service.SchedulingAlgorithmService;
-import com.example.cpuscheduler.service.SimulationHistoryService;
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.service.PackedScheduleCodec;
+import com.example.cpuscheduler.service.SimulationPipeline;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,17 +15,11 @@ import java.util.*;
 @RequestMapping("/api/cpu-tasks")
 public class CpuTaskController {
 
-    private final CpuTaskService cpuTaskService;
-    private final SchedulingAlgorithmService schedulingAlgorithmService;
-    private final SimulationHistoryService simulationHistoryService;
+    private final SimulationPipeline simulationPipeline;
 
     @Autowired
-    public CpuTaskController(CpuTaskService cpuTaskService,
-                             SchedulingAlgorithmService schedulingAlgorithmService,
-                             SimulationHistoryService simulationHistoryService) {
-        this.cpuTaskService = cpuTaskService;
-        this.schedulingAlgorithmService = schedulingAlgorithmService;
-        this.simulationHistoryService = simulationHistoryService;
+    public CpuTaskController(SimulationPipeline simulationPipeline) {
+        this.simulationPipeline = simulationPipeline;
     }
 
     // Test endpoint to verify backend is working
@@ -46,69 +41,39 @@ public class CpuTaskController {
         return ResponseEntity.ok(response);
     }
 
+    // JSON by default; programmatic clients can ask for CBOR or the packed columnar format instead
     @PostMapping("/schedule/{algorithm}")
-    public Map<String, Object> scheduleCpuTasks(
+    public ResponseEntity<?> scheduleCpuTasks(
             @PathVariable String algorithm,
-            @RequestBody Map<String, String> data) {
-
-        String arrivalTimesStr = data.get("arrivalTimes");
-        String burstTimesStr = data.get("burstTimes");
-
-        int[] arrivalTimes = Arrays.stream(arrivalTimesStr.split(" ")).mapToInt(Integer::parseInt).toArray();
-        int[] burstTimes = Arrays.stream(burstTimesStr.split(" ")).mapToInt(Integer::parseInt).toArray();
-
-        List<CpuTask> tasks = new ArrayList<>();
-        for (int i = 0; i < arrivalTimes.length; i++) {
-            CpuTask task = new CpuTask(arrivalTimes[i], burstTimes[i]);
-            task.setProcessId(i + 1);
-
-            if (algorithm.equals("priority")) {
-                String prioritiesStr = data.get("priorities");
-                int[] priorities = Arrays.stream(prioritiesStr.split(" ")).mapToInt(Integer::parseInt).toArray();
-                task.setPriority(priorities[i]);
-            }
-
-            CpuTask savedTask = cpuTaskService.addTask(task);
-            tasks.add(savedTask);
-        }
-
-        Map<String, Object> serviceResult;
-        switch (algorithm) {
-            case "fcfs":
-                serviceResult = schedulingAlgorithmService.scheduleFCFS(tasks);
-                break;
-            case "sjf":
-                serviceResult = schedulingAlgorithmService.scheduleSJF(tasks);
-                break;
-            case "priority":
-                serviceResult = schedulingAlgorithmService.schedulePriority(tasks);
-                break;
-            case "rr":
-                int quantum = Integer.parseInt(data.get("quantum"));
-                serviceResult = schedulingAlgorithmService.scheduleRR(tasks, quantum);
-                break;
+            @RequestBody Map<String, String> data,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        // Reject unknown algorithms before they become metric tags
+        SchedulingAlgorithm schedulingAlgorithm = SchedulingAlgorithm.fromPath(algorithm);
+        switch (ResponseFormat.fromAccept(accept)) {
+            case CBOR:
+                // CBOR cannot embed the pre-serialized JSON, so it gets the result itself
+                return ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .body(simulationPipeline.runUnserialized(schedulingAlgorithm, data));
+            case PACKED:
+                // Downsampled bins have no packed form; refuse before simulating
+                if (data.get("resolution") != null) {
+                    return ResponseEntity.badRequest()
+                            .body(Map.of("error", "Packed format needs the full Gantt chart; omit resolution"));
+                }
+                Map<String, Object> result = simulationPipeline.runUnserialized(schedulingAlgorithm, data);
+                return ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(PackedScheduleCodec.MEDIA_TYPE))
+                        .body(PackedScheduleCodec.encode(result));
             default:
-                throw new UnsupportedOperationException("Unsupported scheduling algorithm");
-        }
-
-        // SAVE SIMULATION HISTORY with session ID
-        try {
-            simulationHistoryService.saveSimulationHistory(
-                    algorithm,
-                    arrivalTimesStr,
-                    burstTimesStr,
-                    data.get("priorities"),
-                    algorithm.equals("rr") ? Integer.parseInt(data.get("quantum")) : null,
-                    (Double) serviceResult.get("averageTAT"),
-                    (Double) serviceResult.get("averageWT"),
-                    serviceResult.get("ganttChart"),
-                    serviceResult.get("scheduledTasks"),
-                    data.get("sessionId") // Add session ID
-            );
-        } catch (Exception e) {
-            System.err.println("Failed to save simulation history: " + e.getMessage());
+                return ResponseEntity.ok(simulationPipeline.run(schedulingAlgorithm, data));
         }
+    }
 
-        return serviceResult;
+    // Unknown algorithms, missing fields, malformed numbers and mismatched list lengths are the client's to fix
+    @ExceptionHandler({IllegalArgumentException.class, UnsupportedOperationException.class})
+    public ResponseEntity<Map<String, String>> badRequest(RuntimeException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
     }
-}
\ No newline at end of file
+}
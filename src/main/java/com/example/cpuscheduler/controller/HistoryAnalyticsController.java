@@ -0,0 +1,46 @@
+package com.example.cpuscheduler.controller;
+
+import com.example.cpuscheduler.model.AlgorithmStats;
+import com.example.cpuscheduler.model.AlgorithmTrend;
+import com.example.cpuscheduler.service.HistoryAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// Aggregates for dashboards; without a sessionId they cover every session
+@RestController
+@RequestMapping("/api/simulation-history/analytics")
+public class HistoryAnalyticsController {
+
+    private final HistoryAnalyticsService historyAnalyticsService;
+
+    @Autowired
+    public HistoryAnalyticsController(HistoryAnalyticsService historyAnalyticsService) {
+        this.historyAnalyticsService = historyAnalyticsService;
+    }
+
+    // Runs and averageWT/averageTAT mean, minimum and maximum per algorithm
+    @GetMapping("/algorithms")
+    public ResponseEntity<List<AlgorithmStats>> getAlgorithmStats(@RequestParam(required = false) String sessionId) {
+        return ResponseEntity.ok(historyAnalyticsService.getAlgorithmStats(sessionId));
+    }
+
+    // Runs and mean averageWT/averageTAT per day and algorithm, from and to inclusive
+    @GetMapping("/trends")
+    public ResponseEntity<List<AlgorithmTrend>> getDailyTrends(
+            @RequestParam(required = false) String sessionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(historyAnalyticsService.getDailyTrends(sessionId, from, to));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badRange(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
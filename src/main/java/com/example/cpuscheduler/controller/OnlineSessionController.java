@@ -0,0 +1,78 @@
+package com.example.cpuscheduler.controller;
+
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.service.OnlineSessionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/online-sessions")
+public class OnlineSessionController {
+
+    private final OnlineSessionService onlineSessionService;
+
+    @Autowired
+    public OnlineSessionController(OnlineSessionService onlineSessionService) {
+        this.onlineSessionService = onlineSessionService;
+    }
+
+    // Open a session; the body names the algorithm and, for Round Robin, the quantum
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> createSession(@RequestBody Map<String, String> data) {
+        SchedulingAlgorithm algorithm = SchedulingAlgorithm.fromPath(data.get("algorithm"));
+        String quantum = data.get("quantum");
+        Map<String, Object> session = onlineSessionService.create(algorithm,
+                quantum == null || quantum.isBlank() ? 0 : Integer.parseInt(quantum.trim()));
+        return ResponseEntity.created(URI.create("/api/online-sessions/" + session.get("sessionId")))
+                .body(session);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> getSession(@PathVariable String id) {
+        return ResponseEntity.of(onlineSessionService.get(id));
+    }
+
+    // Append arriving tasks, same fields as the schedule endpoints; arrivals must not be before the clock
+    @PostMapping("/{id}/tasks")
+    public ResponseEntity<Map<String, Object>> appendTasks(@PathVariable String id,
+                                                           @RequestBody Map<String, String> data) {
+        return ResponseEntity.of(onlineSessionService.appendTasks(id, data));
+    }
+
+    // Move the session clock to the given time
+    @PostMapping("/{id}/advance")
+    public ResponseEntity<Map<String, Object>> advance(@PathVariable String id, @RequestParam("to") long time) {
+        return ResponseEntity.of(onlineSessionService.advance(id, time));
+    }
+
+    // Run every appended task to completion
+    @PostMapping("/{id}/drain")
+    public ResponseEntity<Map<String, Object>> drain(@PathVariable String id) {
+        return ResponseEntity.of(onlineSessionService.drain(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSession(@PathVariable String id) {
+        return onlineSessionService.delete(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> tooManySessions(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, UnsupportedOperationException.class})
+    public ResponseEntity<Map<String, String>> badRequest(RuntimeException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.cpuscheduler.controller;
+
+import com.example.cpuscheduler.service.PackedScheduleCodec;
+import org.springframework.http.MediaType;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Result encodings a client can ask for in its Accept header. Binary formats
+ * must be named explicitly, so browsers sending wildcards keep getting JSON.
+ */
+public enum ResponseFormat {
+    JSON(MediaType.APPLICATION_JSON_VALUE),
+    CBOR(MediaType.APPLICATION_CBOR_VALUE),
+    PACKED(PackedScheduleCodec.MEDIA_TYPE);
+
+    private final String mediaType;
+
+    ResponseFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    // The first supported type the header lists; JSON when there is none
+    public static ResponseFormat fromAccept(String accept) {
+        return fromAccept(accept, EnumSet.allOf(ResponseFormat.class)).orElse(JSON);
+    }
+
+    // The first of the given formats the header lists. JSON when there is no header or it
+    // allows any type; empty when the client only accepts types outside the given formats.
+    public static Optional<ResponseFormat> fromAccept(String accept, Set<ResponseFormat> supported) {
+        if (accept == null || accept.isBlank()) {
+            return Optional.of(JSON);
+        }
+        boolean wildcard = false;
+        for (String range : accept.split(",")) {
+            String type = range.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            for (ResponseFormat format : supported) {
+                if (format.mediaType.equals(type)) {
+                    return Optional.of(format);
+                }
+            }
+            wildcard |= type.equals("*/*") || type.equals("application/*");
+        }
+        return wildcard && supported.contains(JSON) ? Optional.of(JSON) : Optional.empty();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.cpuscheduler.controller;
+
+import com.example.cpuscheduler.engine.SimulationAbortedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Turns simulations stopped by their compute budget into a structured 422
+ * response, whichever endpoint started them.
+ */
+@RestControllerAdvice
+public class SimulationErrorAdvice {
+
+    @ExceptionHandler(SimulationAbortedException.class)
+    public ResponseEntity<Map<String, Object>> simulationAborted(SimulationAbortedException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", "simulation_aborted");
+        body.put("reason", e.getReason().name());
+        body.put("message", e.getMessage());
+        if (e.getLimit() > 0) {
+            body.put("limit", e.getLimit());
+        }
+        body.put("simulatedTime", e.getSimulatedTime());
+        body.put("eventsProcessed", e.getEventsProcessed());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(body);
+    }
+}
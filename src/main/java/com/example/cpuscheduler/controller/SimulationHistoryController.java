@@ -1,18 +1,36 @@
 package com.example.cpuscheduler.controller;
 
 import com.example.cpuscheduler.model.SimulationHistory;
+import com.example.cpuscheduler.model.SimulationHistoryPage;
+import com.example.cpuscheduler.repository.HistoryPageQuery;
+import com.example.cpuscheduler.service.PackedScheduleCodec;
 import com.example.cpuscheduler.service.SimulationHistoryService;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/simulation-history")
 public class SimulationHistoryController {
 
+    // The list endpoints go through message converters, which have no writer for the packed format
+    private static final Set<ResponseFormat> LIST_FORMATS = EnumSet.of(ResponseFormat.JSON, ResponseFormat.CBOR);
+
     private final SimulationHistoryService simulationHistoryService;
 
     @Autowired
@@ -22,28 +40,77 @@ public class SimulationHistoryController {
 
     // Get all simulation history for a specific session
     @GetMapping
-    public List<SimulationHistory> getAllSimulationHistory(@RequestParam String sessionId) {
-        return simulationHistoryService.getAllSimulationHistory(sessionId);
+    public ResponseEntity<List<SimulationHistory>> getAllSimulationHistory(
+            @RequestParam String sessionId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return conditional(sessionId, "all", accept, ifNoneMatch,
+                () -> simulationHistoryService.getAllSimulationHistory(sessionId));
     }
 
-    // Get simulation history by ID
+    // Get simulation history by ID; CBOR is negotiated as usual, the packed format is built from the stored JSON
     @GetMapping("/{id}")
-    public ResponseEntity<SimulationHistory> getSimulationHistoryById(@PathVariable Long id) {
+    public ResponseEntity<?> getSimulationHistoryById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         Optional<SimulationHistory> history = simulationHistoryService.getSimulationHistoryById(id);
-        return history.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        if (history.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (ResponseFormat.fromAccept(accept) != ResponseFormat.PACKED) {
+            return ResponseEntity.ok(history.get());
+        }
+        SimulationHistory entry = history.get();
+        try {
+            JsonNode results = (JsonNode) simulationHistoryService.parseJsonString(entry.getResults(), JsonNode.class);
+            JsonNode ganttChart =
+                    (JsonNode) simulationHistoryService.parseJsonString(entry.getGanttChart(), JsonNode.class);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(PackedScheduleCodec.MEDIA_TYPE))
+                    .body(PackedScheduleCodec.encode(results, ganttChart, entry.getAverageTAT(), entry.getAverageWT()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     // Get simulation history by algorithm and session
     @GetMapping("/algorithm/{algorithm}")
-    public List<SimulationHistory> getSimulationHistoryByAlgorithm(@PathVariable String algorithm, @RequestParam String sessionId) {
-        return simulationHistoryService.getSimulationHistoryByAlgorithm(algorithm, sessionId);
+    public ResponseEntity<List<SimulationHistory>> getSimulationHistoryByAlgorithm(
+            @PathVariable String algorithm,
+            @RequestParam String sessionId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return conditional(sessionId, "algorithm:" + algorithm, accept, ifNoneMatch,
+                () -> simulationHistoryService.getSimulationHistoryByAlgorithm(algorithm, sessionId));
     }
 
     // Get most recent N simulations for a specific session
     @GetMapping("/recent/{limit}")
-    public List<SimulationHistory> getRecentSimulations(@PathVariable int limit, @RequestParam String sessionId) {
-        return simulationHistoryService.getRecentSimulations(limit, sessionId);
+    public ResponseEntity<List<SimulationHistory>> getRecentSimulations(
+            @PathVariable int limit,
+            @RequestParam String sessionId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return conditional(sessionId, "recent:" + limit, accept, ifNoneMatch,
+                () -> simulationHistoryService.getRecentSimulations(limit, sessionId));
+    }
+
+    // Page through a session's history newest first, optionally filtered; follow nextCursor for the next page
+    @GetMapping("/page")
+    public ResponseEntity<SimulationHistoryPage> getSimulationHistoryPage(
+            @RequestParam String sessionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String algorithm,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Double minAverageWT,
+            @RequestParam(required = false) Double maxAverageWT,
+            @RequestParam(required = false) Double minAverageTAT,
+            @RequestParam(required = false) Double maxAverageTAT) {
+        HistoryPageQuery query = HistoryPageQuery.first(sessionId, algorithm, from, to,
+                minAverageWT, maxAverageWT, minAverageTAT, maxAverageTAT, limit);
+        return ResponseEntity.ok(simulationHistoryService.getSimulationHistoryPage(query, cursor));
     }
 
     // Delete simulation history by ID
@@ -59,4 +126,54 @@ public class SimulationHistoryController {
         simulationHistoryService.deleteAllSimulationHistory(sessionId);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badQuery(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    // Answer 304 from the session's history version alone when the client's copy is current;
+    // otherwise load the list and tag it. no-cache makes browsers revalidate on every fetch.
+    // A client accepting none of the list formats gets 406 before any tag is computed.
+    private <T> ResponseEntity<T> conditional(String sessionId, String view, String accept, String ifNoneMatch,
+                                              Supplier<T> body) {
+        Optional<ResponseFormat> format = ResponseFormat.fromAccept(accept, LIST_FORMATS);
+        if (format.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        String tag = format.get().name().toLowerCase(Locale.ROOT);
+        String etag = simulationHistoryService.historyETag(sessionId, view + ":" + tag);
+        if (matchesETag(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        // Pin the negotiated type so the body is always in the format the tag names
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.get().mediaType()))
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(body.get());
+    }
+
+    // If-None-Match uses weak comparison: tags match on their opaque part, weak or not
+    static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = stripWeak(candidate.trim());
+            if (tag.equals("*") || tag.equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.cpuscheduler.controller;
+
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.model.CpuTask;
+import com.example.cpuscheduler.service.ScheduleInputParser;
+import com.example.cpuscheduler.service.SimulationJob;
+import com.example.cpuscheduler.service.SimulationJobService;
+import com.example.cpuscheduler.service.SimulationPipeline;
+import com.example.cpuscheduler.service.SimulationProgressPublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/cpu-tasks/jobs")
+public class SimulationJobController {
+
+    private final SimulationPipeline simulationPipeline;
+    private final SimulationJobService simulationJobService;
+    private final SimulationProgressPublisher progressPublisher;
+
+    @Autowired
+    public SimulationJobController(SimulationPipeline simulationPipeline,
+                                   SimulationJobService simulationJobService,
+                                   SimulationProgressPublisher progressPublisher) {
+        this.simulationPipeline = simulationPipeline;
+        this.simulationJobService = simulationJobService;
+        this.progressPublisher = progressPublisher;
+    }
+
+    // Submit a simulation; the body is the schedule request plus an "algorithm" field
+    @PostMapping
+    public ResponseEntity<SimulationJob> submitJob(@RequestBody Map<String, String> data) {
+        SchedulingAlgorithm algorithm = SchedulingAlgorithm.fromPath(data.get("algorithm"));
+        // Validate and parse up front so bad input is a 400 now rather than a failed job later
+        ScheduleInputParser.requireFields(algorithm, data);
+        List<CpuTask> tasks = simulationPipeline.parse(algorithm, data);
+
+        SimulationJob job = simulationJobService.submit(algorithm, tasks, data);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/cpu-tasks/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    // Job status
+    @GetMapping("/{id}")
+    public ResponseEntity<SimulationJob> getJob(@PathVariable String id) {
+        return simulationJobService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Live progress as Server-Sent Events: "status", then throttled "progress" events, then a final "status"
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamJobProgress(@PathVariable String id) {
+        return simulationJobService.getJob(id)
+                .map(job -> ResponseEntity.ok(progressPublisher.subscribe(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Scheduler state at instant t of a job submitted with "timeline": "true"; lists up to limit ready tasks
+    @GetMapping("/{id}/state")
+    public ResponseEntity<Map<String, Object>> getJobState(@PathVariable String id, @RequestParam("t") long time,
+                                                           @RequestParam(value = "limit", defaultValue = "100")
+                                                           int limit) {
+        return ResponseEntity.of(simulationJobService.stateAt(id, time, limit));
+    }
+
+    // Zoom into a succeeded job's chart: segments overlapping [from, to], optionally only those of process pid,
+    // or with resolution=N the window summarized into at most N bins
+    @GetMapping("/{id}/gantt")
+    public ResponseEntity<Map<String, Object>> getJobGanttRange(@PathVariable String id,
+                                                                @RequestParam("from") long from,
+                                                                @RequestParam("to") long to,
+                                                                @RequestParam(value = "pid", required = false)
+                                                                Integer processId,
+                                                                @RequestParam(value = "limit", defaultValue = "10000")
+                                                                int limit,
+                                                                @RequestParam(value = "resolution",
+                                                                        defaultValue = "0") int resolution) {
+        return ResponseEntity.of(simulationJobService.ganttRange(id, from, to, processId, limit, resolution));
+    }
+
+    // Result of a succeeded job; 202 with the status while it is still queued or running
+    @GetMapping("/{id}/result")
+    public ResponseEntity<Object> getJobResult(@PathVariable String id) {
+        Optional<SimulationJob> found = simulationJobService.getJob(id);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        SimulationJob job = found.get();
+        switch (job.getStatus()) {
+            case SUCCEEDED:
+                return ResponseEntity.ok(job.getResult());
+            case QUEUED:
+            case RUNNING:
+                return ResponseEntity.accepted().body(job);
+            default:
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(job);
+        }
+    }
+
+    // Cancel a queued or running job
+    @DeleteMapping("/{id}")
+    public ResponseEntity<SimulationJob> cancelJob(@PathVariable String id) {
+        return simulationJobService.cancel(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> queueFull(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("error", "Simulation queue is full, retry later"));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> conflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, UnsupportedOperationException.class})
+    public ResponseEntity<Map<String, String>> badRequest(RuntimeException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.cpuscheduler.controller;
+
+import com.example.cpuscheduler.engine.WorkloadSpec;
+import com.example.cpuscheduler.service.WorkloadGeneratorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/workloads")
+public class WorkloadController {
+
+    private final WorkloadGeneratorService workloadGeneratorService;
+
+    @Autowired
+    public WorkloadController(WorkloadGeneratorService workloadGeneratorService) {
+        this.workloadGeneratorService = workloadGeneratorService;
+    }
+
+    // Generate a seeded workload; spec fields bind from query parameters
+    @GetMapping("/generate")
+    public ResponseEntity<Map<String, Object>> generate(WorkloadSpec spec) {
+        return ResponseEntity.ok(workloadGeneratorService.toScheduleRequest(spec));
+    }
+
+    // Stream a seeded workload as CSV without materializing it
+    @GetMapping(value = "/generate.csv", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> generateCsv(WorkloadSpec spec) {
+        workloadGeneratorService.validate(spec);
+        StreamingResponseBody body = out -> workloadGeneratorService.writeCsv(spec, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"workload-" + spec.getSeed() + ".csv\"")
+                .body(body);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badSpec(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
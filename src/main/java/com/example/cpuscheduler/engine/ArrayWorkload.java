@@ -0,0 +1,105 @@
+package com.example.cpuscheduler.engine;
+
+/**
+ * Heap-resident workload backed by parallel primitive arrays.
+ */
+public final class ArrayWorkload implements Workload {
+
+    private final int[] processIds;
+    private final long[] arrivalTimes;
+    private final long[] burstTimes;
+    private final int[] priorities;
+
+    // Arrays must already be sorted by arrival time; they are not copied
+    public ArrayWorkload(int[] processIds, long[] arrivalTimes, long[] burstTimes, int[] priorities) {
+        int n = arrivalTimes.length;
+        if (processIds.length != n || burstTimes.length != n || (priorities != null && priorities.length != n)) {
+            throw new IllegalArgumentException("Workload columns must all have the same length");
+        }
+        if (!isSorted(arrivalTimes)) {
+            throw new IllegalArgumentException("Workload must be sorted by arrival time");
+        }
+        this.processIds = processIds;
+        this.arrivalTimes = arrivalTimes;
+        this.burstTimes = burstTimes;
+        this.priorities = priorities != null ? priorities : new int[n];
+    }
+
+    /**
+     * Builds a workload from columns in submission order, assigning process ids 1..n
+     * and stably sorting by arrival time so equal arrivals keep their submission order.
+     */
+    public static ArrayWorkload sortedByArrival(long[] arrivalTimes, long[] burstTimes, int[] priorities) {
+        int n = arrivalTimes.length;
+        if (burstTimes.length != n || (priorities != null && priorities.length != n)) {
+            throw new IllegalArgumentException("Workload columns must all have the same length");
+        }
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        if (!isSorted(arrivalTimes)) {
+            mergeSort(order, new int[n], 0, n, arrivalTimes);
+        }
+
+        int[] sortedIds = new int[n];
+        long[] sortedArrivals = new long[n];
+        long[] sortedBursts = new long[n];
+        int[] sortedPriorities = new int[n];
+        for (int i = 0; i < n; i++) {
+            int source = order[i];
+            sortedIds[i] = source + 1;
+            sortedArrivals[i] = arrivalTimes[source];
+            sortedBursts[i] = burstTimes[source];
+            sortedPriorities[i] = priorities != null ? priorities[source] : 0;
+        }
+        return new ArrayWorkload(sortedIds, sortedArrivals, sortedBursts, sortedPriorities);
+    }
+
+    private static boolean isSorted(long[] times) {
+        for (int i = 1; i < times.length; i++) {
+            if (times[i] < times[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Stable top-down merge sort of submission indices by arrival time
+    private static void mergeSort(int[] order, int[] scratch, int from, int to, long[] keys) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(order, scratch, from, mid, keys);
+        mergeSort(order, scratch, mid, to, keys);
+        if (keys[order[mid - 1]] <= keys[order[mid]]) {
+            return;
+        }
+        System.arraycopy(order, from, scratch, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && keys[scratch[left]] <= keys[scratch[right]])) {
+                order[i] = scratch[left++];
+            } else {
+                order[i] = scratch[right++];
+            }
+        }
+    }
+
+    @Override
+    public int size() { return arrivalTimes.length; }
+
+    @Override
+    public int processId(int index) { return processIds[index]; }
+
+    @Override
+    public long arrivalTime(int index) { return arrivalTimes[index]; }
+
+    @Override
+    public long burstTime(int index) { return burstTimes[index]; }
+
+    @Override
+    public int priority(int index) { return priorities[index]; }
+}
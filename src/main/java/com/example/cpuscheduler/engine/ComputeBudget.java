@@ -0,0 +1,82 @@
+package com.example.cpuscheduler.engine;
+
+import java.time.Duration;
+
+/**
+ * Upper bounds on the work one simulation may do, checked cooperatively by
+ * {@link ScheduleEngine}. Events are Gantt segments plus task completions; the
+ * wall-clock deadline and cancellation are polled every few thousand events so
+ * the checks stay off the per-event cost.
+ */
+public final class ComputeBudget {
+
+    private final int maxTasks;
+    private final long maxEvents;
+    private final long maxSegments;
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+
+    private ComputeBudget(int maxTasks, long maxEvents, long maxSegments, Duration timeout) {
+        this.maxTasks = maxTasks;
+        this.maxEvents = maxEvents;
+        this.maxSegments = maxSegments;
+        this.hasDeadline = timeout != null;
+        this.deadlineNanos = hasDeadline ? System.nanoTime() + timeout.toNanos() : 0L;
+    }
+
+    // Budget whose deadline starts now; a null timeout means no deadline
+    public static ComputeBudget of(int maxTasks, long maxEvents, long maxSegments, Duration timeout) {
+        if (maxTasks < 0 || maxEvents < 0 || maxSegments < 0) {
+            throw new IllegalArgumentException("Budget limits must not be negative");
+        }
+        return new ComputeBudget(maxTasks, maxEvents, maxSegments, timeout);
+    }
+
+    public static ComputeBudget unlimited() {
+        return new ComputeBudget(Integer.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, null);
+    }
+
+    // Ask a running simulation to stop at its next checkpoint
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public void checkTasks(int taskCount) {
+        if (taskCount > maxTasks) {
+            throw new SimulationAbortedException(SimulationAbortedException.Reason.TASK_LIMIT, maxTasks, 0L, 0L);
+        }
+    }
+
+    void checkEvents(long events, long simulatedTime) {
+        if (events > maxEvents) {
+            throw new SimulationAbortedException(SimulationAbortedException.Reason.EVENT_LIMIT,
+                    maxEvents, simulatedTime, events);
+        }
+    }
+
+    void checkSegments(long segments, long simulatedTime, long events) {
+        if (segments > maxSegments) {
+            throw new SimulationAbortedException(SimulationAbortedException.Reason.SEGMENT_LIMIT,
+                    maxSegments, simulatedTime, events);
+        }
+    }
+
+    // Deadline and cancellation, including interruption of the running thread
+    void checkpoint(long simulatedTime, long events) {
+        if (cancelled || Thread.currentThread().isInterrupted()) {
+            throw new SimulationAbortedException(SimulationAbortedException.Reason.CANCELLED, 0L, simulatedTime, events);
+        }
+        if (hasDeadline && System.nanoTime() - deadlineNanos > 0) {
+            throw new SimulationAbortedException(SimulationAbortedException.Reason.DEADLINE, 0L, simulatedTime, events);
+        }
+    }
+
+    public int getMaxTasks() { return maxTasks; }
+
+    public long getMaxEvents() { return maxEvents; }
+
+    public long getMaxSegments() { return maxSegments; }
+
+    public boolean isCancelled() { return cancelled; }
+}
@@ -0,0 +1,257 @@
+package com.example.cpuscheduler.engine;
+
+/**
+ * Streaming level-of-detail summary of a Gantt chart: folds segments, in time
+ * order, into at most {@code maxBins} equal-width bins without knowing the
+ * schedule length up front. Bins start one time unit wide; whenever a segment
+ * ends past the last bin, neighbouring bins are merged pairwise and the width
+ * doubles, so memory and output are fixed by the bin count however many
+ * segments stream through.
+ * <p>
+ * Each bin tracks idle and busy time exactly. Per-process time is kept in a
+ * weighted Space-Saving summary of {@code 4 * maxListed} counters, so it is
+ * exact whenever a bin holds that few processes; otherwise the reported times
+ * are guaranteed lower bounds and the remainder shows up as unlisted busy time.
+ */
+public final class GanttDownsampler {
+
+    private final int maxBins;
+    private final int maxListed;
+    private final int capacity;
+    private final long origin;
+
+    private long binWidth = 1;
+    private int binCount;
+    private long endTime;
+    private long segmentCount;
+
+    private final long[] idleTimes;
+    private final long[] busyTimes;
+    // Space-Saving counters, capacity per bin: process id, counted time, and overestimate
+    private final int[] counterProcessIds;
+    private final long[] counterTimes;
+    private final long[] counterErrors;
+    private final int[] countersUsed;
+
+    // Scratch space for merging two bins' counters
+    private final int[] mergeProcessIds;
+    private final long[] mergeTimes;
+    private final long[] mergeErrors;
+
+    // Bins cover [origin, origin + maxBins * binWidth); segment parts before origin are ignored
+    public GanttDownsampler(int maxBins, int maxListed, long origin) {
+        if (maxBins < 2) {
+            throw new IllegalArgumentException("Resolution must be at least 2 bins");
+        }
+        if (maxListed < 1) {
+            throw new IllegalArgumentException("At least one process per bin must be listed");
+        }
+        this.maxBins = maxBins;
+        this.maxListed = maxListed;
+        this.capacity = maxListed * 4;
+        this.origin = origin;
+        this.endTime = origin;
+        idleTimes = new long[maxBins];
+        busyTimes = new long[maxBins];
+        counterProcessIds = new int[maxBins * capacity];
+        counterTimes = new long[maxBins * capacity];
+        counterErrors = new long[maxBins * capacity];
+        countersUsed = new int[maxBins];
+        mergeProcessIds = new int[capacity * 2];
+        mergeTimes = new long[capacity * 2];
+        mergeErrors = new long[capacity * 2];
+    }
+
+    // Segments must arrive in time order, as a schedule emits them
+    public void add(long startTime, long endTime, int processId) {
+        segmentCount++;
+        long from = Math.max(startTime, origin);
+        if (endTime <= from) {
+            return;
+        }
+        if (from < this.endTime) {
+            throw new IllegalArgumentException("Segments must be added in time order");
+        }
+        while (endTime - origin > coveredSpan()) {
+            mergePairs();
+        }
+        this.endTime = endTime;
+
+        int bin = (int) ((from - origin) / binWidth);
+        long time = from;
+        while (time < endTime) {
+            long binEnd = origin + (bin + 1) * binWidth;
+            long part = Math.min(endTime, binEnd) - time;
+            credit(bin, processId, part);
+            time += part;
+            bin++;
+        }
+        binCount = Math.max(binCount, bin);
+    }
+
+    private long coveredSpan() {
+        return binWidth > Long.MAX_VALUE / maxBins ? Long.MAX_VALUE : binWidth * maxBins;
+    }
+
+    private void credit(int bin, int processId, long time) {
+        if (processId == ScheduleSink.IDLE) {
+            idleTimes[bin] += time;
+            return;
+        }
+        busyTimes[bin] += time;
+        int base = bin * capacity;
+        int used = countersUsed[bin];
+        int smallest = -1;
+        for (int i = base; i < base + used; i++) {
+            if (counterProcessIds[i] == processId) {
+                counterTimes[i] += time;
+                return;
+            }
+            if (smallest < 0 || counterTimes[i] < counterTimes[smallest]) {
+                smallest = i;
+            }
+        }
+        if (used < capacity) {
+            counterProcessIds[base + used] = processId;
+            counterTimes[base + used] = time;
+            counterErrors[base + used] = 0;
+            countersUsed[bin] = used + 1;
+            return;
+        }
+        // Full: the newcomer takes over the smallest counter, inheriting its count as error
+        counterProcessIds[smallest] = processId;
+        counterErrors[smallest] = counterTimes[smallest];
+        counterTimes[smallest] += time;
+    }
+
+    // Halve the resolution: bins 2i and 2i+1 become bin i
+    private void mergePairs() {
+        for (int target = 0; target < (binCount + 1) / 2; target++) {
+            int left = target * 2;
+            int right = left + 1;
+            int merged = 0;
+            for (int i = left * capacity; i < left * capacity + countersUsed[left]; i++) {
+                mergeProcessIds[merged] = counterProcessIds[i];
+                mergeTimes[merged] = counterTimes[i];
+                mergeErrors[merged] = counterErrors[i];
+                merged++;
+            }
+            long idle = idleTimes[left];
+            long busy = busyTimes[left];
+            if (right < binCount) {
+                idle += idleTimes[right];
+                busy += busyTimes[right];
+                int leftCount = merged;
+                for (int i = right * capacity; i < right * capacity + countersUsed[right]; i++) {
+                    int found = -1;
+                    for (int j = 0; j < leftCount; j++) {
+                        if (mergeProcessIds[j] == counterProcessIds[i]) {
+                            found = j;
+                            break;
+                        }
+                    }
+                    if (found >= 0) {
+                        mergeTimes[found] += counterTimes[i];
+                        mergeErrors[found] += counterErrors[i];
+                    } else {
+                        mergeProcessIds[merged] = counterProcessIds[i];
+                        mergeTimes[merged] = counterTimes[i];
+                        mergeErrors[merged] = counterErrors[i];
+                        merged++;
+                    }
+                }
+            }
+            // Keep the largest counters; guaranteed times of the kept ones stay valid lower bounds
+            int kept = Math.min(merged, capacity);
+            for (int k = 0; k < kept; k++) {
+                int best = k;
+                for (int j = k + 1; j < merged; j++) {
+                    if (mergeTimes[j] > mergeTimes[best]) {
+                        best = j;
+                    }
+                }
+                swapMerge(k, best);
+                int slot = target * capacity + k;
+                counterProcessIds[slot] = mergeProcessIds[k];
+                counterTimes[slot] = mergeTimes[k];
+                counterErrors[slot] = mergeErrors[k];
+            }
+            countersUsed[target] = kept;
+            idleTimes[target] = idle;
+            busyTimes[target] = busy;
+        }
+        int previousCount = binCount;
+        binCount = (binCount + 1) / 2;
+        for (int bin = binCount; bin < previousCount; bin++) {
+            idleTimes[bin] = 0;
+            busyTimes[bin] = 0;
+            countersUsed[bin] = 0;
+        }
+        binWidth <<= 1;
+    }
+
+    private void swapMerge(int a, int b) {
+        if (a == b) {
+            return;
+        }
+        int processId = mergeProcessIds[a];
+        mergeProcessIds[a] = mergeProcessIds[b];
+        mergeProcessIds[b] = processId;
+        long time = mergeTimes[a];
+        mergeTimes[a] = mergeTimes[b];
+        mergeTimes[b] = time;
+        long error = mergeErrors[a];
+        mergeErrors[a] = mergeErrors[b];
+        mergeErrors[b] = error;
+    }
+
+    public int getBinCount() { return binCount; }
+
+    public long getBinWidth() { return binWidth; }
+
+    public long getSegmentCount() { return segmentCount; }
+
+    public int getMaxListed() { return maxListed; }
+
+    public long binStartTime(int bin) { return origin + bin * binWidth; }
+
+    // The last bin ends with the last segment
+    public long binEndTime(int bin) { return Math.min(origin + (bin + 1) * binWidth, endTime); }
+
+    public long idleTime(int bin) { return idleTimes[bin]; }
+
+    public long busyTime(int bin) { return busyTimes[bin]; }
+
+    /**
+     * The bin's processes with the most guaranteed time, most first; fills
+     * the arrays and returns how many were written (at most maxListed).
+     */
+    public int listProcesses(int bin, int[] processIds, long[] times) {
+        int base = bin * capacity;
+        int used = countersUsed[bin];
+        int listed = Math.min(Math.min(used, maxListed), processIds.length);
+        long previous = Long.MAX_VALUE;
+        int previousIndex = -1;
+        for (int k = 0; k < listed; k++) {
+            // Selection by (guaranteed time desc, counter position asc), skipping what was already listed
+            int best = -1;
+            long bestTime = -1;
+            for (int i = base; i < base + used; i++) {
+                long guaranteed = counterTimes[i] - counterErrors[i];
+                boolean afterPrevious = guaranteed < previous || (guaranteed == previous && i > previousIndex);
+                if (afterPrevious && guaranteed > bestTime) {
+                    best = i;
+                    bestTime = guaranteed;
+                }
+            }
+            if (best < 0 || bestTime <= 0) {
+                return k;
+            }
+            processIds[k] = counterProcessIds[best];
+            times[k] = bestTime;
+            previous = bestTime;
+            previousIndex = best;
+        }
+        return listed;
+    }
+}
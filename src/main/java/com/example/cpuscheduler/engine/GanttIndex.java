@@ -0,0 +1,198 @@
+package com.example.cpuscheduler.engine;
+
+import java.util.Arrays;
+
+/**
+ * Read-only interval index over a finished Gantt chart, for zooming into
+ * charts far larger than a client can display. Segments live in parallel
+ * primitive arrays in time order; since a schedule's segments never overlap,
+ * both start and end times are sorted and a window query is two binary
+ * searches plus the matches, O(log n + k). A per-process position list
+ * (compressed rows, one slot per process id, idle first) gives the same bound
+ * when filtering by process.
+ */
+public final class GanttIndex {
+
+    private final int size;
+    private final long[] startTimes;
+    private final long[] endTimes;
+    private final int[] processIds;
+    // Positions of each process's segments: rowOffsets[slot] .. rowOffsets[slot + 1] in rowPositions
+    private final int[] rowOffsets;
+    private final int[] rowPositions;
+
+    private GanttIndex(int size, long[] startTimes, long[] endTimes, int[] processIds) {
+        this.size = size;
+        this.startTimes = startTimes;
+        this.endTimes = endTimes;
+        this.processIds = processIds;
+
+        int maxSlot = 0;
+        for (int i = 0; i < size; i++) {
+            maxSlot = Math.max(maxSlot, slotOf(processIds[i]));
+        }
+        rowOffsets = new int[maxSlot + 2];
+        for (int i = 0; i < size; i++) {
+            rowOffsets[slotOf(processIds[i]) + 1]++;
+        }
+        for (int slot = 0; slot <= maxSlot; slot++) {
+            rowOffsets[slot + 1] += rowOffsets[slot];
+        }
+        rowPositions = new int[size];
+        int[] fill = Arrays.copyOf(rowOffsets, maxSlot + 1);
+        for (int i = 0; i < size; i++) {
+            rowPositions[fill[slotOf(processIds[i])]++] = i;
+        }
+    }
+
+    // Idle segments take slot 0
+    private static int slotOf(int processId) {
+        return processId == ScheduleSink.IDLE ? 0 : processId + 1;
+    }
+
+    public int size() { return size; }
+
+    public long startTime(int position) { return startTimes[position]; }
+
+    public long endTime(int position) { return endTimes[position]; }
+
+    // ScheduleSink.IDLE for idle segments
+    public int processId(int position) { return processIds[position]; }
+
+    // Number of segments overlapping the closed window [from, to]
+    public int countOverlapping(long from, long to) {
+        return Math.max(0, lastStartingBy(to) - firstEndingFrom(from));
+    }
+
+    public int countOverlapping(long from, long to, int processId) {
+        int slot = slotOf(processId);
+        if (slot < 0 || slot + 1 >= rowOffsets.length) {
+            return 0;
+        }
+        return Math.max(0, rowLastStartingBy(slot, to) - rowFirstEndingFrom(slot, from));
+    }
+
+    // Positions of the first limit segments overlapping [from, to], in time order
+    public int[] overlapping(long from, long to, int limit) {
+        int first = firstEndingFrom(from);
+        int count = Math.min(Math.max(0, lastStartingBy(to) - first), limit);
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = first + i;
+        }
+        return positions;
+    }
+
+    public int[] overlapping(long from, long to, int processId, int limit) {
+        int slot = slotOf(processId);
+        if (slot < 0 || slot + 1 >= rowOffsets.length) {
+            return new int[0];
+        }
+        int first = rowFirstEndingFrom(slot, from);
+        int count = Math.min(Math.max(0, rowLastStartingBy(slot, to) - first), limit);
+        return Arrays.copyOfRange(rowPositions, first, first + count);
+    }
+
+    // First position whose segment ends at or after from
+    private int firstEndingFrom(long from) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (endTimes[mid] < from) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // One past the last position whose segment starts at or before to
+    private int lastStartingBy(long to) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (startTimes[mid] <= to) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Same searches within one process's row; results index rowPositions
+    private int rowFirstEndingFrom(int slot, long from) {
+        int low = rowOffsets[slot];
+        int high = rowOffsets[slot + 1];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (endTimes[rowPositions[mid]] < from) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int rowLastStartingBy(int slot, long to) {
+        int low = rowOffsets[slot];
+        int high = rowOffsets[slot + 1];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (startTimes[rowPositions[mid]] <= to) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Collects segments in the order a schedule emits them.
+     */
+    public static final class Builder {
+        private long[] startTimes;
+        private long[] endTimes;
+        private int[] processIds;
+        private int size;
+
+        public Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            startTimes = new long[capacity];
+            endTimes = new long[capacity];
+            processIds = new int[capacity];
+        }
+
+        public Builder add(long startTime, long endTime, int processId) {
+            if (endTime < startTime) {
+                throw new IllegalArgumentException("Segment ends before it starts: " + startTime + "-" + endTime);
+            }
+            if (processId < ScheduleSink.IDLE) {
+                throw new IllegalArgumentException("Invalid process id " + processId);
+            }
+            if (size > 0 && (startTime < startTimes[size - 1] || endTime < endTimes[size - 1])) {
+                throw new IllegalArgumentException("Segments must be added in time order");
+            }
+            if (size == startTimes.length) {
+                int capacity = size << 1;
+                startTimes = Arrays.copyOf(startTimes, capacity);
+                endTimes = Arrays.copyOf(endTimes, capacity);
+                processIds = Arrays.copyOf(processIds, capacity);
+            }
+            startTimes[size] = startTime;
+            endTimes[size] = endTime;
+            processIds[size] = processId;
+            size++;
+            return this;
+        }
+
+        public GanttIndex build() {
+            return new GanttIndex(size, startTimes, endTimes, processIds);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.cpuscheduler.engine;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of workload indices, ordered by a caller-supplied comparison.
+ * Avoids the boxing and per-node allocation of {@code PriorityQueue<CpuTask>}.
+ */
+final class IndexHeap {
+
+    interface IndexOrder {
+        boolean before(int a, int b);
+    }
+
+    private final IndexOrder order;
+    private int[] heap = new int[16];
+    private int size;
+
+    IndexHeap(IndexOrder order) {
+        this.order = order;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int peek() {
+        return heap[0];
+    }
+
+    // Heap contents in storage order; handing them back to restore() rebuilds the same heap
+    int[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+    void restore(int[] items) {
+        heap = Arrays.copyOf(items, Math.max(16, items.length));
+        size = items.length;
+    }
+
+    void push(int index) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size << 1);
+        }
+        int child = size++;
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (!order.before(index, heap[parent])) {
+                break;
+            }
+            heap[child] = heap[parent];
+            child = parent;
+        }
+        heap[child] = index;
+    }
+
+    int pop() {
+        int top = heap[0];
+        int last = heap[--size];
+        int parent = 0;
+        int half = size >>> 1;
+        while (parent < half) {
+            int child = (parent << 1) + 1;
+            int right = child + 1;
+            if (right < size && order.before(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!order.before(heap[child], last)) {
+                break;
+            }
+            heap[parent] = heap[child];
+            parent = child;
+        }
+        heap[parent] = last;
+        return top;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.cpuscheduler.engine;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * One fixed-width little-endian column of a mapped file. Columns larger than a
+ * single {@link MappedByteBuffer} can address are split into 1 GiB chunks.
+ */
+final class MappedColumn {
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final MappedByteBuffer[] chunks;
+
+    MappedColumn(FileChannel channel, FileChannel.MapMode mode, long offset, long length) throws IOException {
+        int chunkCount = (int) ((length + CHUNK_MASK) >>> CHUNK_SHIFT);
+        chunks = new MappedByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long start = (long) i << CHUNK_SHIFT;
+            long size = Math.min(CHUNK_MASK + 1, length - start);
+            chunks[i] = channel.map(mode, offset + start, size);
+            chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    int getInt(int index) {
+        long position = (long) index << 2;
+        return chunks[(int) (position >>> CHUNK_SHIFT)].getInt((int) (position & CHUNK_MASK));
+    }
+
+    void putInt(int index, int value) {
+        long position = (long) index << 2;
+        chunks[(int) (position >>> CHUNK_SHIFT)].putInt((int) (position & CHUNK_MASK), value);
+    }
+
+    long getLong(int index) {
+        long position = (long) index << 3;
+        return chunks[(int) (position >>> CHUNK_SHIFT)].getLong((int) (position & CHUNK_MASK));
+    }
+
+    void putLong(int index, long value) {
+        long position = (long) index << 3;
+        chunks[(int) (position >>> CHUNK_SHIFT)].putLong((int) (position & CHUNK_MASK), value);
+    }
+
+    void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.cpuscheduler.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Per-task metrics spilled to a memory-mapped columnar file, indexed like the
+ * workload that produced them. Doubles as the {@link ScheduleSink} that writes it.
+ *
+ * <p>Layout (little-endian): a 32-byte header of magic, version, task count and
+ * column count, followed by the processId column as a contiguous int array and
+ * the startTime, completionTime, turnaroundTime and waitingTime columns as
+ * contiguous long arrays.
+ */
+public final class MappedResultFile implements ScheduleSink, Closeable {
+
+    static final int MAGIC = 0x52555043; // "CPUR"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 32;
+    static final int COLUMNS = 5;
+
+    private final FileChannel channel;
+    private final Workload workload;
+    private final int size;
+    private final MappedColumn processIds;
+    private final MappedColumn startTimes;
+    private final MappedColumn completionTimes;
+    private final MappedColumn turnaroundTimes;
+    private final MappedColumn waitingTimes;
+
+    private MappedResultFile(FileChannel channel, FileChannel.MapMode mode, Workload workload, int size)
+            throws IOException {
+        this.channel = channel;
+        this.workload = workload;
+        this.size = size;
+        long intColumn = (long) size * Integer.BYTES;
+        long longColumn = (long) size * Long.BYTES;
+        // pad the int column so the long columns stay 8-byte aligned
+        long firstLong = HEADER_BYTES + ((intColumn + 7) & ~7L);
+        this.processIds = new MappedColumn(channel, mode, HEADER_BYTES, intColumn);
+        this.startTimes = new MappedColumn(channel, mode, firstLong, longColumn);
+        this.completionTimes = new MappedColumn(channel, mode, firstLong + longColumn, longColumn);
+        this.turnaroundTimes = new MappedColumn(channel, mode, firstLong + 2 * longColumn, longColumn);
+        this.waitingTimes = new MappedColumn(channel, mode, firstLong + 3 * longColumn, longColumn);
+    }
+
+    static long fileSize(int taskCount) {
+        long intColumn = (long) taskCount * Integer.BYTES;
+        return HEADER_BYTES + ((intColumn + 7) & ~7L) + 4L * taskCount * Long.BYTES;
+    }
+
+    // Create a result file with one row per workload task, ready to be passed to the engine
+    public static MappedResultFile create(Path file, Workload workload) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(workload.size()).putInt(COLUMNS).rewind();
+            channel.write(header, 0);
+            return new MappedResultFile(channel, FileChannel.MapMode.READ_WRITE, workload, workload.size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Map a finished result file read-only
+    public static MappedResultFile open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete or EOF
+            }
+            if (header.position() < HEADER_BYTES || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a result file: " + file);
+            }
+            if (header.getInt(4) != VERSION || header.getInt(12) != COLUMNS) {
+                throw new IOException("Unsupported result file version: " + file);
+            }
+            int size = header.getInt(8);
+            if (channel.size() < fileSize(size)) {
+                throw new IOException("Truncated result file: " + file);
+            }
+            return new MappedResultFile(channel, FileChannel.MapMode.READ_ONLY, null, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void completed(int task, long startTime, long completionTime) {
+        long turnaroundTime = completionTime - workload.arrivalTime(task);
+        processIds.putInt(task, workload.processId(task));
+        startTimes.putLong(task, startTime);
+        completionTimes.putLong(task, completionTime);
+        turnaroundTimes.putLong(task, turnaroundTime);
+        waitingTimes.putLong(task, turnaroundTime - workload.burstTime(task));
+    }
+
+    public int size() { return size; }
+
+    public int processId(int index) { return processIds.getInt(index); }
+
+    public long startTime(int index) { return startTimes.getLong(index); }
+
+    public long completionTime(int index) { return completionTimes.getLong(index); }
+
+    public long turnaroundTime(int index) { return turnaroundTimes.getLong(index); }
+
+    public long waitingTime(int index) { return waitingTimes.getLong(index); }
+
+    // Flush dirty pages to disk; the OS would otherwise write them back lazily
+    public void force() {
+        processIds.force();
+        startTimes.force();
+        completionTimes.force();
+        turnaroundTimes.force();
+        waitingTimes.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (workload != null) {
+                force();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
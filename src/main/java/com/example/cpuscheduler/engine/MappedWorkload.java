@@ -0,0 +1,163 @@
+package com.example.cpuscheduler.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Workload backed by a memory-mapped columnar file, for runs too large for the heap.
+ *
+ * <p>Layout (little-endian): a 32-byte header of magic, version, task count and
+ * column count, followed by the processId and priority columns as contiguous
+ * int arrays and the arrivalTime and burstTime columns as contiguous long arrays.
+ * Rows are sorted by arrival time. Version 1 files (32-bit times) are rejected.
+ */
+public final class MappedWorkload implements Workload, Closeable {
+
+    static final int MAGIC = 0x57555043; // "CPUW"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 32;
+    static final int COLUMNS = 4;
+
+    private final FileChannel channel;
+    private final int size;
+    private final MappedColumn processIds;
+    private final MappedColumn priorities;
+    private final MappedColumn arrivalTimes;
+    private final MappedColumn burstTimes;
+
+    private MappedWorkload(FileChannel channel, FileChannel.MapMode mode, int size) throws IOException {
+        this.channel = channel;
+        this.size = size;
+        long intColumn = (long) size * Integer.BYTES;
+        long longColumn = (long) size * Long.BYTES;
+        this.processIds = new MappedColumn(channel, mode, HEADER_BYTES, intColumn);
+        this.priorities = new MappedColumn(channel, mode, HEADER_BYTES + intColumn, intColumn);
+        this.arrivalTimes = new MappedColumn(channel, mode, HEADER_BYTES + 2 * intColumn, longColumn);
+        this.burstTimes = new MappedColumn(channel, mode, HEADER_BYTES + 2 * intColumn + longColumn, longColumn);
+    }
+
+    static long fileSize(int taskCount) {
+        return HEADER_BYTES + (long) taskCount * (2 * Integer.BYTES + 2 * Long.BYTES);
+    }
+
+    // Map an existing workload file read-only
+    public static MappedWorkload open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete or EOF
+            }
+            if (header.position() < HEADER_BYTES || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a workload file: " + file);
+            }
+            if (header.getInt(4) != VERSION || header.getInt(12) != COLUMNS) {
+                throw new IOException("Unsupported workload file version: " + file);
+            }
+            int size = header.getInt(8);
+            if (channel.size() < fileSize(size)) {
+                throw new IOException("Truncated workload file: " + file);
+            }
+            return new MappedWorkload(channel, FileChannel.MapMode.READ_ONLY, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Create a workload file sized for exactly taskCount rows, to be filled with a Writer
+    public static Writer create(Path file, int taskCount) throws IOException {
+        if (taskCount < 0) {
+            throw new IllegalArgumentException("Task count must not be negative");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(taskCount).putInt(COLUMNS).rewind();
+            channel.write(header, 0);
+            return new Writer(new MappedWorkload(channel, FileChannel.MapMode.READ_WRITE, taskCount));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Copy any workload (already sorted by arrival) into a new mapped file
+    public static void write(Path file, Workload workload) throws IOException {
+        try (Writer writer = create(file, workload.size())) {
+            for (int i = 0; i < workload.size(); i++) {
+                writer.append(workload.processId(i), workload.arrivalTime(i),
+                        workload.burstTime(i), workload.priority(i));
+            }
+        }
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public int processId(int index) { return processIds.getInt(index); }
+
+    @Override
+    public long arrivalTime(int index) { return arrivalTimes.getLong(index); }
+
+    @Override
+    public long burstTime(int index) { return burstTimes.getLong(index); }
+
+    @Override
+    public int priority(int index) { return priorities.getInt(index); }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Sequential row writer; rows must be appended in non-decreasing arrival order.
+     */
+    public static final class Writer implements Closeable {
+        private final MappedWorkload target;
+        private int count;
+        private long lastArrival = Long.MIN_VALUE;
+
+        private Writer(MappedWorkload target) {
+            this.target = target;
+        }
+
+        public void append(int processId, long arrivalTime, long burstTime, int priority) {
+            if (count == target.size) {
+                throw new IllegalStateException("Workload file is full");
+            }
+            if (arrivalTime < lastArrival) {
+                throw new IllegalArgumentException("Tasks must be appended in arrival order");
+            }
+            target.processIds.putInt(count, processId);
+            target.priorities.putInt(count, priority);
+            target.arrivalTimes.putLong(count, arrivalTime);
+            target.burstTimes.putLong(count, burstTime);
+            lastArrival = arrivalTime;
+            count++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (count != target.size) {
+                    throw new IllegalStateException("Expected " + target.size + " tasks but " + count + " were written");
+                }
+                target.processIds.force();
+                target.priorities.force();
+                target.arrivalTimes.force();
+                target.burstTimes.force();
+            } finally {
+                target.close();
+            }
+        }
+    }
+}
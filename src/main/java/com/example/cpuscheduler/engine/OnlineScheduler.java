@@ -0,0 +1,326 @@
+package com.example.cpuscheduler.engine;
+
+import java.util.Arrays;
+
+/**
+ * Resumable, incremental counterpart of {@link ScheduleEngine} for live
+ * sessions. Tasks are appended while the session runs and the clock is moved
+ * forward explicitly; the ready queue, the running slice and the totals stay in
+ * memory between calls, so each step only processes the events it uncovers,
+ * at O(log n) per event.
+ * <p>
+ * The session clock ({@link #now()}) is a promise that no task will arrive
+ * before it. Only decisions strictly before the clock are taken, so a task
+ * appended with an arrival equal to the clock still competes for the CPU at
+ * that instant. Appending every task of a workload and calling {@link #drain}
+ * therefore yields exactly the segments and completions of a batch run, no
+ * matter how the appends and advances were interleaved. Task arguments passed
+ * to the sink are append indices. Not thread-safe.
+ */
+public final class OnlineScheduler {
+
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+    private static final long NOT_IDLE = Long.MIN_VALUE;
+    // Deadline and cancellation are polled once per this many events
+    private static final long CHECKPOINT_INTERVAL = 1 << 12;
+
+    private final SchedulingAlgorithm algorithm;
+    private final int quantum;
+
+    // Task columns, indexed by append order
+    private long[] arrivalTimes = new long[16];
+    private long[] burstTimes = new long[16];
+    private int[] priorities = new int[16];
+    private long[] remaining = new long[16];
+    private long[] firstStarts = new long[16];
+    private int taskCount;
+
+    // Appended but not yet arrived, by arrival time then append order
+    private final IndexHeap pending;
+    // Arrived and waiting: a heap for SJF and Priority, a FIFO for FCFS and Round Robin
+    private final IndexHeap readyHeap;
+    private final IntQueue readyQueue;
+
+    private long now;
+    private long time;
+    private int running = ScheduleSink.IDLE;
+    private long sliceStart;
+    private long sliceEnd;
+    private long idleStart = NOT_IDLE;
+
+    private int completedTasks;
+    private long segmentCount;
+    private long totalTurnaroundTime;
+    private long totalWaitingTime;
+
+    public OnlineScheduler(SchedulingAlgorithm algorithm, int quantum) {
+        if (algorithm == SchedulingAlgorithm.RR && quantum <= 0) {
+            throw new IllegalArgumentException("Quantum must be positive");
+        }
+        this.algorithm = algorithm;
+        this.quantum = quantum;
+        this.pending = new IndexHeap((a, b) -> before(arrivalTimes[a], arrivalTimes[b], a, b));
+        switch (algorithm) {
+            case SJF:
+                readyHeap = new IndexHeap((a, b) -> before(burstTimes[a], burstTimes[b], a, b));
+                readyQueue = null;
+                break;
+            case PRIORITY:
+                readyHeap = new IndexHeap((a, b) -> before(priorities[a], priorities[b], a, b));
+                readyQueue = null;
+                break;
+            case FCFS:
+            case RR:
+                readyHeap = null;
+                readyQueue = new IntQueue();
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported scheduling algorithm");
+        }
+    }
+
+    // Same tie-breaking as the batch engine: primary key, then arrival time, then submission order
+    private boolean before(long keyA, long keyB, int a, int b) {
+        if (keyA != keyB) {
+            return keyA < keyB;
+        }
+        if (arrivalTimes[a] != arrivalTimes[b]) {
+            return arrivalTimes[a] < arrivalTimes[b];
+        }
+        return a < b;
+    }
+
+    // Append a task arriving at or after the session clock; returns its index
+    public int addTask(long arrivalTime, long burstTime, int priority) {
+        if (arrivalTime < now) {
+            throw new IllegalArgumentException("Arrival time " + arrivalTime + " is before the session clock " + now);
+        }
+        if (burstTime < 0) {
+            throw new IllegalArgumentException("Burst time must not be negative");
+        }
+        if (taskCount == arrivalTimes.length) {
+            int capacity = taskCount << 1;
+            arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+            burstTimes = Arrays.copyOf(burstTimes, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            remaining = Arrays.copyOf(remaining, capacity);
+            firstStarts = Arrays.copyOf(firstStarts, capacity);
+        }
+        int index = taskCount++;
+        arrivalTimes[index] = arrivalTime;
+        burstTimes[index] = burstTime;
+        priorities[index] = priority;
+        remaining[index] = burstTime;
+        firstStarts[index] = NOT_STARTED;
+        pending.push(index);
+        return index;
+    }
+
+    // Move the session clock to the given time, emitting every event decided before it
+    public void advanceTo(long target, ScheduleSink sink, ComputeBudget budget) {
+        if (target < now) {
+            throw new IllegalArgumentException("Cannot move the session clock back from " + now + " to " + target);
+        }
+        now = target;
+        run(target, false, sink, budget);
+    }
+
+    // Run every appended task to completion, as if no more tasks will arrive
+    public void drain(ScheduleSink sink, ComputeBudget budget) {
+        run(Long.MAX_VALUE, true, sink, budget);
+        now = Math.max(now, time);
+    }
+
+    private void run(long limit, boolean drain, ScheduleSink sink, ComputeBudget budget) {
+        long events = 0;
+        long segments = 0;
+        long nextCheckpoint = CHECKPOINT_INTERVAL;
+        budget.checkpoint(time, events);
+        while (true) {
+            if (events >= nextCheckpoint) {
+                budget.checkpoint(time, events);
+                nextCheckpoint += CHECKPOINT_INTERVAL;
+            }
+
+            if (running != ScheduleSink.IDLE) {
+                if (!drain && sliceEnd >= limit) {
+                    break; // slice still in progress at the clock
+                }
+                long executed = sliceEnd - sliceStart;
+                boolean completes = remaining[running] == executed;
+                // Charge the budget before touching any state, so an abort leaves the session consistent
+                budget.checkEvents(events + (completes ? 2 : 1), sliceEnd);
+                budget.checkSegments(segments + 1, sliceStart, events);
+                events += completes ? 2 : 1;
+                segments++;
+                finishSlice(executed, completes, sink);
+                continue;
+            }
+
+            if (!drain && time >= limit) {
+                break;
+            }
+            admitArrivals();
+            if (isReadyEmpty()) {
+                if (idleStart == NOT_IDLE) {
+                    idleStart = time;
+                }
+                if (pending.isEmpty()) {
+                    if (!drain) {
+                        time = limit;
+                    }
+                    break;
+                }
+                long nextArrival = arrivalTimes[pending.peek()];
+                if (!drain && nextArrival >= limit) {
+                    time = limit;
+                    break;
+                }
+                time = nextArrival;
+                continue;
+            }
+
+            if (idleStart != NOT_IDLE && idleStart < time) {
+                budget.checkEvents(events + 1, time);
+                budget.checkSegments(segments + 1, idleStart, events);
+                events++;
+                segments++;
+                segmentCount++;
+                sink.segment(idleStart, time, ScheduleSink.IDLE);
+            }
+            idleStart = NOT_IDLE;
+            dispatch();
+        }
+    }
+
+    private void admitArrivals() {
+        while (!pending.isEmpty() && arrivalTimes[pending.peek()] <= time) {
+            int task = pending.pop();
+            if (readyHeap != null) {
+                readyHeap.push(task);
+            } else {
+                readyQueue.offer(task);
+            }
+        }
+    }
+
+    private boolean isReadyEmpty() {
+        return readyHeap != null ? readyHeap.isEmpty() : readyQueue.isEmpty();
+    }
+
+    private void dispatch() {
+        int task = readyHeap != null ? readyHeap.pop() : readyQueue.poll();
+        if (firstStarts[task] == NOT_STARTED) {
+            firstStarts[task] = time;
+        }
+        long slice = algorithm == SchedulingAlgorithm.RR ? Math.min(remaining[task], quantum) : remaining[task];
+        running = task;
+        sliceStart = time;
+        try {
+            sliceEnd = Math.addExact(time, slice);
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Simulation clock overflow at t=" + time + " (+" + slice + ")");
+        }
+    }
+
+    // Round Robin: tasks arriving during the slice queue ahead of the preempted task
+    private void finishSlice(long executed, boolean completes, ScheduleSink sink) {
+        int task = running;
+        running = ScheduleSink.IDLE;
+        time = sliceEnd;
+        segmentCount++;
+        sink.segment(sliceStart, sliceEnd, task);
+        remaining[task] -= executed;
+        if (algorithm == SchedulingAlgorithm.RR) {
+            admitArrivals();
+        }
+        if (!completes) {
+            readyQueue.offer(task);
+            return;
+        }
+        long turnaroundTime = time - arrivalTimes[task];
+        completedTasks++;
+        try {
+            totalTurnaroundTime = Math.addExact(totalTurnaroundTime, turnaroundTime);
+            totalWaitingTime = Math.addExact(totalWaitingTime, turnaroundTime - burstTimes[task]);
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Turnaround/waiting total overflow after " + completedTasks + " tasks");
+        }
+        sink.completed(task, firstStarts[task], time);
+    }
+
+    public SchedulingAlgorithm getAlgorithm() { return algorithm; }
+
+    public int getQuantum() { return quantum; }
+
+    // Session clock: no task may arrive before it
+    public long now() { return now; }
+
+    public int getTaskCount() { return taskCount; }
+
+    public int getCompletedTasks() { return completedTasks; }
+
+    public long getSegmentCount() { return segmentCount; }
+
+    public long getTotalTurnaroundTime() { return totalTurnaroundTime; }
+
+    public long getTotalWaitingTime() { return totalWaitingTime; }
+
+    // Index of the task holding the CPU at the clock, or ScheduleSink.IDLE
+    public int getRunningTask() { return running; }
+
+    public int getReadyCount() { return readyHeap != null ? readyHeap.size() : readyQueue.size(); }
+
+    public int getPendingCount() { return pending.size(); }
+
+    public long arrivalTime(int task) { return arrivalTimes[task]; }
+
+    public long burstTime(int task) { return burstTimes[task]; }
+
+    public int priority(int task) { return priorities[task]; }
+
+    public long remainingTime(int task) {
+        // The running slice has consumed the time up to the clock
+        if (task == running) {
+            return remaining[task] - (Math.min(now, sliceEnd) - sliceStart);
+        }
+        return remaining[task];
+    }
+
+    /**
+     * Growable FIFO of task indices.
+     */
+    private static final class IntQueue {
+        private int[] items = new int[16];
+        private int head;
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void offer(int item) {
+            if (size == items.length) {
+                int[] grown = new int[size << 1];
+                int firstPart = items.length - head;
+                System.arraycopy(items, head, grown, 0, firstPart);
+                System.arraycopy(items, 0, grown, firstPart, head);
+                items = grown;
+                head = 0;
+            }
+            items[(head + size) & (items.length - 1)] = item;
+            size++;
+        }
+
+        int poll() {
+            int item = items[head];
+            head = (head + 1) & (items.length - 1);
+            size--;
+            return item;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.cpuscheduler.engine;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Throttled live view of one {@link ScheduleEngine} run. The engine feeds it
+ * on the simulating thread: every Gantt segment is buffered into a bounded
+ * window, and at its budget checkpoints the engine offers the running totals.
+ * At most once per interval, and once more when the run finishes, the tracker
+ * hands an immutable {@link SimulationProgress} to its listener.
+ */
+public final class ProgressTracker {
+
+    public interface Listener {
+        // Called on the simulating thread; must not block
+        void progress(SimulationProgress progress);
+    }
+
+    private final int windowSize;
+    private final long intervalNanos;
+    private final Listener listener;
+
+    // Written only by the simulating thread
+    private final long[] startTimes;
+    private final long[] endTimes;
+    private final int[] processIds;
+    private int pending;
+    private long omitted;
+    private int totalTasks;
+    private long lastPublished;
+
+    private volatile SimulationProgress latest;
+
+    public ProgressTracker(int windowSize, Duration interval, Listener listener) {
+        if (windowSize < 0) {
+            throw new IllegalArgumentException("Window size must not be negative");
+        }
+        this.windowSize = windowSize;
+        this.intervalNanos = interval.toNanos();
+        this.listener = listener;
+        this.startTimes = new long[windowSize];
+        this.endTimes = new long[windowSize];
+        this.processIds = new int[windowSize];
+    }
+
+    // Most recent snapshot, or null before the first one
+    public SimulationProgress getLatest() {
+        return latest;
+    }
+
+    void start(int totalTasks) {
+        this.totalTasks = totalTasks;
+        this.lastPublished = System.nanoTime();
+    }
+
+    void segment(long startTime, long endTime, int processId) {
+        if (pending < windowSize) {
+            startTimes[pending] = startTime;
+            endTimes[pending] = endTime;
+            processIds[pending] = processId;
+            pending++;
+        } else {
+            omitted++;
+        }
+    }
+
+    // Publish if the interval has passed; a finished run always publishes
+    void offer(boolean finished, long simulatedTime, int completedTasks, long segments,
+               long totalTurnaroundTime, long totalWaitingTime) {
+        long now = System.nanoTime();
+        if (!finished && now - lastPublished < intervalNanos) {
+            return;
+        }
+        lastPublished = now;
+        SimulationProgress progress = new SimulationProgress(simulatedTime, completedTasks, totalTasks, segments,
+                totalTurnaroundTime, totalWaitingTime, finished,
+                Arrays.copyOf(startTimes, pending), Arrays.copyOf(endTimes, pending),
+                Arrays.copyOf(processIds, pending), omitted);
+        pending = 0;
+        omitted = 0;
+        latest = progress;
+        listener.progress(progress);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.cpuscheduler.engine;
+
+import java.util.Arrays;
+
+/**
+ * Streaming quantile sketch for non-negative times with 1% relative error.
+ * Values fall into logarithmic buckets whose bounds grow by a constant factor,
+ * so every value up to {@code Long.MAX_VALUE} fits in about 2,200 counters no
+ * matter how many are added; the array only grows to the largest bucket seen.
+ * Count, sum, minimum and maximum are exact, and quantile estimates are
+ * clamped to the exact range.
+ */
+public final class QuantileSketch {
+
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private long[] buckets = new long[64];
+    private long zeroCount;
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    // Negative values count as zero
+    public void add(long value) {
+        long clamped = Math.max(0, value);
+        count++;
+        sum = Math.addExact(sum, clamped);
+        min = Math.min(min, clamped);
+        max = Math.max(max, clamped);
+        if (clamped == 0) {
+            zeroCount++;
+            return;
+        }
+        // Bucket i holds (GAMMA^(i-1), GAMMA^i]; value 1 lands in bucket 0
+        int bucket = (int) Math.ceil(Math.log(clamped) / LOG_GAMMA);
+        if (bucket >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.max(bucket + 1, buckets.length << 1));
+        }
+        buckets[bucket]++;
+    }
+
+    public long getCount() { return count; }
+
+    public long getSum() { return sum; }
+
+    public long getMin() { return count == 0 ? 0 : min; }
+
+    public long getMax() { return count == 0 ? 0 : max; }
+
+    public double getMean() { return count == 0 ? 0.0 : (double) sum / count; }
+
+    // Value at quantile q in [0, 1], within 1% of a value of that rank
+    public long quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            seen += buckets[bucket];
+            if (seen > rank) {
+                // Midpoint of the bucket in relative terms, which bounds the error on both sides
+                double estimate = 2 * Math.pow(GAMMA, bucket) / (GAMMA + 1);
+                return Math.min(max, Math.max(min, Math.round(estimate)));
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.cpuscheduler.engine;
+
+/**
+ * Allocation-free simulation kernel shared by every scheduling path.
+ * Walks a {@link Workload} in arrival order and streams Gantt segments and
+ * per-task completions to a {@link ScheduleSink}; only the ready queue is kept
+ * in memory, so heap use is bounded by the number of concurrently waiting tasks.
+ * The clock and all totals are 64-bit and overflow-checked, so a trace too long
+ * even for a {@code long} fails loudly instead of wrapping. An optional
+ * {@link ComputeBudget} bounds tasks, events, segments and wall-clock time, and
+ * an optional {@link ProgressTracker} receives live progress at its checkpoints.
+ */
+public final class ScheduleEngine {
+
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+    // Deadline and cancellation are polled once per this many events
+    private static final long CHECKPOINT_MASK = (1 << 12) - 1;
+
+    private final Workload workload;
+    private final ScheduleSink sink;
+    private final ComputeBudget budget;
+    private final ProgressTracker progress;
+
+    private int completedTasks;
+    private long segmentCount;
+    private long events;
+    private long totalTurnaroundTime;
+    private long totalWaitingTime;
+    private long clock;
+
+    public ScheduleEngine(Workload workload, ScheduleSink sink) {
+        this(workload, sink, ComputeBudget.unlimited());
+    }
+
+    public ScheduleEngine(Workload workload, ScheduleSink sink, ComputeBudget budget) {
+        this(workload, sink, budget, null);
+    }
+
+    // A null tracker reports no progress
+    public ScheduleEngine(Workload workload, ScheduleSink sink, ComputeBudget budget, ProgressTracker progress) {
+        this.workload = workload;
+        this.sink = sink;
+        this.budget = budget;
+        this.progress = progress;
+    }
+
+    public ScheduleSummary run(SchedulingAlgorithm algorithm, int quantum) {
+        budget.checkTasks(workload.size());
+        budget.checkpoint(clock, events);
+        if (progress != null) {
+            progress.start(workload.size());
+        }
+        switch (algorithm) {
+            case FCFS:
+                fcfs();
+                break;
+            case SJF:
+                nonPreemptive((a, b) -> before(workload.burstTime(a), workload.burstTime(b), a, b));
+                break;
+            case PRIORITY:
+                nonPreemptive((a, b) -> before(workload.priority(a), workload.priority(b), a, b));
+                break;
+            case RR:
+                roundRobin(quantum);
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported scheduling algorithm");
+        }
+        if (progress != null) {
+            progress.offer(true, clock, completedTasks, segmentCount, totalTurnaroundTime, totalWaitingTime);
+        }
+        return new ScheduleSummary(completedTasks, segmentCount, totalTurnaroundTime, totalWaitingTime, clock);
+    }
+
+    // First Come First Serve: tasks run to completion in arrival order
+    private void fcfs() {
+        int n = workload.size();
+        for (int i = 0; i < n; i++) {
+            idleUntil(workload.arrivalTime(i));
+            long startTime = clock;
+            clock = advance(startTime, workload.burstTime(i));
+            segment(startTime, clock, i);
+            complete(i, startTime, clock);
+        }
+    }
+
+    // SJF and Priority: pick the best arrived task and run it to completion
+    private void nonPreemptive(IndexHeap.IndexOrder order) {
+        int n = workload.size();
+        IndexHeap ready = new IndexHeap(order);
+        int next = 0;
+        while (next < n || !ready.isEmpty()) {
+            while (next < n && workload.arrivalTime(next) <= clock) {
+                ready.push(next++);
+            }
+            if (ready.isEmpty()) {
+                idleUntil(workload.arrivalTime(next));
+                continue;
+            }
+            int task = ready.pop();
+            long startTime = clock;
+            clock = advance(startTime, workload.burstTime(task));
+            segment(startTime, clock, task);
+            complete(task, startTime, clock);
+        }
+    }
+
+    // Ties on the primary key fall back to arrival time, then submission order
+    private boolean before(long keyA, long keyB, int a, int b) {
+        if (keyA != keyB) {
+            return keyA < keyB;
+        }
+        long arrivalA = workload.arrivalTime(a);
+        long arrivalB = workload.arrivalTime(b);
+        if (arrivalA != arrivalB) {
+            return arrivalA < arrivalB;
+        }
+        return a < b;
+    }
+
+    // Round Robin: tasks arriving during a slice queue ahead of the preempted task
+    private void roundRobin(int quantum) {
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("Quantum must be positive");
+        }
+        int n = workload.size();
+        ReadyRing ready = new ReadyRing();
+        int next = 0;
+        while (next < n || !ready.isEmpty()) {
+            while (next < n && workload.arrivalTime(next) <= clock) {
+                ready.offer(next, workload.burstTime(next), NOT_STARTED);
+                next++;
+            }
+            if (ready.isEmpty()) {
+                idleUntil(workload.arrivalTime(next));
+                continue;
+            }
+
+            int task = ready.headTask();
+            long remaining = ready.headRemaining();
+            long firstStart = ready.headFirstStart();
+            ready.poll();
+            if (firstStart == NOT_STARTED) {
+                firstStart = clock;
+            }
+
+            long startTime = clock;
+            long executed = Math.min(remaining, quantum);
+            clock = advance(startTime, executed);
+            remaining -= executed;
+            segment(startTime, clock, task);
+
+            while (next < n && workload.arrivalTime(next) <= clock) {
+                ready.offer(next, workload.burstTime(next), NOT_STARTED);
+                next++;
+            }
+
+            if (remaining > 0) {
+                ready.offer(task, remaining, firstStart);
+            } else {
+                complete(task, firstStart, clock);
+            }
+        }
+    }
+
+    private void idleUntil(long time) {
+        if (clock < time) {
+            segment(clock, time, ScheduleSink.IDLE);
+            clock = time;
+        }
+    }
+
+    private long advance(long time, long duration) {
+        try {
+            return Math.addExact(time, duration);
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Simulation clock overflow at t=" + time + " (+" + duration + ")");
+        }
+    }
+
+    // Budget checks run before the sink sees the event, so output never exceeds the limits
+    private void segment(long startTime, long endTime, int task) {
+        event();
+        budget.checkSegments(++segmentCount, startTime, events);
+        if (progress != null) {
+            progress.segment(startTime, endTime, task == ScheduleSink.IDLE ? task : workload.processId(task));
+        }
+        sink.segment(startTime, endTime, task);
+    }
+
+    private void event() {
+        budget.checkEvents(++events, clock);
+        if ((events & CHECKPOINT_MASK) == 0) {
+            budget.checkpoint(clock, events);
+            if (progress != null) {
+                progress.offer(false, clock, completedTasks, segmentCount, totalTurnaroundTime, totalWaitingTime);
+            }
+        }
+    }
+
+    private void complete(int task, long startTime, long completionTime) {
+        event();
+        long turnaroundTime = completionTime - workload.arrivalTime(task);
+        completedTasks++;
+        try {
+            totalTurnaroundTime = Math.addExact(totalTurnaroundTime, turnaroundTime);
+            totalWaitingTime = Math.addExact(totalWaitingTime, turnaroundTime - workload.burstTime(task));
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Turnaround/waiting total overflow after " + completedTasks + " tasks");
+        }
+        sink.completed(task, startTime, completionTime);
+    }
+
+    /**
+     * FIFO of (task, remaining burst, first start) triples in parallel ring buffers.
+     */
+    private static final class ReadyRing {
+        private int[] tasks = new int[16];
+        private long[] remaining = new long[16];
+        private long[] firstStarts = new long[16];
+        private int head;
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void offer(int task, long remainingTime, long firstStart) {
+            if (size == tasks.length) {
+                grow();
+            }
+            int tail = (head + size) & (tasks.length - 1);
+            tasks[tail] = task;
+            remaining[tail] = remainingTime;
+            firstStarts[tail] = firstStart;
+            size++;
+        }
+
+        int headTask() { return tasks[head]; }
+
+        long headRemaining() { return remaining[head]; }
+
+        long headFirstStart() { return firstStarts[head]; }
+
+        void poll() {
+            head = (head + 1) & (tasks.length - 1);
+            size--;
+        }
+
+        private void grow() {
+            int capacity = tasks.length << 1;
+            int[] grownTasks = new int[capacity];
+            long[] grownRemaining = new long[capacity];
+            long[] grownFirstStarts = new long[capacity];
+            // unwrap so the queue is contiguous from index 0
+            int firstPart = tasks.length - head;
+            System.arraycopy(tasks, head, grownTasks, 0, firstPart);
+            System.arraycopy(tasks, 0, grownTasks, firstPart, head);
+            System.arraycopy(remaining, head, grownRemaining, 0, firstPart);
+            System.arraycopy(remaining, 0, grownRemaining, firstPart, head);
+            System.arraycopy(firstStarts, head, grownFirstStarts, 0, firstPart);
+            System.arraycopy(firstStarts, 0, grownFirstStarts, firstPart, head);
+            tasks = grownTasks;
+            remaining = grownRemaining;
+            firstStarts = grownFirstStarts;
+            head = 0;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.cpuscheduler.engine;
+
+/**
+ * Receives the output of a {@link ScheduleEngine} run as it is produced.
+ * Task arguments are workload indices, not process ids.
+ */
+public interface ScheduleSink {
+
+    int IDLE = -1;
+
+    ScheduleSink NONE = new ScheduleSink() {
+    };
+
+    // A contiguous slice of CPU time given to one task, or IDLE
+    default void segment(long startTime, long endTime, int task) {
+    }
+
+    // Called exactly once per task, when its last slice finishes
+    default void completed(int task, long startTime, long completionTime) {
+    }
+}
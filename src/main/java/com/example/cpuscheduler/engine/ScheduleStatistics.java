@@ -0,0 +1,80 @@
+package com.example.cpuscheduler.engine;
+
+/**
+ * Schedule statistics gathered as the engine streams its output, in constant
+ * memory: waiting, turnaround and response time distributions as
+ * {@link QuantileSketch}es, plus busy and idle time, context switches and the
+ * makespan. Feed it the same events as the main sink, e.g. by forwarding from
+ * that sink.
+ * <p>
+ * Response time is first start minus arrival. A context switch is counted each
+ * time the CPU passes to a different task than the one that last ran, whether
+ * or not an idle period lies between them. Utilization, throughput and idle
+ * share are taken over the makespan, from time zero to the last segment's end.
+ */
+public final class ScheduleStatistics implements ScheduleSink {
+
+    private final Workload workload;
+    private final QuantileSketch waitingTimes = new QuantileSketch();
+    private final QuantileSketch turnaroundTimes = new QuantileSketch();
+    private final QuantileSketch responseTimes = new QuantileSketch();
+    private long busyTime;
+    private long idleTime;
+    private long contextSwitches;
+    private long makespan;
+    private int lastTask = IDLE;
+
+    public ScheduleStatistics(Workload workload) {
+        this.workload = workload;
+    }
+
+    @Override
+    public void segment(long startTime, long endTime, int task) {
+        makespan = Math.max(makespan, endTime);
+        if (task == IDLE) {
+            idleTime += endTime - startTime;
+            return;
+        }
+        busyTime += endTime - startTime;
+        if (lastTask != IDLE && lastTask != task) {
+            contextSwitches++;
+        }
+        lastTask = task;
+    }
+
+    @Override
+    public void completed(int task, long startTime, long completionTime) {
+        long arrivalTime = workload.arrivalTime(task);
+        long turnaroundTime = completionTime - arrivalTime;
+        turnaroundTimes.add(turnaroundTime);
+        waitingTimes.add(turnaroundTime - workload.burstTime(task));
+        responseTimes.add(startTime - arrivalTime);
+    }
+
+    public QuantileSketch getWaitingTimes() { return waitingTimes; }
+
+    public QuantileSketch getTurnaroundTimes() { return turnaroundTimes; }
+
+    public QuantileSketch getResponseTimes() { return responseTimes; }
+
+    public long getBusyTime() { return busyTime; }
+
+    public long getIdleTime() { return idleTime; }
+
+    public long getContextSwitches() { return contextSwitches; }
+
+    public long getMakespan() { return makespan; }
+
+    public double getCpuUtilization() {
+        return makespan == 0 ? 0.0 : (double) busyTime / makespan;
+    }
+
+    public double getIdleShare() {
+        return makespan == 0 ? 0.0 : (double) idleTime / makespan;
+    }
+
+    // Completed tasks per time unit
+    public double getThroughput() {
+        return makespan == 0 ? 0.0 : (double) turnaroundTimes.getCount() / makespan;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.cpuscheduler.engine;
+
+public final class ScheduleSummary {
+
+    private final int taskCount;
+    private final long segmentCount;
+    private final long totalTurnaroundTime;
+    private final long totalWaitingTime;
+    private final long makespan;
+
+    public ScheduleSummary(int taskCount, long segmentCount, long totalTurnaroundTime,
+                           long totalWaitingTime, long makespan) {
+        this.taskCount = taskCount;
+        this.segmentCount = segmentCount;
+        this.totalTurnaroundTime = totalTurnaroundTime;
+        this.totalWaitingTime = totalWaitingTime;
+        this.makespan = makespan;
+    }
+
+    public int getTaskCount() { return taskCount; }
+
+    public long getSegmentCount() { return segmentCount; }
+
+    public long getTotalTurnaroundTime() { return totalTurnaroundTime; }
+
+    public long getTotalWaitingTime() { return totalWaitingTime; }
+
+    public long getMakespan() { return makespan; }
+
+    public double getAverageTurnaroundTime() {
+        return taskCount == 0 ? 0.0 : (double) totalTurnaroundTime / taskCount;
+    }
+
+    public double getAverageWaitingTime() {
+        return taskCount == 0 ? 0.0 : (double) totalWaitingTime / taskCount;
+    }
+}
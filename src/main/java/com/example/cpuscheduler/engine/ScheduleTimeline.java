@@ -0,0 +1,397 @@
+package com.example.cpuscheduler.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scrubbable record of one schedule. Recording replays the workload once and
+ * keeps a compact checkpoint (clock, arrival cursor, ready queue contents with
+ * remaining bursts, running totals) every K events. {@link #stateAt} restores
+ * the last checkpoint at or before the requested time and replays only the
+ * decisions between it and that time, so a query costs O(K log n) however long
+ * the schedule is.
+ * <p>
+ * Checkpoints are bounded by a total number of stored queue entries: when the
+ * bound is exceeded every other checkpoint is dropped and K doubles, so memory
+ * stays fixed and query cost grows only logarithmically with the overshoot.
+ * Decisions are identical to {@link ScheduleEngine}'s, including tie-breaking.
+ * Immutable once recorded; queries may run concurrently.
+ */
+public final class ScheduleTimeline {
+
+    // Deadline and cancellation are polled once per this many events
+    private static final long BUDGET_CHECKPOINT_INTERVAL = 1 << 12;
+
+    private final Workload workload;
+    private final SchedulingAlgorithm algorithm;
+    private final int quantum;
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+    private long checkpointInterval;
+    private long storedEntries;
+    private long endTime;
+    private long eventCount;
+
+    private ScheduleTimeline(Workload workload, SchedulingAlgorithm algorithm, int quantum, long checkpointInterval) {
+        this.workload = workload;
+        this.algorithm = algorithm;
+        this.quantum = quantum;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    // Replay the whole schedule once, checkpointing every checkpointInterval events
+    public static ScheduleTimeline record(Workload workload, SchedulingAlgorithm algorithm, int quantum,
+                                          long checkpointInterval, long maxStoredEntries, ComputeBudget budget) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        if (algorithm == SchedulingAlgorithm.RR && quantum <= 0) {
+            throw new IllegalArgumentException("Quantum must be positive");
+        }
+        budget.checkTasks(workload.size());
+        ScheduleTimeline timeline = new ScheduleTimeline(workload, algorithm, quantum, checkpointInterval);
+        Cursor cursor = timeline.new Cursor();
+        timeline.checkpoint(cursor);
+
+        long lastCheckpointEvents = 0;
+        long nextBudgetCheckpoint = BUDGET_CHECKPOINT_INTERVAL;
+        budget.checkpoint(0, 0);
+        while (cursor.step(Long.MAX_VALUE)) {
+            budget.checkEvents(cursor.events, cursor.clock);
+            budget.checkSegments(cursor.segments, cursor.clock, cursor.events);
+            if (cursor.events >= nextBudgetCheckpoint) {
+                budget.checkpoint(cursor.clock, cursor.events);
+                nextBudgetCheckpoint += BUDGET_CHECKPOINT_INTERVAL;
+            }
+            if (cursor.events - lastCheckpointEvents >= timeline.checkpointInterval) {
+                timeline.checkpoint(cursor);
+                lastCheckpointEvents = cursor.events;
+                if (timeline.storedEntries > maxStoredEntries) {
+                    timeline.thin(maxStoredEntries);
+                }
+            }
+        }
+        timeline.endTime = cursor.clock;
+        timeline.eventCount = cursor.events;
+        return timeline;
+    }
+
+    private void checkpoint(Cursor cursor) {
+        Checkpoint checkpoint = cursor.save();
+        checkpoints.add(checkpoint);
+        storedEntries += checkpoint.readyTasks.length + 1;
+    }
+
+    // Drop every other checkpoint (never the first) until the entry bound holds again
+    private void thin(long maxStoredEntries) {
+        while (storedEntries > maxStoredEntries && checkpoints.size() > 1) {
+            List<Checkpoint> kept = new ArrayList<>((checkpoints.size() + 1) / 2);
+            storedEntries = 0;
+            for (int i = 0; i < checkpoints.size(); i += 2) {
+                kept.add(checkpoints.get(i));
+                storedEntries += checkpoints.get(i).readyTasks.length + 1;
+            }
+            checkpoints.clear();
+            checkpoints.addAll(kept);
+            checkpointInterval <<= 1;
+        }
+    }
+
+    // State from the given instant on; lists at most maxReadyListed ready tasks
+    public TimelineState stateAt(long time, int maxReadyListed) {
+        if (time < 0) {
+            throw new IllegalArgumentException("Time must not be negative");
+        }
+        Cursor cursor = new Cursor();
+        cursor.restore(checkpoints.get(lastCheckpointAtOrBefore(time)));
+        while (cursor.step(time)) {
+            // replay the decisions taken before the requested time
+        }
+        return cursor.describe(time, Math.max(0, maxReadyListed));
+    }
+
+    private int lastCheckpointAtOrBefore(long time) {
+        int low = 0;
+        int high = checkpoints.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (checkpoints.get(mid).clock <= time) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    public SchedulingAlgorithm getAlgorithm() { return algorithm; }
+
+    public int getTaskCount() { return workload.size(); }
+
+    // Time at which the last task completes
+    public long getEndTime() { return endTime; }
+
+    public long getEventCount() { return eventCount; }
+
+    public int getCheckpointCount() { return checkpoints.size(); }
+
+    // Current spacing in events; doubles each time the checkpoints are thinned
+    public long getCheckpointInterval() { return checkpointInterval; }
+
+    public long getStoredEntries() { return storedEntries; }
+
+    private static final class Checkpoint {
+        private final long clock;
+        private final int next;
+        private final long events;
+        private final long segments;
+        private final int completedTasks;
+        private final long totalTurnaroundTime;
+        private final long totalWaitingTime;
+        // Heap storage order for SJF/Priority/FCFS; queue order with remaining bursts for Round Robin
+        private final int[] readyTasks;
+        private final long[] readyRemaining;
+
+        Checkpoint(Cursor cursor, int[] readyTasks, long[] readyRemaining) {
+            this.clock = cursor.clock;
+            this.next = cursor.next;
+            this.events = cursor.events;
+            this.segments = cursor.segments;
+            this.completedTasks = cursor.completedTasks;
+            this.totalTurnaroundTime = cursor.totalTurnaroundTime;
+            this.totalWaitingTime = cursor.totalWaitingTime;
+            this.readyTasks = readyTasks;
+            this.readyRemaining = readyRemaining;
+        }
+    }
+
+    /**
+     * Mutable replay state. Between steps the clock sits on a decision point:
+     * every slice ending at or before it has been applied.
+     */
+    private final class Cursor {
+        private long clock;
+        private int next;
+        private long events;
+        private long segments;
+        private int completedTasks;
+        private long totalTurnaroundTime;
+        private long totalWaitingTime;
+        // SJF, Priority and FCFS keep untouched bursts in a heap; Round Robin keeps a FIFO of partial bursts
+        private final IndexHeap readyHeap;
+        private int[] ringTasks;
+        private long[] ringRemaining;
+        private int ringHead;
+        private int ringSize;
+
+        Cursor() {
+            switch (algorithm) {
+                case FCFS:
+                    readyHeap = new IndexHeap((a, b) -> a < b);
+                    break;
+                case SJF:
+                    readyHeap = new IndexHeap((a, b) -> before(workload.burstTime(a), workload.burstTime(b), a, b));
+                    break;
+                case PRIORITY:
+                    readyHeap = new IndexHeap((a, b) -> before(workload.priority(a), workload.priority(b), a, b));
+                    break;
+                case RR:
+                    readyHeap = null;
+                    ringTasks = new int[16];
+                    ringRemaining = new long[16];
+                    break;
+                default:
+                    throw new UnsupportedOperationException("Unsupported scheduling algorithm");
+            }
+        }
+
+        // Same tie-breaking as the engine: primary key, then arrival time, then submission order
+        private boolean before(long keyA, long keyB, int a, int b) {
+            if (keyA != keyB) {
+                return keyA < keyB;
+            }
+            long arrivalA = workload.arrivalTime(a);
+            long arrivalB = workload.arrivalTime(b);
+            if (arrivalA != arrivalB) {
+                return arrivalA < arrivalB;
+            }
+            return a < b;
+        }
+
+        // Apply the next decision if it completes by the limit; false when it would not, or nothing is left
+        boolean step(long limit) {
+            admit(clock);
+            if (isReadyEmpty()) {
+                if (next == workload.size()) {
+                    return false;
+                }
+                long arrival = workload.arrivalTime(next);
+                if (arrival > limit) {
+                    return false;
+                }
+                if (clock < arrival) {
+                    events++;
+                    segments++;
+                    clock = arrival;
+                }
+                return true;
+            }
+
+            int task = readyHeap != null ? readyHeap.peek() : ringTasks[ringHead];
+            long remaining = readyHeap != null ? workload.burstTime(task) : ringRemaining[ringHead];
+            long executed = readyHeap != null ? remaining : Math.min(remaining, quantum);
+            long end;
+            try {
+                end = Math.addExact(clock, executed);
+            } catch (ArithmeticException e) {
+                throw new ArithmeticException("Simulation clock overflow at t=" + clock + " (+" + executed + ")");
+            }
+            if (end > limit) {
+                return false;
+            }
+
+            popReady();
+            clock = end;
+            events++;
+            segments++;
+            remaining -= executed;
+            if (readyHeap == null) {
+                // Round Robin: tasks arriving during the slice queue ahead of the preempted task
+                admit(clock);
+                if (remaining > 0) {
+                    offer(task, remaining);
+                    return true;
+                }
+            }
+            complete(task);
+            return true;
+        }
+
+        private void complete(int task) {
+            events++;
+            completedTasks++;
+            long turnaroundTime = clock - workload.arrivalTime(task);
+            try {
+                totalTurnaroundTime = Math.addExact(totalTurnaroundTime, turnaroundTime);
+                totalWaitingTime = Math.addExact(totalWaitingTime, turnaroundTime - workload.burstTime(task));
+            } catch (ArithmeticException e) {
+                throw new ArithmeticException("Turnaround/waiting total overflow after " + completedTasks + " tasks");
+            }
+        }
+
+        private void admit(long time) {
+            while (next < workload.size() && workload.arrivalTime(next) <= time) {
+                if (readyHeap != null) {
+                    readyHeap.push(next);
+                } else {
+                    offer(next, workload.burstTime(next));
+                }
+                next++;
+            }
+        }
+
+        private boolean isReadyEmpty() {
+            return readyHeap != null ? readyHeap.isEmpty() : ringSize == 0;
+        }
+
+        private int readySize() {
+            return readyHeap != null ? readyHeap.size() : ringSize;
+        }
+
+        private void popReady() {
+            if (readyHeap != null) {
+                readyHeap.pop();
+            } else {
+                ringHead = (ringHead + 1) & (ringTasks.length - 1);
+                ringSize--;
+            }
+        }
+
+        private void offer(int task, long remaining) {
+            if (ringSize == ringTasks.length) {
+                int capacity = ringSize << 1;
+                int firstPart = ringTasks.length - ringHead;
+                int[] grownTasks = new int[capacity];
+                long[] grownRemaining = new long[capacity];
+                System.arraycopy(ringTasks, ringHead, grownTasks, 0, firstPart);
+                System.arraycopy(ringTasks, 0, grownTasks, firstPart, ringHead);
+                System.arraycopy(ringRemaining, ringHead, grownRemaining, 0, firstPart);
+                System.arraycopy(ringRemaining, 0, grownRemaining, firstPart, ringHead);
+                ringTasks = grownTasks;
+                ringRemaining = grownRemaining;
+                ringHead = 0;
+            }
+            int tail = (ringHead + ringSize) & (ringTasks.length - 1);
+            ringTasks[tail] = task;
+            ringRemaining[tail] = remaining;
+            ringSize++;
+        }
+
+        Checkpoint save() {
+            if (readyHeap != null) {
+                return new Checkpoint(this, readyHeap.toArray(), null);
+            }
+            int[] tasks = new int[ringSize];
+            long[] remaining = new long[ringSize];
+            for (int i = 0; i < ringSize; i++) {
+                int slot = (ringHead + i) & (ringTasks.length - 1);
+                tasks[i] = ringTasks[slot];
+                remaining[i] = ringRemaining[slot];
+            }
+            return new Checkpoint(this, tasks, remaining);
+        }
+
+        void restore(Checkpoint checkpoint) {
+            clock = checkpoint.clock;
+            next = checkpoint.next;
+            events = checkpoint.events;
+            segments = checkpoint.segments;
+            completedTasks = checkpoint.completedTasks;
+            totalTurnaroundTime = checkpoint.totalTurnaroundTime;
+            totalWaitingTime = checkpoint.totalWaitingTime;
+            if (readyHeap != null) {
+                readyHeap.restore(checkpoint.readyTasks);
+                return;
+            }
+            int capacity = Integer.highestOneBit(Math.max(16, checkpoint.readyTasks.length) - 1) << 1;
+            ringTasks = Arrays.copyOf(checkpoint.readyTasks, capacity);
+            ringRemaining = Arrays.copyOf(checkpoint.readyRemaining, capacity);
+            ringHead = 0;
+            ringSize = checkpoint.readyTasks.length;
+        }
+
+        // Called once the replay has stopped short of time; consumes the cursor
+        TimelineState describe(long time, int maxReadyListed) {
+            int running = ScheduleSink.IDLE;
+            long runningRemaining = 0;
+            if (!isReadyEmpty()) {
+                // The next slice starts at or before time and is still running then
+                running = readyHeap != null ? readyHeap.peek() : ringTasks[ringHead];
+                long remaining = readyHeap != null ? workload.burstTime(running) : ringRemaining[ringHead];
+                runningRemaining = remaining - (time - clock);
+                popReady();
+            }
+            admit(time);
+
+            int readyCount = readySize();
+            int listed = Math.min(readyCount, maxReadyListed);
+            int[] readyProcessIds = new int[listed];
+            long[] readyRemainingTimes = new long[listed];
+            for (int i = 0; i < listed; i++) {
+                int task;
+                if (readyHeap != null) {
+                    task = readyHeap.pop();
+                    readyRemainingTimes[i] = workload.burstTime(task);
+                } else {
+                    int slot = (ringHead + i) & (ringTasks.length - 1);
+                    task = ringTasks[slot];
+                    readyRemainingTimes[i] = ringRemaining[slot];
+                }
+                readyProcessIds[i] = workload.processId(task);
+            }
+            return new TimelineState(time, running == ScheduleSink.IDLE ? running : workload.processId(running),
+                    runningRemaining, readyCount, readyProcessIds, readyRemainingTimes, next, completedTasks,
+                    workload.size(), totalTurnaroundTime, totalWaitingTime);
+        }
+    }
+}
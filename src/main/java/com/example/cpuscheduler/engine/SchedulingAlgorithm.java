@@ -0,0 +1,28 @@
+package com.example.cpuscheduler.engine;
+
+public enum SchedulingAlgorithm {
+    FCFS("fcfs"),
+    SJF("sjf"),
+    PRIORITY("priority"),
+    RR("rr");
+
+    private final String path;
+
+    SchedulingAlgorithm(String path) {
+        this.path = path;
+    }
+
+    // Name used in the /schedule/{algorithm} path and in stored history
+    public String path() {
+        return path;
+    }
+
+    public static SchedulingAlgorithm fromPath(String path) {
+        for (SchedulingAlgorithm algorithm : values()) {
+            if (algorithm.path.equals(path)) {
+                return algorithm;
+            }
+        }
+        throw new UnsupportedOperationException("Unsupported scheduling algorithm");
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.cpuscheduler.engine;
+
+/**
+ * Thrown when a simulation stops early because it exceeded its {@link ComputeBudget}
+ * or was cancelled. Carries enough detail to build a structured error response.
+ */
+public class SimulationAbortedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Reason {
+        TASK_LIMIT("Workload exceeds the task limit"),
+        EVENT_LIMIT("Simulation exceeded the event limit"),
+        SEGMENT_LIMIT("Simulation exceeded the Gantt segment limit"),
+        DEADLINE("Simulation exceeded its time limit"),
+        CANCELLED("Simulation was cancelled");
+
+        private final String description;
+
+        Reason(String description) {
+            this.description = description;
+        }
+    }
+
+    private final Reason reason;
+    private final long limit;
+    private final long simulatedTime;
+    private final long eventsProcessed;
+
+    public SimulationAbortedException(Reason reason, long limit, long simulatedTime, long eventsProcessed) {
+        super(limit > 0 ? reason.description + " of " + limit : reason.description);
+        this.reason = reason;
+        this.limit = limit;
+        this.simulatedTime = simulatedTime;
+        this.eventsProcessed = eventsProcessed;
+    }
+
+    public Reason getReason() { return reason; }
+
+    // The limit that was hit; 0 for deadline and cancellation
+    public long getLimit() { return limit; }
+
+    // Simulation clock when the run stopped
+    public long getSimulatedTime() { return simulatedTime; }
+
+    public long getEventsProcessed() { return eventsProcessed; }
+}
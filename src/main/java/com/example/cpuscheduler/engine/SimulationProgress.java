@@ -0,0 +1,73 @@
+package com.example.cpuscheduler.engine;
+
+/**
+ * Immutable snapshot of a running simulation, published by a
+ * {@link ProgressTracker}. The Gantt window holds the segments emitted since
+ * the previous snapshot, in order, up to the tracker's window size; segments
+ * beyond that are only counted in {@link #getOmittedSegments()}.
+ */
+public final class SimulationProgress {
+
+    private final long simulatedTime;
+    private final int completedTasks;
+    private final int totalTasks;
+    private final long segmentsEmitted;
+    private final long totalTurnaroundTime;
+    private final long totalWaitingTime;
+    private final boolean finished;
+    private final long[] windowStartTimes;
+    private final long[] windowEndTimes;
+    private final int[] windowProcessIds;
+    private final long omittedSegments;
+
+    SimulationProgress(long simulatedTime, int completedTasks, int totalTasks, long segmentsEmitted,
+                       long totalTurnaroundTime, long totalWaitingTime, boolean finished,
+                       long[] windowStartTimes, long[] windowEndTimes, int[] windowProcessIds,
+                       long omittedSegments) {
+        this.simulatedTime = simulatedTime;
+        this.completedTasks = completedTasks;
+        this.totalTasks = totalTasks;
+        this.segmentsEmitted = segmentsEmitted;
+        this.totalTurnaroundTime = totalTurnaroundTime;
+        this.totalWaitingTime = totalWaitingTime;
+        this.finished = finished;
+        this.windowStartTimes = windowStartTimes;
+        this.windowEndTimes = windowEndTimes;
+        this.windowProcessIds = windowProcessIds;
+        this.omittedSegments = omittedSegments;
+    }
+
+    public long getSimulatedTime() { return simulatedTime; }
+
+    public int getCompletedTasks() { return completedTasks; }
+
+    public int getTotalTasks() { return totalTasks; }
+
+    public long getSegmentsEmitted() { return segmentsEmitted; }
+
+    public boolean isFinished() { return finished; }
+
+    // Averages over the tasks completed so far
+    public double getAverageTurnaroundTime() {
+        return completedTasks == 0 ? 0.0 : (double) totalTurnaroundTime / completedTasks;
+    }
+
+    public double getAverageWaitingTime() {
+        return completedTasks == 0 ? 0.0 : (double) totalWaitingTime / completedTasks;
+    }
+
+    public double getFractionComplete() {
+        return totalTasks == 0 ? 1.0 : (double) completedTasks / totalTasks;
+    }
+
+    // Gantt window accessors; process id is ScheduleSink.IDLE for idle segments
+    public int getWindowSize() { return windowStartTimes.length; }
+
+    public long windowStartTime(int i) { return windowStartTimes[i]; }
+
+    public long windowEndTime(int i) { return windowEndTimes[i]; }
+
+    public int windowProcessId(int i) { return windowProcessIds[i]; }
+
+    public long getOmittedSegments() { return omittedSegments; }
+}
@@ -0,0 +1,70 @@
+package com.example.cpuscheduler.engine;
+
+/**
+ * Immutable scheduler state at one instant, as answered by
+ * {@link ScheduleTimeline#stateAt}: what holds the CPU from that instant on,
+ * and the ready queue in dispatch order with each task's remaining burst. The
+ * ready listing may be truncated; {@link #getReadyCount()} is always exact.
+ */
+public final class TimelineState {
+
+    private final long time;
+    private final int runningProcessId;
+    private final long runningRemainingTime;
+    private final int readyCount;
+    private final int[] readyProcessIds;
+    private final long[] readyRemainingTimes;
+    private final int arrivedTasks;
+    private final int completedTasks;
+    private final int totalTasks;
+    private final long totalTurnaroundTime;
+    private final long totalWaitingTime;
+
+    TimelineState(long time, int runningProcessId, long runningRemainingTime, int readyCount,
+                  int[] readyProcessIds, long[] readyRemainingTimes, int arrivedTasks, int completedTasks,
+                  int totalTasks, long totalTurnaroundTime, long totalWaitingTime) {
+        this.time = time;
+        this.runningProcessId = runningProcessId;
+        this.runningRemainingTime = runningRemainingTime;
+        this.readyCount = readyCount;
+        this.readyProcessIds = readyProcessIds;
+        this.readyRemainingTimes = readyRemainingTimes;
+        this.arrivedTasks = arrivedTasks;
+        this.completedTasks = completedTasks;
+        this.totalTasks = totalTasks;
+        this.totalTurnaroundTime = totalTurnaroundTime;
+        this.totalWaitingTime = totalWaitingTime;
+    }
+
+    public long getTime() { return time; }
+
+    // ScheduleSink.IDLE when no task holds the CPU
+    public int getRunningProcessId() { return runningProcessId; }
+
+    // Burst still owed by the running task at this instant
+    public long getRunningRemainingTime() { return runningRemainingTime; }
+
+    public int getReadyCount() { return readyCount; }
+
+    // Ready listing accessors, in the order the tasks would be dispatched
+    public int getListedReadyCount() { return readyProcessIds.length; }
+
+    public int readyProcessId(int i) { return readyProcessIds[i]; }
+
+    public long readyRemainingTime(int i) { return readyRemainingTimes[i]; }
+
+    public int getArrivedTasks() { return arrivedTasks; }
+
+    public int getCompletedTasks() { return completedTasks; }
+
+    public int getTotalTasks() { return totalTasks; }
+
+    // Averages over the tasks completed by this instant
+    public double getAverageTurnaroundTime() {
+        return completedTasks == 0 ? 0.0 : (double) totalTurnaroundTime / completedTasks;
+    }
+
+    public double getAverageWaitingTime() {
+        return completedTasks == 0 ? 0.0 : (double) totalWaitingTime / completedTasks;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.cpuscheduler.engine;
+
+/**
+ * Read-only, index-addressed view of the tasks to simulate.
+ * Implementations must present tasks sorted by non-decreasing arrival time;
+ * the engine walks them strictly in index order. Times are 64-bit so that
+ * microsecond-resolution traces cannot overflow the simulation clock.
+ */
+public interface Workload {
+
+    int size();
+
+    int processId(int index);
+
+    long arrivalTime(int index);
+
+    long burstTime(int index);
+
+    int priority(int index);
+}
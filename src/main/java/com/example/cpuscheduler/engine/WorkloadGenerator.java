@@ -0,0 +1,126 @@
+package com.example.cpuscheduler.engine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded synthetic workload source. Rows are produced one at a time in arrival
+ * order, so a workload of tens of millions of tasks can be streamed to CSV or
+ * a {@link MappedWorkload} file without ever being held on the heap.
+ */
+public final class WorkloadGenerator {
+
+    public interface RowConsumer {
+        void accept(int processId, long arrivalTime, long burstTime, int priority);
+    }
+
+    private final WorkloadSpec spec;
+    private final SplittableRandom random;
+    private double clock;
+
+    private WorkloadGenerator(WorkloadSpec spec) {
+        spec.validate();
+        this.spec = spec;
+        this.random = new SplittableRandom(spec.getSeed());
+    }
+
+    // Stream every row to the consumer; process ids are 1..n in arrival order
+    public static void generate(WorkloadSpec spec, RowConsumer consumer) {
+        WorkloadGenerator generator = new WorkloadGenerator(spec);
+        for (int i = 0; i < spec.getTaskCount(); i++) {
+            long arrivalTime = generator.nextArrival(i);
+            long burstTime = generator.nextBurst();
+            int priority = generator.nextPriority();
+            consumer.accept(i + 1, arrivalTime, burstTime, priority);
+        }
+    }
+
+    // Materialize the workload as primitive arrays
+    public static ArrayWorkload generate(WorkloadSpec spec) {
+        int n = spec.getTaskCount();
+        int[] processIds = new int[n];
+        long[] arrivalTimes = new long[n];
+        long[] burstTimes = new long[n];
+        int[] priorities = new int[n];
+        generate(spec, (processId, arrivalTime, burstTime, priority) -> {
+            int i = processId - 1;
+            processIds[i] = processId;
+            arrivalTimes[i] = arrivalTime;
+            burstTimes[i] = burstTime;
+            priorities[i] = priority;
+        });
+        return new ArrayWorkload(processIds, arrivalTimes, burstTimes, priorities);
+    }
+
+    // Write the workload straight into a memory-mapped workload file
+    public static void generate(WorkloadSpec spec, Path mappedFile) throws IOException {
+        try (MappedWorkload.Writer writer = MappedWorkload.create(mappedFile, spec.getTaskCount())) {
+            generate(spec, writer::append);
+        }
+    }
+
+    private long nextArrival(int index) {
+        switch (spec.getArrivalDistribution()) {
+            case UNIFORM:
+                if (index > 0) {
+                    clock += random.nextDouble() * 2 * spec.getMeanInterArrival();
+                }
+                break;
+            case EXPONENTIAL:
+                if (index > 0) {
+                    clock += exponential(spec.getMeanInterArrival());
+                }
+                break;
+            case BURSTY:
+                if (index > 0 && index % spec.getBatchSize() == 0) {
+                    // keep the long-run arrival rate equal to 1 / meanInterArrival
+                    clock += exponential(spec.getMeanInterArrival() * spec.getBatchSize());
+                }
+                break;
+            case ALL_AT_ZERO:
+            default:
+                break;
+        }
+        return (long) clock;
+    }
+
+    private long nextBurst() {
+        double sample;
+        switch (spec.getBurstDistribution()) {
+            case UNIFORM:
+                return spec.getBurstMin() + random.nextLong(spec.getBurstMax() - spec.getBurstMin() + 1);
+            case PARETO:
+                sample = spec.getBurstMin() / Math.pow(1.0 - random.nextDouble(), 1.0 / spec.getParetoShape());
+                break;
+            case BIMODAL:
+                sample = exponential(random.nextDouble() < spec.getLongFraction()
+                        ? spec.getLongBurstMean()
+                        : spec.getBurstMean());
+                break;
+            case EXPONENTIAL:
+            default:
+                sample = exponential(spec.getBurstMean());
+                break;
+        }
+        return Math.max(spec.getBurstMin(), Math.min(spec.getBurstMax(), Math.round(sample)));
+    }
+
+    private int nextPriority() {
+        switch (spec.getPriorityDistribution()) {
+            case UNIFORM:
+                return 1 + random.nextInt(spec.getPriorityLevels());
+            case GEOMETRIC:
+                // count fair coin flips until tails; truncated at the last level
+                int level = 1 + Long.numberOfTrailingZeros(random.nextLong() | Long.MIN_VALUE);
+                return Math.min(level, spec.getPriorityLevels());
+            case CONSTANT:
+            default:
+                return 1;
+        }
+    }
+
+    private double exponential(double mean) {
+        return -mean * Math.log(1.0 - random.nextDouble());
+    }
+}
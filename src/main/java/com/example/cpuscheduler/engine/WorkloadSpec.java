@@ -0,0 +1,126 @@
+package com.example.cpuscheduler.engine;
+
+/**
+ * Parameters for {@link WorkloadGenerator}. The same spec and seed always
+ * produce the same workload, so load tests and benchmarks can share inputs.
+ */
+public class WorkloadSpec {
+
+    public enum ArrivalDistribution {
+        // Every task is ready at t=0
+        ALL_AT_ZERO,
+        // Inter-arrival gaps uniform on [0, 2 * meanInterArrival]
+        UNIFORM,
+        // Poisson process: exponential gaps with mean meanInterArrival
+        EXPONENTIAL,
+        // Batches of batchSize tasks arriving together, batches form a Poisson process
+        BURSTY
+    }
+
+    public enum BurstDistribution {
+        // Uniform on [burstMin, burstMax]
+        UNIFORM,
+        // Exponential with mean burstMean
+        EXPONENTIAL,
+        // Heavy-tailed: Pareto with scale burstMin and shape paretoShape
+        PARETO,
+        // Mostly short jobs (mean burstMean) with a longFraction of long ones (mean longBurstMean)
+        BIMODAL
+    }
+
+    public enum PriorityDistribution {
+        CONSTANT,
+        // Uniform on [1, priorityLevels]
+        UNIFORM,
+        // Level k has probability proportional to 2^-k, so urgent work is common
+        GEOMETRIC
+    }
+
+    private int taskCount = 10;
+    private long seed = 1L;
+
+    private ArrivalDistribution arrivalDistribution = ArrivalDistribution.EXPONENTIAL;
+    private double meanInterArrival = 5.0;
+    private int batchSize = 32;
+
+    private BurstDistribution burstDistribution = BurstDistribution.EXPONENTIAL;
+    private long burstMin = 1;
+    private long burstMax = 1_000_000;
+    private double burstMean = 10.0;
+    private double paretoShape = 1.5;
+    private double longBurstMean = 200.0;
+    private double longFraction = 0.1;
+
+    private PriorityDistribution priorityDistribution = PriorityDistribution.UNIFORM;
+    private int priorityLevels = 10;
+
+    public void validate() {
+        if (taskCount < 0) {
+            throw new IllegalArgumentException("taskCount must not be negative");
+        }
+        if (meanInterArrival < 0 || Double.isNaN(meanInterArrival)) {
+            throw new IllegalArgumentException("meanInterArrival must not be negative");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        if (burstMin < 1 || burstMax < burstMin) {
+            throw new IllegalArgumentException("burst bounds must satisfy 1 <= burstMin <= burstMax");
+        }
+        if (!(burstMean > 0) || !(longBurstMean > 0)) {
+            throw new IllegalArgumentException("burst means must be positive");
+        }
+        if (!(paretoShape > 0)) {
+            throw new IllegalArgumentException("paretoShape must be positive");
+        }
+        if (!(longFraction >= 0 && longFraction <= 1)) {
+            throw new IllegalArgumentException("longFraction must be between 0 and 1");
+        }
+        if (priorityLevels < 1) {
+            throw new IllegalArgumentException("priorityLevels must be at least 1");
+        }
+    }
+
+    // Getters and setters
+    public int getTaskCount() { return taskCount; }
+    public void setTaskCount(int taskCount) { this.taskCount = taskCount; }
+
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public ArrivalDistribution getArrivalDistribution() { return arrivalDistribution; }
+    public void setArrivalDistribution(ArrivalDistribution arrivalDistribution) { this.arrivalDistribution = arrivalDistribution; }
+
+    public double getMeanInterArrival() { return meanInterArrival; }
+    public void setMeanInterArrival(double meanInterArrival) { this.meanInterArrival = meanInterArrival; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public BurstDistribution getBurstDistribution() { return burstDistribution; }
+    public void setBurstDistribution(BurstDistribution burstDistribution) { this.burstDistribution = burstDistribution; }
+
+    public long getBurstMin() { return burstMin; }
+    public void setBurstMin(long burstMin) { this.burstMin = burstMin; }
+
+    public long getBurstMax() { return burstMax; }
+    public void setBurstMax(long burstMax) { this.burstMax = burstMax; }
+
+    public double getBurstMean() { return burstMean; }
+    public void setBurstMean(double burstMean) { this.burstMean = burstMean; }
+
+    public double getParetoShape() { return paretoShape; }
+    public void setParetoShape(double paretoShape) { this.paretoShape = paretoShape; }
+
+    public double getLongBurstMean() { return longBurstMean; }
+    public void setLongBurstMean(double longBurstMean) { this.longBurstMean = longBurstMean; }
+
+    public double getLongFraction() { return longFraction; }
+    public void setLongFraction(double longFraction) { this.longFraction = longFraction; }
+
+    public PriorityDistribution getPriorityDistribution() { return priorityDistribution; }
+    public void setPriorityDistribution(PriorityDistribution priorityDistribution) { this.priorityDistribution = priorityDistribution; }
+
+    public int getPriorityLevels() { return priorityLevels; }
+    public void setPriorityLevels(int priorityLevels) { this.priorityLevels = priorityLevels; }
+}
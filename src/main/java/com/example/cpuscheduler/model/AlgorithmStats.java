@@ -0,0 +1,7 @@
+package com.example.cpuscheduler.model;
+
+// Aggregates of one algorithm's runs; the means are over the per-run averages
+public record AlgorithmStats(String algorithm, long runs,
+                             Double meanAverageWT, Double minAverageWT, Double maxAverageWT,
+                             Double meanAverageTAT, Double minAverageTAT, Double maxAverageTAT) {
+}
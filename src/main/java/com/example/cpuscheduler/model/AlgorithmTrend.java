@@ -0,0 +1,8 @@
+package com.example.cpuscheduler.model;
+
+import java.time.LocalDate;
+
+// One algorithm's runs on one day
+public record AlgorithmTrend(LocalDate day, String algorithm, long runs,
+                             Double meanAverageWT, Double meanAverageTAT) {
+}
@@ -15,34 +15,34 @@ public class CpuTask {
     private int priority;
 
     @Column(name = "burst_time")
-    private int burstTime;
+    private long burstTime;
 
     @Column(name = "arrival_time")
-    private int arrivalTime;
+    private long arrivalTime;
 
     @Column(name = "remaining_time")
-    private int remainingTime;
+    private long remainingTime;
 
     @Column(name = "completion_time")
-    private Integer completionTime;
+    private Long completionTime;
 
     @Column(name = "turnaround_time")
-    private Integer turnaroundTime;
+    private Long turnaroundTime;
 
     @Column(name = "waiting_time")
-    private Integer waitingTime;
+    private Long waitingTime;
 
     @Column(name = "start_time")  // <-- NEW FIELD
-    private Integer startTime;
+    private Long startTime;
 
     // Constructor
-    public CpuTask(int arrivalTime, int burstTime) {
+    public CpuTask(long arrivalTime, long burstTime) {
         this.arrivalTime = arrivalTime;
         this.burstTime = burstTime;
         this.remainingTime = burstTime;
     }
 
-    public CpuTask(int arrivalTime, int burstTime, int priority) {
+    public CpuTask(long arrivalTime, long burstTime, int priority) {
         this(arrivalTime, burstTime);
         this.priority = priority;
     }
@@ -56,26 +56,26 @@ public class CpuTask {
     public int getPriority() { return priority; }
     public void setPriority(int priority) { this.priority = priority; }
 
-    public int getBurstTime() { return burstTime; }
-    public void setBurstTime(int burstTime) { this.burstTime = burstTime; }
+    public long getBurstTime() { return burstTime; }
+    public void setBurstTime(long burstTime) { this.burstTime = burstTime; }
 
-    public int getArrivalTime() { return arrivalTime; }
-    public void setArrivalTime(int arrivalTime) { this.arrivalTime = arrivalTime; }
+    public long getArrivalTime() { return arrivalTime; }
+    public void setArrivalTime(long arrivalTime) { this.arrivalTime = arrivalTime; }
 
-    public int getRemainingTime() { return remainingTime; }
-    public void setRemainingTime(int remainingTime) { this.remainingTime = remainingTime; }
+    public long getRemainingTime() { return remainingTime; }
+    public void setRemainingTime(long remainingTime) { this.remainingTime = remainingTime; }
 
-    public Integer getCompletionTime() { return completionTime; }
-    public void setCompletionTime(Integer completionTime) { this.completionTime = completionTime; }
+    public Long getCompletionTime() { return completionTime; }
+    public void setCompletionTime(Long completionTime) { this.completionTime = completionTime; }
 
-    public Integer getTurnaroundTime() { return turnaroundTime; }
-    public void setTurnaroundTime(Integer turnaroundTime) { this.turnaroundTime = turnaroundTime; }
+    public Long getTurnaroundTime() { return turnaroundTime; }
+    public void setTurnaroundTime(Long turnaroundTime) { this.turnaroundTime = turnaroundTime; }
 
-    public Integer getWaitingTime() { return waitingTime; }
-    public void setWaitingTime(Integer waitingTime) { this.waitingTime = waitingTime; }
+    public Long getWaitingTime() { return waitingTime; }
+    public void setWaitingTime(Long waitingTime) { this.waitingTime = waitingTime; }
 
-    public Integer getStartTime() { return startTime; }
-    public void setStartTime(Integer startTime) { this.startTime = startTime; }
+    public Long getStartTime() { return startTime; }
+    public void setStartTime(Long startTime) { this.startTime = startTime; }
 
     private int processId;
     public int getProcessId() { return processId; }
@@ -0,0 +1,103 @@
+package com.example.cpuscheduler.model;
+
+import java.util.List;
+
+/**
+ * One bin of a downsampled Gantt chart. Shares are fractions of the bin's
+ * duration; the listed processes are those with the most time in the bin and
+ * otherShare is the busy time not attributed to any of them.
+ */
+public class GanttBin {
+    private long startTime;
+    private long endTime;
+    private Long dominantProcessId;
+    private double idleShare;
+    private double otherShare;
+    private List<Occupancy> occupancy;
+
+    public GanttBin(long startTime, long endTime, Long dominantProcessId, double idleShare, double otherShare,
+                    List<Occupancy> occupancy) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.dominantProcessId = dominantProcessId;
+        this.idleShare = idleShare;
+        this.otherShare = otherShare;
+        this.occupancy = occupancy;
+    }
+
+    // Getters and setters
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(long endTime) {
+        this.endTime = endTime;
+    }
+
+    // Null when the bin is entirely idle
+    public Long getDominantProcessId() {
+        return dominantProcessId;
+    }
+
+    public void setDominantProcessId(Long dominantProcessId) {
+        this.dominantProcessId = dominantProcessId;
+    }
+
+    public double getIdleShare() {
+        return idleShare;
+    }
+
+    public void setIdleShare(double idleShare) {
+        this.idleShare = idleShare;
+    }
+
+    public double getOtherShare() {
+        return otherShare;
+    }
+
+    public void setOtherShare(double otherShare) {
+        this.otherShare = otherShare;
+    }
+
+    public List<Occupancy> getOccupancy() {
+        return occupancy;
+    }
+
+    public void setOccupancy(List<Occupancy> occupancy) {
+        this.occupancy = occupancy;
+    }
+
+    public static class Occupancy {
+        private long processId;
+        private double share;
+
+        public Occupancy(long processId, double share) {
+            this.processId = processId;
+            this.share = share;
+        }
+
+        public long getProcessId() {
+            return processId;
+        }
+
+        public void setProcessId(long processId) {
+            this.processId = processId;
+        }
+
+        public double getShare() {
+            return share;
+        }
+
+        public void setShare(double share) {
+            this.share = share;
+        }
+    }
+}
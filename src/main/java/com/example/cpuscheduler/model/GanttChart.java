@@ -1,30 +1,30 @@
 package com.example.cpuscheduler.model;
 
 public class GanttChart {
-    private int startTime;
-    private int endTime;
+    private long startTime;
+    private long endTime;
     private Long id;
 
-    public GanttChart(int startTime, int endTime, Long id) {
+    public GanttChart(long startTime, long endTime, Long id) {
         this.startTime = startTime;
         this.endTime = endTime;
         this.id = id;
     }
 
     // Getters and setters
-    public int getStartTime() {
+    public long getStartTime() {
         return startTime;
     }
 
-    public void setStartTime(int startTime) {
+    public void setStartTime(long startTime) {
         this.startTime = startTime;
     }
 
-    public int getEndTime() {
+    public long getEndTime() {
         return endTime;
     }
 
-    public void setEndTime(int endTime) {
+    public void setEndTime(long endTime) {
         this.endTime = endTime;
     }
 
@@ -1,38 +1,38 @@
 package com.example.cpuscheduler.model;
 
 public class IdleTime {
-    private int startTime;
-    private int endTime;
-    private int duration;
+    private long startTime;
+    private long endTime;
+    private long duration;
 
-    public IdleTime(int startTime, int endTime, int duration) {
+    public IdleTime(long startTime, long endTime, long duration) {
         this.startTime = startTime;
         this.endTime = endTime;
         this.duration = endTime - startTime;
     }
 
     // Getters and setters
-    public int getStartTime() {
+    public long getStartTime() {
         return startTime;
     }
 
-    public void setStartTime(int startTime) {
+    public void setStartTime(long startTime) {
         this.startTime = startTime;
     }
 
-    public int getEndTime() {
+    public long getEndTime() {
         return endTime;
     }
 
-    public void setEndTime(int endTime) {
+    public void setEndTime(long endTime) {
         this.endTime = endTime;
     }
 
-    public int getDuration() {
+    public long getDuration() {
         return duration;
     }
 
-    public void setDuration(int duration) {
+    public void setDuration(long duration) {
         this.duration = duration;
     }
 }
\ No newline at end of file
@@ -1,14 +1,14 @@
 package com.example.cpuscheduler.model;
 
-public class RrTaskResponse {
+public class RrTaskResponse implements TaskResult {
     private Long id;
-    private int arrivalTime;
-    private int burstTime;
-    private Integer startTime;
-    private Integer completionTime;
-    private Integer turnaroundTime;
-    private Integer waitingTime;
-    private Integer remainingTime;
+    private long arrivalTime;
+    private long burstTime;
+    private Long startTime;
+    private Long completionTime;
+    private Long turnaroundTime;
+    private Long waitingTime;
+    private Long remainingTime;
 
     // Getters and setters
     public Long getId() {
@@ -19,59 +19,59 @@ public class RrTaskResponse {
         this.id = id;
     }
 
-    public int getArrivalTime() {
+    public long getArrivalTime() {
         return arrivalTime;
     }
 
-    public void setArrivalTime(int arrivalTime) {
+    public void setArrivalTime(long arrivalTime) {
         this.arrivalTime = arrivalTime;
     }
 
-    public int getBurstTime() {
+    public long getBurstTime() {
         return burstTime;
     }
 
-    public void setBurstTime(int burstTime) {
+    public void setBurstTime(long burstTime) {
         this.burstTime = burstTime;
     }
 
-    public Integer getStartTime() {
+    public Long getStartTime() {
         return startTime;
     }
 
-    public void setStartTime(Integer startTime) {
+    public void setStartTime(Long startTime) {
         this.startTime = startTime;
     }
 
-    public Integer getCompletionTime() {
+    public Long getCompletionTime() {
         return completionTime;
     }
 
-    public void setCompletionTime(Integer completionTime) {
+    public void setCompletionTime(Long completionTime) {
         this.completionTime = completionTime;
     }
 
-    public Integer getTurnaroundTime() {
+    public Long getTurnaroundTime() {
         return turnaroundTime;
     }
 
-    public void setTurnaroundTime(Integer turnaroundTime) {
+    public void setTurnaroundTime(Long turnaroundTime) {
         this.turnaroundTime = turnaroundTime;
     }
 
-    public Integer getWaitingTime() {
+    public Long getWaitingTime() {
         return waitingTime;
     }
 
-    public void setWaitingTime(Integer waitingTime) {
+    public void setWaitingTime(Long waitingTime) {
         this.waitingTime = waitingTime;
     }
 
-    public Integer getRemainingTime() {
+    public Long getRemainingTime() {
         return remainingTime;
     }
 
-    public void setRemainingTime(Integer remainingTime) {
+    public void setRemainingTime(Long remainingTime) {
         this.remainingTime = remainingTime;
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.example.cpuscheduler.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.Map;
+
+/**
+ * Response of the synchronous schedule endpoint. The task list and chart are
+ * already-serialized JSON, the same strings saved to the history row, and are
+ * written into the body verbatim instead of being serialized a second time.
+ * Exactly one of ganttChart and ganttBins is present.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ScheduleResponse(@JsonRawValue String scheduledTasks,
+                               @JsonRawValue String ganttChart,
+                               @JsonRawValue String ganttBins,
+                               Long ganttBinWidth,
+                               Long ganttSegmentCount,
+                               Double averageTAT,
+                               Double averageWT,
+                               Map<String, Object> statistics) {
+}
@@ -6,7 +6,9 @@ import java.time.LocalDateTime;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Entity
-@Table(name = "simulation_history")
+// Every read is per session, newest first; id breaks timestamp ties for keyset pages
+@Table(name = "simulation_history",
+        indexes = @Index(name = "idx_simulation_history_session_time_id", columnList = "session_id, timestamp, id"))
 public class SimulationHistory {
 
     @Id
@@ -0,0 +1,7 @@
+package com.example.cpuscheduler.model;
+
+import java.util.List;
+
+// One page of history, newest first; nextCursor fetches the page after it and is null on the last page
+public record SimulationHistoryPage(List<SimulationHistory> entries, String nextCursor) {
+}
@@ -0,0 +1,69 @@
+package com.example.cpuscheduler.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Daily per-algorithm totals of simulation history across all sessions, so
+ * global analytics read a row per day and algorithm instead of every run.
+ * Mapped so the schema is created with the rest; it is refreshed and read
+ * through SQL by SimulationHistoryAnalyticsRepository. Sums rather than means
+ * are kept so days combine exactly.
+ */
+@Entity
+@Table(name = "simulation_history_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_simulation_history_rollup_day_algorithm",
+                columnNames = {"rollup_day", "algorithm"}))
+public class SimulationHistoryRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "algorithm", nullable = false)
+    private String algorithm;
+
+    @Column(name = "runs", nullable = false)
+    private long runs;
+
+    @Column(name = "sum_average_wt", nullable = false)
+    private double sumAverageWT;
+
+    @Column(name = "min_average_wt", nullable = false)
+    private double minAverageWT;
+
+    @Column(name = "max_average_wt", nullable = false)
+    private double maxAverageWT;
+
+    @Column(name = "sum_average_tat", nullable = false)
+    private double sumAverageTAT;
+
+    @Column(name = "min_average_tat", nullable = false)
+    private double minAverageTAT;
+
+    @Column(name = "max_average_tat", nullable = false)
+    private double maxAverageTAT;
+
+    public Long getId() { return id; }
+
+    public LocalDate getDay() { return day; }
+
+    public String getAlgorithm() { return algorithm; }
+
+    public long getRuns() { return runs; }
+
+    public double getSumAverageWT() { return sumAverageWT; }
+
+    public double getMinAverageWT() { return minAverageWT; }
+
+    public double getMaxAverageWT() { return maxAverageWT; }
+
+    public double getSumAverageTAT() { return sumAverageTAT; }
+
+    public double getMinAverageTAT() { return minAverageTAT; }
+
+    public double getMaxAverageTAT() { return maxAverageTAT; }
+}
@@ -0,0 +1,23 @@
+package com.example.cpuscheduler.model;
+
+/**
+ * Per-task outcome common to every algorithm's response type.
+ */
+public interface TaskResult {
+
+    Long getId();
+
+    long getArrivalTime();
+
+    long getBurstTime();
+
+    Long getStartTime();
+
+    Long getCompletionTime();
+
+    Long getTurnaroundTime();
+
+    Long getWaitingTime();
+
+    Long getRemainingTime();
+}
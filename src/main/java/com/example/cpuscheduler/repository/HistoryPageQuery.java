@@ -0,0 +1,63 @@
+package com.example.cpuscheduler.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * One page of a session's history, newest first by (timestamp, id). Every
+ * filter is optional: from is inclusive, to exclusive, and the average bounds
+ * are inclusive. A page after another starts strictly after the last entry of
+ * that page, given as afterTimestamp and afterId, so it is found by seeking
+ * the session index rather than by counting past everything before it.
+ */
+public record HistoryPageQuery(String sessionId, String algorithm, LocalDateTime from, LocalDateTime to,
+                               Double minAverageWT, Double maxAverageWT,
+                               Double minAverageTAT, Double maxAverageTAT,
+                               LocalDateTime afterTimestamp, Long afterId, int limit) {
+
+    public HistoryPageQuery {
+        if (sessionId == null) {
+            throw new IllegalArgumentException("sessionId is required");
+        }
+        if ((afterTimestamp == null) != (afterId == null)) {
+            throw new IllegalArgumentException("afterTimestamp and afterId go together");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+    }
+
+    // The first page of the given filters
+    public static HistoryPageQuery first(String sessionId, String algorithm, LocalDateTime from, LocalDateTime to,
+                                         Double minAverageWT, Double maxAverageWT,
+                                         Double minAverageTAT, Double maxAverageTAT, int limit) {
+        return new HistoryPageQuery(sessionId, algorithm, from, to, minAverageWT, maxAverageWT,
+                minAverageTAT, maxAverageTAT, null, null, limit);
+    }
+
+    // The same filters starting after the given entry
+    public HistoryPageQuery after(LocalDateTime timestamp, Long id) {
+        return new HistoryPageQuery(sessionId, algorithm, from, to, minAverageWT, maxAverageWT,
+                minAverageTAT, maxAverageTAT, timestamp, id, limit);
+    }
+
+    public HistoryPageQuery withLimit(int newLimit) {
+        return new HistoryPageQuery(sessionId, algorithm, from, to, minAverageWT, maxAverageWT,
+                minAverageTAT, maxAverageTAT, afterTimestamp, afterId, newLimit);
+    }
+
+    // Whether an entry with these values passes the filters; the position is not checked
+    public boolean matches(String entryAlgorithm, LocalDateTime timestamp, Double averageWT, Double averageTAT) {
+        return (algorithm == null || algorithm.equals(entryAlgorithm))
+                && (from == null || !timestamp.isBefore(from))
+                && (to == null || timestamp.isBefore(to))
+                && within(averageWT, minAverageWT, maxAverageWT)
+                && within(averageTAT, minAverageTAT, maxAverageTAT);
+    }
+
+    private static boolean within(Double value, Double min, Double max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        return value != null && (min == null || value >= min) && (max == null || value <= max);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.cpuscheduler.repository;
+
+import com.example.cpuscheduler.model.SimulationHistory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+/**
+ * Record framing and entry encoding shared by the local history files,
+ * {@link LogFileHistoryStore} and {@link HistorySpool}. Little-endian:
+ * <pre>
+ * record  int body length, int CRC32 of the body, body
+ * entry   long epoch second, int nano, sessionId, algorithm, arrivalTimes,
+ *         burstTimes, priorities, int quantum, double averageTAT,
+ *         double averageWT, ganttChart, results
+ * </pre>
+ * Strings are an int byte length (-1 for null) and UTF-8; a null quantum is
+ * {@code Integer.MIN_VALUE} and null averages are NaN. The id is not part of
+ * the entry; each file decides whether and where to keep it.
+ */
+final class HistoryRecords {
+
+    static final int FRAME_BYTES = 8;
+    private static final int NULL_QUANTUM = Integer.MIN_VALUE;
+    private static final int FIXED_ENTRY_BYTES = Long.BYTES + Integer.BYTES * 2 + Double.BYTES * 2;
+
+    private HistoryRecords() {
+    }
+
+    // An entry's strings as UTF-8, so its size is known before the record is allocated
+    static final class EncodedEntry {
+        private final SimulationHistory entry;
+        private final byte[][] strings;
+        private final int bytes;
+
+        private EncodedEntry(SimulationHistory entry) {
+            this.entry = entry;
+            this.strings = new byte[][]{utf8(entry.getSessionId()), utf8(entry.getAlgorithm()),
+                    utf8(entry.getArrivalTimes()), utf8(entry.getBurstTimes()), utf8(entry.getPriorities()),
+                    utf8(entry.getGanttChart()), utf8(entry.getResults())};
+            long length = FIXED_ENTRY_BYTES;
+            for (byte[] string : strings) {
+                length += Integer.BYTES + (string != null ? string.length : 0);
+            }
+            if (length > Integer.MAX_VALUE - FRAME_BYTES - 64) {
+                throw new IllegalArgumentException("Simulation history entry too large to store");
+            }
+            this.bytes = (int) length;
+        }
+
+        int bytes() {
+            return bytes;
+        }
+    }
+
+    static EncodedEntry encode(SimulationHistory entry) {
+        return new EncodedEntry(entry);
+    }
+
+    static void putEntry(ByteBuffer buffer, EncodedEntry encoded) {
+        SimulationHistory entry = encoded.entry;
+        LocalDateTime timestamp = entry.getTimestamp();
+        buffer.putLong(timestamp.toEpochSecond(ZoneOffset.UTC)).putInt(timestamp.getNano());
+        for (int i = 0; i < 5; i++) {
+            putString(buffer, encoded.strings[i]);
+        }
+        buffer.putInt(entry.getQuantum() != null ? entry.getQuantum() : NULL_QUANTUM)
+                .putDouble(entry.getAverageTAT() != null ? entry.getAverageTAT() : Double.NaN)
+                .putDouble(entry.getAverageWT() != null ? entry.getAverageWT() : Double.NaN);
+        putString(buffer, encoded.strings[5]);
+        putString(buffer, encoded.strings[6]);
+    }
+
+    // Reads an entry written by putEntry; the id is left unset
+    static SimulationHistory getEntry(ByteBuffer buffer) {
+        SimulationHistory entry = new SimulationHistory();
+        entry.setTimestamp(getTimestamp(buffer));
+        entry.setSessionId(getString(buffer));
+        entry.setAlgorithm(getString(buffer));
+        entry.setArrivalTimes(getString(buffer));
+        entry.setBurstTimes(getString(buffer));
+        entry.setPriorities(getString(buffer));
+        int quantum = buffer.getInt();
+        entry.setQuantum(quantum != NULL_QUANTUM ? quantum : null);
+        entry.setAverageTAT(getAverage(buffer));
+        entry.setAverageWT(getAverage(buffer));
+        entry.setGanttChart(getString(buffer));
+        entry.setResults(getString(buffer));
+        return entry;
+    }
+
+    static LocalDateTime getTimestamp(ByteBuffer buffer) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+
+    // From just after the algorithm to the averages, skipping the strings and quantum in between
+    static void skipToAverages(ByteBuffer buffer) {
+        for (int i = 0; i < 3; i++) {
+            int length = buffer.getInt();
+            buffer.position(buffer.position() + Math.max(length, 0));
+        }
+        buffer.getInt();
+    }
+
+    static Double getAverage(ByteBuffer buffer) {
+        double average = buffer.getDouble();
+        return Double.isNaN(average) ? null : average;
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    // A record with room for a body of the given size, positioned where the body starts
+    static ByteBuffer newRecord(int bodyBytes) {
+        return ByteBuffer.allocate(FRAME_BYTES + bodyBytes).order(ByteOrder.LITTLE_ENDIAN).position(FRAME_BYTES);
+    }
+
+    // Fills in the length and checksum once the body has been written; returns the record ready to write
+    static ByteBuffer frame(ByteBuffer record) {
+        int length = record.position() - FRAME_BYTES;
+        ByteBuffer body = record.duplicate().flip().position(FRAME_BYTES);
+        record.putInt(0, length).putInt(4, crc(body));
+        return record.position(0);
+    }
+
+    /**
+     * The body of the record at offset, positioned at its start, or null when
+     * no complete and intact record starts there before end: the end of the
+     * file, or a record torn by a crash mid-append.
+     */
+    static ByteBuffer readBody(FileChannel channel, long offset, long end) throws IOException {
+        if (offset + FRAME_BYTES > end) {
+            return null;
+        }
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, frame, offset);
+        int length = frame.getInt(0);
+        if (length <= 0 || offset + FRAME_BYTES + length > end) {
+            return null;
+        }
+        ByteBuffer body = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, body, offset + FRAME_BYTES);
+        body.flip();
+        return crc(body) == frame.getInt(4) ? body : null;
+    }
+
+    static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        ByteBuffer source = buffer.duplicate();
+        while (source.hasRemaining()) {
+            position += channel.write(source, position);
+        }
+    }
+
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of history file");
+            }
+            position += read;
+        }
+    }
+
+    // Over the buffer's remaining bytes, leaving its position alone
+    private static int crc(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.cpuscheduler.repository;
+
+import com.example.cpuscheduler.model.SimulationHistory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Durable first-in first-out queue of history entries that could not be
+ * written to the store, kept in one append-only local file until they are
+ * replayed. The file is a header of int magic "CSSP", int reserved and the
+ * long replayed offset, followed by {@link HistoryRecords} framed records
+ * holding one encoded entry each.
+ * <p>
+ * Replay reads a batch from the replayed offset and, once the caller has
+ * stored it, moves the offset past it; when everything has been replayed the
+ * file is truncated back to its header. Delivery is at least once: a crash
+ * between storing a batch and moving the offset replays that batch again.
+ */
+public final class HistorySpool implements Closeable {
+
+    static final int MAGIC = 'C' | 'S' << 8 | 'S' << 16 | 'P' << 24;
+    static final int HEADER_BYTES = 16;
+
+    private final FileChannel channel;
+    private final long maxBytes;
+    private final boolean fsync;
+    // Held across writes and fsync; a monitor there would pin the carrier of a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private long size;
+    private long replayed;
+    private int pending;
+
+    // Entries read for replay and the offset just past them
+    public record Batch(List<SimulationHistory> entries, long end) {
+    }
+
+    public HistorySpool(Path file, long maxBytes, boolean fsync) throws IOException {
+        this.maxBytes = maxBytes;
+        this.fsync = fsync;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            recover(file);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // False when the spool is full; the entry is not kept
+    public boolean append(SimulationHistory entry) throws IOException {
+        HistoryRecords.EncodedEntry encoded = HistoryRecords.encode(entry);
+        lock.lock();
+        try {
+            if (size + HistoryRecords.FRAME_BYTES + encoded.bytes() > maxBytes) {
+                return false;
+            }
+            ByteBuffer record = HistoryRecords.newRecord(encoded.bytes());
+            HistoryRecords.putEntry(record, encoded);
+            HistoryRecords.writeFully(channel, HistoryRecords.frame(record), size);
+            if (fsync) {
+                channel.force(false);
+            }
+            size += record.capacity();
+            pending++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The oldest entries not yet replayed, at most maxEntries of them
+    public Batch next(int maxEntries) throws IOException {
+        lock.lock();
+        try {
+            List<SimulationHistory> entries = new ArrayList<>();
+            long offset = replayed;
+            ByteBuffer body;
+            while (entries.size() < maxEntries && (body = HistoryRecords.readBody(channel, offset, size)) != null) {
+                entries.add(HistoryRecords.getEntry(body));
+                offset += HistoryRecords.FRAME_BYTES + body.limit();
+            }
+            return new Batch(entries, offset);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Call once a batch from next() has been stored
+    public void markReplayed(Batch batch) throws IOException {
+        lock.lock();
+        try {
+            replayed = batch.end();
+            pending -= batch.entries().size();
+            if (replayed == size) {
+                // Drained; truncating first means a crash before the header write finds an offset past the end
+                channel.truncate(HEADER_BYTES);
+                size = HEADER_BYTES;
+                replayed = HEADER_BYTES;
+            }
+            HistoryRecords.writeFully(channel, header(), 0);
+            if (fsync) {
+                channel.force(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long sizeBytes() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover(Path file) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < HEADER_BYTES) {
+            replayed = HEADER_BYTES;
+            HistoryRecords.writeFully(channel, header(), 0);
+            channel.truncate(HEADER_BYTES);
+            size = HEADER_BYTES;
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        HistoryRecords.readFully(channel, header, 0);
+        if (header.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a history spool: " + file);
+        }
+        replayed = header.getLong(8);
+        if (replayed < HEADER_BYTES || replayed > fileSize) {
+            replayed = HEADER_BYTES; // Drained just before a crash, see markReplayed
+        }
+        long offset = replayed;
+        ByteBuffer body;
+        while ((body = HistoryRecords.readBody(channel, offset, fileSize)) != null) {
+            offset += HistoryRecords.FRAME_BYTES + body.limit();
+            pending++;
+        }
+        if (offset < fileSize) {
+            channel.truncate(offset); // Torn append from a crash; everything before it is intact
+        }
+        size = offset;
+    }
+
+    private ByteBuffer header() {
+        return ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC).putInt(0).putLong(replayed).flip();
+    }
+}
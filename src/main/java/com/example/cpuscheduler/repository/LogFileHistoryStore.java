@@ -0,0 +1,687 @@
+package com.example.cpuscheduler.repository;
+
+import com.example.cpuscheduler.model.AlgorithmStats;
+import com.example.cpuscheduler.model.AlgorithmTrend;
+import com.example.cpuscheduler.model.SimulationHistory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * History store on local disk, for running and benchmarking without the remote
+ * database. Entries live in an append-only log split into segment files, with
+ * an in-memory index of every live entry by id and by session; only the index
+ * is held in memory and entry bodies are read back from the log on demand.
+ * <p>
+ * Saves append a PUT record and deletes a DELETE tombstone, so nothing is
+ * rewritten in place. Each segment starts with an int magic "CSHL", int flags
+ * and the long next id, followed by {@link HistoryRecords} framed records whose
+ * body is a byte type and the long id, then for PUT the encoded entry. On
+ * startup the segments are replayed in order to rebuild the index, and a torn
+ * record at the end of the last one (a crash mid-append) is cut off.
+ * <p>
+ * Retention (the newest 10 entries per session, 5 days) is applied by the
+ * history service through deleteById and deleteOldSimulations, which only add
+ * tombstones. Compaction is what enforces it on disk: once the closed segments
+ * are mostly dead records, their live entries are copied into one compacted
+ * segment and the old files are deleted. A compacted segment supersedes every
+ * lower-numbered one, so a crash part way through never resurrects deletes.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "scheduler.history.store", havingValue = "file")
+public class LogFileHistoryStore implements SimulationHistoryStore, Closeable {
+
+    static final int MAGIC = 'C' | 'S' << 8 | 'H' << 16 | 'L' << 24;
+    static final int HEADER_BYTES = 16;
+    private static final int FLAG_COMPACTED = 1;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("history-(\\d{10})\\.log");
+
+    private static final Comparator<Location> NEWEST_FIRST = Comparator
+            .comparing((Location location) -> location.timestamp, Comparator.reverseOrder())
+            .thenComparing(location -> location.id, Comparator.reverseOrder());
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+    // Guards the index and the segment files, including the reads and appends done under it
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final Map<Long, Location> byId = new HashMap<>();
+    private final Map<String, List<Location>> bySession = new HashMap<>();
+    // Oldest first, so age-based cleanup stops at the first entry it keeps instead of scanning everything
+    private final TreeSet<Location> byAge = new TreeSet<>(NEWEST_FIRST.reversed());
+    private long nextId = 1;
+
+    private static final class Segment {
+        private final int number;
+        private final Path path;
+        private final FileChannel channel;
+        private long size;
+        // Bytes of records the index still points at
+        private long liveBytes;
+
+        Segment(int number, Path path, FileChannel channel, long size) {
+            this.number = number;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+    }
+
+    // Where an entry's latest PUT record is, plus what the index needs to order and filter without reading it
+    private static final class Location {
+        private final long id;
+        private final String sessionId;
+        private final String algorithm;
+        private final LocalDateTime timestamp;
+        private final Double averageTAT;
+        private final Double averageWT;
+        private int segment;
+        private long offset;
+        private final int length;
+
+        Location(long id, String sessionId, String algorithm, LocalDateTime timestamp, Double averageTAT,
+                 Double averageWT, int segment, long offset, int length) {
+            this.id = id;
+            this.sessionId = sessionId;
+            this.algorithm = algorithm;
+            this.timestamp = timestamp;
+            this.averageTAT = averageTAT;
+            this.averageWT = averageWT;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    @Autowired
+    public LogFileHistoryStore(@Value("${scheduler.history.file.dir:data/history}") String directory,
+                               @Value("${scheduler.history.file.segment-mb:16}") int segmentMegabytes,
+                               @Value("${scheduler.history.file.fsync:false}") boolean fsync) throws IOException {
+        this(Path.of(directory), (long) segmentMegabytes << 20, fsync);
+    }
+
+    LogFileHistoryStore(Path directory, long segmentBytes, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public <S extends SimulationHistory> S save(S entry) {
+        lock.lock();
+        try {
+            append(List.of(entry));
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void insertBatch(List<SimulationHistory> entries) {
+        lock.lock();
+        try {
+            append(entries);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<SimulationHistory> findById(Long id) {
+        lock.lock();
+        try {
+            Location location = byId.get(id);
+            return location != null ? Optional.of(read(location)) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<SimulationHistory> findBySessionIdOrderByTimestampDesc(String sessionId) {
+        lock.lock();
+        try {
+            return read(bySession.getOrDefault(sessionId, List.of()).stream());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<SimulationHistory> findByAlgorithmAndSessionIdOrderByTimestampDesc(String algorithm,
+                                                                                    String sessionId) {
+        lock.lock();
+        try {
+            return read(bySession.getOrDefault(sessionId, List.of()).stream()
+                    .filter(location -> algorithm.equals(location.algorithm)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<SimulationHistory> findRecentSimulationsBySessionId(String sessionId, Pageable pageable) {
+        lock.lock();
+        try {
+            Stream<Location> session = bySession.getOrDefault(sessionId, List.of()).stream();
+            if (pageable.isPaged()) {
+                session = session.skip(pageable.getOffset()).limit(pageable.getPageSize());
+            }
+            return read(session);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The session list is already in page order: binary search to the cursor, then filter from the index alone
+    @Override
+    public List<SimulationHistory> findPage(HistoryPageQuery query) {
+        lock.lock();
+        try {
+            List<Location> session = bySession.getOrDefault(query.sessionId(), List.of());
+            int start = 0;
+            if (query.afterTimestamp() != null) {
+                start = firstAfter(session, query.afterTimestamp(), query.afterId());
+            }
+            if (query.to() != null) {
+                start = Math.max(start, firstAfter(session, query.to(), Long.MIN_VALUE));
+            }
+            List<Location> page = new ArrayList<>();
+            for (int i = start; i < session.size() && page.size() < query.limit(); i++) {
+                Location location = session.get(i);
+                if (query.from() != null && location.timestamp.isBefore(query.from())) {
+                    break;
+                }
+                if (query.matches(location.algorithm, location.timestamp, location.averageWT, location.averageTAT)) {
+                    page.add(location);
+                }
+            }
+            return read(page.stream());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Aggregated from the index, which holds the averages, so no entry is read
+    @Override
+    public List<AlgorithmStats> findAlgorithmStats(String sessionId) {
+        lock.lock();
+        try {
+            Map<String, Totals> byAlgorithm = new TreeMap<>();
+            for (Location location : locations(sessionId)) {
+                byAlgorithm.computeIfAbsent(location.algorithm, key -> new Totals()).add(location);
+            }
+            List<AlgorithmStats> stats = new ArrayList<>();
+            byAlgorithm.forEach((algorithm, totals) -> stats.add(totals.stats(algorithm)));
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<AlgorithmTrend> findDailyTrends(String sessionId, LocalDate from, LocalDate to) {
+        lock.lock();
+        try {
+            Map<LocalDate, Map<String, Totals>> byDay = new TreeMap<>();
+            for (Location location : locations(sessionId)) {
+                LocalDate day = location.timestamp.toLocalDate();
+                if (!day.isBefore(from) && !day.isAfter(to)) {
+                    byDay.computeIfAbsent(day, key -> new TreeMap<>())
+                            .computeIfAbsent(location.algorithm, key -> new Totals()).add(location);
+                }
+            }
+            List<AlgorithmTrend> trends = new ArrayList<>();
+            byDay.forEach((day, byAlgorithm) -> byAlgorithm.forEach((algorithm, totals) ->
+                    trends.add(new AlgorithmTrend(day, algorithm, totals.runs,
+                            totals.mean(totals.sumWT, totals.countWT), totals.mean(totals.sumTAT, totals.countTAT)))));
+            return trends;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public SessionHistoryVersion findVersionBySessionId(String sessionId) {
+        lock.lock();
+        try {
+            List<Location> session = bySession.getOrDefault(sessionId, List.of());
+            if (session.isEmpty()) {
+                return SessionHistoryVersion.of(0, null, null);
+            }
+            long latestId = session.stream().mapToLong(location -> location.id).max().getAsLong();
+            return SessionHistoryVersion.of(session.size(), latestId, session.get(0).timestamp);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        lock.lock();
+        try {
+            if (byId.containsKey(id)) {
+                delete(List.of(id));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteOldSimulations(LocalDateTime cutoffDate) {
+        lock.lock();
+        try {
+            List<Long> expired = new ArrayList<>();
+            for (Location location : byAge) {
+                if (!location.timestamp.isBefore(cutoffDate)) {
+                    break;
+                }
+                expired.add(location.id);
+            }
+            if (!expired.isEmpty()) {
+                delete(expired);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                try {
+                    segment.channel.close();
+                } catch (IOException ignored) {
+                    // Nothing left to flush; appends are written straight to the channel
+                }
+            }
+            segments.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void append(List<? extends SimulationHistory> entries) {
+        try {
+            for (SimulationHistory entry : entries) {
+                if (entry.getId() == null) {
+                    entry.setId(nextId++);
+                } else {
+                    nextId = Math.max(nextId, entry.getId() + 1);
+                }
+                if (entry.getTimestamp() == null) {
+                    entry.setTimestamp(LocalDateTime.now());
+                }
+                Segment active = segments.lastEntry().getValue();
+                HistoryRecords.EncodedEntry encoded = HistoryRecords.encode(entry);
+                ByteBuffer record = HistoryRecords.newRecord(1 + Long.BYTES + encoded.bytes())
+                        .put(PUT)
+                        .putLong(entry.getId());
+                HistoryRecords.putEntry(record, encoded);
+                long offset = write(active, HistoryRecords.frame(record));
+                index(new Location(entry.getId(), entry.getSessionId(), entry.getAlgorithm(), entry.getTimestamp(),
+                        entry.getAverageTAT(), entry.getAverageWT(), active.number, offset, record.capacity()));
+            }
+            finishWrite();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing simulation history", e);
+        }
+    }
+
+    private void delete(List<Long> ids) {
+        try {
+            for (Long id : ids) {
+                ByteBuffer record = HistoryRecords.newRecord(1 + Long.BYTES).put(DELETE).putLong(id);
+                write(segments.lastEntry().getValue(), HistoryRecords.frame(record));
+                unindex(byId.remove(id));
+            }
+            finishWrite();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing simulation history", e);
+        }
+    }
+
+    private long write(Segment segment, ByteBuffer record) throws IOException {
+        long offset = segment.size;
+        HistoryRecords.writeFully(segment.channel, record, offset);
+        segment.size += record.capacity();
+        return offset;
+    }
+
+    private void finishWrite() throws IOException {
+        Segment active = segments.lastEntry().getValue();
+        if (fsync) {
+            active.channel.force(false);
+        }
+        if (active.size >= segmentBytes) {
+            openSegment(active.number + 1);
+            if (deadSealedBytes() > liveSealedBytes()) {
+                compact();
+            }
+        }
+    }
+
+    private long liveSealedBytes() {
+        return segments.headMap(segments.lastKey()).values().stream().mapToLong(s -> s.liveBytes).sum();
+    }
+
+    private long deadSealedBytes() {
+        return segments.headMap(segments.lastKey()).values().stream()
+                .mapToLong(s -> s.size - HEADER_BYTES - s.liveBytes).sum();
+    }
+
+    // Rewrite every closed segment's live entries into one segment numbered like the newest closed one
+    private void compact() throws IOException {
+        List<Segment> sealed = new ArrayList<>(segments.headMap(segments.lastKey()).values());
+        int target = sealed.get(sealed.size() - 1).number;
+        List<Location> live = byId.values().stream()
+                .filter(location -> location.segment <= target)
+                .sorted(Comparator.comparingLong(location -> location.id))
+                .toList();
+
+        Path temp = directory.resolve(segmentName(target) + ".compact");
+        long[] offsets = new long[live.size()];
+        long size = HEADER_BYTES;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            HistoryRecords.writeFully(out, header(FLAG_COMPACTED), 0);
+            for (int i = 0; i < live.size(); i++) {
+                ByteBuffer record = readRecord(live.get(i));
+                offsets[i] = size;
+                HistoryRecords.writeFully(out, record, size);
+                size += record.capacity();
+            }
+            out.force(true);
+        }
+        // Replaces the newest closed segment atomically; from here on the older ones are ignored on replay
+        Files.move(temp, segments.get(target).path, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+
+        for (Segment segment : sealed) {
+            segment.channel.close();
+            segments.remove(segment.number);
+            if (segment.number != target) {
+                Files.deleteIfExists(segment.path);
+            }
+        }
+        Segment compacted = openExisting(target, size);
+        for (int i = 0; i < live.size(); i++) {
+            live.get(i).segment = target;
+            live.get(i).offset = offsets[i];
+            compacted.liveBytes += live.get(i).length;
+        }
+    }
+
+    private void recover() throws IOException {
+        TreeMap<Integer, Path> found = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                Matcher matcher = SEGMENT_NAME.matcher(name);
+                if (matcher.matches()) {
+                    found.put(Integer.parseInt(matcher.group(1)), file);
+                } else if (name.endsWith(".compact")) {
+                    Files.delete(file); // Compaction that never finished
+                }
+            }
+        }
+
+        // Only the newest compacted segment and those after it are current
+        int first = found.isEmpty() ? 1 : found.firstKey();
+        for (Map.Entry<Integer, Path> file : found.descendingMap().entrySet()) {
+            if ((readHeader(file.getValue()).getInt(4) & FLAG_COMPACTED) != 0) {
+                first = file.getKey();
+                break;
+            }
+        }
+        for (Map.Entry<Integer, Path> file : found.entrySet()) {
+            if (file.getKey() < first) {
+                Files.delete(file.getValue());
+            } else {
+                replay(file.getKey(), file.getKey().equals(found.lastKey()));
+            }
+        }
+        if (segments.isEmpty()) {
+            openSegment(1);
+        }
+    }
+
+    private ByteBuffer readHeader(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            HistoryRecords.readFully(channel, header, 0);
+        }
+        if (header.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a history segment: " + file);
+        }
+        return header;
+    }
+
+    private void replay(int number, boolean last) throws IOException {
+        Segment segment = openExisting(number, 0);
+        FileChannel channel = segment.channel;
+        long fileSize = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        HistoryRecords.readFully(channel, header, 0);
+        nextId = Math.max(nextId, header.getLong(8));
+
+        long offset = HEADER_BYTES;
+        ByteBuffer body;
+        while ((body = HistoryRecords.readBody(channel, offset, fileSize)) != null) {
+            int length = HistoryRecords.FRAME_BYTES + body.limit();
+            byte type = body.get();
+            long id = body.getLong();
+            if (type == PUT) {
+                LocalDateTime timestamp = HistoryRecords.getTimestamp(body);
+                String sessionId = HistoryRecords.getString(body);
+                String algorithm = HistoryRecords.getString(body);
+                HistoryRecords.skipToAverages(body);
+                Double averageTAT = HistoryRecords.getAverage(body);
+                Double averageWT = HistoryRecords.getAverage(body);
+                index(new Location(id, sessionId, algorithm, timestamp, averageTAT, averageWT,
+                        number, offset, length));
+            } else {
+                unindex(byId.remove(id));
+            }
+            nextId = Math.max(nextId, id + 1);
+            offset += length;
+        }
+        if (offset < fileSize) {
+            if (!last) {
+                throw new IllegalStateException("Corrupt history segment: " + segment.path);
+            }
+            channel.truncate(offset); // Torn append from a crash; everything before it is intact
+        }
+        segment.size = offset;
+    }
+
+    private void openSegment(int number) throws IOException {
+        Path path = directory.resolve(segmentName(number));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        HistoryRecords.writeFully(channel, header(0), 0);
+        segments.put(number, new Segment(number, path, channel, HEADER_BYTES));
+    }
+
+    private Segment openExisting(int number, long size) throws IOException {
+        Path path = directory.resolve(segmentName(number));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segment segment = new Segment(number, path, channel, size);
+        segments.put(number, segment);
+        return segment;
+    }
+
+    private static String segmentName(int number) {
+        return String.format("history-%010d.log", number);
+    }
+
+    private ByteBuffer header(int flags) {
+        return ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC).putInt(flags).putLong(nextId).flip();
+    }
+
+    private void index(Location location) {
+        unindex(byId.put(location.id, location));
+        List<Location> session = bySession.computeIfAbsent(location.sessionId, key -> new ArrayList<>());
+        int position = 0;
+        while (position < session.size() && NEWEST_FIRST.compare(session.get(position), location) < 0) {
+            position++;
+        }
+        session.add(position, location);
+        byAge.add(location);
+        segments.get(location.segment).liveBytes += location.length;
+    }
+
+    private Iterable<Location> locations(String sessionId) {
+        return sessionId == null ? byId.values() : bySession.getOrDefault(sessionId, List.of());
+    }
+
+    // Running aggregates of one group; like SQL, null averages are left out of means, minimums and maximums
+    private static final class Totals {
+        private long runs;
+        private int countWT;
+        private double sumWT;
+        private double minWT = Double.POSITIVE_INFINITY;
+        private double maxWT = Double.NEGATIVE_INFINITY;
+        private int countTAT;
+        private double sumTAT;
+        private double minTAT = Double.POSITIVE_INFINITY;
+        private double maxTAT = Double.NEGATIVE_INFINITY;
+
+        void add(Location location) {
+            runs++;
+            if (location.averageWT != null) {
+                countWT++;
+                sumWT += location.averageWT;
+                minWT = Math.min(minWT, location.averageWT);
+                maxWT = Math.max(maxWT, location.averageWT);
+            }
+            if (location.averageTAT != null) {
+                countTAT++;
+                sumTAT += location.averageTAT;
+                minTAT = Math.min(minTAT, location.averageTAT);
+                maxTAT = Math.max(maxTAT, location.averageTAT);
+            }
+        }
+
+        AlgorithmStats stats(String algorithm) {
+            return new AlgorithmStats(algorithm, runs,
+                    mean(sumWT, countWT), countWT > 0 ? minWT : null, countWT > 0 ? maxWT : null,
+                    mean(sumTAT, countTAT), countTAT > 0 ? minTAT : null, countTAT > 0 ? maxTAT : null);
+        }
+
+        Double mean(double sum, int count) {
+            return count > 0 ? sum / count : null;
+        }
+    }
+
+    // Index of the first location that sorts after (timestamp, id) in a newest-first session list
+    private static int firstAfter(List<Location> session, LocalDateTime timestamp, long id) {
+        int low = 0;
+        int high = session.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            Location location = session.get(middle);
+            int compare = location.timestamp.compareTo(timestamp);
+            if (compare > 0 || (compare == 0 && location.id >= id)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void unindex(Location location) {
+        if (location == null) {
+            return;
+        }
+        List<Location> session = bySession.get(location.sessionId);
+        session.remove(location);
+        if (session.isEmpty()) {
+            bySession.remove(location.sessionId);
+        }
+        byAge.remove(location);
+        Segment segment = segments.get(location.segment);
+        if (segment != null) {
+            segment.liveBytes -= location.length;
+        }
+    }
+
+    private List<SimulationHistory> read(Stream<Location> locations) {
+        return locations.map(this::read).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private SimulationHistory read(Location location) {
+        try {
+            ByteBuffer record = readRecord(location);
+            record.position(HistoryRecords.FRAME_BYTES + 1 + Long.BYTES);
+            SimulationHistory entry = HistoryRecords.getEntry(record);
+            entry.setId(location.id);
+            return entry;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading simulation history", e);
+        }
+    }
+
+    private ByteBuffer readRecord(Location location) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(location.length).order(ByteOrder.LITTLE_ENDIAN);
+        HistoryRecords.readFully(segments.get(location.segment).channel, record, location.offset);
+        return record.flip();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.cpuscheduler.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate state of one session's history: changes whenever an entry is
+ * added, trimmed or cleaned up, without loading any rows.
+ */
+public interface SessionHistoryVersion {
+
+    long getEntryCount();
+
+    // Null when the session has no entries
+    Long getLatestId();
+
+    LocalDateTime getLatestTimestamp();
+
+    // For stores that track the version themselves instead of running the aggregate query
+    static SessionHistoryVersion of(long entryCount, Long latestId, LocalDateTime latestTimestamp) {
+        return new Snapshot(entryCount, latestId, latestTimestamp);
+    }
+
+    record Snapshot(long entryCount, Long latestId, LocalDateTime latestTimestamp) implements SessionHistoryVersion {
+
+        @Override
+        public long getEntryCount() { return entryCount; }
+
+        @Override
+        public Long getLatestId() { return latestId; }
+
+        @Override
+        public LocalDateTime getLatestTimestamp() { return latestTimestamp; }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.cpuscheduler.repository;
+
+import com.example.cpuscheduler.model.AlgorithmStats;
+import com.example.cpuscheduler.model.AlgorithmTrend;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Aggregates over the numeric columns, computed by the database so no
+ * Gantt or results JSON is read, plus the daily rollup that global
+ * analytics can be served from instead.
+ */
+public interface SimulationHistoryAnalyticsRepository {
+
+    List<AlgorithmStats> findAlgorithmStats(String sessionId);
+
+    List<AlgorithmTrend> findDailyTrends(String sessionId, LocalDate from, LocalDate to);
+
+    /**
+     * Recompute the rollup for rebuildFrom and every later day, and drop rollup
+     * days before keepFrom. Earlier days keep the totals of their last rebuild,
+     * so rebuildFrom must be a day retention has not started deleting from:
+     * rebuilding a partly cleaned-up day would replace its totals with smaller ones.
+     */
+    void refreshRollup(LocalDate rebuildFrom, LocalDate keepFrom);
+
+    List<AlgorithmStats> findRollupAlgorithmStats();
+
+    List<AlgorithmTrend> findRollupDailyTrends(LocalDate from, LocalDate to);
+}
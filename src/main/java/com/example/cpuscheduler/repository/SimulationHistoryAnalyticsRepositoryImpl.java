@@ -0,0 +1,105 @@
+package com.example.cpuscheduler.repository;
+
+import com.example.cpuscheduler.model.AlgorithmStats;
+import com.example.cpuscheduler.model.AlgorithmTrend;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+public class SimulationHistoryAnalyticsRepositoryImpl implements SimulationHistoryAnalyticsRepository {
+
+    private static final String STATS_SQL = "SELECT algorithm, COUNT(*) AS runs, "
+            + "AVG(average_wt) AS mean_wt, MIN(average_wt) AS min_wt, MAX(average_wt) AS max_wt, "
+            + "AVG(average_tat) AS mean_tat, MIN(average_tat) AS min_tat, MAX(average_tat) AS max_tat "
+            + "FROM simulation_history";
+
+    private static final String TRENDS_SQL = "SELECT CAST(timestamp AS DATE) AS bucket, algorithm, COUNT(*) AS runs, "
+            + "AVG(average_wt) AS mean_wt, AVG(average_tat) AS mean_tat "
+            + "FROM simulation_history WHERE timestamp >= ? AND timestamp < ?";
+
+    private static final String TRENDS_GROUP_SQL =
+            " GROUP BY CAST(timestamp AS DATE), algorithm ORDER BY bucket, algorithm";
+
+    private static final String ROLLUP_INSERT_SQL = "INSERT INTO simulation_history_rollup "
+            + "(rollup_day, algorithm, runs, sum_average_wt, min_average_wt, max_average_wt, "
+            + "sum_average_tat, min_average_tat, max_average_tat) "
+            + "SELECT CAST(timestamp AS DATE), algorithm, COUNT(*), SUM(average_wt), MIN(average_wt), "
+            + "MAX(average_wt), SUM(average_tat), MIN(average_tat), MAX(average_tat) "
+            + "FROM simulation_history WHERE timestamp >= ? GROUP BY CAST(timestamp AS DATE), algorithm";
+
+    private static final String ROLLUP_STATS_SQL = "SELECT algorithm, SUM(runs) AS runs, "
+            + "SUM(sum_average_wt) / SUM(runs) AS mean_wt, MIN(min_average_wt) AS min_wt, "
+            + "MAX(max_average_wt) AS max_wt, SUM(sum_average_tat) / SUM(runs) AS mean_tat, "
+            + "MIN(min_average_tat) AS min_tat, MAX(max_average_tat) AS max_tat "
+            + "FROM simulation_history_rollup GROUP BY algorithm ORDER BY algorithm";
+
+    private static final String ROLLUP_TRENDS_SQL = "SELECT rollup_day AS bucket, algorithm, runs, "
+            + "sum_average_wt / runs AS mean_wt, sum_average_tat / runs AS mean_tat "
+            + "FROM simulation_history_rollup WHERE rollup_day >= ? AND rollup_day <= ? "
+            + "ORDER BY rollup_day, algorithm";
+
+    private static final RowMapper<AlgorithmStats> STATS_MAPPER = (rs, rowNum) -> new AlgorithmStats(
+            rs.getString("algorithm"), rs.getLong("runs"),
+            rs.getObject("mean_wt", Double.class), rs.getObject("min_wt", Double.class),
+            rs.getObject("max_wt", Double.class), rs.getObject("mean_tat", Double.class),
+            rs.getObject("min_tat", Double.class), rs.getObject("max_tat", Double.class));
+
+    private static final RowMapper<AlgorithmTrend> TREND_MAPPER = (rs, rowNum) -> new AlgorithmTrend(
+            rs.getDate("bucket").toLocalDate(), rs.getString("algorithm"), rs.getLong("runs"),
+            rs.getObject("mean_wt", Double.class), rs.getObject("mean_tat", Double.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SimulationHistoryAnalyticsRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Per session this reads the session's rows through the session index; across sessions, the whole table
+    @Override
+    public List<AlgorithmStats> findAlgorithmStats(String sessionId) {
+        if (sessionId == null) {
+            return jdbcTemplate.query(STATS_SQL + " GROUP BY algorithm ORDER BY algorithm", STATS_MAPPER);
+        }
+        return jdbcTemplate.query(STATS_SQL + " WHERE session_id = ? GROUP BY algorithm ORDER BY algorithm",
+                STATS_MAPPER, sessionId);
+    }
+
+    @Override
+    public List<AlgorithmTrend> findDailyTrends(String sessionId, LocalDate from, LocalDate to) {
+        Timestamp start = Timestamp.valueOf(from.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(to.plusDays(1).atStartOfDay());
+        if (sessionId == null) {
+            return jdbcTemplate.query(TRENDS_SQL + TRENDS_GROUP_SQL, TREND_MAPPER, start, end);
+        }
+        return jdbcTemplate.query(TRENDS_SQL + " AND session_id = ?" + TRENDS_GROUP_SQL, TREND_MAPPER,
+                start, end, sessionId);
+    }
+
+    // One transaction, so readers see the old totals or the new ones; a concurrent refresh from
+    // another instance fails on the unique (day, algorithm) constraint and leaves this one's result
+    @Override
+    @Transactional
+    public void refreshRollup(LocalDate rebuildFrom, LocalDate keepFrom) {
+        jdbcTemplate.update("DELETE FROM simulation_history_rollup WHERE rollup_day >= ?", Date.valueOf(rebuildFrom));
+        jdbcTemplate.update(ROLLUP_INSERT_SQL, Timestamp.valueOf(rebuildFrom.atStartOfDay()));
+        jdbcTemplate.update("DELETE FROM simulation_history_rollup WHERE rollup_day < ?", Date.valueOf(keepFrom));
+    }
+
+    // A row per day and algorithm, however many runs there were
+    @Override
+    public List<AlgorithmStats> findRollupAlgorithmStats() {
+        return jdbcTemplate.query(ROLLUP_STATS_SQL, STATS_MAPPER);
+    }
+
+    @Override
+    public List<AlgorithmTrend> findRollupDailyTrends(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(ROLLUP_TRENDS_SQL, TREND_MAPPER, Date.valueOf(from), Date.valueOf(to));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.cpuscheduler.repository;
+
+import com.example.cpuscheduler.model.SimulationHistory;
+
+import java.util.List;
+
+// Bulk inserts that bypass the entity manager; IDENTITY ids stop Hibernate from batching saveAll
+public interface SimulationHistoryBatchRepository {
+
+    // Insert all entries as JDBC batches; generated ids are not read back
+    void insertBatch(List<SimulationHistory> entries);
+}
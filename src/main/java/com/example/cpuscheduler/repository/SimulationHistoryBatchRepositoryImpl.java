@@ -0,0 +1,49 @@
+package com.example.cpuscheduler.repository;
+
+import com.example.cpuscheduler.model.SimulationHistory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+public class SimulationHistoryBatchRepositoryImpl implements SimulationHistoryBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO simulation_history "
+            + "(timestamp, algorithm, arrival_times, burst_times, priorities, quantum, "
+            + "average_tat, average_wt, gantt_chart, results, session_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public SimulationHistoryBatchRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                                @Value("${scheduler.history.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void insertBatch(List<SimulationHistory> entries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, batchSize, (statement, history) -> {
+            statement.setTimestamp(1, Timestamp.valueOf(history.getTimestamp()));
+            statement.setString(2, history.getAlgorithm());
+            statement.setString(3, history.getArrivalTimes());
+            statement.setString(4, history.getBurstTimes());
+            statement.setString(5, history.getPriorities());
+            if (history.getQuantum() != null) {
+                statement.setInt(6, history.getQuantum());
+            } else {
+                statement.setNull(6, Types.INTEGER);
+            }
+            statement.setDouble(7, history.getAverageTAT());
+            statement.setDouble(8, history.getAverageWT());
+            statement.setString(9, history.getGanttChart());
+            statement.setString(10, history.getResults());
+            statement.setString(11, history.getSessionId());
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.cpuscheduler.repository;
+
+import com.example.cpuscheduler.model.SimulationHistory;
+
+import java.util.List;
+
+// Keyset pages with optional filters; the SQL is built from the filters present so each shape gets its own plan
+public interface SimulationHistoryPageRepository {
+
+    List<SimulationHistory> findPage(HistoryPageQuery query);
+}
@@ -0,0 +1,76 @@
+package com.example.cpuscheduler.repository;
+
+import com.example.cpuscheduler.model.SimulationHistory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SimulationHistoryPageRepositoryImpl implements SimulationHistoryPageRepository {
+
+    private static final String SELECT_SQL = "SELECT id, timestamp, algorithm, arrival_times, burst_times, "
+            + "priorities, quantum, average_tat, average_wt, gantt_chart, results, session_id "
+            + "FROM simulation_history WHERE session_id = ?";
+
+    private static final RowMapper<SimulationHistory> ROW_MAPPER = (rs, rowNum) -> {
+        SimulationHistory history = new SimulationHistory();
+        history.setId(rs.getLong("id"));
+        history.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
+        history.setAlgorithm(rs.getString("algorithm"));
+        history.setArrivalTimes(rs.getString("arrival_times"));
+        history.setBurstTimes(rs.getString("burst_times"));
+        history.setPriorities(rs.getString("priorities"));
+        history.setQuantum(rs.getObject("quantum", Integer.class));
+        history.setAverageTAT(rs.getObject("average_tat", Double.class));
+        history.setAverageWT(rs.getObject("average_wt", Double.class));
+        history.setGanttChart(rs.getString("gantt_chart"));
+        history.setResults(rs.getString("results"));
+        history.setSessionId(rs.getString("session_id"));
+        return history;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SimulationHistoryPageRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The row comparison on (timestamp, id) is a range on the
+     * (session_id, timestamp, id) index, so the scan starts right at the
+     * cursor and stops after the limit however deep the page is. Filters the
+     * index does not cover are checked on the rows the scan passes.
+     */
+    @Override
+    public List<SimulationHistory> findPage(HistoryPageQuery query) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        args.add(query.sessionId());
+        if (query.afterTimestamp() != null) {
+            sql.append(" AND (timestamp, id) < (?, ?)");
+            args.add(Timestamp.valueOf(query.afterTimestamp()));
+            args.add(query.afterId());
+        }
+        condition(sql, args, "timestamp >= ?", query.from() != null ? Timestamp.valueOf(query.from()) : null);
+        condition(sql, args, "timestamp < ?", query.to() != null ? Timestamp.valueOf(query.to()) : null);
+        condition(sql, args, "algorithm = ?", query.algorithm());
+        condition(sql, args, "average_wt >= ?", query.minAverageWT());
+        condition(sql, args, "average_wt <= ?", query.maxAverageWT());
+        condition(sql, args, "average_tat >= ?", query.minAverageTAT());
+        condition(sql, args, "average_tat <= ?", query.maxAverageTAT());
+        sql.append(" ORDER BY timestamp DESC, id DESC LIMIT ?");
+        args.add(query.limit());
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    private static void condition(StringBuilder sql, List<Object> args, String predicate, Object value) {
+        if (value != null) {
+            sql.append(" AND ").append(predicate);
+            args.add(value);
+        }
+    }
+}
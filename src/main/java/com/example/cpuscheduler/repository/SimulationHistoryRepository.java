@@ -12,7 +12,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface SimulationHistoryRepository extends JpaRepository<SimulationHistory, Long> {
+public interface SimulationHistoryRepository extends JpaRepository<SimulationHistory, Long>,
+        SimulationHistoryBatchRepository, SimulationHistoryPageRepository, SimulationHistoryAnalyticsRepository,
+        SimulationHistoryStore {
 
     // Find all simulations for a specific session ordered by timestamp descending
     @Query("SELECT s FROM SimulationHistory s WHERE s.sessionId = :sessionId ORDER BY s.timestamp DESC")
@@ -35,4 +37,9 @@ public interface SimulationHistoryRepository extends JpaRepository<SimulationHis
     // Count simulations for a specific session
     @Query("SELECT COUNT(s) FROM SimulationHistory s WHERE s.sessionId = :sessionId")
     long countBySessionId(@Param("sessionId") String sessionId);
+
+    // Version of a session's history for ETags: one aggregate over the session index, no entities loaded
+    @Query("SELECT COUNT(s) AS entryCount, MAX(s.id) AS latestId, MAX(s.timestamp) AS latestTimestamp "
+            + "FROM SimulationHistory s WHERE s.sessionId = :sessionId")
+    SessionHistoryVersion findVersionBySessionId(@Param("sessionId") String sessionId);
 }
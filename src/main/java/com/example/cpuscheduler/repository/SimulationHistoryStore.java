@@ -0,0 +1,50 @@
+package com.example.cpuscheduler.repository;
+
+import com.example.cpuscheduler.model.AlgorithmStats;
+import com.example.cpuscheduler.model.AlgorithmTrend;
+import com.example.cpuscheduler.model.SimulationHistory;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Where simulation history is kept. {@link SimulationHistoryRepository} is the
+ * Postgres-backed store and the default; {@link LogFileHistoryStore} keeps
+ * history in local files instead when {@code scheduler.history.store=file}.
+ * All lists are ordered newest first.
+ */
+public interface SimulationHistoryStore {
+
+    // Assigns the id of a new entry
+    <S extends SimulationHistory> S save(S entry);
+
+    // Insert all entries at once; the given entries may not get their ids set
+    void insertBatch(List<SimulationHistory> entries);
+
+    Optional<SimulationHistory> findById(Long id);
+
+    List<SimulationHistory> findBySessionIdOrderByTimestampDesc(String sessionId);
+
+    List<SimulationHistory> findByAlgorithmAndSessionIdOrderByTimestampDesc(String algorithm, String sessionId);
+
+    List<SimulationHistory> findRecentSimulationsBySessionId(String sessionId, Pageable pageable);
+
+    // At most query.limit() entries after the query's position that pass its filters
+    List<SimulationHistory> findPage(HistoryPageQuery query);
+
+    // Per algorithm, in algorithm order, over one session or every session when sessionId is null
+    List<AlgorithmStats> findAlgorithmStats(String sessionId);
+
+    // Per day and algorithm from one day to another, both inclusive, oldest first; sessionId as above
+    List<AlgorithmTrend> findDailyTrends(String sessionId, LocalDate from, LocalDate to);
+
+    SessionHistoryVersion findVersionBySessionId(String sessionId);
+
+    // Does nothing for an unknown id
+    void deleteById(Long id);
+
+    void deleteOldSimulations(LocalDateTime cutoffDate);
+}
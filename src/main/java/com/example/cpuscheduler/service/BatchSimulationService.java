@@ -0,0 +1,144 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.model.CpuTask;
+import com.example.cpuscheduler.model.SimulationHistory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs many small schedule requests in one call. Entries are simulated in
+ * parallel on a dedicated fork/join pool and written back as a JSON array in
+ * input order, each as soon as it and all entries before it are done. A bad
+ * entry becomes an {"error": ...} element instead of failing the batch.
+ * History for the whole batch is saved with one JDBC batch at the end.
+ */
+@Service
+public class BatchSimulationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchSimulationService.class);
+
+    private final SimulationPipeline simulationPipeline;
+    private final SimulationLimits simulationLimits;
+    private final SimulationHistoryService simulationHistoryService;
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool pool;
+    private final int maxEntries;
+
+    @Autowired
+    public BatchSimulationService(SimulationPipeline simulationPipeline,
+                                  SimulationLimits simulationLimits,
+                                  SimulationHistoryService simulationHistoryService,
+                                  ObjectMapper objectMapper,
+                                  @Value("${scheduler.batch.parallelism:0}") int parallelism,
+                                  @Value("${scheduler.batch.max-entries:10000}") int maxEntries) {
+        this.simulationPipeline = simulationPipeline;
+        this.simulationLimits = simulationLimits;
+        this.simulationHistoryService = simulationHistoryService;
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        // Separate from the common pool so batches cannot starve parallel streams elsewhere
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public void validate(List<Map<String, String>> entries) {
+        if (entries == null || entries.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one simulation");
+        }
+        if (entries.size() > maxEntries) {
+            throw new IllegalArgumentException("Batch exceeds the limit of " + maxEntries + " simulations");
+        }
+    }
+
+    public void run(List<Map<String, String>> entries, OutputStream out) throws IOException {
+        AtomicBoolean abandoned = new AtomicBoolean();
+        List<CompletableFuture<EntryOutcome>> outcomes = new ArrayList<>(entries.size());
+        for (Map<String, String> entry : entries) {
+            outcomes.add(CompletableFuture.supplyAsync(() -> simulate(entry, abandoned), pool));
+        }
+
+        List<SimulationHistory> histories = new ArrayList<>(entries.size());
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            json.writeStartArray();
+            for (int i = 0; i < outcomes.size(); i++) {
+                EntryOutcome outcome = outcomes.get(i).join();
+                json.writeObject(outcome.response);
+                if (outcome.history != null) {
+                    histories.add(outcome.history);
+                }
+                // Flush only when the client would otherwise wait on the next entry
+                if (i + 1 < outcomes.size() && !outcomes.get(i + 1).isDone()) {
+                    json.flush();
+                }
+            }
+            json.writeEndArray();
+        } catch (IOException e) {
+            // Client went away: skip entries that have not started yet
+            abandoned.set(true);
+            throw e;
+        }
+
+        try {
+            simulationHistoryService.saveSimulationHistoryBatch(histories);
+        } catch (Exception e) {
+            log.warn("Failed to save simulation history for a batch of {} entries", histories.size(), e);
+        }
+    }
+
+    private EntryOutcome simulate(Map<String, String> entry, AtomicBoolean abandoned) {
+        if (abandoned.get()) {
+            return new EntryOutcome(Map.of("error", "Batch abandoned"), null);
+        }
+        Map<String, Object> result;
+        SchedulingAlgorithm algorithm;
+        try {
+            algorithm = SchedulingAlgorithm.fromPath(entry.get("algorithm"));
+            ScheduleInputParser.requireFields(algorithm, entry);
+            List<CpuTask> tasks = simulationPipeline.parse(algorithm, entry);
+            result = simulationPipeline.compute(algorithm, tasks, entry, simulationLimits.forRequest());
+        } catch (RuntimeException e) {
+            return new EntryOutcome(Map.of("error", e.getMessage() != null ? e.getMessage()
+                    : e.getClass().getSimpleName()), null);
+        }
+
+        // Serialize history here, in parallel, so the final batch write is only the insert
+        SimulationHistory history = null;
+        try {
+            history = simulationPipeline.toHistory(algorithm, entry, result);
+        } catch (RuntimeException e) {
+            log.warn("Failed to prepare {} simulation history for session {}", algorithm, entry.get("sessionId"), e);
+        }
+        return new EntryOutcome(result, history);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static final class EntryOutcome {
+        private final Object response;
+        private final SimulationHistory history;
+
+        EntryOutcome(Object response, SimulationHistory history) {
+            this.response = response;
+            this.history = history;
+        }
+    }
+}
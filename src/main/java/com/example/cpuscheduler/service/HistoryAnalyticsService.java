@@ -0,0 +1,112 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.model.AlgorithmStats;
+import com.example.cpuscheduler.model.AlgorithmTrend;
+import com.example.cpuscheduler.repository.SimulationHistoryAnalyticsRepository;
+import com.example.cpuscheduler.repository.SimulationHistoryStore;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard aggregates over simulation history: runs and mean, minimum and
+ * maximum averageWT and averageTAT per algorithm, and the same per day. The
+ * store computes them over the numeric columns, so no Gantt or results JSON
+ * is loaded. Per-session figures always come from the session's live rows,
+ * which retention keeps few. Global figures come from the daily rollup when
+ * it is enabled, at the cost of lagging by up to one refresh interval.
+ */
+@Service
+public class HistoryAnalyticsService {
+
+    static final int MAX_TREND_DAYS = 366;
+    private static final int DEFAULT_TREND_DAYS = 30;
+
+    private final SimulationHistoryStore store;
+    private SchedulingMetrics metrics = SchedulingMetrics.NOOP;
+    // Both null when global analytics are computed from the history rows on every request
+    private SimulationHistoryAnalyticsRepository rollup;
+    private ScheduledExecutorService rollupRefresh;
+    private int rollupRetentionDays;
+
+    @Autowired
+    public HistoryAnalyticsService(SimulationHistoryStore store) {
+        this.store = store;
+    }
+
+    @Autowired
+    public void setSchedulingMetrics(SchedulingMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // The rollup is a database table, so it is only used when history is kept in the database
+    @Autowired
+    public void setRollup(@Value("${scheduler.history.rollup.enabled:false}") boolean enabled,
+                          @Value("${scheduler.history.rollup.refresh-minutes:5}") long refreshMinutes,
+                          @Value("${scheduler.history.rollup.retention-days:400}") int retentionDays) {
+        if (!enabled || !(store instanceof SimulationHistoryAnalyticsRepository)) {
+            return;
+        }
+        this.rollup = (SimulationHistoryAnalyticsRepository) store;
+        this.rollupRetentionDays = retentionDays;
+        this.rollupRefresh = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-rollup-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rollupRefresh.scheduleWithFixedDelay(this::refreshRollup, 0, refreshMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (rollupRefresh != null) {
+            rollupRefresh.shutdownNow();
+        }
+    }
+
+    // Per algorithm for one session, or across all sessions when sessionId is null
+    public List<AlgorithmStats> getAlgorithmStats(String sessionId) {
+        if (sessionId == null && rollup != null) {
+            return rollup.findRollupAlgorithmStats();
+        }
+        return store.findAlgorithmStats(sessionId);
+    }
+
+    // Per day and algorithm, both days inclusive; the last 30 days up to today by default
+    public List<AlgorithmTrend> getDailyTrends(String sessionId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_TREND_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_TREND_DAYS) {
+            throw new IllegalArgumentException("Trends span at most " + MAX_TREND_DAYS + " days");
+        }
+        if (sessionId == null && rollup != null) {
+            return rollup.findRollupDailyTrends(start, end);
+        }
+        return store.findDailyTrends(sessionId, start, end);
+    }
+
+    // A failed refresh keeps the previous totals and is retried on the next run. The day the history
+    // retention cutoff falls in is already losing rows, so only the days after it are rebuilt; it keeps
+    // the totals from the refreshes that ran while it was complete.
+    void refreshRollup() {
+        LocalDate today = LocalDate.now();
+        try {
+            rollup.refreshRollup(today.minusDays(SimulationHistoryService.RETENTION_DAYS - 1),
+                    today.minusDays(rollupRetentionDays));
+            metrics.recordRollupRefresh(true);
+        } catch (RuntimeException e) {
+            metrics.recordRollupRefresh(false);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.cpuscheduler.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker for history writes. Closed, it lets writes through and
+ * remembers whether each of the last {@code window} went bad, i.e. failed or
+ * took at least the slow-call threshold. Once at least {@code minimumCalls}
+ * are recorded and the bad share reaches the threshold it opens and rejects
+ * every write for the open duration. After that it lets one trial write
+ * through (half-open): a good trial closes it, a bad one opens it again.
+ */
+final class HistoryCircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final long slowCallNanos;
+    private final int badRatePercent;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final LongSupplier clock;
+    private final boolean[] outcomes;
+    private int next;
+    private int calls;
+    private int badCalls;
+    private State state = State.CLOSED;
+    private long openedAt;
+
+    HistoryCircuitBreaker(long slowCallNanos, int badRatePercent, int window, int minimumCalls, long openNanos,
+                          LongSupplier clock) {
+        this.slowCallNanos = slowCallNanos;
+        this.badRatePercent = badRatePercent;
+        this.minimumCalls = Math.min(minimumCalls, window);
+        this.openNanos = openNanos;
+        this.clock = clock;
+        this.outcomes = new boolean[window];
+    }
+
+    // Whether a write may go to the store now; a true in half-open claims the one trial
+    synchronized boolean allowRequest() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    // Outcome of a write that allowRequest let through
+    synchronized void record(long nanos, boolean failed) {
+        boolean bad = failed || nanos >= slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (bad) {
+                open();
+            } else {
+                state = State.CLOSED;
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return; // Started before the breaker opened
+        }
+        if (calls == outcomes.length) {
+            badCalls -= outcomes[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        outcomes[next] = bad;
+        badCalls += bad ? 1 : 0;
+        next = (next + 1) % outcomes.length;
+        if (calls >= minimumCalls && badCalls * 100L >= (long) badRatePercent * calls) {
+            open();
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        next = 0;
+        calls = 0;
+        badCalls = 0;
+    }
+}
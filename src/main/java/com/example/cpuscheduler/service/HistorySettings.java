@@ -0,0 +1,47 @@
+package com.example.cpuscheduler.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the history service, bound from scheduler.history.*: the write
+ * bulkhead, the per-session read cache, and the local spool with the circuit
+ * breaker in front of it. An empty spoolFile leaves the spool off.
+ */
+@Component
+public record HistorySettings(
+        @Value("${scheduler.history.max-concurrent-writes:8}") int maxConcurrentWrites,
+        @Value("${scheduler.history.write-timeout-ms:1000}") long writeTimeoutMillis,
+        @Value("${scheduler.history.cache.max-sessions:1000}") int cacheMaxSessions,
+        @Value("${scheduler.history.cache.max-mb:64}") int cacheMaxMegabytes,
+        @Value("${scheduler.history.cache.ttl-seconds:60}") long cacheTtlSeconds,
+        @Value("${scheduler.history.spool.file:}") String spoolFile,
+        @Value("${scheduler.history.spool.max-mb:64}") int spoolMaxMegabytes,
+        @Value("${scheduler.history.spool.fsync:false}") boolean spoolFsync,
+        @Value("${scheduler.history.spool.replay-interval-ms:5000}") long spoolReplayIntervalMillis,
+        @Value("${scheduler.history.breaker.slow-call-ms:1000}") long breakerSlowCallMillis,
+        @Value("${scheduler.history.breaker.bad-call-percent:50}") int breakerBadCallPercent,
+        @Value("${scheduler.history.breaker.open-seconds:30}") long breakerOpenSeconds) {
+
+    // The property defaults, for building the service outside Spring
+    public static HistorySettings defaults() {
+        return new HistorySettings(8, 1000, 1000, 64, 60, "", 64, false, 5000, 1000, 50, 30);
+    }
+
+    public HistorySettings withWriteBulkhead(int newMaxConcurrentWrites, long newWriteTimeoutMillis) {
+        return new HistorySettings(newMaxConcurrentWrites, newWriteTimeoutMillis, cacheMaxSessions,
+                cacheMaxMegabytes, cacheTtlSeconds, spoolFile, spoolMaxMegabytes, spoolFsync,
+                spoolReplayIntervalMillis, breakerSlowCallMillis, breakerBadCallPercent, breakerOpenSeconds);
+    }
+
+    public HistorySettings withSpool(String newSpoolFile, int newSpoolMaxMegabytes,
+                                     long newSpoolReplayIntervalMillis) {
+        return new HistorySettings(maxConcurrentWrites, writeTimeoutMillis, cacheMaxSessions,
+                cacheMaxMegabytes, cacheTtlSeconds, newSpoolFile, newSpoolMaxMegabytes, spoolFsync,
+                newSpoolReplayIntervalMillis, breakerSlowCallMillis, breakerBadCallPercent, breakerOpenSeconds);
+    }
+
+    public boolean spoolEnabled() {
+        return spoolFile != null && !spoolFile.isBlank();
+    }
+}
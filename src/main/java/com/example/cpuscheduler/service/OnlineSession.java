@@ -0,0 +1,35 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.OnlineScheduler;
+
+import java.time.Instant;
+
+/**
+ * One live scheduling session: an {@link OnlineScheduler} plus the bookkeeping
+ * needed to evict it when idle. Callers synchronize on the session while
+ * touching the scheduler.
+ */
+public class OnlineSession {
+
+    private final String id;
+    private final OnlineScheduler scheduler;
+    private final Instant createdAt = Instant.now();
+    private volatile Instant lastAccessedAt = createdAt;
+
+    OnlineSession(String id, OnlineScheduler scheduler) {
+        this.id = id;
+        this.scheduler = scheduler;
+    }
+
+    void touch() {
+        lastAccessedAt = Instant.now();
+    }
+
+    public String getId() { return id; }
+
+    OnlineScheduler getScheduler() { return scheduler; }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    public Instant getLastAccessedAt() { return lastAccessedAt; }
+}
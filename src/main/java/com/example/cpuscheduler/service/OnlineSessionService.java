@@ -0,0 +1,206 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.OnlineScheduler;
+import com.example.cpuscheduler.engine.ScheduleSink;
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.model.GanttChart;
+import io.micrometer.core.instrument.Gauge;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live scheduling sessions. Each session keeps its scheduler state in memory,
+ * so appending tasks and moving the clock only simulates the new events
+ * instead of replaying the workload from time zero. Every step answers with
+ * the current state plus the Gantt segments and completions it finalized.
+ * Sessions untouched for the idle timeout are evicted lazily.
+ */
+@Service
+public class OnlineSessionService {
+
+    private final SimulationLimits simulationLimits;
+    private final Map<String, OnlineSession> sessions = new ConcurrentHashMap<>();
+    private final Duration idleTimeout;
+    private final int maxActiveSessions;
+
+    @Autowired
+    public OnlineSessionService(SimulationLimits simulationLimits,
+                                SchedulingMetrics schedulingMetrics,
+                                @Value("${scheduler.sessions.idle-timeout-minutes:30}") long idleTimeoutMinutes,
+                                @Value("${scheduler.sessions.max-active:1000}") int maxActiveSessions) {
+        this.simulationLimits = simulationLimits;
+        this.idleTimeout = Duration.ofMinutes(idleTimeoutMinutes);
+        this.maxActiveSessions = maxActiveSessions;
+
+        Gauge.builder("scheduler.sessions.active", sessions, Map::size)
+                .description("Live online scheduling sessions")
+                .register(schedulingMetrics.getRegistry());
+    }
+
+    // Open a session; throws IllegalStateException when the session cap is reached
+    public Map<String, Object> create(SchedulingAlgorithm algorithm, int quantum) {
+        evictIdle();
+        if (sessions.size() >= maxActiveSessions) {
+            throw new IllegalStateException("Too many active sessions, retry later");
+        }
+        OnlineScheduler scheduler = new OnlineScheduler(algorithm, quantum);
+        OnlineSession session = new OnlineSession(UUID.randomUUID().toString(), scheduler);
+        sessions.put(session.getId(), session);
+        return describe(session, null);
+    }
+
+    public Optional<Map<String, Object>> get(String id) {
+        return find(id).map(session -> {
+            synchronized (session) {
+                return describe(session, null);
+            }
+        });
+    }
+
+    // Append tasks arriving at or after the session clock; all or none are added
+    public Optional<Map<String, Object>> appendTasks(String id, Map<String, String> data) {
+        return find(id).map(session -> {
+            synchronized (session) {
+                OnlineScheduler scheduler = session.getScheduler();
+                ScheduleInputParser.requireFields(scheduler.getAlgorithm(), data);
+                long[] arrivalTimes = ScheduleInputParser.parseTimes(data.get("arrivalTimes").trim());
+                long[] burstTimes = ScheduleInputParser.parseTimes(data.get("burstTimes").trim());
+                int[] priorities = scheduler.getAlgorithm() == SchedulingAlgorithm.PRIORITY
+                        ? ScheduleInputParser.parsePriorities(data.get("priorities").trim())
+                        : new int[arrivalTimes.length];
+                if (burstTimes.length != arrivalTimes.length || priorities.length != arrivalTimes.length) {
+                    throw new IllegalArgumentException(
+                            "arrivalTimes, burstTimes and priorities must have the same length");
+                }
+                simulationLimits.checkTasks(scheduler.getTaskCount() + arrivalTimes.length);
+                for (int i = 0; i < arrivalTimes.length; i++) {
+                    if (arrivalTimes[i] < scheduler.now()) {
+                        throw new IllegalArgumentException("Arrival time " + arrivalTimes[i]
+                                + " is before the session clock " + scheduler.now());
+                    }
+                    if (burstTimes[i] < 0) {
+                        throw new IllegalArgumentException("Burst time must not be negative");
+                    }
+                }
+                for (int i = 0; i < arrivalTimes.length; i++) {
+                    scheduler.addTask(arrivalTimes[i], burstTimes[i], priorities[i]);
+                }
+                return describe(session, null);
+            }
+        });
+    }
+
+    // Move the clock forward, returning the segments and completions decided before it.
+    // A step stopped by its budget still moves the clock; advancing again resumes where it stopped
+    public Optional<Map<String, Object>> advance(String id, long time) {
+        return find(id).map(session -> {
+            synchronized (session) {
+                StepSink step = new StepSink(session.getScheduler());
+                session.getScheduler().advanceTo(time, step, simulationLimits.forRequest());
+                return describe(session, step);
+            }
+        });
+    }
+
+    // Run every appended task to completion
+    public Optional<Map<String, Object>> drain(String id) {
+        return find(id).map(session -> {
+            synchronized (session) {
+                StepSink step = new StepSink(session.getScheduler());
+                session.getScheduler().drain(step, simulationLimits.forRequest());
+                return describe(session, step);
+            }
+        });
+    }
+
+    public boolean delete(String id) {
+        return sessions.remove(id) != null;
+    }
+
+    private Optional<OnlineSession> find(String id) {
+        OnlineSession session = sessions.get(id);
+        if (session == null || isIdle(session, Instant.now().minus(idleTimeout))) {
+            evictIdle();
+            return Optional.empty();
+        }
+        session.touch();
+        return Optional.of(session);
+    }
+
+    private boolean isIdle(OnlineSession session, Instant cutoff) {
+        return session.getLastAccessedAt().isBefore(cutoff);
+    }
+
+    private void evictIdle() {
+        Instant cutoff = Instant.now().minus(idleTimeout);
+        sessions.values().removeIf(session -> isIdle(session, cutoff));
+    }
+
+    int activeSessionCount() {
+        return sessions.size();
+    }
+
+    private Map<String, Object> describe(OnlineSession session, StepSink step) {
+        OnlineScheduler scheduler = session.getScheduler();
+        int completed = scheduler.getCompletedTasks();
+        int running = scheduler.getRunningTask();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("sessionId", session.getId());
+        response.put("algorithm", scheduler.getAlgorithm().path());
+        response.put("now", scheduler.now());
+        response.put("taskCount", scheduler.getTaskCount());
+        response.put("completedTasks", completed);
+        response.put("runningProcessId", running == ScheduleSink.IDLE ? null : running + 1);
+        response.put("readyCount", scheduler.getReadyCount());
+        response.put("pendingCount", scheduler.getPendingCount());
+        response.put("averageTAT", completed == 0 ? 0.0 : (double) scheduler.getTotalTurnaroundTime() / completed);
+        response.put("averageWT", completed == 0 ? 0.0 : (double) scheduler.getTotalWaitingTime() / completed);
+        if (step != null) {
+            response.put("ganttChart", step.ganttChart);
+            response.put("completed", step.completed);
+        }
+        return response;
+    }
+
+    // Collects the output of one step; process ids are 1-based append positions
+    private static final class StepSink implements ScheduleSink {
+        private final OnlineScheduler scheduler;
+        private final List<GanttChart> ganttChart = new ArrayList<>();
+        private final List<Map<String, Object>> completed = new ArrayList<>();
+
+        StepSink(OnlineScheduler scheduler) {
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void segment(long startTime, long endTime, int task) {
+            ganttChart.add(new GanttChart(startTime, endTime, task == IDLE ? null : (long) task + 1));
+        }
+
+        @Override
+        public void completed(int task, long startTime, long completionTime) {
+            long turnaroundTime = completionTime - scheduler.arrivalTime(task);
+            Map<String, Object> completion = new LinkedHashMap<>();
+            completion.put("processId", task + 1);
+            completion.put("arrivalTime", scheduler.arrivalTime(task));
+            completion.put("burstTime", scheduler.burstTime(task));
+            completion.put("startTime", startTime);
+            completion.put("completionTime", completionTime);
+            completion.put("turnaroundTime", turnaroundTime);
+            completion.put("waitingTime", turnaroundTime - scheduler.burstTime(task));
+            completed.add(completion);
+        }
+    }
+}
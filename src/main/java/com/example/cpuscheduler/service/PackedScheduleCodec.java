@@ -0,0 +1,248 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.model.GanttChart;
+import com.example.cpuscheduler.model.PriorityTaskResponse;
+import com.example.cpuscheduler.model.TaskResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packed columnar encoding of a schedule result for programmatic clients,
+ * served as {@value #MEDIA_TYPE}. Everything is little-endian and each field
+ * is one contiguous column, so a client can map a column straight onto a
+ * numeric array:
+ * <pre>
+ * int    magic "CSPK"
+ * int    flags; bit 0 set when the priority column is present
+ * int    taskCount
+ * int    segmentCount
+ * double averageTAT, averageWT
+ * long[taskCount] x 8   id, arrivalTime, burstTime, startTime, completionTime,
+ *                       turnaroundTime, waitingTime, remainingTime
+ * int[taskCount]        priority, when flagged
+ * long[segmentCount] x 3  startTime, endTime, id
+ * </pre>
+ * Null values, including the id of idle segments, are {@code Long.MIN_VALUE}.
+ * Only full Gantt charts have a packed form, not downsampled bins.
+ */
+public final class PackedScheduleCodec {
+
+    public static final String MEDIA_TYPE = "application/x-schedule-packed";
+
+    static final long NULL = Long.MIN_VALUE;
+    private static final int MAGIC = 'C' | 'S' << 8 | 'P' << 16 | 'K' << 24;
+    private static final int FLAG_PRIORITIES = 1;
+    private static final int HEADER_BYTES = 32;
+
+    private static final String[] TASK_FIELDS = {"id", "arrivalTime", "burstTime", "startTime", "completionTime",
+            "turnaroundTime", "waitingTime", "remainingTime"};
+    private static final String[] SEGMENT_FIELDS = {"startTime", "endTime", "id"};
+
+    private PackedScheduleCodec() {
+    }
+
+    // A result as the schedule service returns it
+    public static byte[] encode(Map<String, Object> serviceResult) {
+        if (!(serviceResult.get("ganttChart") instanceof List<?> chart)) {
+            throw new IllegalArgumentException("Packed format needs the full Gantt chart; omit resolution");
+        }
+        List<?> tasks = (List<?>) serviceResult.get("scheduledTasks");
+        boolean hasPriorities = !tasks.isEmpty() && tasks.get(0) instanceof PriorityTaskResponse;
+        Columns columns = new Columns(tasks.size(), chart.size(), hasPriorities);
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskResult task = (TaskResult) tasks.get(i);
+            long[][] c = columns.tasks;
+            c[0][i] = orNull(task.getId());
+            c[1][i] = task.getArrivalTime();
+            c[2][i] = task.getBurstTime();
+            c[3][i] = orNull(task.getStartTime());
+            c[4][i] = orNull(task.getCompletionTime());
+            c[5][i] = orNull(task.getTurnaroundTime());
+            c[6][i] = orNull(task.getWaitingTime());
+            c[7][i] = orNull(task.getRemainingTime());
+            if (hasPriorities) {
+                columns.priorities[i] = ((PriorityTaskResponse) task).getPriority();
+            }
+        }
+        for (int i = 0; i < chart.size(); i++) {
+            GanttChart segment = (GanttChart) chart.get(i);
+            columns.segments[0][i] = segment.getStartTime();
+            columns.segments[1][i] = segment.getEndTime();
+            columns.segments[2][i] = orNull(segment.getId());
+        }
+        return write(columns, (Double) serviceResult.get("averageTAT"), (Double) serviceResult.get("averageWT"));
+    }
+
+    // A stored history entry, from its saved JSON
+    public static byte[] encode(JsonNode results, JsonNode ganttChart, Double averageTAT, Double averageWT) {
+        if (ganttChart.size() > 0 && ganttChart.get(0).has("dominantProcessId")) {
+            throw new IllegalArgumentException("Packed format needs the full Gantt chart; this entry was downsampled");
+        }
+        boolean hasPriorities = results.size() > 0 && results.get(0).has("priority");
+        Columns columns = new Columns(results.size(), ganttChart.size(), hasPriorities);
+        for (int i = 0; i < results.size(); i++) {
+            JsonNode task = results.get(i);
+            for (int k = 0; k < TASK_FIELDS.length; k++) {
+                columns.tasks[k][i] = longOf(task.get(TASK_FIELDS[k]));
+            }
+            if (hasPriorities) {
+                columns.priorities[i] = task.path("priority").asInt();
+            }
+        }
+        for (int i = 0; i < ganttChart.size(); i++) {
+            JsonNode segment = ganttChart.get(i);
+            for (int k = 0; k < SEGMENT_FIELDS.length; k++) {
+                columns.segments[k][i] = longOf(segment.get(SEGMENT_FIELDS[k]));
+            }
+        }
+        return write(columns, averageTAT, averageWT);
+    }
+
+    /**
+     * Reads a packed result back into the JSON shape it was encoded from:
+     * scheduledTasks, ganttChart, averageTAT and averageWT.
+     */
+    public static ObjectNode decode(byte[] packed) {
+        ByteBuffer buffer = ByteBuffer.wrap(packed).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a packed schedule");
+            }
+            boolean hasPriorities = (buffer.getInt() & FLAG_PRIORITIES) != 0;
+            int taskCount = buffer.getInt();
+            int segmentCount = buffer.getInt();
+            double averageTAT = buffer.getDouble();
+            double averageWT = buffer.getDouble();
+            if (bodyBytes(taskCount, segmentCount, hasPriorities) != buffer.remaining()) {
+                throw new IllegalArgumentException("Packed schedule length does not match its header");
+            }
+            Columns columns = new Columns(taskCount, segmentCount, hasPriorities);
+            for (long[] column : columns.tasks) {
+                readColumn(buffer, column);
+            }
+            if (hasPriorities) {
+                buffer.asIntBuffer().get(columns.priorities);
+                buffer.position(buffer.position() + taskCount * Integer.BYTES);
+            }
+            for (long[] column : columns.segments) {
+                readColumn(buffer, column);
+            }
+
+            JsonNodeFactory nodes = JsonNodeFactory.instance;
+            ObjectNode result = nodes.objectNode();
+            ArrayNode tasks = result.putArray("scheduledTasks");
+            for (int i = 0; i < taskCount; i++) {
+                ObjectNode task = tasks.addObject();
+                for (int k = 0; k < TASK_FIELDS.length; k++) {
+                    putLong(task, TASK_FIELDS[k], columns.tasks[k][i]);
+                }
+                if (hasPriorities) {
+                    task.put("priority", columns.priorities[i]);
+                }
+            }
+            ArrayNode chart = result.putArray("ganttChart");
+            for (int i = 0; i < segmentCount; i++) {
+                ObjectNode segment = chart.addObject();
+                for (int k = 0; k < SEGMENT_FIELDS.length; k++) {
+                    putLong(segment, SEGMENT_FIELDS[k], columns.segments[k][i]);
+                }
+            }
+            putDouble(result, "averageTAT", averageTAT);
+            putDouble(result, "averageWT", averageWT);
+            return result;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated packed schedule", e);
+        }
+    }
+
+    private static byte[] write(Columns columns, Double averageTAT, Double averageWT) {
+        int taskCount = columns.tasks[0].length;
+        int segmentCount = columns.segments[0].length;
+        long size = HEADER_BYTES + bodyBytes(taskCount, segmentCount, columns.priorities != null);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Result too large for the packed format");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC)
+                .putInt(columns.priorities != null ? FLAG_PRIORITIES : 0)
+                .putInt(taskCount)
+                .putInt(segmentCount)
+                .putDouble(averageTAT != null ? averageTAT : Double.NaN)
+                .putDouble(averageWT != null ? averageWT : Double.NaN);
+        for (long[] column : columns.tasks) {
+            writeColumn(buffer, column);
+        }
+        if (columns.priorities != null) {
+            buffer.asIntBuffer().put(columns.priorities);
+            buffer.position(buffer.position() + taskCount * Integer.BYTES);
+        }
+        for (long[] column : columns.segments) {
+            writeColumn(buffer, column);
+        }
+        return buffer.array();
+    }
+
+    private static long bodyBytes(int taskCount, int segmentCount, boolean hasPriorities) {
+        return (long) taskCount * Long.BYTES * TASK_FIELDS.length
+                + (hasPriorities ? (long) taskCount * Integer.BYTES : 0)
+                + (long) segmentCount * Long.BYTES * SEGMENT_FIELDS.length;
+    }
+
+    // Bulk copies through a view buffer; the view does not move the parent's position
+    private static void writeColumn(ByteBuffer buffer, long[] column) {
+        buffer.asLongBuffer().put(column);
+        buffer.position(buffer.position() + column.length * Long.BYTES);
+    }
+
+    private static void readColumn(ByteBuffer buffer, long[] column) {
+        buffer.asLongBuffer().get(column);
+        buffer.position(buffer.position() + column.length * Long.BYTES);
+    }
+
+    private static long orNull(Long value) {
+        return value != null ? value : NULL;
+    }
+
+    private static long longOf(JsonNode value) {
+        return value == null || value.isNull() ? NULL : value.asLong();
+    }
+
+    private static void putLong(ObjectNode node, String field, long value) {
+        if (value == NULL) {
+            node.putNull(field);
+        } else {
+            node.put(field, value);
+        }
+    }
+
+    private static void putDouble(ObjectNode node, String field, double value) {
+        if (Double.isNaN(value)) {
+            node.putNull(field);
+        } else {
+            node.put(field, value);
+        }
+    }
+
+    private static final class Columns {
+        private final long[][] tasks;
+        private final int[] priorities;
+        private final long[][] segments;
+
+        Columns(int taskCount, int segmentCount, boolean hasPriorities) {
+            if (taskCount < 0 || segmentCount < 0) {
+                throw new IllegalArgumentException("Negative column length");
+            }
+            tasks = new long[TASK_FIELDS.length][taskCount];
+            priorities = hasPriorities ? new int[taskCount] : null;
+            segments = new long[SEGMENT_FIELDS.length][segmentCount];
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Parses the space-separated number lists posted to the schedule endpoint,
+ * e.g. {@code "0 2 4"}.
+ */
+public final class ScheduleInputParser {
+
+    private ScheduleInputParser() {
+    }
+
+    public static long[] parseTimes(String values) {
+        return Arrays.stream(values.split(" ")).mapToLong(Long::parseLong).toArray();
+    }
+
+    public static int[] parsePriorities(String values) {
+        return Arrays.stream(values.split(" ")).mapToInt(Integer::parseInt).toArray();
+    }
+
+    // Reject a request missing the fields its algorithm needs, or with a non-positive quantum
+    public static void requireFields(SchedulingAlgorithm algorithm, Map<String, String> data) {
+        requireField(data, "arrivalTimes");
+        requireField(data, "burstTimes");
+        if (algorithm == SchedulingAlgorithm.PRIORITY) {
+            requireField(data, "priorities");
+        }
+        if (algorithm == SchedulingAlgorithm.RR && Integer.parseInt(requireField(data, "quantum")) <= 0) {
+            throw new IllegalArgumentException("Quantum must be positive");
+        }
+    }
+
+    private static String requireField(Map<String, String> data, String field) {
+        String value = data.get(field);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing field: " + field);
+        }
+        return value;
+    }
+}
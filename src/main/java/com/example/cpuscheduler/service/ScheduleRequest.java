@@ -0,0 +1,81 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A schedule request parsed once from the posted fields: number lists become
+ * primitive arrays and the optional fields get their defaults. Priorities are
+ * only parsed for the priority algorithm and are null otherwise. The arrays
+ * stay primitive for large inputs, so equality, hashing and toString are
+ * written out to compare their contents.
+ */
+public record ScheduleRequest(SchedulingAlgorithm algorithm,
+                              long[] arrivalTimes,
+                              long[] burstTimes,
+                              int[] priorities,
+                              int quantum,
+                              int resolution,
+                              String sessionId) {
+
+    public ScheduleRequest {
+        if (burstTimes.length != arrivalTimes.length
+                || (priorities != null && priorities.length != arrivalTimes.length)) {
+            throw new IllegalArgumentException("arrivalTimes, burstTimes and priorities must have the same length");
+        }
+    }
+
+    // Checks the required fields, then the task count against the limits before parsing the remaining lists.
+    // Bad input surfaces as IllegalArgumentException, malformed numbers as its NumberFormatException subclass
+    public static ScheduleRequest parse(SchedulingAlgorithm algorithm, Map<String, String> data,
+                                        SimulationLimits limits) {
+        ScheduleInputParser.requireFields(algorithm, data);
+        long[] arrivalTimes = ScheduleInputParser.parseTimes(data.get("arrivalTimes"));
+        limits.checkTasks(arrivalTimes.length);
+        long[] burstTimes = ScheduleInputParser.parseTimes(data.get("burstTimes"));
+        int[] priorities = algorithm == SchedulingAlgorithm.PRIORITY
+                ? ScheduleInputParser.parsePriorities(data.get("priorities"))
+                : null;
+        return new ScheduleRequest(algorithm, arrivalTimes, burstTimes, priorities,
+                SimulationPipeline.quantumOf(algorithm, data), SimulationPipeline.resolutionOf(data),
+                data.get("sessionId"));
+    }
+
+    public int size() {
+        return arrivalTimes.length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        return other instanceof ScheduleRequest request
+                && algorithm == request.algorithm
+                && quantum == request.quantum
+                && resolution == request.resolution
+                && Arrays.equals(arrivalTimes, request.arrivalTimes)
+                && Arrays.equals(burstTimes, request.burstTimes)
+                && Arrays.equals(priorities, request.priorities)
+                && Objects.equals(sessionId, request.sessionId);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Objects.hash(algorithm, quantum, resolution, sessionId);
+        hash = 31 * hash + Arrays.hashCode(arrivalTimes);
+        hash = 31 * hash + Arrays.hashCode(burstTimes);
+        return 31 * hash + Arrays.hashCode(priorities);
+    }
+
+    // Task lists can be huge; show their sizes rather than their contents
+    @Override
+    public String toString() {
+        return "ScheduleRequest[algorithm=" + algorithm + ", tasks=" + arrivalTimes.length
+                + ", priorities=" + (priorities != null) + ", quantum=" + quantum
+                + ", resolution=" + resolution + ", sessionId=" + sessionId + "]";
+    }
+}
@@ -1,76 +1,69 @@
 package com.example.cpuscheduler.service;
 
+import com.example.cpuscheduler.engine.*;
 import com.example.cpuscheduler.model.*;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.function.BiFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToLongFunction;
 
 @Service
 public class SchedulingAlgorithmService {
 
-    // First Come First Serve Scheduling (FCFS)
-    public Map<String, Object> scheduleFCFS(List<CpuTask> tasks) {
-        AtomicInteger currentTime = new AtomicInteger(0);
-        List<FcfsSjfTaskResponse> responses = new ArrayList<>();
-        List<GanttChart> ganttChart = new ArrayList<>();
+    // Run any algorithm on the task list within a compute budget
+    public Map<String, Object> schedule(SchedulingAlgorithm algorithm, List<CpuTask> tasks, int quantum,
+                                        ComputeBudget budget) {
+        return schedule(algorithm, tasks, quantum, budget, null);
+    }
 
-        // Sort tasks by arrival time
-        List<CpuTask> sortedTasks = tasks.stream()
-                .sorted(Comparator.comparingInt(CpuTask::getArrivalTime))
-                .collect(Collectors.toList());
+    // Same, reporting live progress to the tracker when one is given
+    public Map<String, Object> schedule(SchedulingAlgorithm algorithm, List<CpuTask> tasks, int quantum,
+                                        ComputeBudget budget, ProgressTracker progress) {
+        return schedule(algorithm, tasks, quantum, budget, progress, null);
+    }
 
-        // Check for initial idle time (from 0 to first task arrival)
-        if (!sortedTasks.isEmpty() && sortedTasks.get(0).getArrivalTime() > 0) {
-            ganttChart.add(new GanttChart(0, sortedTasks.get(0).getArrivalTime(), null)); // null for IDLE
-            currentTime.set(sortedTasks.get(0).getArrivalTime());
+    // Same; with a downsampler the chart is returned as "ganttBins" instead of one entry per segment
+    public Map<String, Object> schedule(SchedulingAlgorithm algorithm, List<CpuTask> tasks, int quantum,
+                                        ComputeBudget budget, ProgressTracker progress, GanttDownsampler bins) {
+        switch (algorithm) {
+            case FCFS:
+                return simulate(SchedulingAlgorithm.FCFS, tasks, 0, budget, progress, bins,
+                        (task, startTime) -> mapToFcfsSjfTaskResponse(task, task.getProcessId(), startTime),
+                        FcfsSjfTaskResponse::getId, this::roundToTwoDecimals);
+            case SJF:
+                return simulate(SchedulingAlgorithm.SJF, tasks, 0, budget, progress, bins,
+                        (task, startTime) -> mapToFcfsSjfTaskResponse(task, task.getProcessId(), startTime),
+                        FcfsSjfTaskResponse::getId, this::roundToOneDecimal);
+            case PRIORITY:
+                return simulate(SchedulingAlgorithm.PRIORITY, tasks, 0, budget, progress, bins,
+                        (task, startTime) -> mapToPriorityTaskResponse(task, task.getProcessId(), startTime),
+                        PriorityTaskResponse::getId, this::roundToOneDecimal);
+            case RR:
+                return simulate(SchedulingAlgorithm.RR, tasks, quantum, budget, progress, bins,
+                        (task, startTime) -> {
+                            task.setRemainingTime(0L);
+                            task.setTurnaroundTime(task.getCompletionTime() - task.getArrivalTime());
+                            task.setWaitingTime(task.getTurnaroundTime() - task.getBurstTime());
+                            return mapToRrTaskResponse(task, startTime);
+                        },
+                        RrTaskResponse::getId, this::roundToTwoDecimals);
+            default:
+                throw new UnsupportedOperationException("Unsupported scheduling algorithm");
         }
+    }
 
-        sortedTasks.forEach(task -> {
-            // Check for idle time between tasks
-            if (currentTime.get() < task.getArrivalTime()) {
-                ganttChart.add(new GanttChart(currentTime.get(), task.getArrivalTime(), null)); // null for IDLE
-                currentTime.set(task.getArrivalTime());
-            }
-
-            int startTime = currentTime.get();
-            int completionTime = currentTime.get() + task.getBurstTime();
-            task.setCompletionTime(completionTime);
-
-            // Add to Gantt chart
-            ganttChart.add(new GanttChart(startTime, completionTime, (long) task.getProcessId()));
-
-            currentTime.set(completionTime);
-            responses.add(mapToFcfsSjfTaskResponse(task, task.getProcessId(), startTime));
-        });
-
-        // Sort responses by processId
-        responses.sort(Comparator.comparingLong(FcfsSjfTaskResponse::getId));
-
-        // Calculate averages
-        double averageTAT = responses.stream()
-                .mapToInt(FcfsSjfTaskResponse::getTurnaroundTime)
-                .average()
-                .orElse(0.0);
-
-        double averageWT = responses.stream()
-                .mapToInt(FcfsSjfTaskResponse::getWaitingTime)
-                .average()
-                .orElse(0.0);
-
-        // Return map with all required fields
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("scheduledTasks", responses);
-        response.put("ganttChart", ganttChart);
-        response.put("averageTAT", roundToTwoDecimals(averageTAT));
-        response.put("averageWT", roundToTwoDecimals(averageWT));
-        return response;
+    // First Come First Serve Scheduling (FCFS)
+    public Map<String, Object> scheduleFCFS(List<CpuTask> tasks) {
+        return schedule(SchedulingAlgorithm.FCFS, tasks, 0, ComputeBudget.unlimited());
     }
 
-    private FcfsSjfTaskResponse mapToFcfsSjfTaskResponse(CpuTask task, int processId, int startTime) {
+    private FcfsSjfTaskResponse mapToFcfsSjfTaskResponse(CpuTask task, int processId, long startTime) {
         FcfsSjfTaskResponse response = new FcfsSjfTaskResponse();
         response.setId((long) processId);
         response.setArrivalTime(task.getArrivalTime());
@@ -79,177 +72,21 @@ public class SchedulingAlgorithmService {
         response.setCompletionTime(task.getCompletionTime());
         response.setTurnaroundTime(task.getCompletionTime() - task.getArrivalTime());
         response.setWaitingTime(response.getTurnaroundTime() - task.getBurstTime());
-        response.setRemainingTime(0); // Always 0 for non-preemptive algorithms
+        response.setRemainingTime(0L); // Always 0 for non-preemptive algorithms
         return response;
     }
 
     // Shortest Job First Scheduling (SJF)
     public Map<String, Object> scheduleSJF(List<CpuTask> tasks) {
-        AtomicInteger currentTime = new AtomicInteger(0);
-        List<FcfsSjfTaskResponse> responses = new ArrayList<>();
-        List<GanttChart> ganttChart = new ArrayList<>();
-
-        List<CpuTask> originalTasks = new ArrayList<>(tasks);
-        tasks.sort(Comparator.comparingInt(CpuTask::getArrivalTime));
-
-        // Check for initial idle time (from 0 to first task arrival)
-        if (!tasks.isEmpty() && tasks.get(0).getArrivalTime() > 0) {
-            ganttChart.add(new GanttChart(0, tasks.get(0).getArrivalTime(), null)); // null for IDLE
-            currentTime.set(tasks.get(0).getArrivalTime());
-        }
-
-        while (!tasks.isEmpty()) {
-            int currentTimeSnapshot = currentTime.get();
-
-            List<CpuTask> arrivedTasks = tasks.stream()
-                    .filter(t -> t.getArrivalTime() <= currentTimeSnapshot)
-                    .collect(Collectors.toList());
-
-            if (!arrivedTasks.isEmpty()) {
-                CpuTask shortestTask = arrivedTasks.stream()
-                        .min(Comparator.comparingInt(CpuTask::getBurstTime)
-                                .thenComparingInt(CpuTask::getArrivalTime))
-                        .orElseThrow();
-
-                if (currentTime.get() < shortestTask.getArrivalTime()) {
-                    ganttChart.add(new GanttChart(currentTime.get(), shortestTask.getArrivalTime(), null)); // null for IDLE
-                    currentTime.set(shortestTask.getArrivalTime());
-                }
-
-                tasks.remove(shortestTask);
-
-                int startTime = currentTime.get();
-                int completionTime = currentTime.get() + shortestTask.getBurstTime();
-                shortestTask.setCompletionTime(completionTime);
-
-                // Add to Gantt chart
-                ganttChart.add(new GanttChart(startTime, completionTime, (long) shortestTask.getProcessId()));
-
-                int turnaroundTime = completionTime - shortestTask.getArrivalTime();
-                int waitingTime = turnaroundTime - shortestTask.getBurstTime();
-
-                FcfsSjfTaskResponse response = mapToFcfsSjfTaskResponse(shortestTask, shortestTask.getProcessId(), startTime);
-                response.setTurnaroundTime(turnaroundTime);
-                response.setWaitingTime(waitingTime);
-                responses.add(response);
-
-                currentTime.set(completionTime);
-            } else {
-                int nextArrivalTime = tasks.stream()
-                        .mapToInt(CpuTask::getArrivalTime)
-                        .min()
-                        .orElseThrow();
-
-                ganttChart.add(new GanttChart(currentTime.get(), nextArrivalTime, null)); // null for IDLE
-                currentTime.set(nextArrivalTime);
-            }
-        }
-
-        // Sort responses by processId
-        responses.sort(Comparator.comparingLong(FcfsSjfTaskResponse::getId));
-
-        // Calculate averages
-        double averageTAT = responses.stream()
-                .mapToInt(FcfsSjfTaskResponse::getTurnaroundTime)
-                .average()
-                .orElse(0.0);
-
-        double averageWT = responses.stream()
-                .mapToInt(FcfsSjfTaskResponse::getWaitingTime)
-                .average()
-                .orElse(0.0);
-
-        // Return map with all required fields
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("scheduledTasks", responses);
-        response.put("ganttChart", ganttChart);
-        response.put("averageTAT", roundToOneDecimal(averageTAT));
-        response.put("averageWT", roundToOneDecimal(averageWT));
-        return response;
+        return schedule(SchedulingAlgorithm.SJF, tasks, 0, ComputeBudget.unlimited());
     }
 
     // Priority Scheduling
     public Map<String, Object> schedulePriority(List<CpuTask> tasks) {
-        AtomicInteger currentTime = new AtomicInteger(0);
-        List<CpuTask> originalTasks = new ArrayList<>(tasks);
-        List<PriorityTaskResponse> responses = new ArrayList<>();
-        List<GanttChart> ganttChart = new ArrayList<>();
-
-        List<CpuTask> sortedTasks = tasks.stream()
-                .sorted(Comparator.comparingInt(CpuTask::getArrivalTime))
-                .collect(Collectors.toList());
-
-        // Check for initial idle time (from 0 to first task arrival)
-        if (!sortedTasks.isEmpty() && sortedTasks.get(0).getArrivalTime() > 0) {
-            ganttChart.add(new GanttChart(0, sortedTasks.get(0).getArrivalTime(), null)); // null for IDLE
-            currentTime.set(sortedTasks.get(0).getArrivalTime());
-        }
-
-        PriorityQueue<CpuTask> priorityQueue = new PriorityQueue<>((t1, t2) -> {
-            if (t1.getPriority() == t2.getPriority()) {
-                return Integer.compare(t1.getArrivalTime(), t2.getArrivalTime());
-            } else {
-                return Integer.compare(t1.getPriority(), t2.getPriority()); // ascending order
-            }
-        });
-
-        while (!sortedTasks.isEmpty() || !priorityQueue.isEmpty()) {
-            while (!sortedTasks.isEmpty() && sortedTasks.get(0).getArrivalTime() <= currentTime.get()) {
-                priorityQueue.add(sortedTasks.remove(0));
-            }
-
-            if (priorityQueue.isEmpty()) {
-                int nextArrival = sortedTasks.get(0).getArrivalTime();
-                if (currentTime.get() < nextArrival) {
-                    ganttChart.add(new GanttChart(currentTime.get(), nextArrival, null)); // null for IDLE
-                    currentTime.set(nextArrival);
-                }
-            } else {
-                CpuTask taskToExecute = priorityQueue.poll();
-
-                int startTime = currentTime.get();
-                int completionTime = currentTime.get() + taskToExecute.getBurstTime();
-                taskToExecute.setCompletionTime(completionTime);
-
-                // Add to Gantt chart
-                ganttChart.add(new GanttChart(startTime, completionTime, (long) taskToExecute.getProcessId()));
-
-                currentTime.set(completionTime);
-
-                int turnaroundTime = completionTime - taskToExecute.getArrivalTime();
-                int waitingTime = turnaroundTime - taskToExecute.getBurstTime();
-
-                PriorityTaskResponse response = mapToPriorityTaskResponse(taskToExecute, taskToExecute.getProcessId(), startTime);
-                response.setTurnaroundTime(turnaroundTime);
-                response.setWaitingTime(waitingTime);
-                responses.add(response);
-            }
-        }
-
-        // Sort responses by processId
-        responses.sort(Comparator.comparingLong(PriorityTaskResponse::getId));
-
-        // Calculate averages
-        double averageTAT = responses.stream()
-                .mapToInt(PriorityTaskResponse::getTurnaroundTime)
-                .average()
-                .orElse(0.0);
-
-        double averageWT = responses.stream()
-                .mapToInt(PriorityTaskResponse::getWaitingTime)
-                .average()
-                .orElse(0.0);
-
-        // Return map with all required fields
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("scheduledTasks", responses);
-        response.put("ganttChart", ganttChart);
-        response.put("averageTAT", roundToOneDecimal(averageTAT));
-        response.put("averageWT", roundToOneDecimal(averageWT));
-        return response;
+        return schedule(SchedulingAlgorithm.PRIORITY, tasks, 0, ComputeBudget.unlimited());
     }
 
-    private PriorityTaskResponse mapToPriorityTaskResponse(CpuTask task, int id, int startTime) {
+    private PriorityTaskResponse mapToPriorityTaskResponse(CpuTask task, int id, long startTime) {
         PriorityTaskResponse response = new PriorityTaskResponse();
         response.setId((long) id);
         response.setArrivalTime(task.getArrivalTime());
@@ -259,106 +96,187 @@ public class SchedulingAlgorithmService {
         response.setTurnaroundTime(task.getCompletionTime() - task.getArrivalTime());
         response.setWaitingTime(response.getTurnaroundTime() - task.getBurstTime());
         response.setPriority(task.getPriority());
-        response.setRemainingTime(0); // Always 0 for non-preemptive algorithms
+        response.setRemainingTime(0L); // Always 0 for non-preemptive algorithms
         return response;
     }
 
     // Round Robin Scheduling
     public Map<String, Object> scheduleRR(List<CpuTask> tasks, int quantum) {
-        List<RrTaskResponse> result = new ArrayList<>();
-        List<CpuTask> taskList = new ArrayList<>(tasks);
-        taskList.sort(Comparator.comparingInt(CpuTask::getArrivalTime));
-        taskList.forEach(task -> task.setRemainingTime(task.getBurstTime()));
+        return schedule(SchedulingAlgorithm.RR, tasks, quantum, ComputeBudget.unlimited());
+    }
 
-        Queue<CpuTask> queue = new LinkedList<>();
-        List<GanttChart> ganttChart = new ArrayList<>();
-        int currentTime = 0;
+    private RrTaskResponse mapToRrTaskResponse(CpuTask task, long startTime) {
+        RrTaskResponse response = new RrTaskResponse();
+        response.setId((long) task.getProcessId());
+        response.setArrivalTime(task.getArrivalTime());
+        response.setBurstTime(task.getBurstTime());
+        response.setStartTime(startTime);
+        response.setCompletionTime(task.getCompletionTime());
+        response.setTurnaroundTime(task.getTurnaroundTime());
+        response.setWaitingTime(task.getWaitingTime());
+        response.setRemainingTime(task.getRemainingTime());
+        return response;
+    }
+
+    // Run any algorithm over a pre-sorted workload, streaming output to the sink
+    public ScheduleSummary schedule(SchedulingAlgorithm algorithm, Workload workload, int quantum, ScheduleSink sink) {
+        return schedule(algorithm, workload, quantum, sink, ComputeBudget.unlimited());
+    }
+
+    public ScheduleSummary schedule(SchedulingAlgorithm algorithm, Workload workload, int quantum, ScheduleSink sink,
+                                    ComputeBudget budget) {
+        return schedule(algorithm, workload, quantum, sink, budget, null);
+    }
+
+    public ScheduleSummary schedule(SchedulingAlgorithm algorithm, Workload workload, int quantum, ScheduleSink sink,
+                                    ComputeBudget budget, ProgressTracker progress) {
+        return new ScheduleEngine(workload, sink, budget, progress).run(algorithm, quantum);
+    }
 
-        // Check for initial idle time (from 0 to first task arrival)
-        if (!taskList.isEmpty() && taskList.get(0).getArrivalTime() > 0) {
-            ganttChart.add(new GanttChart(0, taskList.get(0).getArrivalTime(), null)); // null for IDLE
-            currentTime = taskList.get(0).getArrivalTime();
+    // Out-of-core run: both the workload and the per-task results live in memory-mapped files
+    public ScheduleSummary scheduleFile(SchedulingAlgorithm algorithm, Path workloadFile, int quantum, Path resultFile)
+            throws IOException {
+        try (MappedWorkload workload = MappedWorkload.open(workloadFile);
+             MappedResultFile results = MappedResultFile.create(resultFile, workload)) {
+            return schedule(algorithm, workload, quantum, results);
         }
+    }
 
-        // Track start times for each task
-        Map<Long, Integer> taskStartTimes = new HashMap<>();
+    // Adapt the task list to the engine and collect its output into the response map
+    private <T> Map<String, Object> simulate(SchedulingAlgorithm algorithm, List<CpuTask> tasks, int quantum,
+                                             ComputeBudget budget, ProgressTracker progress,
+                                             GanttDownsampler bins, BiFunction<CpuTask, Long, T> mapper,
+                                             ToLongFunction<T> idOf, DoubleUnaryOperator rounding) {
+        budget.checkTasks(tasks.size());
 
-        while (!taskList.isEmpty() || !queue.isEmpty()) {
-            while (!taskList.isEmpty() && taskList.get(0).getArrivalTime() <= currentTime) {
-                queue.offer(taskList.remove(0));
-            }
+        List<CpuTask> sortedTasks = sortByArrival(tasks);
+        Workload workload = toWorkload(sortedTasks);
 
-            if (queue.isEmpty()) {
-                int nextArrival = taskList.get(0).getArrivalTime();
-                if (currentTime < nextArrival) {
-                    ganttChart.add(new GanttChart(currentTime, nextArrival, null)); // null for IDLE
+        List<T> responses = new ArrayList<>(sortedTasks.size());
+        List<GanttChart> ganttChart = new ArrayList<>();
+        ScheduleStatistics statistics = new ScheduleStatistics(workload);
+        ScheduleSink sink = new ScheduleSink() {
+            @Override
+            public void segment(long startTime, long endTime, int task) {
+                statistics.segment(startTime, endTime, task);
+                if (bins != null) {
+                    bins.add(startTime, endTime, task == IDLE ? IDLE : workload.processId(task));
+                    return;
                 }
-                currentTime = nextArrival;
-                continue;
+                Long id = task == IDLE ? null : (long) workload.processId(task); // null for IDLE
+                ganttChart.add(new GanttChart(startTime, endTime, id));
             }
 
-            CpuTask task = queue.poll();
-
-            // Record start time if this is the first time the task is executed
-            if (!taskStartTimes.containsKey((long) task.getProcessId())) {
-                taskStartTimes.put((long) task.getProcessId(), currentTime);
+            @Override
+            public void completed(int task, long startTime, long completionTime) {
+                statistics.completed(task, startTime, completionTime);
+                CpuTask cpuTask = sortedTasks.get(task);
+                cpuTask.setCompletionTime(completionTime);
+                responses.add(mapper.apply(cpuTask, startTime));
             }
+        };
+        ScheduleSummary summary = schedule(algorithm, workload, quantum, sink, budget, progress);
 
-            int startTime = currentTime;
-            int executedTime = Math.min(task.getRemainingTime(), quantum);
-            currentTime += executedTime;
-            task.setRemainingTime(task.getRemainingTime() - executedTime);
+        // Sort responses by processId
+        responses.sort(Comparator.comparingLong(idOf));
 
-            ganttChart.add(new GanttChart(startTime, currentTime, (long) task.getProcessId()));
+        // Return map with all required fields
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("scheduledTasks", responses);
+        if (bins != null) {
+            response.put("ganttBins", toGanttBins(bins));
+            response.put("ganttBinWidth", bins.getBinWidth());
+            response.put("ganttSegmentCount", bins.getSegmentCount());
+        } else {
+            response.put("ganttChart", ganttChart);
+        }
+        response.put("averageTAT", rounding.applyAsDouble(summary.getAverageTurnaroundTime()));
+        response.put("averageWT", rounding.applyAsDouble(summary.getAverageWaitingTime()));
+        response.put("statistics", toStatisticsMap(statistics, rounding));
+        return response;
+    }
 
-            while (!taskList.isEmpty() && taskList.get(0).getArrivalTime() <= currentTime) {
-                queue.offer(taskList.remove(0));
-            }
+    // Percentiles are within 1% of the exact value; ratios are rounded to four decimals like bin shares
+    public static Map<String, Object> toStatisticsMap(ScheduleStatistics statistics, DoubleUnaryOperator rounding) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("waitingTime", toDistributionMap(statistics.getWaitingTimes(), rounding));
+        map.put("turnaroundTime", toDistributionMap(statistics.getTurnaroundTimes(), rounding));
+        map.put("responseTime", toDistributionMap(statistics.getResponseTimes(), rounding));
+        double makespan = statistics.getMakespan();
+        map.put("cpuUtilization", share(statistics.getBusyTime(), makespan));
+        map.put("idleShare", share(statistics.getIdleTime(), makespan));
+        map.put("throughput", share(statistics.getTurnaroundTimes().getCount(), makespan));
+        map.put("contextSwitches", statistics.getContextSwitches());
+        map.put("makespan", statistics.getMakespan());
+        return map;
+    }
 
-            if (task.getRemainingTime() > 0) {
-                queue.offer(task);
-            } else {
-                task.setCompletionTime(currentTime);
-                task.setTurnaroundTime(task.getCompletionTime() - task.getArrivalTime());
-                task.setWaitingTime(task.getTurnaroundTime() - task.getBurstTime());
+    private static Map<String, Object> toDistributionMap(QuantileSketch sketch, DoubleUnaryOperator rounding) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("p50", sketch.quantile(0.50));
+        map.put("p90", sketch.quantile(0.90));
+        map.put("p99", sketch.quantile(0.99));
+        map.put("min", sketch.getMin());
+        map.put("max", sketch.getMax());
+        map.put("mean", rounding.applyAsDouble(sketch.getMean()));
+        return map;
+    }
 
-                result.add(mapToRrTaskResponse(task, taskStartTimes.get((long) task.getProcessId())));
+    // Render downsampled bins; shares are rounded to four decimals to keep the payload small
+    public static List<GanttBin> toGanttBins(GanttDownsampler bins) {
+        int[] processIds = new int[bins.getMaxListed()];
+        long[] times = new long[bins.getMaxListed()];
+        List<GanttBin> rendered = new ArrayList<>(bins.getBinCount());
+        for (int bin = 0; bin < bins.getBinCount(); bin++) {
+            double duration = bins.binEndTime(bin) - bins.binStartTime(bin);
+            int listed = bins.listProcesses(bin, processIds, times);
+            List<GanttBin.Occupancy> occupancy = new ArrayList<>(listed);
+            long listedTime = 0;
+            for (int i = 0; i < listed; i++) {
+                occupancy.add(new GanttBin.Occupancy(processIds[i], share(times[i], duration)));
+                listedTime += times[i];
             }
+            rendered.add(new GanttBin(bins.binStartTime(bin), bins.binEndTime(bin),
+                    listed > 0 ? (long) processIds[0] : null,
+                    share(bins.idleTime(bin), duration),
+                    share(bins.busyTime(bin) - listedTime, duration),
+                    occupancy));
         }
+        return rendered;
+    }
 
-        // Sort result by processId
-        result.sort(Comparator.comparingLong(RrTaskResponse::getId));
-
-        // Calculate averages
-        double averageTAT = result.stream()
-                .mapToInt(RrTaskResponse::getTurnaroundTime)
-                .average()
-                .orElse(0.0);
+    private static double share(long time, double duration) {
+        return duration <= 0 ? 0.0 : Math.round(time / duration * 10_000) / 10_000.0;
+    }
 
-        double averageWT = result.stream()
-                .mapToInt(RrTaskResponse::getWaitingTime)
-                .average()
-                .orElse(0.0);
+    // Record a scrubbable timeline of the schedule, checkpointed every checkpointInterval events
+    public ScheduleTimeline timeline(SchedulingAlgorithm algorithm, List<CpuTask> tasks, int quantum,
+                                     long checkpointInterval, long maxStoredEntries, ComputeBudget budget) {
+        budget.checkTasks(tasks.size());
+        return ScheduleTimeline.record(toWorkload(sortByArrival(tasks)), algorithm, quantum,
+                checkpointInterval, maxStoredEntries, budget);
+    }
 
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("scheduledTasks", result);
-        response.put("ganttChart", ganttChart);
-        response.put("averageTAT", roundToTwoDecimals(averageTAT));
-        response.put("averageWT", roundToTwoDecimals(averageWT));
-        return response;
+    // Stable sort, so tasks arriving together keep their submission order
+    private static List<CpuTask> sortByArrival(List<CpuTask> tasks) {
+        List<CpuTask> sortedTasks = new ArrayList<>(tasks);
+        sortedTasks.sort(Comparator.comparingLong(CpuTask::getArrivalTime));
+        return sortedTasks;
     }
 
-    private RrTaskResponse mapToRrTaskResponse(CpuTask task, int startTime) {
-        RrTaskResponse response = new RrTaskResponse();
-        response.setId((long) task.getProcessId());
-        response.setArrivalTime(task.getArrivalTime());
-        response.setBurstTime(task.getBurstTime());
-        response.setStartTime(startTime);
-        response.setCompletionTime(task.getCompletionTime());
-        response.setTurnaroundTime(task.getTurnaroundTime());
-        response.setWaitingTime(task.getWaitingTime());
-        response.setRemainingTime(task.getRemainingTime());
-        return response;
+    private static Workload toWorkload(List<CpuTask> sortedTasks) {
+        int[] processIds = new int[sortedTasks.size()];
+        long[] arrivalTimes = new long[sortedTasks.size()];
+        long[] burstTimes = new long[sortedTasks.size()];
+        int[] priorities = new int[sortedTasks.size()];
+        for (int i = 0; i < sortedTasks.size(); i++) {
+            CpuTask task = sortedTasks.get(i);
+            processIds[i] = task.getProcessId();
+            arrivalTimes[i] = task.getArrivalTime();
+            burstTimes[i] = task.getBurstTime();
+            priorities[i] = task.getPriority();
+        }
+        return new ArrayWorkload(processIds, arrivalTimes, burstTimes, priorities);
     }
 
     private double roundToTwoDecimals(double value) {
@@ -0,0 +1,132 @@
+package com.example.cpuscheduler.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers and size distributions for the scheduling hot path, tagged by
+ * algorithm and phase and published as percentile histograms for Prometheus.
+ */
+@Component
+public class SchedulingMetrics {
+
+    public enum Phase {
+        PARSE("parse"),
+        SIMULATE("simulate"),
+        SERIALIZE("serialize"),
+        PERSIST("persist");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    // Registry with no backends: records nothing, used when metrics are not wired in
+    static final SchedulingMetrics NOOP = new SchedulingMetrics(new CompositeMeterRegistry());
+
+    private final MeterRegistry registry;
+
+    @Autowired
+    public SchedulingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T time(String algorithm, Phase phase, Supplier<T> work) {
+        return timer(algorithm, phase).record(work);
+    }
+
+    public void recordTime(String algorithm, Phase phase, long nanos) {
+        timer(algorithm, phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Input and output size of one simulation
+    public void recordSize(String algorithm, int taskCount, long segmentCount) {
+        DistributionSummary.builder("scheduler.tasks")
+                .description("Tasks per simulation request")
+                .tag("algorithm", algorithm)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(taskCount);
+        DistributionSummary.builder("scheduler.gantt.segments")
+                .description("Gantt chart segments produced per simulation")
+                .tag("algorithm", algorithm)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(segmentCount);
+    }
+
+    // History writes given up on: the bulkhead stayed full or the store failed, and the spool is off or full
+    public void recordShed(String algorithm) {
+        Counter.builder("scheduler.history.shed")
+                .description("Simulation history writes dropped without being stored or spooled")
+                .tag("algorithm", algorithm)
+                .register(registry)
+                .increment();
+    }
+
+    // History entries written to the local spool while the store was unhealthy, replayed from it,
+    // or rejected because they have no session to replay into; replay-failed counts replay runs
+    // stopped by an unreadable spool rather than entries
+    public void recordSpool(String outcome, int entries) {
+        Counter.builder("scheduler.history.spool")
+                .description("Simulation history entries spooled locally or replayed into the store, "
+                        + "and replay runs that failed")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment(entries);
+    }
+
+    // One synchronous simulation request: computed itself, or shared an identical in-flight computation
+    public void recordCoalescing(String algorithm, boolean shared) {
+        Counter.builder("scheduler.coalescing.requests")
+                .description("Simulation requests by whether they ran or joined an identical in-flight simulation")
+                .tag("algorithm", algorithm)
+                .tag("outcome", shared ? "shared" : "computed")
+                .register(registry)
+                .increment();
+    }
+
+    // One history read served from the per-session cache or loaded from the database
+    public void recordHistoryCache(String read, boolean hit) {
+        Counter.builder("scheduler.history.cache")
+                .description("Simulation history reads by whether the per-session cache served them")
+                .tag("read", read)
+                .tag("outcome", hit ? "hit" : "miss")
+                .register(registry)
+                .increment();
+    }
+
+    // One refresh of the daily history rollup behind global analytics
+    public void recordRollupRefresh(boolean succeeded) {
+        Counter.builder("scheduler.history.rollup.refreshes")
+                .description("Refreshes of the daily simulation history rollup by outcome")
+                .tag("outcome", succeeded ? "ok" : "failed")
+                .register(registry)
+                .increment();
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    // Builders are cheap and register() returns the existing meter after the first call
+    private Timer timer(String algorithm, Phase phase) {
+        return Timer.builder("scheduler.phase")
+                .description("Time spent in each phase of a scheduling request")
+                .tag("algorithm", algorithm)
+                .tag("phase", phase.tag)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+}
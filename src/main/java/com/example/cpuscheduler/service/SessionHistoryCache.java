@@ -0,0 +1,332 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.model.SimulationHistory;
+import com.example.cpuscheduler.repository.SessionHistoryVersion;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Bounded per-session cache of history reads. Once a session's full list has
+ * been loaded every other view (by algorithm, most recent N, the ETag version)
+ * is derived from it; otherwise views are cached individually as loaded.
+ * <p>
+ * A session's history only changes through writes: saves update the full list
+ * write-through, deletes and cleanup drop the session. Entries expire after
+ * the TTL to bound staleness from writes made by other instances, and the
+ * least recently used sessions are evicted beyond the session limit or once
+ * the estimated size of the cached entries, mostly their Gantt and results
+ * JSON, exceeds the byte limit. A load
+ * that overlaps a write to its session, or a delete that may touch any
+ * session, is returned but not cached, so a slow read can never put back what
+ * a write just replaced; writes to other sessions leave it alone.
+ */
+final class SessionHistoryCache {
+
+    static final String ALL = "all";
+
+    private static final Comparator<SimulationHistory> NEWEST_FIRST = Comparator.comparing(
+            SimulationHistory::getTimestamp, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    // Object headers and the scalar fields of an entry, on top of its strings
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+
+    private final int maxSessions;
+    private final long maxBytes;
+    private long totalBytes;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Map<String, SessionEntry> sessions;
+    // Every write takes the next sequence number; loads remember the number they started at
+    private long writeSequence;
+    // Last write per session, oldest first and bounded; forgetting one raises forgottenWrite
+    private final Map<String, Long> sessionWrites;
+    private long forgottenWrite;
+    // Last delete by id or cleanup, which may have touched any session
+    private long globalWrite;
+
+    private static final class SessionEntry {
+        private final long loadedAt;
+        // The whole session, newest first; null until loaded
+        private List<SimulationHistory> all;
+        private final Map<String, List<SimulationHistory>> views = new HashMap<>();
+        private SessionHistoryVersion version;
+        private long bytes;
+
+        SessionEntry(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        // Lists sharing entries are counted once each, so this errs on the large side
+        long weigh() {
+            long weight = all != null ? weigh(all) : 0;
+            for (List<SimulationHistory> view : views.values()) {
+                weight += weigh(view);
+            }
+            return weight;
+        }
+
+        private static long weigh(List<SimulationHistory> entries) {
+            long weight = 0;
+            for (SimulationHistory entry : entries) {
+                weight += ENTRY_OVERHEAD_BYTES + length(entry.getGanttChart()) + length(entry.getResults())
+                        + length(entry.getArrivalTimes()) + length(entry.getBurstTimes())
+                        + length(entry.getPriorities());
+            }
+            return weight;
+        }
+
+        private static long length(String value) {
+            return value == null ? 0 : value.length();
+        }
+
+        boolean contains(Long id) {
+            if (all != null && all.stream().anyMatch(entry -> id.equals(entry.getId()))) {
+                return true;
+            }
+            return views.values().stream().flatMap(List::stream).anyMatch(entry -> id.equals(entry.getId()));
+        }
+
+        boolean holdsOlderThan(LocalDateTime cutoff) {
+            if (all != null && all.stream().anyMatch(entry -> isOlder(entry, cutoff))) {
+                return true;
+            }
+            return views.values().stream().flatMap(List::stream).anyMatch(entry -> isOlder(entry, cutoff));
+        }
+
+        private static boolean isOlder(SimulationHistory entry, LocalDateTime cutoff) {
+            return entry.getTimestamp() != null && entry.getTimestamp().isBefore(cutoff);
+        }
+    }
+
+    // maxSessions of 0 disables caching; maxBytes bounds the estimated size of everything cached
+    SessionHistoryCache(int maxSessions, long maxBytes, long ttlNanos, LongSupplier clock) {
+        this.maxSessions = maxSessions;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SessionEntry> eldest) {
+                if (size() <= SessionHistoryCache.this.maxSessions) {
+                    return false;
+                }
+                totalBytes -= eldest.getValue().bytes;
+                return true;
+            }
+        };
+        int maxWriteMarks = Math.max(1024, maxSessions * 4);
+        this.sessionWrites = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() <= maxWriteMarks) {
+                    return false;
+                }
+                // Loads that started before it may have overlapped it; reject them all from now on
+                forgottenWrite = Math.max(forgottenWrite, eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    // Taken before loading from the database and handed back to put
+    synchronized long startLoad() {
+        return writeSequence;
+    }
+
+    /**
+     * A cached view of the session, derived from the full list when that is
+     * loaded; null on a miss.
+     */
+    synchronized List<SimulationHistory> view(String sessionId, String view,
+                                              Function<List<SimulationHistory>, List<SimulationHistory>> fromAll) {
+        SessionEntry entry = live(sessionId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.all != null) {
+            return fromAll.apply(entry.all);
+        }
+        return entry.views.get(view);
+    }
+
+    synchronized void putView(String sessionId, String view, List<SimulationHistory> entries, long loadStart) {
+        SessionEntry entry = entryForPut(sessionId, loadStart);
+        if (entry == null) {
+            return;
+        }
+        List<SimulationHistory> copy = Collections.unmodifiableList(new ArrayList<>(entries));
+        if (ALL.equals(view)) {
+            entry.all = copy;
+            entry.views.clear();
+            entry.version = null;
+        } else {
+            entry.views.put(view, copy);
+        }
+        reweigh(entry);
+    }
+
+    synchronized SessionHistoryVersion version(String sessionId) {
+        SessionEntry entry = live(sessionId);
+        if (entry == null) {
+            return null;
+        }
+        return entry.all != null ? versionOf(entry.all) : entry.version;
+    }
+
+    synchronized void putVersion(String sessionId, SessionHistoryVersion version, long loadStart) {
+        SessionEntry entry = entryForPut(sessionId, loadStart);
+        if (entry != null && entry.all == null) {
+            entry.version = version;
+        }
+    }
+
+    // Write-through after a save that kept the session's newest maxEntries. A load that started
+    // after the insert and was cached before this call already holds the entry, so it is replaced.
+    synchronized void saved(SimulationHistory saved, int maxEntries) {
+        markWrite(saved.getSessionId());
+        SessionEntry entry = sessions.get(saved.getSessionId());
+        if (entry == null) {
+            return;
+        }
+        if (entry.all == null) {
+            remove(saved.getSessionId());
+            return;
+        }
+        List<SimulationHistory> all = new ArrayList<>(entry.all.size() + 1);
+        all.add(saved);
+        for (SimulationHistory cached : entry.all) {
+            if (saved.getId() == null || !saved.getId().equals(cached.getId())) {
+                all.add(cached);
+            }
+        }
+        all.sort(NEWEST_FIRST);
+        entry.all = Collections.unmodifiableList(all.subList(0, Math.min(all.size(), maxEntries)));
+        entry.views.clear();
+        entry.version = null;
+        reweigh(entry);
+    }
+
+    synchronized void invalidate(String sessionId) {
+        markWrite(sessionId);
+        remove(sessionId);
+    }
+
+    // A single entry was deleted by id; drop whichever session holds it
+    synchronized void invalidateEntry(Long id) {
+        globalWrite = ++writeSequence;
+        removeIf(entry -> entry.contains(id));
+        forgetUnderivedVersions();
+    }
+
+    // The age-based cleanup ran; drop sessions still holding entries it deleted
+    synchronized void evictOlderThan(LocalDateTime cutoff) {
+        globalWrite = ++writeSequence;
+        removeIf(entry -> entry.holdsOlderThan(cutoff));
+        forgetUnderivedVersions();
+    }
+
+    synchronized int size() {
+        return sessions.size();
+    }
+
+    synchronized long bytes() {
+        return totalBytes;
+    }
+
+    // Derived from a loaded full list; same values the aggregate query would return
+    private static SessionHistoryVersion versionOf(List<SimulationHistory> entries) {
+        Long latestId = null;
+        LocalDateTime latestTimestamp = null;
+        for (SimulationHistory entry : entries) {
+            if (entry.getId() != null && (latestId == null || entry.getId() > latestId)) {
+                latestId = entry.getId();
+            }
+            if (entry.getTimestamp() != null
+                    && (latestTimestamp == null || entry.getTimestamp().isAfter(latestTimestamp))) {
+                latestTimestamp = entry.getTimestamp();
+            }
+        }
+        return SessionHistoryVersion.of(entries.size(), latestId, latestTimestamp);
+    }
+
+    private SessionEntry live(String sessionId) {
+        SessionEntry entry = sessions.get(sessionId);
+        if (entry != null && clock.getAsLong() - entry.loadedAt > ttlNanos) {
+            remove(sessionId);
+            return null;
+        }
+        return entry;
+    }
+
+    // A version cached on its own cannot tell which entries it counted, so any delete may have changed it
+    private void forgetUnderivedVersions() {
+        for (SessionEntry entry : sessions.values()) {
+            entry.version = null;
+        }
+    }
+
+    // Updates the running total and evicts least recently used sessions, possibly this one, to fit
+    private void reweigh(SessionEntry entry) {
+        long weight = entry.weigh();
+        totalBytes += weight - entry.bytes;
+        entry.bytes = weight;
+        Iterator<SessionEntry> eldestFirst = sessions.values().iterator();
+        while (totalBytes > maxBytes && eldestFirst.hasNext()) {
+            totalBytes -= eldestFirst.next().bytes;
+            eldestFirst.remove();
+        }
+    }
+
+    private void remove(String sessionId) {
+        SessionEntry entry = sessions.remove(sessionId);
+        if (entry != null) {
+            totalBytes -= entry.bytes;
+        }
+    }
+
+    private void removeIf(Predicate<SessionEntry> condition) {
+        Iterator<SessionEntry> entries = sessions.values().iterator();
+        while (entries.hasNext()) {
+            SessionEntry entry = entries.next();
+            if (condition.test(entry)) {
+                totalBytes -= entry.bytes;
+                entries.remove();
+            }
+        }
+    }
+
+    private void markWrite(String sessionId) {
+        // Re-inserted so the map stays ordered by write
+        sessionWrites.remove(sessionId);
+        sessionWrites.put(sessionId, ++writeSequence);
+    }
+
+    // Whether a write that could affect the session happened after loadStart
+    private boolean writtenSince(String sessionId, long loadStart) {
+        return globalWrite > loadStart || forgottenWrite > loadStart
+                || sessionWrites.getOrDefault(sessionId, 0L) > loadStart;
+    }
+
+    private SessionEntry entryForPut(String sessionId, long loadStart) {
+        if (maxSessions <= 0 || writtenSince(sessionId, loadStart)) {
+            return null;
+        }
+        SessionEntry entry = live(sessionId);
+        if (entry == null) {
+            entry = new SessionEntry(clock.getAsLong());
+            sessions.put(sessionId, entry);
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.model.CpuTask;
+import io.micrometer.core.instrument.Gauge;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for synchronous simulations: while one request is simulating
+ * a workload, identical requests wait for its result instead of running the
+ * same simulation again. Nothing is cached; the entry is dropped as soon as
+ * the computation finishes, so later requests always simulate afresh.
+ */
+@Component
+public class SimulationCoalescer {
+
+    private final Map<WorkloadKey, CompletableFuture<Map<String, Object>>> inFlight = new ConcurrentHashMap<>();
+    private final SchedulingMetrics schedulingMetrics;
+    private final boolean enabled;
+
+    @Autowired
+    public SimulationCoalescer(SchedulingMetrics schedulingMetrics,
+                               @Value("${scheduler.coalescing.enabled:true}") boolean enabled) {
+        this.schedulingMetrics = schedulingMetrics;
+        this.enabled = enabled;
+
+        Gauge.builder("scheduler.coalescing.in-flight", inFlight, Map::size)
+                .description("Distinct simulations currently being computed for coalesced requests")
+                .register(schedulingMetrics.getRegistry());
+    }
+
+    /**
+     * Returns the result of {@code simulation}, or of an identical one already
+     * running. Failures, including aborted budgets, reach every waiting caller.
+     */
+    public Map<String, Object> compute(SchedulingAlgorithm algorithm, List<CpuTask> tasks, int quantum,
+                                       Supplier<Map<String, Object>> simulation) {
+        return compute(algorithm, tasks, quantum, 0, simulation);
+    }
+
+    // Requests asking for a different Gantt resolution get differently shaped results, so they never share
+    public Map<String, Object> compute(SchedulingAlgorithm algorithm, List<CpuTask> tasks, int quantum,
+                                       int resolution, Supplier<Map<String, Object>> simulation) {
+        if (!enabled) {
+            return simulation.get();
+        }
+
+        WorkloadKey key = WorkloadKey.of(algorithm, tasks, quantum, resolution);
+        CompletableFuture<Map<String, Object>> own = new CompletableFuture<>();
+        CompletableFuture<Map<String, Object>> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            schedulingMetrics.recordCoalescing(algorithm.path(), true);
+            return await(running);
+        }
+
+        schedulingMetrics.recordCoalescing(algorithm.path(), false);
+        try {
+            Map<String, Object> result = simulation.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    // Followers get their own top-level map so one response can never leak into another
+    private static Map<String, Object> await(CompletableFuture<Map<String, Object>> running) {
+        try {
+            return new LinkedHashMap<>(running.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Canonical form of a simulation input: the parsed numbers in submission
+     * order, so requests that differ only in whitespace or number formatting
+     * share one computation. Priorities and quantum only count where the
+     * algorithm uses them; the Gantt resolution always counts.
+     */
+    private static final class WorkloadKey {
+        private final SchedulingAlgorithm algorithm;
+        private final int quantum;
+        private final int resolution;
+        private final long[] arrivalTimes;
+        private final long[] burstTimes;
+        private final int[] priorities;
+        private final int hash;
+
+        private WorkloadKey(SchedulingAlgorithm algorithm, int quantum, int resolution, long[] arrivalTimes,
+                            long[] burstTimes, int[] priorities) {
+            this.algorithm = algorithm;
+            this.quantum = quantum;
+            this.resolution = resolution;
+            this.arrivalTimes = arrivalTimes;
+            this.burstTimes = burstTimes;
+            this.priorities = priorities;
+            int h = algorithm.hashCode();
+            h = 31 * h + quantum;
+            h = 31 * h + resolution;
+            h = 31 * h + Arrays.hashCode(arrivalTimes);
+            h = 31 * h + Arrays.hashCode(burstTimes);
+            h = 31 * h + Arrays.hashCode(priorities);
+            this.hash = h;
+        }
+
+        static WorkloadKey of(SchedulingAlgorithm algorithm, List<CpuTask> tasks, int quantum, int resolution) {
+            long[] arrivalTimes = new long[tasks.size()];
+            long[] burstTimes = new long[tasks.size()];
+            int[] priorities = algorithm == SchedulingAlgorithm.PRIORITY ? new int[tasks.size()] : null;
+            for (int i = 0; i < tasks.size(); i++) {
+                CpuTask task = tasks.get(i);
+                arrivalTimes[i] = task.getArrivalTime();
+                burstTimes[i] = task.getBurstTime();
+                if (priorities != null) {
+                    priorities[i] = task.getPriority();
+                }
+            }
+            return new WorkloadKey(algorithm, algorithm == SchedulingAlgorithm.RR ? quantum : 0, resolution,
+                    arrivalTimes, burstTimes, priorities);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof WorkloadKey other)) {
+                return false;
+            }
+            return hash == other.hash
+                    && algorithm == other.algorithm
+                    && quantum == other.quantum
+                    && resolution == other.resolution
+                    && Arrays.equals(arrivalTimes, other.arrivalTimes)
+                    && Arrays.equals(burstTimes, other.burstTimes)
+                    && Arrays.equals(priorities, other.priorities);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,30 +1,122 @@
 package com.example.cpuscheduler.service;
 
 import com.example.cpuscheduler.model.SimulationHistory;
-import com.example.cpuscheduler.repository.SimulationHistoryRepository;
+import com.example.cpuscheduler.model.SimulationHistoryPage;
+import com.example.cpuscheduler.repository.HistoryPageQuery;
+import com.example.cpuscheduler.repository.HistorySpool;
+import com.example.cpuscheduler.repository.SessionHistoryVersion;
+import com.example.cpuscheduler.repository.SimulationHistoryStore;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class SimulationHistoryService {
 
-    private final SimulationHistoryRepository repository;
+    private static final Logger log = LoggerFactory.getLogger(SimulationHistoryService.class);
+
+    private final SimulationHistoryStore store;
     private final ObjectMapper objectMapper;
+    private final SchedulingMetrics metrics;
+    private final Semaphore writePermits;
+    private final long writePermitTimeoutMillis;
+    private final SessionHistoryCache cache;
+    // All null when there is no spool: writes go straight to the store and failures reach the caller
+    private final HistorySpool spool;
+    private final HistoryCircuitBreaker breaker;
+    private final ScheduledExecutorService spoolReplay;
     private static final int MAX_ENTRIES = 10;
+    static final int RETENTION_DAYS = 5;
+    private static final String BATCH_METRIC_TAG = "batch";
+    private static final int BREAKER_WINDOW = 20;
+    private static final int BREAKER_MINIMUM_CALLS = 5;
+    private static final int SPOOL_REPLAY_BATCH = 500;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final long CLEANUP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    // When writes may next run the age-based cleanup; the first write after startup runs it
+    private final AtomicLong nextCleanup = new AtomicLong(System.nanoTime());
 
+    // The application's mapper, so history JSON matches what the API returns.
+    //
+    // The write bulkhead caps concurrent history writes below the connection pool size. With
+    // virtual threads request concurrency is unbounded, so without it every burst would queue
+    // inside Hikari until connection-timeout; history is best-effort, so a write that cannot get
+    // a permit in time is shed instead of holding up the schedule response.
+    //
+    // Reads of a session's recent history repeat far more often than it changes, and every
+    // change goes through this service, so they are cached per session and kept current on write.
+    //
+    // When the store is slow or failing, a write waits out the bulkhead timeout or the pool's
+    // connection-timeout and then loses the entry. Behind the circuit breaker such writes, and every
+    // write while it is open, go to a local spool file instead, which a background task replays
+    // into the store in batches once the breaker lets a trial write through again.
     @Autowired
-    public SimulationHistoryService(SimulationHistoryRepository repository) {
-        this.repository = repository;
-        this.objectMapper = new ObjectMapper();
+    public SimulationHistoryService(SimulationHistoryStore store, ObjectMapper objectMapper,
+                                    SchedulingMetrics metrics, HistorySettings settings) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.writePermits = new Semaphore(settings.maxConcurrentWrites(), true);
+        this.writePermitTimeoutMillis = settings.writeTimeoutMillis();
+        this.cache = new SessionHistoryCache(settings.cacheMaxSessions(), (long) settings.cacheMaxMegabytes() << 20,
+                TimeUnit.SECONDS.toNanos(settings.cacheTtlSeconds()), System::nanoTime);
+        if (!settings.spoolEnabled()) {
+            this.spool = null;
+            this.breaker = null;
+            this.spoolReplay = null;
+            return;
+        }
+        try {
+            this.spool = new HistorySpool(Path.of(settings.spoolFile()), (long) settings.spoolMaxMegabytes() << 20,
+                    settings.spoolFsync());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open history spool " + settings.spoolFile(), e);
+        }
+        this.breaker = new HistoryCircuitBreaker(TimeUnit.MILLISECONDS.toNanos(settings.breakerSlowCallMillis()),
+                settings.breakerBadCallPercent(), BREAKER_WINDOW, BREAKER_MINIMUM_CALLS,
+                TimeUnit.SECONDS.toNanos(settings.breakerOpenSeconds()), System::nanoTime);
+        this.spoolReplay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "history-spool-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long replayIntervalMillis = settings.spoolReplayIntervalMillis();
+        spoolReplay.scheduleWithFixedDelay(this::replaySpool, replayIntervalMillis, replayIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (spool != null) {
+            spoolReplay.shutdownNow();
+            spool.close();
+        }
     }
 
     // Save simulation history with session ID and automatic cleanup
@@ -33,55 +125,274 @@ public class SimulationHistoryService {
                                                    Integer quantum, Double averageTAT,
                                                    Double averageWT, Object ganttChart,
                                                    Object results, String sessionId) {
+        return saveSimulationHistory(toHistory(algorithm, arrivalTimes, burstTimes, priorities, quantum,
+                averageTAT, averageWT, ganttChart, results, sessionId));
+    }
+
+    // Save an entry already serialized by toHistory, e.g. one whose JSON is also sent in the response
+    public SimulationHistory saveSimulationHistory(SimulationHistory history) {
+        String algorithm = history.getAlgorithm();
+        if (spool != null && !breaker.allowRequest()) {
+            spool(List.of(history));
+            return history;
+        }
+        long persistStart = System.nanoTime();
         try {
-            // Clean up old simulations first
-            cleanupOldSimulations();
+            acquireWritePermit(algorithm);
+            SimulationHistory saved;
+            try {
+                saved = persist(history);
+            } finally {
+                writePermits.release();
+            }
+            recordWrite(algorithm, persistStart, false);
+            return saved;
+        } catch (RuntimeException e) {
+            recordWrite(algorithm, persistStart, true);
+            if (spool == null) {
+                metrics.recordShed(algorithm);
+                throw e;
+            }
+        }
+        spool(List.of(history));
+        return history;
+    }
+
+    private SimulationHistory persist(SimulationHistory history) {
+        // Clean up old simulations first
+        cleanupIfDue();
+
+        SimulationHistory savedHistory = store.save(history);
 
+        // Check if this user exceeds the limit
+        trimSession(history.getSessionId());
+        cache.saved(savedHistory, MAX_ENTRIES);
+
+        return savedHistory;
+    }
+
+    // Serialize a result into an unsaved history entry, for callers that save in bulk
+    public SimulationHistory toHistory(String algorithm, String arrivalTimes, String burstTimes, String priorities,
+                                       Integer quantum, Double averageTAT, Double averageWT, Object ganttChart,
+                                       Object results, String sessionId) {
+        try {
+            long serializeStart = System.nanoTime();
             String ganttChartJson = objectMapper.writeValueAsString(ganttChart);
             String resultsJson = objectMapper.writeValueAsString(results);
+            metrics.recordTime(algorithm, SchedulingMetrics.Phase.SERIALIZE, System.nanoTime() - serializeStart);
+            return new SimulationHistory(algorithm, arrivalTimes, burstTimes, priorities, quantum,
+                    averageTAT, averageWT, ganttChartJson, resultsJson, sessionId);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error serializing simulation data", e);
+        }
+    }
 
-            SimulationHistory history = new SimulationHistory(
-                    algorithm, arrivalTimes, burstTimes, priorities, quantum,
-                    averageTAT, averageWT, ganttChartJson, resultsJson, sessionId
-            );
+    // Save many entries with one JDBC batch under a single bulkhead permit. Entries that the
+    // per-session cap would delete right away are never inserted. Returns the number inserted,
+    // or with the spool in use, the number spooled when the store could not take them.
+    public int saveSimulationHistoryBatch(List<SimulationHistory> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        if (spool != null && !breaker.allowRequest()) {
+            return spool(entries);
+        }
+        long persistStart = System.nanoTime();
+        try {
+            int inserted = insertBatch(entries);
+            recordWrite(BATCH_METRIC_TAG, persistStart, false);
+            return inserted;
+        } catch (RuntimeException e) {
+            recordWrite(BATCH_METRIC_TAG, persistStart, true);
+            if (spool == null) {
+                metrics.recordShed(BATCH_METRIC_TAG);
+                throw e;
+            }
+        }
+        return spool(entries);
+    }
 
-            SimulationHistory savedHistory = repository.save(history);
+    private int insertBatch(List<SimulationHistory> entries) {
+        acquireWritePermit(BATCH_METRIC_TAG);
+        try {
+            cleanupIfDue();
 
-            // Check if this user exceeds the limit
-            List<SimulationHistory> userEntries = repository.findBySessionIdOrderByTimestampDesc(sessionId);
-            if (userEntries.size() > MAX_ENTRIES) {
-                int entriesToDelete = userEntries.size() - MAX_ENTRIES;
-                for (int i = MAX_ENTRIES; i < userEntries.size(); i++) {
-                    repository.deleteById(userEntries.get(i).getId());
+            // Entries arrive oldest first; keep the newest MAX_ENTRIES of each session
+            Map<String, Integer> remaining = new HashMap<>();
+            List<SimulationHistory> kept = new ArrayList<>();
+            boolean withoutSession = false;
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                SimulationHistory entry = entries.get(i);
+                if (entry.getSessionId() == null) {
+                    withoutSession = true; // session_id is NOT NULL, one such row would fail the whole batch
+                    continue;
+                }
+                if (remaining.merge(entry.getSessionId(), 1, Integer::sum) <= MAX_ENTRIES) {
+                    kept.add(entry);
                 }
             }
+            Collections.reverse(kept);
+            if (withoutSession) {
+                metrics.recordShed(BATCH_METRIC_TAG);
+            }
 
-            return savedHistory;
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error serializing simulation data", e);
+            store.insertBatch(kept);
+            for (String sessionId : remaining.keySet()) {
+                trimSession(sessionId);
+                cache.invalidate(sessionId);
+            }
+            return kept.size();
+        } finally {
+            writePermits.release();
+        }
+    }
+
+    private void recordWrite(String tag, long persistStart, boolean failed) {
+        long elapsed = System.nanoTime() - persistStart;
+        if (breaker != null) {
+            breaker.record(elapsed, failed);
+        }
+        metrics.recordTime(tag, SchedulingMetrics.Phase.PERSIST, elapsed);
+    }
+
+    // Keep entries the store could not take; throws when the spool is full or unwritable. Entries
+    // without a session could never be replayed, so they are counted as rejected instead of spooled.
+    private int spool(List<SimulationHistory> entries) {
+        String tag = entries.size() == 1 ? entries.get(0).getAlgorithm() : BATCH_METRIC_TAG;
+        List<SimulationHistory> spoolable = entries.stream().filter(entry -> entry.getSessionId() != null).toList();
+        if (spoolable.size() < entries.size()) {
+            metrics.recordSpool("rejected", entries.size() - spoolable.size());
+            if (spoolable.isEmpty()) {
+                metrics.recordShed(tag);
+                throw new IllegalArgumentException("Simulation history without a session cannot be saved");
+            }
+        }
+        int spooled = 0;
+        try {
+            for (SimulationHistory entry : spoolable) {
+                if (!spool.append(entry)) {
+                    break;
+                }
+                spooled++;
+            }
+        } catch (IOException e) {
+            metrics.recordShed(tag);
+            throw new UncheckedIOException("Error spooling simulation history", e);
+        } finally {
+            metrics.recordSpool("spooled", spooled);
+        }
+        if (spooled < spoolable.size()) {
+            metrics.recordShed(tag);
+            throw new IllegalStateException("History spool full, simulation not saved");
+        }
+        return spooled;
+    }
+
+    // Replay spooled entries oldest first while the breaker lets writes through; runs on the replay thread
+    void replaySpool() {
+        try {
+            HistorySpool.Batch batch = spool.next(SPOOL_REPLAY_BATCH);
+            while (!batch.entries().isEmpty() && breaker.allowRequest()) {
+                long persistStart = System.nanoTime();
+                try {
+                    insertBatch(batch.entries());
+                } catch (RuntimeException e) {
+                    recordWrite(BATCH_METRIC_TAG, persistStart, true);
+                    return; // Still spooled; retried on a later run
+                }
+                recordWrite(BATCH_METRIC_TAG, persistStart, false);
+                spool.markReplayed(batch);
+                metrics.recordSpool("replayed", batch.entries().size());
+                batch = spool.next(SPOOL_REPLAY_BATCH);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Thrown out of here it would cancel the scheduled task; the spool is retried on the next run
+            log.warn("Replaying the history spool failed; retrying in the next run", e);
+            metrics.recordSpool("replay-failed", 1);
+        }
+    }
+
+    // Delete the oldest entries of a session beyond MAX_ENTRIES
+    private void trimSession(String sessionId) {
+        List<SimulationHistory> userEntries = store.findBySessionIdOrderByTimestampDesc(sessionId);
+        if (userEntries.size() > MAX_ENTRIES) {
+            for (int i = MAX_ENTRIES; i < userEntries.size(); i++) {
+                store.deleteById(userEntries.get(i).getId());
+            }
+        }
+    }
+
+    private void acquireWritePermit(String algorithm) {
+        try {
+            if (writePermits.tryAcquire(writePermitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Counted as shed by the caller only if the entry cannot be spooled either
+        throw new IllegalStateException("History store busy, simulation not saved");
+    }
+
+    // Retention is in days, so writes run the cleanup at most once a minute rather than scanning on every save
+    private void cleanupIfDue() {
+        long now = System.nanoTime();
+        long due = nextCleanup.get();
+        if (now - due >= 0 && nextCleanup.compareAndSet(due, now + CLEANUP_INTERVAL_NANOS)) {
+            cleanupOldSimulations();
         }
     }
 
     // Clean up simulations older than 5 days
-    @Transactional
     public void cleanupOldSimulations() {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(5);
-        repository.deleteOldSimulations(cutoffDate);
+        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(RETENTION_DAYS);
+        store.deleteOldSimulations(cutoffDate);
+        cache.evictOlderThan(cutoffDate);
+    }
+
+    /**
+     * Weak ETag for one view of a session's history, e.g. "all" or
+     * "recent:5". It changes whenever an entry is saved, trimmed or cleaned
+     * up, and is computed without loading any entries. It is weak because the
+     * list may go out gzip-encoded, and Tomcat does not compress a response
+     * that carries a strong ETag.
+     */
+    public String historyETag(String sessionId, String view) {
+        SessionHistoryVersion version = cache.version(sessionId);
+        metrics.recordHistoryCache("version", version != null);
+        if (version == null) {
+            long loadStart = cache.startLoad();
+            version = store.findVersionBySessionId(sessionId);
+            if (version != null) {
+                cache.putVersion(sessionId, version, loadStart);
+            }
+        }
+        long count = version != null ? version.getEntryCount() : 0;
+        Long latestId = version != null ? version.getLatestId() : null;
+        LocalDateTime latestTimestamp = version != null ? version.getLatestTimestamp() : null;
+        long latestMillis = latestTimestamp != null
+                ? latestTimestamp.atZone(ZoneOffset.UTC).toInstant().toEpochMilli() : 0;
+        // Views come from URLs; keep the tag within the characters an ETag allows
+        String safeView = view.replaceAll("[^A-Za-z0-9:._-]", "_");
+        return "W/\"" + safeView + "-" + count + "-" + (latestId != null ? latestId : 0) + "-" + latestMillis + "\"";
     }
 
     // Get all simulation history for a specific session
     public List<SimulationHistory> getAllSimulationHistory(String sessionId) {
-        return repository.findBySessionIdOrderByTimestampDesc(sessionId);
+        return cached("all", sessionId, SessionHistoryCache.ALL, all -> all,
+                () -> store.findBySessionIdOrderByTimestampDesc(sessionId));
     }
 
     // Get simulation history by ID
     public Optional<SimulationHistory> getSimulationHistoryById(Long id) {
-        return repository.findById(id);
+        return store.findById(id);
     }
 
     // Get simulation history by algorithm and session
     public List<SimulationHistory> getSimulationHistoryByAlgorithm(String algorithm, String sessionId) {
-        return repository.findByAlgorithmAndSessionIdOrderByTimestampDesc(algorithm, sessionId);
+        return cached("algorithm", sessionId, "algorithm:" + algorithm,
+                all -> all.stream().filter(entry -> algorithm.equals(entry.getAlgorithm())).toList(),
+                () -> store.findByAlgorithmAndSessionIdOrderByTimestampDesc(algorithm, sessionId));
     }
 
     // Get most recent N simulations for a specific session
@@ -90,19 +401,82 @@ public class SimulationHistoryService {
             return new ArrayList<>();
         }
         Pageable pageable = org.springframework.data.domain.PageRequest.of(0, limit);
-        return repository.findRecentSimulationsBySessionId(sessionId, pageable);
+        return cached("recent", sessionId, "recent:" + limit,
+                all -> all.subList(0, Math.min(limit, all.size())),
+                () -> store.findRecentSimulationsBySessionId(sessionId, pageable));
+    }
+
+    /**
+     * A page of the session's history matching the query's filters, after
+     * the position in the cursor (the first page when null). The cursor is
+     * the opaque nextCursor of the previous page; pass the same filters with
+     * it. Pages go straight to the store, which seeks to the cursor, so the
+     * hundredth page costs what the first does.
+     */
+    public SimulationHistoryPage getSimulationHistoryPage(HistoryPageQuery query, String cursor) {
+        int limit = Math.min(query.limit(), MAX_PAGE_SIZE);
+        // One extra entry tells whether there is a next page without counting
+        HistoryPageQuery page = query.withLimit(limit + 1);
+        if (cursor != null && !cursor.isEmpty()) {
+            page = decodeCursor(page, cursor);
+        }
+        List<SimulationHistory> entries = store.findPage(page);
+        if (entries.size() <= limit) {
+            return new SimulationHistoryPage(entries, null);
+        }
+        entries = entries.subList(0, limit);
+        return new SimulationHistoryPage(entries, encodeCursor(entries.get(limit - 1)));
     }
 
     // Delete simulation history by ID
     public void deleteSimulationHistory(Long id) {
-        repository.deleteById(id);
+        store.deleteById(id);
+        cache.invalidateEntry(id);
     }
 
     // Delete all simulation history for a specific session
     public void deleteAllSimulationHistory(String sessionId) {
-        List<SimulationHistory> userEntries = repository.findBySessionIdOrderByTimestampDesc(sessionId);
+        List<SimulationHistory> userEntries = store.findBySessionIdOrderByTimestampDesc(sessionId);
         for (SimulationHistory entry : userEntries) {
-            repository.deleteById(entry.getId());
+            store.deleteById(entry.getId());
+        }
+        cache.invalidate(sessionId);
+    }
+
+    // Serve a view of the session from the cache, loading and caching it on a miss
+    private List<SimulationHistory> cached(String read, String sessionId, String view,
+                                           Function<List<SimulationHistory>, List<SimulationHistory>> fromAll,
+                                           Supplier<List<SimulationHistory>> load) {
+        List<SimulationHistory> hit = cache.view(sessionId, view, fromAll);
+        metrics.recordHistoryCache(read, hit != null);
+        if (hit != null) {
+            return hit;
+        }
+        long loadStart = cache.startLoad();
+        List<SimulationHistory> loaded = load.get();
+        cache.putView(sessionId, view, loaded, loadStart);
+        return loaded;
+    }
+
+    // The (timestamp, id) of the last entry on a page as "epochSecond.nano.id", base64url so it reads as opaque
+    static String encodeCursor(SimulationHistory last) {
+        LocalDateTime timestamp = last.getTimestamp();
+        String position = timestamp.toEpochSecond(ZoneOffset.UTC) + "." + timestamp.getNano() + "." + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static HistoryPageQuery decodeCursor(HistoryPageQuery query, String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split("\\.");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(Long.parseLong(parts[0]),
+                    Integer.parseInt(parts[1]), ZoneOffset.UTC);
+            return query.after(timestamp, Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            // Bad base64, numbers or nanos all mean the client did not get this cursor from us
+            throw new IllegalArgumentException("Invalid cursor", e);
         }
     }
 
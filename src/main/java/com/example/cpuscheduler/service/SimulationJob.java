@@ -0,0 +1,159 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.ComputeBudget;
+import com.example.cpuscheduler.engine.GanttIndex;
+import com.example.cpuscheduler.engine.ProgressTracker;
+import com.example.cpuscheduler.engine.ScheduleTimeline;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * One background simulation. Serialized as the job status; the result is only
+ * returned by the result endpoint once the job has succeeded.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SimulationJob {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+    private final String algorithm;
+    private final int taskCount;
+    private final Instant submittedAt = Instant.now();
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Map<String, Object> result;
+    private volatile Future<?> future;
+    private volatile ComputeBudget budget;
+    private volatile ProgressTracker progress;
+    private volatile ScheduleTimeline timeline;
+    private GanttIndex ganttIndex; // guarded by this
+
+    SimulationJob(String id, String algorithm, int taskCount) {
+        this.id = id;
+        this.algorithm = algorithm;
+        this.taskCount = taskCount;
+    }
+
+    // State transitions; each returns false if the job already left the expected state
+
+    synchronized boolean start() {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        status = Status.RUNNING;
+        startedAt = Instant.now();
+        return true;
+    }
+
+    synchronized boolean succeed(Map<String, Object> result) {
+        if (status != Status.RUNNING) {
+            return false;
+        }
+        this.result = result;
+        finish(Status.SUCCEEDED);
+        return true;
+    }
+
+    synchronized boolean fail(String error) {
+        if (status.isFinished()) {
+            return false;
+        }
+        this.error = error;
+        finish(Status.FAILED);
+        return true;
+    }
+
+    synchronized boolean cancel() {
+        if (status.isFinished()) {
+            return false;
+        }
+        finish(Status.CANCELLED);
+        return true;
+    }
+
+    private void finish(Status finalStatus) {
+        status = finalStatus;
+        finishedAt = Instant.now();
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    @JsonIgnore
+    Future<?> getFuture() {
+        return future;
+    }
+
+    void setBudget(ComputeBudget budget) {
+        this.budget = budget;
+    }
+
+    @JsonIgnore
+    ComputeBudget getBudget() {
+        return budget;
+    }
+
+    void setProgress(ProgressTracker progress) {
+        this.progress = progress;
+    }
+
+    @JsonIgnore
+    ProgressTracker getProgress() {
+        return progress;
+    }
+
+    void setTimeline(ScheduleTimeline timeline) {
+        this.timeline = timeline;
+    }
+
+    @JsonIgnore
+    ScheduleTimeline getTimeline() {
+        return timeline;
+    }
+
+    // Built from the result on the first range query, then kept for the job's lifetime
+    synchronized GanttIndex getGanttIndex(Function<Map<String, Object>, GanttIndex> builder) {
+        if (ganttIndex == null) {
+            ganttIndex = builder.apply(result);
+        }
+        return ganttIndex;
+    }
+
+    // Getters
+    public String getId() { return id; }
+
+    public String getAlgorithm() { return algorithm; }
+
+    public int getTaskCount() { return taskCount; }
+
+    public Status getStatus() { return status; }
+
+    public Instant getSubmittedAt() { return submittedAt; }
+
+    public Instant getStartedAt() { return startedAt; }
+
+    public Instant getFinishedAt() { return finishedAt; }
+
+    public String getError() { return error; }
+
+    // True once the job has recorded checkpoints for state queries
+    public boolean isTimelineRecorded() { return timeline != null; }
+
+    @JsonIgnore
+    public Map<String, Object> getResult() { return result; }
+}
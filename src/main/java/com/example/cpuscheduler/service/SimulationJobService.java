@@ -0,0 +1,311 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.ComputeBudget;
+import com.example.cpuscheduler.engine.GanttDownsampler;
+import com.example.cpuscheduler.engine.GanttIndex;
+import com.example.cpuscheduler.engine.ProgressTracker;
+import com.example.cpuscheduler.engine.ScheduleSink;
+import com.example.cpuscheduler.engine.ScheduleTimeline;
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.engine.TimelineState;
+import com.example.cpuscheduler.model.CpuTask;
+import com.example.cpuscheduler.model.GanttChart;
+import io.micrometer.core.instrument.Gauge;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs large simulations off the request thread. A fixed number of workers
+ * drains a bounded queue; when the queue is full, submissions are rejected with
+ * {@link RejectedExecutionException} so callers can answer 429 instead of
+ * piling up work. Finished jobs are kept for polling until they expire.
+ * Jobs submitted with {@code "timeline": "true"} also record checkpoints so
+ * their state at any instant can be queried without re-running the schedule.
+ */
+@Service
+public class SimulationJobService {
+
+    private final SimulationPipeline simulationPipeline;
+    private final SimulationLimits simulationLimits;
+    private final SimulationProgressPublisher progressPublisher;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, SimulationJob> jobs = new ConcurrentHashMap<>();
+    private final Duration retention;
+    private final int maxRetainedJobs;
+    private final long checkpointInterval;
+    private final long maxCheckpointEntries;
+
+    @Autowired
+    public SimulationJobService(SimulationPipeline simulationPipeline,
+                                SimulationLimits simulationLimits,
+                                SimulationProgressPublisher progressPublisher,
+                                SchedulingMetrics schedulingMetrics,
+                                @Value("${scheduler.jobs.workers:0}") int workers,
+                                @Value("${scheduler.jobs.queue-capacity:64}") int queueCapacity,
+                                @Value("${scheduler.jobs.retention-minutes:30}") long retentionMinutes,
+                                @Value("${scheduler.jobs.max-retained:1000}") int maxRetainedJobs,
+                                @Value("${scheduler.timeline.checkpoint-interval:4096}") long checkpointInterval,
+                                @Value("${scheduler.timeline.max-checkpoint-entries:4000000}")
+                                long maxCheckpointEntries) {
+        this.simulationPipeline = simulationPipeline;
+        this.simulationLimits = simulationLimits;
+        this.progressPublisher = progressPublisher;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.maxRetainedJobs = maxRetainedJobs;
+        this.checkpointInterval = checkpointInterval;
+        this.maxCheckpointEntries = maxCheckpointEntries;
+
+        // Simulations are CPU-bound: more workers than cores only adds contention
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new JobThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("scheduler.jobs.queued", executor, e -> e.getQueue().size())
+                .description("Simulation jobs waiting for a worker")
+                .register(schedulingMetrics.getRegistry());
+        Gauge.builder("scheduler.jobs.running", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Simulation jobs currently running")
+                .register(schedulingMetrics.getRegistry());
+    }
+
+    // Queue a simulation of already parsed tasks; throws RejectedExecutionException when the queue is full
+    public SimulationJob submit(SchedulingAlgorithm algorithm, List<CpuTask> tasks, Map<String, String> data) {
+        long timelineInterval = timelineIntervalOf(data);
+        evictExpired();
+        SimulationJob job = new SimulationJob(UUID.randomUUID().toString(), algorithm.path(), tasks.size());
+        jobs.put(job.getId(), job);
+        try {
+            job.setFuture(executor.submit(() -> run(job, algorithm, tasks, data, timelineInterval)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<SimulationJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    // Cancel a queued or running job; a running simulation stops at its next budget checkpoint
+    public Optional<SimulationJob> cancel(String id) {
+        SimulationJob job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (job.cancel()) {
+            ComputeBudget budget = job.getBudget();
+            if (budget != null) {
+                budget.cancel();
+            }
+            Future<?> future = job.getFuture();
+            if (future != null) {
+                future.cancel(true);
+                executor.remove((Runnable) future);
+            }
+            progressPublisher.finished(job);
+        }
+        return Optional.of(job);
+    }
+
+    // State of a succeeded job's schedule at the given instant; throws IllegalStateException if it has no timeline
+    public Optional<Map<String, Object>> stateAt(String id, long time, int maxReadyListed) {
+        SimulationJob job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        ScheduleTimeline timeline = job.getTimeline();
+        if (timeline == null) {
+            throw new IllegalStateException(job.getStatus().isFinished()
+                    ? "Job did not record a timeline; submit it with \"timeline\": \"true\""
+                    : "Job is still " + job.getStatus().name().toLowerCase());
+        }
+        return Optional.of(describe(timeline.stateAt(time, maxReadyListed)));
+    }
+
+    // Gantt segments of a succeeded job overlapping [from, to], optionally of one process, at most limit of them.
+    // With a resolution, the window is instead summarized into at most that many bins
+    public Optional<Map<String, Object>> ganttRange(String id, long from, long to, Integer processId, int limit,
+                                                    int resolution) {
+        if (to < from) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        SimulationJob job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (job.getStatus() != SimulationJob.Status.SUCCEEDED) {
+            throw new IllegalStateException("Job has no Gantt chart while " + job.getStatus().name().toLowerCase());
+        }
+        if (!(job.getResult().get("ganttChart") instanceof List)) {
+            throw new IllegalStateException("Job was run with a Gantt resolution and kept no segments");
+        }
+        GanttIndex index = job.getGanttIndex(SimulationJobService::indexGantt);
+        if (resolution > 0) {
+            return Optional.of(downsample(index, from, to, processId, resolution));
+        }
+        int[] positions = processId == null
+                ? index.overlapping(from, to, Math.max(0, limit))
+                : index.overlapping(from, to, processId, Math.max(0, limit));
+        int total = processId == null
+                ? index.countOverlapping(from, to)
+                : index.countOverlapping(from, to, processId);
+
+        List<GanttChart> segments = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            int segmentProcess = index.processId(position);
+            segments.add(new GanttChart(index.startTime(position), index.endTime(position),
+                    segmentProcess == ScheduleSink.IDLE ? null : (long) segmentProcess));
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("from", from);
+        response.put("to", to);
+        response.put("totalSegments", total);
+        response.put("truncated", total > positions.length);
+        response.put("ganttChart", segments);
+        return Optional.of(response);
+    }
+
+    // One pass over the window's segments, clipped to [from, to]
+    private static Map<String, Object> downsample(GanttIndex index, long from, long to, Integer processId,
+                                                  int resolution) {
+        GanttDownsampler bins = new GanttDownsampler(resolution, SimulationPipeline.GANTT_LISTED_PROCESSES, from);
+        int[] positions = processId == null
+                ? index.overlapping(from, to, Integer.MAX_VALUE)
+                : index.overlapping(from, to, processId, Integer.MAX_VALUE);
+        for (int position : positions) {
+            bins.add(index.startTime(position), Math.min(index.endTime(position), to), index.processId(position));
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("from", from);
+        response.put("to", to);
+        response.put("totalSegments", positions.length);
+        response.put("ganttBinWidth", bins.getBinWidth());
+        response.put("ganttBins", SchedulingAlgorithmService.toGanttBins(bins));
+        return response;
+    }
+
+    private static GanttIndex indexGantt(Map<String, Object> result) {
+        List<?> ganttChart = (List<?>) result.get("ganttChart");
+        GanttIndex.Builder builder = new GanttIndex.Builder(ganttChart.size());
+        for (Object item : ganttChart) {
+            GanttChart segment = (GanttChart) item;
+            builder.add(segment.getStartTime(), segment.getEndTime(),
+                    segment.getId() == null ? ScheduleSink.IDLE : Math.toIntExact(segment.getId()));
+        }
+        return builder.build();
+    }
+
+    // 0 when no timeline was requested; a per-request checkpointInterval overrides the configured one
+    private long timelineIntervalOf(Map<String, String> data) {
+        if (!Boolean.parseBoolean(data.get("timeline"))) {
+            return 0;
+        }
+        String interval = data.get("checkpointInterval");
+        long parsed = interval == null || interval.isBlank() ? checkpointInterval : Long.parseLong(interval.trim());
+        if (parsed <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        return parsed;
+    }
+
+    private static Map<String, Object> describe(TimelineState state) {
+        List<Map<String, Object>> ready = new ArrayList<>(state.getListedReadyCount());
+        for (int i = 0; i < state.getListedReadyCount(); i++) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("processId", state.readyProcessId(i));
+            entry.put("remainingTime", state.readyRemainingTime(i));
+            ready.add(entry);
+        }
+        boolean idle = state.getRunningProcessId() == ScheduleSink.IDLE;
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("time", state.getTime());
+        response.put("runningProcessId", idle ? null : state.getRunningProcessId());
+        response.put("runningRemainingTime", idle ? null : state.getRunningRemainingTime());
+        response.put("readyCount", state.getReadyCount());
+        response.put("readyQueue", ready);
+        response.put("arrivedTasks", state.getArrivedTasks());
+        response.put("completedTasks", state.getCompletedTasks());
+        response.put("totalTasks", state.getTotalTasks());
+        response.put("averageTAT", state.getAverageTurnaroundTime());
+        response.put("averageWT", state.getAverageWaitingTime());
+        return response;
+    }
+
+    private void run(SimulationJob job, SchedulingAlgorithm algorithm, List<CpuTask> tasks, Map<String, String> data,
+                     long timelineInterval) {
+        // The job deadline counts from when a worker picks it up, not from submission
+        ComputeBudget budget = simulationLimits.forJob();
+        ProgressTracker progress = progressPublisher.track(job);
+        job.setBudget(budget);
+        job.setProgress(progress);
+        if (!job.start()) {
+            return; // cancelled while queued
+        }
+        try {
+            Map<String, Object> result = simulationPipeline.execute(algorithm, tasks, data, budget, progress);
+            if (timelineInterval > 0) {
+                // A second, output-free pass under the same budget; only checkpoints are kept
+                job.setTimeline(simulationPipeline.timeline(algorithm, tasks, data, timelineInterval,
+                        maxCheckpointEntries, budget));
+            }
+            job.succeed(result);
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            progressPublisher.finished(job);
+        }
+    }
+
+    // Drop finished jobs past their retention, then the oldest finished ones over the cap
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+        int excess = jobs.size() - maxRetainedJobs;
+        if (excess > 0) {
+            jobs.values().stream()
+                    .filter(job -> job.getFinishedAt() != null)
+                    .sorted(Comparator.comparing(SimulationJob::getFinishedAt))
+                    .limit(excess)
+                    .map(SimulationJob::getId)
+                    .toList()
+                    .forEach(jobs::remove);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class JobThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "simulation-job-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
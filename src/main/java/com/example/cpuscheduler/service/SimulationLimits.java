@@ -0,0 +1,52 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.ComputeBudget;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-deployment compute limits, handed out as a fresh {@link ComputeBudget}
+ * per simulation. Synchronous requests and background jobs share the size
+ * limits but have separate wall-clock limits; a timeout of 0 disables it.
+ */
+@Component
+public class SimulationLimits {
+
+    private final int maxTasks;
+    private final long maxEvents;
+    private final long maxSegments;
+    private final long requestTimeoutMillis;
+    private final long jobTimeoutMillis;
+
+    public SimulationLimits(@Value("${scheduler.limits.max-tasks:1000000}") int maxTasks,
+                            @Value("${scheduler.limits.max-events:20000000}") long maxEvents,
+                            @Value("${scheduler.limits.max-gantt-segments:5000000}") long maxSegments,
+                            @Value("${scheduler.limits.request-timeout-ms:10000}") long requestTimeoutMillis,
+                            @Value("${scheduler.limits.job-timeout-ms:300000}") long jobTimeoutMillis) {
+        this.maxTasks = maxTasks;
+        this.maxEvents = maxEvents;
+        this.maxSegments = maxSegments;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        this.jobTimeoutMillis = jobTimeoutMillis;
+    }
+
+    public ComputeBudget forRequest() {
+        return budget(requestTimeoutMillis);
+    }
+
+    public ComputeBudget forJob() {
+        return budget(jobTimeoutMillis);
+    }
+
+    // Reject oversized input before it is turned into task objects
+    public void checkTasks(int taskCount) {
+        budget(0).checkTasks(taskCount);
+    }
+
+    private ComputeBudget budget(long timeoutMillis) {
+        return ComputeBudget.of(maxTasks, maxEvents, maxSegments,
+                timeoutMillis > 0 ? Duration.ofMillis(timeoutMillis) : null);
+    }
+}
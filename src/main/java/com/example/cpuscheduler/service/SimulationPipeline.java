@@ -0,0 +1,215 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.ComputeBudget;
+import com.example.cpuscheduler.engine.GanttDownsampler;
+import com.example.cpuscheduler.engine.ProgressTracker;
+import com.example.cpuscheduler.engine.ScheduleTimeline;
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.model.CpuTask;
+import com.example.cpuscheduler.model.ScheduleResponse;
+import com.example.cpuscheduler.model.SimulationHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The steps behind a schedule request: parse the posted strings, simulate,
+ * record metrics and save history. Shared by the synchronous endpoint and
+ * background jobs so both produce identical results and history entries.
+ */
+@Service
+public class SimulationPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulationPipeline.class);
+
+    // Payload bound for downsampled charts: at most this many bins, each listing this many processes
+    static final int MAX_GANTT_RESOLUTION = 10_000;
+    static final int GANTT_LISTED_PROCESSES = 8;
+
+    private final SchedulingAlgorithmService schedulingAlgorithmService;
+    private final SimulationHistoryService simulationHistoryService;
+    private final SchedulingMetrics schedulingMetrics;
+    private final SimulationLimits simulationLimits;
+    private final SimulationCoalescer simulationCoalescer;
+
+    @Autowired
+    public SimulationPipeline(SchedulingAlgorithmService schedulingAlgorithmService,
+                              SimulationHistoryService simulationHistoryService,
+                              SchedulingMetrics schedulingMetrics,
+                              SimulationLimits simulationLimits,
+                              SimulationCoalescer simulationCoalescer) {
+        this.schedulingAlgorithmService = schedulingAlgorithmService;
+        this.simulationHistoryService = simulationHistoryService;
+        this.schedulingMetrics = schedulingMetrics;
+        this.simulationLimits = simulationLimits;
+        this.simulationCoalescer = simulationCoalescer;
+    }
+
+    // Synchronous request: identical concurrent requests share one simulation, but each saves its own history.
+    // The task list and chart are serialized once; the history row and the response body share that JSON.
+    public ScheduleResponse run(SchedulingAlgorithm algorithm, Map<String, String> data) {
+        Map<String, Object> serviceResult = simulateRequest(algorithm, data);
+        SimulationHistory history = toHistory(algorithm, data, serviceResult);
+        save(history);
+        return toResponse(serviceResult, history);
+    }
+
+    // Same as run for binary formats, which cannot embed JSON text: returns the result itself
+    public Map<String, Object> runUnserialized(SchedulingAlgorithm algorithm, Map<String, String> data) {
+        Map<String, Object> serviceResult = simulateRequest(algorithm, data);
+        save(toHistory(algorithm, data, serviceResult));
+        return serviceResult;
+    }
+
+    private Map<String, Object> simulateRequest(SchedulingAlgorithm algorithm, Map<String, String> data) {
+        ScheduleRequest request = schedulingMetrics.time(algorithm.path(), SchedulingMetrics.Phase.PARSE,
+                () -> ScheduleRequest.parse(algorithm, data, simulationLimits));
+        List<CpuTask> tasks = toTasks(request);
+        int quantum = request.quantum();
+        int resolution = request.resolution();
+        ComputeBudget budget = simulationLimits.forRequest();
+        Map<String, Object> serviceResult = simulationCoalescer.compute(algorithm, tasks, quantum, resolution,
+                () -> simulate(algorithm, tasks, quantum, resolution, budget, null));
+        schedulingMetrics.recordSize(algorithm.path(), tasks.size(), segmentCountOf(serviceResult));
+        return serviceResult;
+    }
+
+    // Malformed numbers surface as NumberFormatException
+    public List<CpuTask> parse(SchedulingAlgorithm algorithm, Map<String, String> data) {
+        return schedulingMetrics.time(algorithm.path(), SchedulingMetrics.Phase.PARSE,
+                () -> toTasks(ScheduleRequest.parse(algorithm, data, simulationLimits)));
+    }
+
+    // Simulate already parsed tasks within the budget and save the result to the request's session history
+    // and report live progress to the tracker when one is given
+    public Map<String, Object> execute(SchedulingAlgorithm algorithm, List<CpuTask> tasks, Map<String, String> data,
+                                       ComputeBudget budget, ProgressTracker progress) {
+        return record(algorithm, tasks, data,
+                simulate(algorithm, tasks, quantumOf(algorithm, data), resolutionOf(data), budget, progress));
+    }
+
+    // Simulate and record size metrics without saving history; batch callers save history in bulk
+    public Map<String, Object> compute(SchedulingAlgorithm algorithm, List<CpuTask> tasks, Map<String, String> data,
+                                       ComputeBudget budget) {
+        Map<String, Object> serviceResult = simulate(algorithm, tasks, quantumOf(algorithm, data),
+                resolutionOf(data), budget, null);
+        schedulingMetrics.recordSize(algorithm.path(), tasks.size(), segmentCountOf(serviceResult));
+        return serviceResult;
+    }
+
+    // Record a scrubbable timeline of the same schedule; nothing is saved
+    public ScheduleTimeline timeline(SchedulingAlgorithm algorithm, List<CpuTask> tasks, Map<String, String> data,
+                                     long checkpointInterval, long maxStoredEntries, ComputeBudget budget) {
+        return schedulingAlgorithmService.timeline(algorithm, tasks, quantumOf(algorithm, data),
+                checkpointInterval, maxStoredEntries, budget);
+    }
+
+    // The history entry execute would have saved for this result, serialized but not saved
+    public SimulationHistory toHistory(SchedulingAlgorithm algorithm, Map<String, String> data,
+                                       Map<String, Object> serviceResult) {
+        return simulationHistoryService.toHistory(
+                algorithm.path(),
+                data.get("arrivalTimes"),
+                data.get("burstTimes"),
+                data.get("priorities"),
+                algorithm == SchedulingAlgorithm.RR ? quantumOf(algorithm, data) : null,
+                (Double) serviceResult.get("averageTAT"),
+                (Double) serviceResult.get("averageWT"),
+                ganttOf(serviceResult),
+                serviceResult.get("scheduledTasks"),
+                data.get("sessionId"));
+    }
+
+    private Map<String, Object> simulate(SchedulingAlgorithm algorithm, List<CpuTask> tasks, int quantum,
+                                         int resolution, ComputeBudget budget, ProgressTracker progress) {
+        GanttDownsampler bins = resolution > 0 ? new GanttDownsampler(resolution, GANTT_LISTED_PROCESSES, 0) : null;
+        return schedulingMetrics.time(algorithm.path(), SchedulingMetrics.Phase.SIMULATE,
+                () -> schedulingAlgorithmService.schedule(algorithm, tasks, quantum, budget, progress, bins));
+    }
+
+    private Map<String, Object> record(SchedulingAlgorithm algorithm, List<CpuTask> tasks, Map<String, String> data,
+                                       Map<String, Object> serviceResult) {
+        schedulingMetrics.recordSize(algorithm.path(), tasks.size(), segmentCountOf(serviceResult));
+        save(toHistory(algorithm, data, serviceResult));
+        return serviceResult;
+    }
+
+    // SAVE SIMULATION HISTORY with session ID; history is best-effort and never fails the request.
+    // The history service has already counted the lost entry in scheduler.history.shed
+    private void save(SimulationHistory history) {
+        try {
+            simulationHistoryService.saveSimulationHistory(history);
+        } catch (Exception e) {
+            log.warn("Failed to save {} simulation history for session {}", history.getAlgorithm(),
+                    history.getSessionId(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ScheduleResponse toResponse(Map<String, Object> serviceResult, SimulationHistory history) {
+        boolean binned = serviceResult.containsKey("ganttBins");
+        return new ScheduleResponse(
+                history.getResults(),
+                binned ? null : history.getGanttChart(),
+                binned ? history.getGanttChart() : null,
+                (Long) serviceResult.get("ganttBinWidth"),
+                (Long) serviceResult.get("ganttSegmentCount"),
+                (Double) serviceResult.get("averageTAT"),
+                (Double) serviceResult.get("averageWT"),
+                (Map<String, Object>) serviceResult.get("statistics"));
+    }
+
+    // Optional "resolution": downsample the chart into at most that many bins; 0 when absent
+    static int resolutionOf(Map<String, String> data) {
+        String resolution = data.get("resolution");
+        if (resolution == null || resolution.isBlank()) {
+            return 0;
+        }
+        int bins = Integer.parseInt(resolution.trim());
+        if (bins < 2 || bins > MAX_GANTT_RESOLUTION) {
+            throw new IllegalArgumentException("Resolution must be between 2 and " + MAX_GANTT_RESOLUTION);
+        }
+        return bins;
+    }
+
+    // Downsampled results carry bins instead of segments; history stores whichever chart was produced
+    private static Object ganttOf(Map<String, Object> serviceResult) {
+        return serviceResult.containsKey("ganttBins")
+                ? serviceResult.get("ganttBins")
+                : serviceResult.get("ganttChart");
+    }
+
+    private static long segmentCountOf(Map<String, Object> serviceResult) {
+        Object segmentCount = serviceResult.get("ganttSegmentCount");
+        return segmentCount != null ? (Long) segmentCount : ((List<?>) serviceResult.get("ganttChart")).size();
+    }
+
+    static int quantumOf(SchedulingAlgorithm algorithm, Map<String, String> data) {
+        return algorithm == SchedulingAlgorithm.RR ? Integer.parseInt(data.get("quantum")) : 0;
+    }
+
+    // Tasks live only as long as their run; a job or batch can carry a million of them
+    private List<CpuTask> toTasks(ScheduleRequest request) {
+        long[] arrivalTimes = request.arrivalTimes();
+        long[] burstTimes = request.burstTimes();
+        int[] priorities = request.priorities();
+
+        List<CpuTask> tasks = new ArrayList<>(request.size());
+        for (int i = 0; i < arrivalTimes.length; i++) {
+            CpuTask task = new CpuTask(arrivalTimes[i], burstTimes[i]);
+            task.setProcessId(i + 1);
+
+            if (priorities != null) {
+                task.setPriority(priorities[i]);
+            }
+
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.ProgressTracker;
+import com.example.cpuscheduler.engine.ScheduleSink;
+import com.example.cpuscheduler.engine.SimulationProgress;
+import com.example.cpuscheduler.model.GanttChart;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams job progress to Server-Sent Events subscribers. Simulation threads
+ * only hand snapshots over; a small pool of sender threads does the writes, at
+ * most one at a time per subscriber, so a slow client never stalls a
+ * simulation or another subscriber's stream. Each subscriber sees events in
+ * order: a "status" event on subscribe, "progress" events while the job runs,
+ * and a final "status" event before the stream completes. Only the newest
+ * progress snapshot waits for a subscriber that falls behind; older ones are
+ * dropped, since each event carries the running totals, and the Gantt
+ * segments they held are added to the next event's omittedSegments.
+ */
+@Component
+public class SimulationProgressPublisher {
+
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sender;
+    private final Duration interval;
+    private final int windowSegments;
+    private final long streamTimeoutMillis;
+
+    @Autowired
+    public SimulationProgressPublisher(
+            @Value("${scheduler.jobs.progress.interval-ms:250}") long intervalMillis,
+            @Value("${scheduler.jobs.progress.window-segments:500}") int windowSegments,
+            @Value("${scheduler.jobs.progress.stream-timeout-ms:600000}") long streamTimeoutMillis,
+            @Value("${scheduler.jobs.progress.sender-threads:4}") int senderThreads) {
+        this.interval = Duration.ofMillis(intervalMillis);
+        this.windowSegments = windowSegments;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "simulation-progress-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Tracker for one job run; its snapshots are forwarded to the job's subscribers
+    public ProgressTracker track(SimulationJob job) {
+        return new ProgressTracker(windowSegments, interval, progress -> {
+            List<Subscriber> current = subscribers.get(job.getId());
+            if (current != null) {
+                for (Subscriber subscriber : current) {
+                    subscriber.progress(progress);
+                }
+            }
+        });
+    }
+
+    public SseEmitter subscribe(SimulationJob job) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscriber subscriber = new Subscriber(job.getId(), emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        // Queued before registering, so snapshots published from here on replace the replayed one
+        subscriber.status(job);
+        SimulationProgress latest = job.getProgress() != null ? job.getProgress().getLatest() : null;
+        if (latest != null) {
+            subscriber.progress(latest);
+        }
+        subscribers.computeIfAbsent(job.getId(), id -> new CopyOnWriteArrayList<>()).add(subscriber);
+        // A job that finished before the registration above has already closed every stream it knew of;
+        // the status queued above is written when sent, so it already shows the outcome
+        if (job.getStatus().isFinished()) {
+            unsubscribe(subscriber);
+            subscriber.complete();
+        }
+        return emitter;
+    }
+
+    // Send the final status and close every stream for the job
+    public void finished(SimulationJob job) {
+        List<Subscriber> emitters = subscribers.remove(job.getId());
+        if (emitters == null) {
+            return;
+        }
+        for (Subscriber subscriber : emitters) {
+            subscriber.finish(job);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.jobId, (id, emitters) -> {
+            emitters.remove(subscriber);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    /**
+     * One stream's pending events. Status events are few and all delivered;
+     * of the progress snapshots only the newest is kept. A drain task on the
+     * sender pool writes them out and ends when nothing is left.
+     */
+    private final class Subscriber {
+        private final String jobId;
+        private final SseEmitter emitter;
+        private final Deque<SseEmitter.SseEventBuilder> statusEvents = new ArrayDeque<>();
+        private SimulationProgress pendingProgress;
+        // Gantt segments of the snapshots replaced while waiting
+        private long droppedSegments;
+        // Complete the stream once the queued status events are sent
+        private boolean completing;
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(String jobId, SseEmitter emitter) {
+            this.jobId = jobId;
+            this.emitter = emitter;
+        }
+
+        synchronized void progress(SimulationProgress progress) {
+            if (closed || completing) {
+                return;
+            }
+            if (pendingProgress != null) {
+                droppedSegments += pendingProgress.getWindowSize() + pendingProgress.getOmittedSegments();
+            }
+            pendingProgress = progress;
+            schedule();
+        }
+
+        synchronized void status(SimulationJob job) {
+            if (closed || completing) {
+                return;
+            }
+            statusEvents.add(SseEmitter.event().name("status").data(job));
+            schedule();
+        }
+
+        // The final status supersedes any progress still waiting
+        synchronized void finish(SimulationJob job) {
+            status(job);
+            pendingProgress = null;
+            completing = true;
+        }
+
+        // Complete once what is queued has been sent
+        synchronized void complete() {
+            if (!closed && !completing) {
+                completing = true;
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (!draining) {
+                draining = true;
+                sender.execute(this::drain);
+            }
+        }
+
+        private synchronized SseEmitter.SseEventBuilder next() {
+            SseEmitter.SseEventBuilder event = statusEvents.poll();
+            if (event == null && pendingProgress != null) {
+                Map<String, Object> progress = toEvent(pendingProgress);
+                progress.put("omittedSegments", pendingProgress.getOmittedSegments() + droppedSegments);
+                event = SseEmitter.event().name("progress").data(progress);
+                pendingProgress = null;
+                droppedSegments = 0;
+            }
+            if (event == null) {
+                draining = false;
+                closed = completing;
+            }
+            return event;
+        }
+
+        private synchronized void fail() {
+            closed = true;
+            statusEvents.clear();
+            pendingProgress = null;
+        }
+
+        private void drain() {
+            SseEmitter.SseEventBuilder event;
+            while ((event = next()) != null) {
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    fail();
+                    unsubscribe(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+            synchronized (this) {
+                if (!closed) {
+                    return;
+                }
+            }
+            emitter.complete();
+        }
+    }
+
+    // Gantt window entries use the same shape as the result's ganttChart so clients can append them directly
+    static Map<String, Object> toEvent(SimulationProgress progress) {
+        List<GanttChart> window = new ArrayList<>(progress.getWindowSize());
+        for (int i = 0; i < progress.getWindowSize(); i++) {
+            int processId = progress.windowProcessId(i);
+            window.add(new GanttChart(progress.windowStartTime(i), progress.windowEndTime(i),
+                    processId == ScheduleSink.IDLE ? null : (long) processId));
+        }
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("simulatedTime", progress.getSimulatedTime());
+        event.put("completedTasks", progress.getCompletedTasks());
+        event.put("totalTasks", progress.getTotalTasks());
+        event.put("fractionComplete", progress.getFractionComplete());
+        event.put("segmentsEmitted", progress.getSegmentsEmitted());
+        event.put("averageTAT", progress.getAverageTurnaroundTime());
+        event.put("averageWT", progress.getAverageWaitingTime());
+        event.put("finished", progress.isFinished());
+        event.put("ganttWindow", window);
+        event.put("omittedSegments", progress.getOmittedSegments());
+        return event;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+}
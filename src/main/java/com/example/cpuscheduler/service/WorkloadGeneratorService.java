@@ -0,0 +1,111 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.ArrayWorkload;
+import com.example.cpuscheduler.engine.WorkloadGenerator;
+import com.example.cpuscheduler.engine.WorkloadSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reproducible synthetic workloads, either as engine input, a mapped workload
+ * file, a CSV stream, or the string form accepted by the schedule endpoint.
+ */
+@Service
+public class WorkloadGeneratorService {
+
+    static final String CSV_HEADER = "processId,arrivalTime,burstTime,priority\n";
+
+    private final int maxTasks;
+    private final int maxInlineTasks;
+
+    public WorkloadGeneratorService(@Value("${scheduler.workload.max-tasks:50000000}") int maxTasks,
+                                    @Value("${scheduler.workload.max-inline-tasks:1000000}") int maxInlineTasks) {
+        this.maxTasks = maxTasks;
+        this.maxInlineTasks = maxInlineTasks;
+    }
+
+    public ArrayWorkload generate(WorkloadSpec spec) {
+        checkSize(spec, maxTasks);
+        return WorkloadGenerator.generate(spec);
+    }
+
+    public void generateFile(WorkloadSpec spec, Path workloadFile) throws IOException {
+        checkSize(spec, maxTasks);
+        WorkloadGenerator.generate(spec, workloadFile);
+    }
+
+    // Rows are written as they are generated, so memory use does not grow with taskCount
+    public void writeCsv(WorkloadSpec spec, OutputStream out) throws IOException {
+        checkSize(spec, maxTasks);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.US_ASCII), 1 << 16);
+        writer.write(CSV_HEADER);
+        try {
+            WorkloadGenerator.generate(spec, (processId, arrivalTime, burstTime, priority) -> {
+                try {
+                    writer.write(Integer.toString(processId));
+                    writer.write(',');
+                    writer.write(Long.toString(arrivalTime));
+                    writer.write(',');
+                    writer.write(Long.toString(burstTime));
+                    writer.write(',');
+                    writer.write(Integer.toString(priority));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    // Same shape as the schedule request body, so the output can be posted as-is
+    public Map<String, Object> toScheduleRequest(WorkloadSpec spec) {
+        checkSize(spec, maxInlineTasks);
+        StringBuilder arrivalTimes = new StringBuilder();
+        StringBuilder burstTimes = new StringBuilder();
+        StringBuilder priorities = new StringBuilder();
+        WorkloadGenerator.generate(spec, (processId, arrivalTime, burstTime, priority) -> {
+            if (processId > 1) {
+                arrivalTimes.append(' ');
+                burstTimes.append(' ');
+                priorities.append(' ');
+            }
+            arrivalTimes.append(arrivalTime);
+            burstTimes.append(burstTime);
+            priorities.append(priority);
+        });
+
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("arrivalTimes", arrivalTimes.toString());
+        request.put("burstTimes", burstTimes.toString());
+        request.put("priorities", priorities.toString());
+        request.put("seed", spec.getSeed());
+        request.put("taskCount", spec.getTaskCount());
+        return request;
+    }
+
+    // Reject a bad spec up front, before a streamed response has been committed
+    public void validate(WorkloadSpec spec) {
+        checkSize(spec, maxTasks);
+    }
+
+    private void checkSize(WorkloadSpec spec, int limit) {
+        spec.validate();
+        if (spec.getTaskCount() > limit) {
+            throw new IllegalArgumentException("taskCount " + spec.getTaskCount() + " exceeds the limit of " + limit);
+        }
+    }
+}
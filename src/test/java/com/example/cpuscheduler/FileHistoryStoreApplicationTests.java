@@ -0,0 +1,45 @@
+package com.example.cpuscheduler;
+
+import com.example.cpuscheduler.repository.LogFileHistoryStore;
+import com.example.cpuscheduler.repository.SimulationHistoryStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The datasource points nowhere, so the context only starts if nothing tries to connect
+@SpringBootTest(properties = {
+        "scheduler.history.store=file",
+        "spring.datasource.url=jdbc:postgresql://localhost:1/unreachable"
+})
+class FileHistoryStoreApplicationTests {
+
+    @TempDir
+    static Path historyDir;
+
+    @DynamicPropertySource
+    static void historyDir(DynamicPropertyRegistry registry) {
+        registry.add("scheduler.history.file.dir", historyDir::toString);
+    }
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private SimulationHistoryStore store;
+
+    @Test
+    void testContext_StartsWithoutDatasource() {
+        // Then
+        assertInstanceOf(LogFileHistoryStore.class, store);
+        assertEquals(0, context.getBeanNamesForType(DataSource.class).length);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.cpuscheduler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compression happens in Tomcat, so this needs a real server; the file store keeps it off the database
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "scheduler.history.store=file",
+        "spring.datasource.url=jdbc:postgresql://localhost:1/unreachable",
+        "server.compression.min-response-size=1B"
+})
+class HistoryCompressionApplicationTests {
+
+    @TempDir
+    static Path historyDir;
+
+    @DynamicPropertySource
+    static void historyDir(DynamicPropertyRegistry registry) {
+        registry.add("scheduler.history.file.dir", historyDir::toString);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void testHistoryList_GzipEncodedWithWeakETag() throws Exception {
+        // Given
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/simulation-history?sessionId=gzip-session"))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .build();
+
+        // When
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+        assertTrue(etag.startsWith("W/\""), etag);
+
+        // When: the client revalidates with the tag it was given
+        HttpResponse<byte[]> revalidated = client.send(HttpRequest.newBuilder(request.uri())
+                        .header("Accept", "application/json")
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", etag)
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        // Then
+        assertEquals(304, revalidated.statusCode());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.cpuscheduler.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseFormatTest {
+
+    @Test
+    void testFromAccept_BinaryFormatsMustBeNamed() {
+        // When & Then
+        assertEquals(ResponseFormat.JSON, ResponseFormat.fromAccept(null));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.fromAccept("*/*"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.fromAccept("application/json, text/plain, */*"));
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.fromAccept("application/cbor"));
+        assertEquals(ResponseFormat.PACKED,
+                ResponseFormat.fromAccept("Application/X-Schedule-Packed;q=0.9, application/json;q=0.5"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.fromAccept("application/json, application/cbor"));
+    }
+
+    @Test
+    void testFromAccept_OnlyOffersSupportedFormats() {
+        // Given
+        Set<ResponseFormat> supported = EnumSet.of(ResponseFormat.JSON, ResponseFormat.CBOR);
+
+        // When & Then
+        assertEquals(Optional.of(ResponseFormat.JSON), ResponseFormat.fromAccept(null, supported));
+        assertEquals(Optional.of(ResponseFormat.JSON),
+                ResponseFormat.fromAccept("application/x-schedule-packed, */*;q=0.1", supported));
+        assertEquals(Optional.of(ResponseFormat.CBOR),
+                ResponseFormat.fromAccept("application/x-schedule-packed, application/cbor", supported));
+        assertEquals(Optional.empty(), ResponseFormat.fromAccept("application/x-schedule-packed", supported));
+        assertEquals(Optional.empty(), ResponseFormat.fromAccept("text/html", supported));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.cpuscheduler.controller;
+
+import com.example.cpuscheduler.model.SimulationHistory;
+import com.example.cpuscheduler.repository.SimulationHistoryRepository;
+import com.example.cpuscheduler.service.HistorySettings;
+import com.example.cpuscheduler.service.SchedulingMetrics;
+import com.example.cpuscheduler.service.SimulationHistoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SimulationHistoryControllerTest {
+
+    @Test
+    void testMatchesETag_WeakComparisonAndLists() {
+        // Given
+        String etag = "W/\"all:json-3-42-1700000000000\"";
+
+        // When & Then
+        assertTrue(SimulationHistoryController.matchesETag(etag, etag));
+        assertTrue(SimulationHistoryController.matchesETag("\"all:json-3-42-1700000000000\"", etag));
+        assertTrue(SimulationHistoryController.matchesETag("W/\"other\", " + etag, etag));
+        assertTrue(SimulationHistoryController.matchesETag("*", etag));
+        assertFalse(SimulationHistoryController.matchesETag(null, etag));
+        assertFalse(SimulationHistoryController.matchesETag("\"all:json-3-41-1700000000000\"", etag));
+    }
+
+    @Test
+    void testListEndpoints_RejectPackedBeforeTagging() {
+        // Given: any tagging or loading would fail the test
+        SimulationHistoryService service =
+                new SimulationHistoryService(mock(SimulationHistoryRepository.class), new ObjectMapper(),
+                    new SchedulingMetrics(new SimpleMeterRegistry()), HistorySettings.defaults()) {
+                    @Override
+                    public String historyETag(String sessionId, String view) {
+                        throw new AssertionError("tagged a response that cannot be produced");
+                    }
+
+                    @Override
+                    public List<SimulationHistory> getAllSimulationHistory(String sessionId) {
+                        throw new AssertionError("loaded a response that cannot be produced");
+                    }
+                };
+        SimulationHistoryController controller = new SimulationHistoryController(service);
+
+        // When
+        ResponseEntity<?> response = controller.getAllSimulationHistory("s1", null, "application/x-schedule-packed");
+
+        // Then
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.cpuscheduler.engine;
+
+import com.example.cpuscheduler.model.CpuTask;
+import com.example.cpuscheduler.service.SchedulingAlgorithmService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComputeBudgetTest {
+
+    private ArrayWorkload allAtZero(int taskCount, long burst) {
+        long[] arrivals = new long[taskCount];
+        long[] bursts = new long[taskCount];
+        Arrays.fill(bursts, burst);
+        return ArrayWorkload.sortedByArrival(arrivals, bursts, null);
+    }
+
+    @Test
+    void testSegmentLimit_StopsBeforeSinkExceedsIt() {
+        // Given - RR with quantum 1 emits one segment per time unit
+        ArrayWorkload workload = allAtZero(100, 1000);
+        ComputeBudget budget = ComputeBudget.of(1000, Long.MAX_VALUE, 500, null);
+        AtomicLong segments = new AtomicLong();
+
+        // When
+        SimulationAbortedException exception = assertThrows(SimulationAbortedException.class,
+                () -> new ScheduleEngine(workload, new ScheduleSink() {
+                    @Override
+                    public void segment(long startTime, long endTime, int task) {
+                        segments.incrementAndGet();
+                    }
+                }, budget).run(SchedulingAlgorithm.RR, 1));
+
+        // Then
+        assertEquals(SimulationAbortedException.Reason.SEGMENT_LIMIT, exception.getReason());
+        assertEquals(500, exception.getLimit());
+        assertEquals(500, segments.get());
+        assertEquals(500, exception.getSimulatedTime());
+    }
+
+    @Test
+    void testEventLimit_CountsSegmentsAndCompletions() {
+        // Given - FCFS produces one segment and one completion per task
+        ArrayWorkload workload = allAtZero(10, 3);
+
+        // When & Then
+        assertEquals(10, new ScheduleEngine(workload, ScheduleSink.NONE, ComputeBudget.of(10, 20, 100, null))
+                .run(SchedulingAlgorithm.FCFS, 0).getTaskCount());
+        SimulationAbortedException exception = assertThrows(SimulationAbortedException.class,
+                () -> new ScheduleEngine(workload, ScheduleSink.NONE, ComputeBudget.of(10, 19, 100, null))
+                        .run(SchedulingAlgorithm.FCFS, 0));
+        assertEquals(SimulationAbortedException.Reason.EVENT_LIMIT, exception.getReason());
+        assertEquals(20, exception.getEventsProcessed());
+    }
+
+    @Test
+    void testTaskLimit_RejectedBeforeSimulating() {
+        // Given
+        List<CpuTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CpuTask task = new CpuTask(i, 2);
+            task.setProcessId(i + 1);
+            tasks.add(task);
+        }
+
+        // When & Then
+        SimulationAbortedException exception = assertThrows(SimulationAbortedException.class,
+                () -> new SchedulingAlgorithmService().schedule(SchedulingAlgorithm.SJF, tasks, 0,
+                        ComputeBudget.of(4, 100, 100, null)));
+        assertEquals(SimulationAbortedException.Reason.TASK_LIMIT, exception.getReason());
+        assertEquals("Workload exceeds the task limit of 4", exception.getMessage());
+    }
+
+    @Test
+    void testDeadline_AbortsLongSimulation() {
+        // Given - about 100M slices, far longer than the deadline
+        ArrayWorkload workload = allAtZero(100_000, 1000);
+        ComputeBudget budget = ComputeBudget.of(Integer.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE,
+                Duration.ofMillis(20));
+
+        // When
+        long start = System.nanoTime();
+        SimulationAbortedException exception = assertThrows(SimulationAbortedException.class,
+                () -> new ScheduleEngine(workload, ScheduleSink.NONE, budget).run(SchedulingAlgorithm.RR, 1));
+
+        // Then
+        assertEquals(SimulationAbortedException.Reason.DEADLINE, exception.getReason());
+        assertTrue(exception.getEventsProcessed() > 0);
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    void testCancel_StopsRunningSimulationFromAnotherThread() throws InterruptedException {
+        // Given
+        ArrayWorkload workload = allAtZero(100_000, 1000);
+        ComputeBudget budget = ComputeBudget.unlimited();
+        Thread canceller = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ignored) {
+                // cancel right away
+            }
+            budget.cancel();
+        });
+
+        // When
+        canceller.start();
+        SimulationAbortedException exception = assertThrows(SimulationAbortedException.class,
+                () -> new ScheduleEngine(workload, ScheduleSink.NONE, budget).run(SchedulingAlgorithm.RR, 1));
+        canceller.join();
+
+        // Then
+        assertEquals(SimulationAbortedException.Reason.CANCELLED, exception.getReason());
+        assertTrue(budget.isCancelled());
+    }
+
+    @Test
+    void testWithinBudget_ResultsUnchanged() {
+        // Given
+        List<CpuTask> tasks = new ArrayList<>();
+        long[][] input = {{0, 5}, {1, 3}, {2, 8}};
+        for (int i = 0; i < input.length; i++) {
+            CpuTask task = new CpuTask(input[i][0], input[i][1]);
+            task.setProcessId(i + 1);
+            tasks.add(task);
+        }
+        SchedulingAlgorithmService service = new SchedulingAlgorithmService();
+
+        // When
+        Map<String, Object> limited = service.schedule(SchedulingAlgorithm.RR, tasks, 2,
+                ComputeBudget.of(3, 1000, 1000, Duration.ofSeconds(10)));
+        Map<String, Object> unlimited = service.scheduleRR(tasks, 2);
+
+        // Then
+        assertEquals(unlimited.get("averageTAT"), limited.get("averageTAT"));
+        assertEquals(unlimited.get("averageWT"), limited.get("averageWT"));
+        assertEquals(((List<?>) unlimited.get("ganttChart")).size(), ((List<?>) limited.get("ganttChart")).size());
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.cpuscheduler.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GanttDownsamplerTest {
+
+    private static List<long[]> schedule(ArrayWorkload workload, SchedulingAlgorithm algorithm, int quantum) {
+        List<long[]> segments = new ArrayList<>();
+        new ScheduleEngine(workload, new ScheduleSink() {
+            @Override
+            public void segment(long startTime, long endTime, int task) {
+                segments.add(new long[]{startTime, endTime, task == IDLE ? IDLE : workload.processId(task)});
+            }
+        }).run(algorithm, quantum);
+        return segments;
+    }
+
+    // Exact time per process (IDLE included) in [from, to)
+    private static Map<Long, Long> occupancy(List<long[]> segments, long from, long to) {
+        Map<Long, Long> times = new HashMap<>();
+        for (long[] segment : segments) {
+            long overlap = Math.min(segment[1], to) - Math.max(segment[0], from);
+            if (overlap > 0) {
+                times.merge(segment[2], overlap, Long::sum);
+            }
+        }
+        return times;
+    }
+
+    @Test
+    void testBins_ExactWhenFewProcessesPerBin() {
+        // Given - 12 processes, so no bin holds more than the 4 * 4 tracked counters
+        SplittableRandom random = new SplittableRandom(41);
+        long[] arrivals = new long[12];
+        long[] bursts = new long[12];
+        for (int i = 0; i < arrivals.length; i++) {
+            arrivals[i] = random.nextInt(5_000);
+            bursts[i] = 1 + random.nextInt(900);
+        }
+        List<long[]> segments = schedule(ArrayWorkload.sortedByArrival(arrivals, bursts, null),
+                SchedulingAlgorithm.RR, 37);
+        GanttDownsampler bins = new GanttDownsampler(50, 4, 0);
+
+        // When
+        segments.forEach(segment -> bins.add(segment[0], segment[1], (int) segment[2]));
+
+        // Then
+        assertTrue(bins.getBinCount() <= 50);
+        assertEquals(segments.size(), bins.getSegmentCount());
+        assertEquals(segments.get(segments.size() - 1)[1], bins.binEndTime(bins.getBinCount() - 1));
+        int[] processIds = new int[4];
+        long[] times = new long[4];
+        for (int bin = 0; bin < bins.getBinCount(); bin++) {
+            Map<Long, Long> expected = occupancy(segments, bins.binStartTime(bin), bins.binEndTime(bin));
+            assertEquals(expected.getOrDefault((long) ScheduleSink.IDLE, 0L).longValue(), bins.idleTime(bin));
+            assertEquals(bins.binEndTime(bin) - bins.binStartTime(bin), bins.idleTime(bin) + bins.busyTime(bin));
+            int listed = bins.listProcesses(bin, processIds, times);
+            for (int i = 0; i < listed; i++) {
+                assertEquals(expected.get((long) processIds[i]).longValue(), times[i]);
+                assertTrue(i == 0 || times[i] <= times[i - 1]);
+            }
+        }
+    }
+
+    @Test
+    void testBins_LowerBoundsWhenProcessesOverflowCounters() {
+        // Given - one long process followed by hundreds of short ones in the same bins
+        List<long[]> segments = new ArrayList<>();
+        segments.add(new long[]{0, 5_000, 1});
+        for (int i = 0; i < 1_000; i++) {
+            segments.add(new long[]{5_000 + i * 5L, 5_000 + (i + 1) * 5L, 2 + i});
+        }
+        GanttDownsampler bins = new GanttDownsampler(4, 2, 0);
+
+        // When
+        segments.forEach(segment -> bins.add(segment[0], segment[1], (int) segment[2]));
+
+        // Then
+        int[] processIds = new int[2];
+        long[] times = new long[2];
+        for (int bin = 0; bin < bins.getBinCount(); bin++) {
+            Map<Long, Long> expected = occupancy(segments, bins.binStartTime(bin), bins.binEndTime(bin));
+            assertEquals(expected.values().stream().mapToLong(Long::longValue).sum(), bins.busyTime(bin));
+            int listed = bins.listProcesses(bin, processIds, times);
+            for (int i = 0; i < listed; i++) {
+                assertTrue(times[i] <= expected.getOrDefault((long) processIds[i], 0L));
+            }
+        }
+        assertEquals(1, bins.listProcesses(0, processIds, times) > 0 ? processIds[0] : -2);
+    }
+
+    @Test
+    void testBins_WindowClipsBeforeOrigin() {
+        // Given
+        GanttDownsampler bins = new GanttDownsampler(10, 2, 100);
+
+        // When
+        bins.add(90, 110, 1);
+        bins.add(110, 120, ScheduleSink.IDLE);
+        bins.add(120, 120, 2);
+
+        // Then
+        assertEquals(100, bins.binStartTime(0));
+        assertEquals(120, bins.binEndTime(bins.getBinCount() - 1));
+        long busy = 0;
+        long idle = 0;
+        for (int bin = 0; bin < bins.getBinCount(); bin++) {
+            busy += bins.busyTime(bin);
+            idle += bins.idleTime(bin);
+        }
+        assertEquals(10, busy);
+        assertEquals(10, idle);
+        assertThrows(IllegalArgumentException.class, () -> bins.add(115, 130, 3));
+        assertThrows(IllegalArgumentException.class, () -> new GanttDownsampler(1, 2, 0));
+    }
+}
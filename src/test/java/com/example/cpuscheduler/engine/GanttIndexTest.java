@@ -0,0 +1,84 @@
+package com.example.cpuscheduler.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GanttIndexTest {
+
+    @Test
+    void testOverlapping_MatchesLinearScan() {
+        // Given - a schedule with idle gaps, zero-length segments and repeated processes
+        SplittableRandom random = new SplittableRandom(40);
+        long[] arrivals = new long[300];
+        long[] bursts = new long[300];
+        for (int i = 0; i < arrivals.length; i++) {
+            arrivals[i] = random.nextInt(2_000);
+            bursts[i] = random.nextInt(8);
+        }
+        ArrayWorkload workload = ArrayWorkload.sortedByArrival(arrivals, bursts, null);
+        GanttIndex.Builder builder = new GanttIndex.Builder(0);
+        List<long[]> segments = new ArrayList<>();
+        new ScheduleEngine(workload, new ScheduleSink() {
+            @Override
+            public void segment(long startTime, long endTime, int task) {
+                int processId = task == IDLE ? IDLE : workload.processId(task);
+                builder.add(startTime, endTime, processId);
+                segments.add(new long[]{startTime, endTime, processId});
+            }
+        }).run(SchedulingAlgorithm.RR, 3);
+        GanttIndex index = builder.build();
+
+        for (int query = 0; query < 500; query++) {
+            long from = random.nextInt(2_200) - 50;
+            long to = from + random.nextInt(300);
+            int processId = random.nextInt(4) == 0 ? ScheduleSink.IDLE : 1 + random.nextInt(300);
+
+            // When
+            int[] all = index.overlapping(from, to, Integer.MAX_VALUE);
+            int[] ofProcess = index.overlapping(from, to, processId, Integer.MAX_VALUE);
+
+            // Then
+            List<Integer> expectedAll = new ArrayList<>();
+            List<Integer> expectedOfProcess = new ArrayList<>();
+            for (int i = 0; i < segments.size(); i++) {
+                long[] segment = segments.get(i);
+                if (segment[0] <= to && segment[1] >= from) {
+                    expectedAll.add(i);
+                    if (segment[2] == processId) {
+                        expectedOfProcess.add(i);
+                    }
+                }
+            }
+            assertEquals(expectedAll, Arrays.stream(all).boxed().toList());
+            assertEquals(expectedOfProcess, Arrays.stream(ofProcess).boxed().toList());
+            assertEquals(expectedAll.size(), index.countOverlapping(from, to));
+            assertEquals(expectedOfProcess.size(), index.countOverlapping(from, to, processId));
+        }
+    }
+
+    @Test
+    void testOverlapping_LimitAndUnknownProcess() {
+        // Given
+        GanttIndex index = new GanttIndex.Builder(2)
+                .add(0, 2, ScheduleSink.IDLE)
+                .add(2, 5, 1)
+                .add(5, 9, 2)
+                .add(9, 10, 1)
+                .build();
+
+        // When & Then
+        assertArrayEquals(new int[]{1, 2}, index.overlapping(3, 100, 2));
+        assertEquals(3, index.countOverlapping(3, 100));
+        assertArrayEquals(new int[]{1, 3}, index.overlapping(0, 100, 1, 10));
+        assertArrayEquals(new int[0], index.overlapping(0, 100, 7, 10));
+        assertEquals(0, index.countOverlapping(0, 100, 7));
+        assertArrayEquals(new int[0], index.overlapping(11, 20, 10));
+        assertThrows(IllegalArgumentException.class, () -> new GanttIndex.Builder(1).add(5, 6, 1).add(4, 7, 2));
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.cpuscheduler.engine;
+
+import com.example.cpuscheduler.service.SchedulingAlgorithmService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedWorkloadTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final SchedulingAlgorithmService schedulingAlgorithmService = new SchedulingAlgorithmService();
+
+    private ArrayWorkload sampleWorkload() {
+        // Submission order differs from arrival order, with a gap for idle time
+        return ArrayWorkload.sortedByArrival(
+                new long[]{4, 0, 1, 12, 2, 1},
+                new long[]{3, 5, 2, 4, 6, 1},
+                new int[]{2, 3, 1, 1, 4, 5});
+    }
+
+    @Test
+    void testSortedByArrival_KeepsSubmissionOrderForTies() {
+        // When
+        ArrayWorkload workload = sampleWorkload();
+
+        // Then
+        assertEquals(6, workload.size());
+        assertEquals(2, workload.processId(0));
+        assertEquals(3, workload.processId(1));
+        assertEquals(6, workload.processId(2));
+        assertEquals(5, workload.processId(3));
+        assertEquals(1, workload.processId(4));
+        assertEquals(4, workload.processId(5));
+    }
+
+    @Test
+    void testWriteAndOpen_RoundTripsAllColumns() throws IOException {
+        // Given
+        ArrayWorkload source = sampleWorkload();
+        Path file = tempDir.resolve("workload.bin");
+
+        // When
+        MappedWorkload.write(file, source);
+
+        // Then
+        try (MappedWorkload mapped = MappedWorkload.open(file)) {
+            assertEquals(source.size(), mapped.size());
+            for (int i = 0; i < source.size(); i++) {
+                assertEquals(source.processId(i), mapped.processId(i));
+                assertEquals(source.arrivalTime(i), mapped.arrivalTime(i));
+                assertEquals(source.burstTime(i), mapped.burstTime(i));
+                assertEquals(source.priority(i), mapped.priority(i));
+            }
+        }
+    }
+
+    @Test
+    void testWriter_RejectsOutOfOrderArrivals() throws IOException {
+        // Given
+        MappedWorkload.Writer writer = MappedWorkload.create(tempDir.resolve("unsorted.bin"), 2);
+        writer.append(1, 5, 1, 0);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> writer.append(2, 4, 1, 0));
+        writer.append(2, 5, 1, 0);
+        writer.close();
+    }
+
+    @Test
+    void testOpen_RejectsForeignFile() throws IOException {
+        // Given
+        Path file = tempDir.resolve("garbage.bin");
+        java.nio.file.Files.write(file, new byte[64]);
+
+        // When & Then
+        assertThrows(IOException.class, () -> MappedWorkload.open(file));
+    }
+
+    @Test
+    void testScheduleFile_MatchesInMemoryRunForEveryAlgorithm() throws IOException {
+        // Given
+        ArrayWorkload source = sampleWorkload();
+        Path workloadFile = tempDir.resolve("workload.bin");
+        MappedWorkload.write(workloadFile, source);
+
+        for (SchedulingAlgorithm algorithm : SchedulingAlgorithm.values()) {
+            Path resultFile = tempDir.resolve(algorithm.path() + ".out");
+            List<long[]> expected = new ArrayList<>();
+            ScheduleSummary inMemory = schedulingAlgorithmService.schedule(algorithm, source, 2, new ScheduleSink() {
+                @Override
+                public void completed(int task, long startTime, long completionTime) {
+                    expected.add(new long[]{task, startTime, completionTime});
+                }
+            });
+
+            // When
+            ScheduleSummary mapped = schedulingAlgorithmService.scheduleFile(algorithm, workloadFile, 2, resultFile);
+
+            // Then
+            assertEquals(inMemory.getTotalTurnaroundTime(), mapped.getTotalTurnaroundTime());
+            assertEquals(inMemory.getTotalWaitingTime(), mapped.getTotalWaitingTime());
+            assertEquals(inMemory.getSegmentCount(), mapped.getSegmentCount());
+            try (MappedResultFile results = MappedResultFile.open(resultFile)) {
+                assertEquals(source.size(), results.size());
+                for (long[] row : expected) {
+                    int task = (int) row[0];
+                    assertEquals(source.processId(task), results.processId(task));
+                    assertEquals(row[1], results.startTime(task));
+                    assertEquals(row[2], results.completionTime(task));
+                    assertEquals(row[2] - source.arrivalTime(task), results.turnaroundTime(task));
+                    assertEquals(results.turnaroundTime(task) - source.burstTime(task), results.waitingTime(task));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.cpuscheduler.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OnlineSchedulerTest {
+
+    // Records sink output as comparable strings
+    private static final class RecordingSink implements ScheduleSink {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void segment(long startTime, long endTime, int task) {
+            events.add("S " + startTime + "-" + endTime + " " + task);
+        }
+
+        @Override
+        public void completed(int task, long startTime, long completionTime) {
+            events.add("C " + task + " " + startTime + "-" + completionTime);
+        }
+    }
+
+    private static long[][] randomWorkload(SplittableRandom random, int taskCount) {
+        long[] arrivals = new long[taskCount];
+        long[] bursts = new long[taskCount];
+        long[] priorities = new long[taskCount];
+        long time = 0;
+        for (int i = 0; i < taskCount; i++) {
+            // Frequent simultaneous arrivals and occasional gaps exercise ties and idle periods
+            time += random.nextInt(4) == 0 ? 0 : random.nextInt(12);
+            arrivals[i] = time;
+            bursts[i] = random.nextInt(10);
+            priorities[i] = random.nextInt(5);
+        }
+        return new long[][]{arrivals, bursts, priorities};
+    }
+
+    private static List<String> batch(long[][] columns, SchedulingAlgorithm algorithm, int quantum) {
+        int[] priorities = new int[columns[2].length];
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] = (int) columns[2][i];
+        }
+        RecordingSink sink = new RecordingSink();
+        new ScheduleEngine(ArrayWorkload.sortedByArrival(columns[0], columns[1], priorities), sink)
+                .run(algorithm, quantum);
+        return sink.events;
+    }
+
+    @Test
+    void testInterleavedAppendsAndAdvances_MatchBatchRun() {
+        SplittableRandom random = new SplittableRandom(38);
+        for (int round = 0; round < 50; round++) {
+            long[][] columns = randomWorkload(random, 1 + random.nextInt(60));
+            for (SchedulingAlgorithm algorithm : SchedulingAlgorithm.values()) {
+                int quantum = 1 + random.nextInt(4);
+                // Given
+                OnlineScheduler scheduler = new OnlineScheduler(algorithm, quantum);
+                RecordingSink sink = new RecordingSink();
+
+                // When - each task is appended no earlier than the clock allows, with random advances between
+                for (int i = 0; i < columns[0].length; i++) {
+                    long arrival = columns[0][i];
+                    if (random.nextBoolean() && arrival > scheduler.now()) {
+                        scheduler.advanceTo(scheduler.now() + random.nextLong(arrival - scheduler.now() + 1),
+                                sink, ComputeBudget.unlimited());
+                    }
+                    scheduler.addTask(arrival, columns[1][i], (int) columns[2][i]);
+                }
+                scheduler.drain(sink, ComputeBudget.unlimited());
+
+                // Then
+                assertEquals(batch(columns, algorithm, quantum), sink.events, algorithm + " round " + round);
+                assertEquals(columns[0].length, scheduler.getCompletedTasks());
+            }
+        }
+    }
+
+    @Test
+    void testAdvance_SliceInProgressAtClock() {
+        // Given
+        OnlineScheduler scheduler = new OnlineScheduler(SchedulingAlgorithm.FCFS, 0);
+        RecordingSink sink = new RecordingSink();
+        scheduler.addTask(2, 10, 0);
+
+        // When
+        scheduler.advanceTo(7, sink, ComputeBudget.unlimited());
+
+        // Then - only the leading idle period is final
+        assertEquals(List.of("S 0-2 -1"), sink.events);
+        assertEquals(0, scheduler.getRunningTask());
+        assertEquals(5, scheduler.remainingTime(0));
+        assertEquals(0, scheduler.getCompletedTasks());
+
+        scheduler.advanceTo(20, sink, ComputeBudget.unlimited());
+        assertEquals(List.of("S 0-2 -1", "S 2-12 0", "C 0 2-12"), sink.events);
+        assertEquals(ScheduleSink.IDLE, scheduler.getRunningTask());
+        assertEquals(20, scheduler.now());
+    }
+
+    @Test
+    void testAppend_ArrivalAtClockStillCompetes() {
+        // Given - the first task finishes exactly at the clock
+        OnlineScheduler scheduler = new OnlineScheduler(SchedulingAlgorithm.SJF, 0);
+        RecordingSink sink = new RecordingSink();
+        scheduler.addTask(0, 4, 0);
+        scheduler.advanceTo(4, sink, ComputeBudget.unlimited());
+
+        // When - two tasks arrive at the clock, the longer one first
+        scheduler.addTask(4, 10, 0);
+        scheduler.addTask(4, 1, 0);
+        scheduler.drain(sink, ComputeBudget.unlimited());
+
+        // Then
+        assertEquals(List.of("S 0-4 0", "C 0 0-4", "S 4-5 2", "C 2 4-5", "S 5-15 1", "C 1 5-15"), sink.events);
+        assertEquals(15, scheduler.now());
+    }
+
+    @Test
+    void testAppend_RejectsArrivalBeforeClock() {
+        // Given
+        OnlineScheduler scheduler = new OnlineScheduler(SchedulingAlgorithm.RR, 2);
+        scheduler.advanceTo(10, ScheduleSink.NONE, ComputeBudget.unlimited());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> scheduler.addTask(9, 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> scheduler.advanceTo(5, ScheduleSink.NONE, ComputeBudget.unlimited()));
+        assertThrows(IllegalArgumentException.class, () -> new OnlineScheduler(SchedulingAlgorithm.RR, 0));
+        assertEquals(0, scheduler.addTask(10, 1, 0));
+    }
+
+    @Test
+    void testAdvance_AbortedStepLeavesSessionResumable() {
+        // Given
+        long[][] columns = {{0, 0, 3}, {40, 30, 20}, {0, 0, 0}};
+        OnlineScheduler scheduler = new OnlineScheduler(SchedulingAlgorithm.RR, 1);
+        RecordingSink sink = new RecordingSink();
+        for (int i = 0; i < 3; i++) {
+            scheduler.addTask(columns[0][i], columns[1][i], 0);
+        }
+
+        // When
+        assertThrows(SimulationAbortedException.class,
+                () -> scheduler.advanceTo(1_000, sink, ComputeBudget.of(10, 1_000, 25, null)));
+        scheduler.drain(sink, ComputeBudget.unlimited());
+
+        // Then
+        assertEquals(batch(columns, SchedulingAlgorithm.RR, 1), sink.events);
+    }
+}
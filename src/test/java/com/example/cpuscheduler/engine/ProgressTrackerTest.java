@@ -0,0 +1,75 @@
+package com.example.cpuscheduler.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressTrackerTest {
+
+    private ArrayWorkload allAtZero(int taskCount, long burst) {
+        long[] arrivals = new long[taskCount];
+        long[] bursts = new long[taskCount];
+        Arrays.fill(bursts, burst);
+        return ArrayWorkload.sortedByArrival(arrivals, bursts, null);
+    }
+
+    @Test
+    void testProgress_SnapshotsAdvanceAndAccountForEverySegment() {
+        // Given - no throttling, so every checkpoint publishes
+        ArrayWorkload workload = allAtZero(200, 100);
+        List<SimulationProgress> snapshots = new ArrayList<>();
+        ProgressTracker tracker = new ProgressTracker(64, Duration.ZERO, snapshots::add);
+
+        // When
+        ScheduleSummary summary = new ScheduleEngine(workload, ScheduleSink.NONE, ComputeBudget.unlimited(), tracker)
+                .run(SchedulingAlgorithm.RR, 1);
+
+        // Then
+        assertTrue(snapshots.size() > 1);
+        long reported = 0;
+        long previousTime = -1;
+        for (SimulationProgress progress : snapshots) {
+            assertTrue(progress.getSimulatedTime() >= previousTime);
+            assertTrue(progress.getWindowSize() <= 64);
+            previousTime = progress.getSimulatedTime();
+            reported += progress.getWindowSize() + progress.getOmittedSegments();
+        }
+        assertEquals(summary.getSegmentCount(), reported);
+
+        SimulationProgress last = snapshots.get(snapshots.size() - 1);
+        assertTrue(last.isFinished());
+        assertSame(last, tracker.getLatest());
+        assertEquals(200, last.getCompletedTasks());
+        assertEquals(1.0, last.getFractionComplete());
+        assertEquals(summary.getAverageTurnaroundTime(), last.getAverageTurnaroundTime());
+        assertEquals(summary.getAverageWaitingTime(), last.getAverageWaitingTime());
+    }
+
+    @Test
+    void testProgress_WindowKeepsSegmentsInOrderWithProcessIds() {
+        // Given
+        ArrayWorkload workload = ArrayWorkload.sortedByArrival(new long[]{2, 0}, new long[]{3, 1}, null);
+        List<SimulationProgress> snapshots = new ArrayList<>();
+
+        // When
+        new ScheduleEngine(workload, ScheduleSink.NONE, ComputeBudget.unlimited(),
+                new ProgressTracker(10, Duration.ofHours(1), snapshots::add)).run(SchedulingAlgorithm.FCFS, 0);
+
+        // Then - small runs publish once, when they finish
+        assertEquals(1, snapshots.size());
+        SimulationProgress progress = snapshots.get(0);
+        assertEquals(3, progress.getWindowSize());
+        assertEquals(2, progress.windowProcessId(0));
+        assertEquals(ScheduleSink.IDLE, progress.windowProcessId(1));
+        assertEquals(1, progress.windowStartTime(1));
+        assertEquals(2, progress.windowEndTime(1));
+        assertEquals(1, progress.windowProcessId(2));
+        assertEquals(5, progress.getSimulatedTime());
+        assertEquals(0, progress.getOmittedSegments());
+    }
+}
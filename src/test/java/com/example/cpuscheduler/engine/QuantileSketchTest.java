@@ -0,0 +1,54 @@
+package com.example.cpuscheduler.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    @Test
+    void testQuantile_WithinOnePercentOfExactRank() {
+        // Given - a heavy-tailed spread of times
+        SplittableRandom random = new SplittableRandom(42);
+        long[] values = new long[100_000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 20);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        // When & Then
+        for (double q : new double[]{0.0, 0.01, 0.5, 0.9, 0.99, 0.999, 1.0}) {
+            long exact = values[(int) Math.floor(q * (values.length - 1))];
+            long estimate = sketch.quantile(q);
+            assertTrue(Math.abs(estimate - exact) <= Math.max(1, exact * 0.01),
+                    "q=" + q + " " + estimate + " vs " + exact);
+        }
+        assertEquals(values.length, sketch.getCount());
+        assertEquals(values[0], sketch.getMin());
+        assertEquals(values[values.length - 1], sketch.getMax());
+        assertEquals(Arrays.stream(values).sum(), sketch.getSum());
+    }
+
+    @Test
+    void testQuantile_EmptyAndZeroValues() {
+        // Given
+        QuantileSketch sketch = new QuantileSketch();
+
+        // When & Then
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(0.0, sketch.getMean());
+        sketch.add(0);
+        sketch.add(-3);
+        sketch.add(10);
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(10, sketch.quantile(1.0));
+        assertEquals(0, sketch.getMin());
+        assertEquals(10.0 / 3, sketch.getMean());
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(1.5));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.cpuscheduler.engine;
+
+import com.example.cpuscheduler.model.CpuTask;
+import com.example.cpuscheduler.model.FcfsSjfTaskResponse;
+import com.example.cpuscheduler.model.GanttChart;
+import com.example.cpuscheduler.service.SchedulingAlgorithmService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleEngineTest {
+
+    // Microsecond-scale bursts: three of them already exceed Integer.MAX_VALUE
+    private static final long LONG_BURST = 1_500_000_000L;
+
+    private ArrayWorkload uniformWorkload(int taskCount, long interArrival, long burst) {
+        long[] arrivals = new long[taskCount];
+        long[] bursts = new long[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            arrivals[i] = i * interArrival;
+            bursts[i] = burst;
+        }
+        return ArrayWorkload.sortedByArrival(arrivals, bursts, null);
+    }
+
+    @Test
+    void testFcfs_ClockPassesIntegerRange() {
+        // Given
+        ArrayWorkload workload = uniformWorkload(3, 0, LONG_BURST);
+        List<Long> completions = new ArrayList<>();
+
+        // When
+        ScheduleSummary summary = new ScheduleEngine(workload, new ScheduleSink() {
+            @Override
+            public void completed(int task, long startTime, long completionTime) {
+                completions.add(completionTime);
+            }
+        }).run(SchedulingAlgorithm.FCFS, 0);
+
+        // Then
+        assertEquals(3 * LONG_BURST, summary.getMakespan());
+        assertEquals(List.of(LONG_BURST, 2 * LONG_BURST, 3 * LONG_BURST), completions);
+        assertEquals(6 * LONG_BURST, summary.getTotalTurnaroundTime());
+        assertEquals(3 * LONG_BURST, summary.getTotalWaitingTime());
+    }
+
+    @Test
+    void testAllAlgorithms_LongSyntheticTraceAgreeOnMakespan() {
+        // Given - 200k tasks of 20k time units: cumulative burst is 4e9, past 32-bit range
+        int taskCount = 200_000;
+        long burst = 20_000;
+        ArrayWorkload workload = uniformWorkload(taskCount, 1_000, burst);
+
+        for (SchedulingAlgorithm algorithm : SchedulingAlgorithm.values()) {
+            // When
+            ScheduleSummary summary = new ScheduleEngine(workload, ScheduleSink.NONE).run(algorithm, 7_000);
+
+            // Then - the CPU never idles, so every algorithm finishes at the total burst time
+            assertEquals(taskCount, summary.getTaskCount());
+            assertEquals(taskCount * burst, summary.getMakespan(), algorithm.name());
+            assertTrue(summary.getTotalWaitingTime() > Integer.MAX_VALUE, algorithm.name());
+        }
+    }
+
+    @Test
+    void testRoundRobin_SlicesPastIntegerRange() {
+        // Given
+        ArrayWorkload workload = uniformWorkload(2, 0, LONG_BURST);
+        List<long[]> segments = new ArrayList<>();
+
+        // When
+        ScheduleSummary summary = new ScheduleEngine(workload, new ScheduleSink() {
+            @Override
+            public void segment(long startTime, long endTime, int task) {
+                segments.add(new long[]{startTime, endTime, task});
+            }
+        }).run(SchedulingAlgorithm.RR, 1_000_000_000);
+
+        // Then - slices alternate 1e9, 1e9, 5e8, 5e8 and end at 3e9
+        assertEquals(4, segments.size());
+        assertArrayEquals(new long[]{2_000_000_000L, 2_500_000_000L, 0}, segments.get(2));
+        assertArrayEquals(new long[]{2_500_000_000L, 3_000_000_000L, 1}, segments.get(3));
+        assertEquals(2 * LONG_BURST, summary.getMakespan());
+    }
+
+    @Test
+    void testClockOverflow_IsDetected() {
+        // Given - the clock jumps straight to the arrival, and the first slice would push it past Long.MAX_VALUE
+        ArrayWorkload workload = ArrayWorkload.sortedByArrival(
+                new long[]{Long.MAX_VALUE - 5},
+                new long[]{10},
+                null);
+
+        for (SchedulingAlgorithm algorithm : SchedulingAlgorithm.values()) {
+            // When & Then
+            ArithmeticException exception = assertThrows(ArithmeticException.class,
+                    () -> new ScheduleEngine(workload, ScheduleSink.NONE).run(algorithm, Integer.MAX_VALUE));
+            assertTrue(exception.getMessage().contains("overflow"));
+        }
+    }
+
+    @Test
+    void testTotalsOverflow_IsDetected() {
+        // Given - turnaround times each near Long.MAX_VALUE / 2 overflow the running total
+        long burst = Long.MAX_VALUE / 4;
+        ArrayWorkload workload = uniformWorkload(3, 0, burst);
+
+        // When & Then
+        assertThrows(ArithmeticException.class,
+                () -> new ScheduleEngine(workload, ScheduleSink.NONE).run(SchedulingAlgorithm.FCFS, 0));
+    }
+
+    @Test
+    void testServiceResponses_CarryLongTimes() {
+        // Given
+        List<CpuTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CpuTask task = new CpuTask(0, LONG_BURST);
+            task.setProcessId(i + 1);
+            tasks.add(task);
+        }
+
+        // When
+        Map<String, Object> result = new SchedulingAlgorithmService().scheduleFCFS(tasks);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        List<FcfsSjfTaskResponse> scheduledTasks = (List<FcfsSjfTaskResponse>) result.get("scheduledTasks");
+        assertEquals(3 * LONG_BURST, scheduledTasks.get(2).getCompletionTime());
+        assertEquals(2 * LONG_BURST, scheduledTasks.get(2).getWaitingTime());
+
+        @SuppressWarnings("unchecked")
+        List<GanttChart> ganttChart = (List<GanttChart>) result.get("ganttChart");
+        assertEquals(3 * LONG_BURST, ganttChart.get(2).getEndTime());
+        assertEquals(2.0 * LONG_BURST, (Double) result.get("averageTAT"));
+    }
+}
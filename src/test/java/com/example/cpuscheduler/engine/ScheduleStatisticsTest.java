@@ -0,0 +1,34 @@
+package com.example.cpuscheduler.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleStatisticsTest {
+
+    @Test
+    void testStatistics_RoundRobinWithIdleGap() {
+        // Given - P1(0, 3), P2(0, 2), P3(9, 1) with quantum 2: P1 0-2, P2 2-4, P1 4-5, idle 5-9, P3 9-10
+        ArrayWorkload workload = ArrayWorkload.sortedByArrival(new long[]{0, 0, 9}, new long[]{3, 2, 1}, null);
+        ScheduleStatistics statistics = new ScheduleStatistics(workload);
+
+        // When
+        ScheduleSummary summary = new ScheduleEngine(workload, statistics).run(SchedulingAlgorithm.RR, 2);
+
+        // Then
+        assertEquals(summary.getMakespan(), statistics.getMakespan());
+        assertEquals(10, statistics.getMakespan());
+        assertEquals(6, statistics.getBusyTime());
+        assertEquals(4, statistics.getIdleTime());
+        assertEquals(3, statistics.getContextSwitches());
+        assertEquals(0.6, statistics.getCpuUtilization(), 1e-9);
+        assertEquals(0.4, statistics.getIdleShare(), 1e-9);
+        assertEquals(0.3, statistics.getThroughput(), 1e-9);
+        // Turnaround 5, 4, 1; waiting 2, 2, 0; response 0, 2, 0
+        assertEquals(summary.getAverageTurnaroundTime(), statistics.getTurnaroundTimes().getMean(), 1e-9);
+        assertEquals(summary.getAverageWaitingTime(), statistics.getWaitingTimes().getMean(), 1e-9);
+        assertEquals(5, statistics.getTurnaroundTimes().getMax());
+        assertEquals(2, statistics.getResponseTimes().getMax());
+        assertEquals(0, statistics.getResponseTimes().quantile(0.5));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.cpuscheduler.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleTimelineTest {
+
+    private static ArrayWorkload randomWorkload(SplittableRandom random, int taskCount) {
+        long[] arrivals = new long[taskCount];
+        long[] bursts = new long[taskCount];
+        int[] priorities = new int[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            arrivals[i] = random.nextInt(taskCount * 4);
+            bursts[i] = random.nextInt(10);
+            priorities[i] = random.nextInt(5);
+        }
+        return ArrayWorkload.sortedByArrival(arrivals, bursts, priorities);
+    }
+
+    private static String describe(TimelineState state) {
+        StringBuilder text = new StringBuilder();
+        text.append(state.getTime()).append(" run=").append(state.getRunningProcessId())
+                .append('/').append(state.getRunningRemainingTime())
+                .append(" ready=").append(state.getReadyCount()).append(" [");
+        for (int i = 0; i < state.getListedReadyCount(); i++) {
+            text.append(state.readyProcessId(i)).append('/').append(state.readyRemainingTime(i)).append(' ');
+        }
+        return text.append("] arrived=").append(state.getArrivedTasks())
+                .append(" done=").append(state.getCompletedTasks()).toString();
+    }
+
+    @Test
+    void testStateAt_CheckpointsGiveSameAnswersAsFullReplay() {
+        SplittableRandom random = new SplittableRandom(39);
+        for (int round = 0; round < 20; round++) {
+            ArrayWorkload workload = randomWorkload(random, 1 + random.nextInt(80));
+            for (SchedulingAlgorithm algorithm : SchedulingAlgorithm.values()) {
+                // Given - one checkpoint only, dense checkpoints, and dense checkpoints forced to thin
+                ScheduleTimeline fullReplay = ScheduleTimeline.record(workload, algorithm, 2, Long.MAX_VALUE,
+                        Long.MAX_VALUE, ComputeBudget.unlimited());
+                ScheduleTimeline dense = ScheduleTimeline.record(workload, algorithm, 2, 3, Long.MAX_VALUE,
+                        ComputeBudget.unlimited());
+                ScheduleTimeline thinned = ScheduleTimeline.record(workload, algorithm, 2, 1, 40,
+                        ComputeBudget.unlimited());
+
+                // When & Then
+                assertEquals(1, fullReplay.getCheckpointCount());
+                assertTrue(dense.getCheckpointCount() > 1);
+                assertTrue(thinned.getStoredEntries() <= 40);
+                for (long t = 0; t <= fullReplay.getEndTime() + 1; t++) {
+                    String expected = describe(fullReplay.stateAt(t, 100));
+                    assertEquals(expected, describe(dense.stateAt(t, 100)), algorithm + " t=" + t);
+                    assertEquals(expected, describe(thinned.stateAt(t, 100)), algorithm + " t=" + t);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testStateAt_RunningTaskMatchesEngineGantt() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 20; round++) {
+            ArrayWorkload workload = randomWorkload(random, 1 + random.nextInt(50));
+            for (SchedulingAlgorithm algorithm : SchedulingAlgorithm.values()) {
+                // Given
+                List<long[]> segments = new ArrayList<>();
+                ScheduleSummary summary = new ScheduleEngine(workload, new ScheduleSink() {
+                    @Override
+                    public void segment(long startTime, long endTime, int task) {
+                        segments.add(new long[]{startTime, endTime, task});
+                    }
+                }).run(algorithm, 3);
+
+                // When
+                ScheduleTimeline timeline = ScheduleTimeline.record(workload, algorithm, 3, 4, Long.MAX_VALUE,
+                        ComputeBudget.unlimited());
+
+                // Then - every instant of every non-empty segment shows its task on the CPU
+                assertEquals(summary.getMakespan(), timeline.getEndTime());
+                for (long[] segment : segments) {
+                    int expected = segment[2] == ScheduleSink.IDLE
+                            ? ScheduleSink.IDLE : workload.processId((int) segment[2]);
+                    for (long t = segment[0]; t < segment[1]; t++) {
+                        assertEquals(expected, timeline.stateAt(t, 0).getRunningProcessId(), algorithm + " t=" + t);
+                    }
+                }
+                TimelineState end = timeline.stateAt(timeline.getEndTime(), 0);
+                assertEquals(workload.size(), end.getCompletedTasks());
+                assertEquals(summary.getAverageTurnaroundTime(), end.getAverageTurnaroundTime());
+            }
+        }
+    }
+
+    @Test
+    void testStateAt_RoundRobinQueueAndRemainingTimes() {
+        // Given - P1(0, 5), P2(1, 3), P3(2, 2) with quantum 2
+        ArrayWorkload workload = ArrayWorkload.sortedByArrival(new long[]{0, 1, 2}, new long[]{5, 3, 2}, null);
+        ScheduleTimeline timeline = ScheduleTimeline.record(workload, SchedulingAlgorithm.RR, 2, 1, 1000,
+                ComputeBudget.unlimited());
+
+        // When - P2 runs 2-4; P3 arrived at 2 and waits ahead of the preempted P1
+        TimelineState state = timeline.stateAt(3, 10);
+
+        // Then
+        assertEquals("3 run=2/2 ready=2 [3/2 1/3 ] arrived=3 done=0", describe(state));
+        assertEquals("0 run=1/5 ready=0 [] arrived=1 done=0", describe(timeline.stateAt(0, 10)));
+        assertEquals(1, timeline.stateAt(3, 1).getListedReadyCount());
+        assertEquals(2, timeline.stateAt(3, 1).getReadyCount());
+        assertThrows(IllegalArgumentException.class, () -> timeline.stateAt(-1, 10));
+    }
+
+    @Test
+    void testRecord_StopsAtEventBudget() {
+        // Given
+        ArrayWorkload workload = ArrayWorkload.sortedByArrival(new long[]{0, 0}, new long[]{1000, 1000}, null);
+
+        // When & Then
+        SimulationAbortedException e = assertThrows(SimulationAbortedException.class,
+                () -> ScheduleTimeline.record(workload, SchedulingAlgorithm.RR, 1, 16, 1000,
+                        ComputeBudget.of(10, 100, 1_000_000, null)));
+        assertEquals(SimulationAbortedException.Reason.EVENT_LIMIT, e.getReason());
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.cpuscheduler.engine;
+
+import com.example.cpuscheduler.service.WorkloadGeneratorService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final WorkloadGeneratorService workloadGeneratorService = new WorkloadGeneratorService(1_000_000, 1000);
+
+    private WorkloadSpec spec(int taskCount, long seed) {
+        WorkloadSpec spec = new WorkloadSpec();
+        spec.setTaskCount(taskCount);
+        spec.setSeed(seed);
+        return spec;
+    }
+
+    @Test
+    void testGenerate_SameSeedSameWorkload() {
+        // Given
+        WorkloadSpec spec = spec(10_000, 7);
+        spec.setBurstDistribution(WorkloadSpec.BurstDistribution.PARETO);
+
+        // When
+        ArrayWorkload first = WorkloadGenerator.generate(spec);
+        ArrayWorkload second = WorkloadGenerator.generate(spec);
+        ArrayWorkload other = WorkloadGenerator.generate(spec(10_000, 8));
+
+        // Then
+        boolean differs = false;
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.arrivalTime(i), second.arrivalTime(i));
+            assertEquals(first.burstTime(i), second.burstTime(i));
+            assertEquals(first.priority(i), second.priority(i));
+            differs |= first.burstTime(i) != other.burstTime(i);
+        }
+        assertTrue(differs);
+    }
+
+    @Test
+    void testGenerate_ArrivalsSortedAndIdsSequential() {
+        for (WorkloadSpec.ArrivalDistribution arrivals : WorkloadSpec.ArrivalDistribution.values()) {
+            // Given
+            WorkloadSpec spec = spec(5000, 3);
+            spec.setArrivalDistribution(arrivals);
+
+            // When
+            ArrayWorkload workload = WorkloadGenerator.generate(spec);
+
+            // Then
+            for (int i = 0; i < workload.size(); i++) {
+                assertEquals(i + 1, workload.processId(i));
+                assertTrue(workload.burstTime(i) >= 1);
+                if (i > 0) {
+                    assertTrue(workload.arrivalTime(i) >= workload.arrivalTime(i - 1), arrivals.name());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testGenerate_DistributionsMatchTheirMeans() {
+        // Given
+        int n = 200_000;
+        WorkloadSpec poisson = spec(n, 11);
+        poisson.setMeanInterArrival(4.0);
+        poisson.setBurstMean(10.0);
+        WorkloadSpec bimodal = spec(n, 11);
+        bimodal.setBurstDistribution(WorkloadSpec.BurstDistribution.BIMODAL);
+        bimodal.setBurstMean(5.0);
+        bimodal.setLongBurstMean(500.0);
+        bimodal.setLongFraction(0.2);
+
+        // When
+        ArrayWorkload poissonWorkload = WorkloadGenerator.generate(poisson);
+        ArrayWorkload bimodalWorkload = WorkloadGenerator.generate(bimodal);
+
+        // Then
+        double meanGap = (double) poissonWorkload.arrivalTime(n - 1) / (n - 1);
+        assertEquals(4.0, meanGap, 0.1);
+        assertEquals(10.0, meanBurst(poissonWorkload), 0.5);
+        // 0.8 * 5 + 0.2 * 500, allowing for rounding short bursts up to 1
+        assertEquals(104.0, meanBurst(bimodalWorkload), 4.0);
+    }
+
+    @Test
+    void testGenerate_ParetoIsHeavyTailed() {
+        // Given
+        WorkloadSpec spec = spec(100_000, 5);
+        spec.setBurstDistribution(WorkloadSpec.BurstDistribution.PARETO);
+        spec.setBurstMin(2);
+        spec.setParetoShape(1.2);
+        spec.setBurstMax(Long.MAX_VALUE / 1_000_000);
+
+        // When
+        ArrayWorkload workload = WorkloadGenerator.generate(spec);
+
+        // Then
+        long max = 0;
+        int atMinimum = 0;
+        for (int i = 0; i < workload.size(); i++) {
+            assertTrue(workload.burstTime(i) >= 2);
+            max = Math.max(max, workload.burstTime(i));
+            if (workload.burstTime(i) == 2) {
+                atMinimum++;
+            }
+        }
+        // P(X > 1000 * xm) = 1000^-1.2, about 26 of 100k samples
+        assertTrue(max > 2000, "max burst " + max);
+        assertTrue(atMinimum > 10_000);
+    }
+
+    @Test
+    void testGenerate_GeometricPrioritiesFavourLevelOne() {
+        // Given
+        WorkloadSpec spec = spec(10_000, 9);
+        spec.setPriorityDistribution(WorkloadSpec.PriorityDistribution.GEOMETRIC);
+        spec.setPriorityLevels(4);
+
+        // When
+        ArrayWorkload workload = WorkloadGenerator.generate(spec);
+
+        // Then
+        int[] counts = new int[5];
+        for (int i = 0; i < workload.size(); i++) {
+            counts[workload.priority(i)]++;
+        }
+        assertEquals(5000, counts[1], 250);
+        assertEquals(2500, counts[2], 250);
+        assertEquals(10_000, counts[1] + counts[2] + counts[3] + counts[4]);
+    }
+
+    @Test
+    void testGenerateFile_MatchesInMemoryWorkload() throws IOException {
+        // Given
+        WorkloadSpec spec = spec(3000, 21);
+        spec.setArrivalDistribution(WorkloadSpec.ArrivalDistribution.BURSTY);
+        Path file = tempDir.resolve("generated.bin");
+
+        // When
+        ArrayWorkload expected = WorkloadGenerator.generate(spec);
+        workloadGeneratorService.generateFile(spec, file);
+
+        // Then
+        try (MappedWorkload mapped = MappedWorkload.open(file)) {
+            assertEquals(expected.size(), mapped.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.arrivalTime(i), mapped.arrivalTime(i));
+                assertEquals(expected.burstTime(i), mapped.burstTime(i));
+                assertEquals(expected.priority(i), mapped.priority(i));
+            }
+        }
+    }
+
+    @Test
+    void testWriteCsv_OneRowPerTask() throws IOException {
+        // Given
+        WorkloadSpec spec = spec(3, 1);
+        ArrayWorkload expected = WorkloadGenerator.generate(spec);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        workloadGeneratorService.writeCsv(spec, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("processId,arrivalTime,burstTime,priority", lines[0]);
+        for (int i = 0; i < 3; i++) {
+            assertEquals((i + 1) + "," + expected.arrivalTime(i) + "," + expected.burstTime(i) + ","
+                    + expected.priority(i), lines[i + 1]);
+        }
+    }
+
+    @Test
+    void testToScheduleRequest_UsesRequestBodyFormat() {
+        // Given
+        WorkloadSpec spec = spec(4, 2);
+        spec.setArrivalDistribution(WorkloadSpec.ArrivalDistribution.ALL_AT_ZERO);
+
+        // When
+        Map<String, Object> request = workloadGeneratorService.toScheduleRequest(spec);
+
+        // Then
+        assertEquals("0 0 0 0", request.get("arrivalTimes"));
+        assertEquals(4, ((String) request.get("burstTimes")).split(" ").length);
+        assertEquals(4, ((String) request.get("priorities")).split(" ").length);
+    }
+
+    @Test
+    void testValidate_RejectsOversizedAndInvalidSpecs() {
+        // Given
+        WorkloadSpec tooLarge = spec(2000, 1);
+        WorkloadSpec badBounds = spec(10, 1);
+        badBounds.setBurstMin(10);
+        badBounds.setBurstMax(5);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> workloadGeneratorService.toScheduleRequest(tooLarge));
+        assertThrows(IllegalArgumentException.class, () -> workloadGeneratorService.validate(badBounds));
+    }
+
+    private static double meanBurst(Workload workload) {
+        double total = 0;
+        for (int i = 0; i < workload.size(); i++) {
+            total += workload.burstTime(i);
+        }
+        return total / workload.size();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.cpuscheduler.repository;
+
+import com.example.cpuscheduler.model.SimulationHistory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistorySpoolTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private static SimulationHistory entry(int minute) {
+        SimulationHistory history = new SimulationHistory("RR", "0,1", "2,3", null, 2, 1.5, null,
+                "[]", "[{\"id\":" + minute + "}]", "s1");
+        history.setTimestamp(BASE.plusMinutes(minute));
+        return history;
+    }
+
+    private static List<String> results(HistorySpool.Batch batch) {
+        return batch.entries().stream().map(SimulationHistory::getResults).toList();
+    }
+
+    @Test
+    void testNext_ReplaysOldestFirstInBatches() throws IOException {
+        // Given
+        try (HistorySpool spool = new HistorySpool(tempDir.resolve("spool.log"), 1 << 20, false)) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(spool.append(entry(i)));
+            }
+
+            // When
+            HistorySpool.Batch first = spool.next(2);
+            spool.markReplayed(first);
+            HistorySpool.Batch second = spool.next(2);
+
+            // Then
+            assertEquals(List.of("[{\"id\":0}]", "[{\"id\":1}]"), results(first));
+            assertEquals(List.of("[{\"id\":2}]"), results(second));
+            assertEquals(1, spool.pendingCount());
+            SimulationHistory read = second.entries().get(0);
+            assertNull(read.getId());
+            assertEquals(BASE.plusMinutes(2), read.getTimestamp());
+            assertEquals(2, read.getQuantum());
+            assertNull(read.getAverageWT());
+
+            // When
+            spool.markReplayed(second);
+
+            // Then - drained spools shrink back to the header
+            assertEquals(0, spool.pendingCount());
+            assertEquals(HistorySpool.HEADER_BYTES, spool.sizeBytes());
+            assertTrue(spool.next(10).entries().isEmpty());
+        }
+    }
+
+    @Test
+    void testReopen_KeepsUnreplayedEntriesAndCutsOffTornRecord() throws IOException {
+        // Given
+        Path file = tempDir.resolve("spool.log");
+        try (HistorySpool spool = new HistorySpool(file, 1 << 20, false)) {
+            spool.append(entry(0));
+            spool.append(entry(1));
+            spool.markReplayed(spool.next(1));
+        }
+        Files.write(file, new byte[]{100, 0, 0, 0, 7}, StandardOpenOption.APPEND);
+
+        // When
+        try (HistorySpool spool = new HistorySpool(file, 1 << 20, false)) {
+            spool.append(entry(2));
+
+            // Then
+            assertEquals(2, spool.pendingCount());
+            assertEquals(List.of("[{\"id\":1}]", "[{\"id\":2}]"), results(spool.next(10)));
+        }
+    }
+
+    @Test
+    void testAppend_RefusesEntriesBeyondMaxSize() throws IOException {
+        // Given
+        try (HistorySpool spool = new HistorySpool(tempDir.resolve("spool.log"), 150, false)) {
+            // When
+            boolean first = spool.append(entry(0));
+            boolean second = spool.append(entry(1));
+
+            // Then
+            assertTrue(first);
+            assertFalse(second);
+            assertEquals(1, spool.pendingCount());
+        }
+    }
+}
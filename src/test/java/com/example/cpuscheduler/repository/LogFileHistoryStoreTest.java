@@ -0,0 +1,203 @@
+package com.example.cpuscheduler.repository;
+
+import com.example.cpuscheduler.model.AlgorithmStats;
+import com.example.cpuscheduler.model.AlgorithmTrend;
+import com.example.cpuscheduler.model.SimulationHistory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogFileHistoryStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_789);
+
+    @TempDir
+    Path tempDir;
+
+    private static SimulationHistory entry(String algorithm, String sessionId, int minute) {
+        SimulationHistory history = new SimulationHistory(algorithm, "0,1,2", "3,4,5", null, null,
+                6.5, 3.25, "[{\"id\":1}]", "[{\"id\":1,\"note\":\"\u00e9\"}]", sessionId);
+        history.setTimestamp(BASE.plusMinutes(minute));
+        return history;
+    }
+
+    private static List<Long> ids(List<SimulationHistory> entries) {
+        return entries.stream().map(SimulationHistory::getId).toList();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    void testSaveAndFind_NewestFirst() throws IOException {
+        // Given
+        try (LogFileHistoryStore store = new LogFileHistoryStore(tempDir, 1 << 20, false)) {
+            SimulationHistory first = store.save(entry("FCFS", "s1", 0));
+            store.save(entry("RR", "s1", 2));
+            store.save(entry("FCFS", "s1", 1));
+            store.save(entry("FCFS", "s2", 3));
+
+            // When
+            List<SimulationHistory> all = store.findBySessionIdOrderByTimestampDesc("s1");
+            List<SimulationHistory> fcfs = store.findByAlgorithmAndSessionIdOrderByTimestampDesc("FCFS", "s1");
+            List<SimulationHistory> recent = store.findRecentSimulationsBySessionId("s1",
+                    org.springframework.data.domain.PageRequest.of(0, 2));
+            SessionHistoryVersion version = store.findVersionBySessionId("s1");
+
+            // Then
+            assertEquals(List.of(2L, 3L, 1L), ids(all));
+            assertEquals(List.of(3L, 1L), ids(fcfs));
+            assertEquals(List.of(2L, 3L), ids(recent));
+            assertEquals(3, version.getEntryCount());
+            assertEquals(3L, version.getLatestId());
+            assertEquals(BASE.plusMinutes(2), version.getLatestTimestamp());
+
+            SimulationHistory read = store.findById(first.getId()).orElseThrow();
+            assertEquals(BASE, read.getTimestamp());
+            assertEquals("0,1,2", read.getArrivalTimes());
+            assertNull(read.getPriorities());
+            assertNull(read.getQuantum());
+            assertEquals(6.5, read.getAverageTAT());
+            assertEquals("[{\"id\":1,\"note\":\"\u00e9\"}]", read.getResults());
+            assertEquals(0, store.findVersionBySessionId("missing").getEntryCount());
+        }
+    }
+
+    @Test
+    void testReopen_ReplaysSavesAndDeletes() throws IOException {
+        // Given
+        try (LogFileHistoryStore store = new LogFileHistoryStore(tempDir, 1 << 20, false)) {
+            store.insertBatch(List.of(entry("FCFS", "s1", 0), entry("RR", "s1", 1), entry("SJF", "s2", 2)));
+            store.deleteById(2L);
+            store.deleteOldSimulations(BASE.plusMinutes(1));
+        }
+
+        // When
+        try (LogFileHistoryStore store = new LogFileHistoryStore(tempDir, 1 << 20, false)) {
+            SimulationHistory saved = store.save(entry("RR", "s1", 5));
+
+            // Then
+            assertEquals(List.of(4L), ids(store.findBySessionIdOrderByTimestampDesc("s1")));
+            assertEquals(List.of(3L), ids(store.findBySessionIdOrderByTimestampDesc("s2")));
+            assertEquals(4L, saved.getId()); // ids of deleted entries are not reused
+            assertTrue(store.findById(1L).isEmpty());
+        }
+    }
+
+    @Test
+    void testReopen_CutsOffTornRecord() throws IOException {
+        // Given
+        try (LogFileHistoryStore store = new LogFileHistoryStore(tempDir, 1 << 20, false)) {
+            store.save(entry("FCFS", "s1", 0));
+        }
+        Path segment = segmentFiles().get(0);
+        long intactSize = Files.size(segment);
+        Files.write(segment, new byte[]{40, 0, 0, 0, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // When
+        try (LogFileHistoryStore store = new LogFileHistoryStore(tempDir, 1 << 20, false)) {
+            store.save(entry("RR", "s1", 1));
+        }
+
+        // Then
+        try (LogFileHistoryStore store = new LogFileHistoryStore(tempDir, 1 << 20, false)) {
+            assertEquals(List.of(2L, 1L), ids(store.findBySessionIdOrderByTimestampDesc("s1")));
+            assertTrue(Files.size(segment) > intactSize);
+        }
+    }
+
+    @Test
+    void testCompaction_DropsDeletedEntriesFromDisk() throws IOException {
+        // Given
+        try (LogFileHistoryStore store = new LogFileHistoryStore(tempDir, 2048, false)) {
+            for (int i = 0; i < 200; i++) {
+                store.save(entry("FCFS", "s" + (i % 4), i));
+                // Retention as the history service applies it: the newest 2 per session
+                List<SimulationHistory> session = store.findBySessionIdOrderByTimestampDesc("s" + (i % 4));
+                for (SimulationHistory old : session.subList(Math.min(2, session.size()), session.size())) {
+                    store.deleteById(old.getId());
+                }
+            }
+
+            // Then
+            assertTrue(store.segmentCount() <= 4, "segments: " + store.segmentCount());
+            assertEquals(List.of(200L, 196L), ids(store.findBySessionIdOrderByTimestampDesc("s3")));
+        }
+
+        // When
+        try (LogFileHistoryStore store = new LogFileHistoryStore(tempDir, 2048, false)) {
+            // Then
+            assertEquals(List.of(200L, 196L), ids(store.findBySessionIdOrderByTimestampDesc("s3")));
+            assertEquals(List.of(197L, 193L), ids(store.findBySessionIdOrderByTimestampDesc("s0")));
+            assertEquals(201L, store.save(entry("RR", "s0", 500)).getId());
+        }
+    }
+
+    @Test
+    void testFindPage_KeysetPagesWithFilters() throws IOException {
+        // Given
+        try (LogFileHistoryStore store = new LogFileHistoryStore(tempDir, 1 << 20, false)) {
+            for (int i = 0; i < 10; i++) {
+                SimulationHistory history = entry(i % 2 == 0 ? "FCFS" : "RR", "s1", i / 2);
+                history.setAverageWT((double) i);
+                store.save(history);
+            }
+            store.save(entry("FCFS", "s2", 9));
+            HistoryPageQuery all = HistoryPageQuery.first("s1", null, null, null, null, null, null, null, 4);
+
+            // When
+            List<SimulationHistory> first = store.findPage(all);
+            SimulationHistory last = first.get(first.size() - 1);
+            List<SimulationHistory> second = store.findPage(all.after(last.getTimestamp(), last.getId()));
+            List<SimulationHistory> filtered = store.findPage(HistoryPageQuery.first("s1", "FCFS",
+                    BASE.plusMinutes(1), BASE.plusMinutes(4), 2.0, null, null, null, 10));
+
+            // Then
+            // Minutes tie in pairs, so the id decides the order within a minute and where page two starts
+            assertEquals(List.of(10L, 9L, 8L, 7L), ids(first));
+            assertEquals(List.of(6L, 5L, 4L, 3L), ids(second));
+            assertEquals(List.of(7L, 5L, 3L), ids(filtered));
+            assertEquals(List.of(), ids(store.findPage(all.after(BASE.minusMinutes(1), 100L))));
+        }
+    }
+
+    @Test
+    void testAnalytics_AggregatesFromIndexPerSessionAndGlobally() throws IOException {
+        // Given
+        try (LogFileHistoryStore store = new LogFileHistoryStore(tempDir, 1 << 20, false)) {
+            SimulationHistory slow = entry("FCFS", "s1", 0);
+            slow.setAverageWT(10.0);
+            store.save(slow);
+            store.save(entry("FCFS", "s1", 1));
+            store.save(entry("RR", "s2", 24 * 60));
+        }
+
+        // When
+        try (LogFileHistoryStore store = new LogFileHistoryStore(tempDir, 1 << 20, false)) {
+            List<AlgorithmStats> session = store.findAlgorithmStats("s1");
+            List<AlgorithmStats> global = store.findAlgorithmStats(null);
+            List<AlgorithmTrend> trends = store.findDailyTrends(null, BASE.toLocalDate(),
+                    BASE.toLocalDate().plusDays(1));
+
+            // Then
+            assertEquals(List.of(new AlgorithmStats("FCFS", 2, 6.625, 3.25, 10.0, 6.5, 6.5, 6.5)), session);
+            assertEquals(List.of("FCFS", "RR"), global.stream().map(AlgorithmStats::algorithm).toList());
+            assertEquals(List.of(new AlgorithmTrend(BASE.toLocalDate(), "FCFS", 2, 6.625, 6.5),
+                    new AlgorithmTrend(BASE.toLocalDate().plusDays(1), "RR", 1, 3.25, 6.5)), trends);
+            assertEquals(List.of(), store.findDailyTrends("s1", BASE.toLocalDate().plusDays(1),
+                    BASE.toLocalDate().plusDays(2)));
+        }
+    }
+}
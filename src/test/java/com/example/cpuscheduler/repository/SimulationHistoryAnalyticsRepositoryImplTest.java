@@ -0,0 +1,72 @@
+package com.example.cpuscheduler.repository;
+
+import com.example.cpuscheduler.model.AlgorithmStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationHistoryAnalyticsRepositoryImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+
+    private final JdbcTemplate jdbcTemplate =
+            new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:rollup;DB_CLOSE_DELAY=-1"));
+    private final SimulationHistoryAnalyticsRepositoryImpl repository =
+            new SimulationHistoryAnalyticsRepositoryImpl(jdbcTemplate);
+
+    @BeforeEach
+    void createTables() {
+        jdbcTemplate.execute("CREATE TABLE simulation_history (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "session_id VARCHAR(64), algorithm VARCHAR(16), timestamp TIMESTAMP, "
+                + "average_wt DOUBLE PRECISION, average_tat DOUBLE PRECISION)");
+        jdbcTemplate.execute("CREATE TABLE simulation_history_rollup (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "rollup_day DATE NOT NULL, algorithm VARCHAR(16) NOT NULL, runs BIGINT NOT NULL, "
+                + "sum_average_wt DOUBLE PRECISION NOT NULL, min_average_wt DOUBLE PRECISION NOT NULL, "
+                + "max_average_wt DOUBLE PRECISION NOT NULL, sum_average_tat DOUBLE PRECISION NOT NULL, "
+                + "min_average_tat DOUBLE PRECISION NOT NULL, max_average_tat DOUBLE PRECISION NOT NULL, "
+                + "UNIQUE (rollup_day, algorithm))");
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP TABLE simulation_history");
+        jdbcTemplate.execute("DROP TABLE simulation_history_rollup");
+    }
+
+    private void insert(LocalDate day, int hour, double averageWT) {
+        jdbcTemplate.update("INSERT INTO simulation_history (session_id, algorithm, timestamp, average_wt, "
+                + "average_tat) VALUES (?, ?, ?, ?, ?)", "s1", "FCFS",
+                Timestamp.valueOf(day.atTime(hour, 0)), averageWT, averageWT * 2);
+    }
+
+    @Test
+    void testRefreshRollup_KeepsTotalsOfPartlyCleanedUpDay() {
+        // Given: four runs on DAY and one the day after, all rolled up while complete
+        for (int hour = 0; hour < 4; hour++) {
+            insert(DAY, hour * 6, hour + 1);
+        }
+        insert(DAY.plusDays(1), 12, 10);
+        repository.refreshRollup(DAY, DAY.minusDays(30));
+
+        // When: retention cleans up the first half of DAY, then the rollup is refreshed from the next day
+        jdbcTemplate.update("DELETE FROM simulation_history WHERE timestamp < ?",
+                Timestamp.valueOf(DAY.atTime(12, 0)));
+        repository.refreshRollup(DAY.plusDays(1), DAY.minusDays(30));
+
+        // Then
+        List<AlgorithmStats> stats = repository.findRollupAlgorithmStats();
+        assertEquals(1, stats.size());
+        assertEquals(5, stats.get(0).runs());
+        assertEquals(4.0, stats.get(0).meanAverageWT(), 1e-9);
+        assertEquals(1.0, stats.get(0).minAverageWT(), 1e-9);
+        assertEquals(4, repository.findRollupDailyTrends(DAY, DAY).get(0).runs());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.model.SimulationHistory;
+import com.example.cpuscheduler.repository.SimulationHistoryRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BatchSimulationServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<List<SimulationHistory>> savedBatches = new ArrayList<>();
+    private final SimulationLimits limits = new SimulationLimits(1000, 10_000, 10_000, 0, 0);
+
+    // Captures batch writes instead of hitting the database
+    private final SimulationHistoryService historyService =
+            new SimulationHistoryService(mock(SimulationHistoryRepository.class), objectMapper,
+                    SchedulingMetrics.NOOP, HistorySettings.defaults()) {
+                @Override
+                public int saveSimulationHistoryBatch(List<SimulationHistory> entries) {
+                    savedBatches.add(entries);
+                    return entries.size();
+                }
+            };
+
+    private final SimulationPipeline pipeline = new SimulationPipeline(new SchedulingAlgorithmService(),
+            historyService, SchedulingMetrics.NOOP, limits, new SimulationCoalescer(SchedulingMetrics.NOOP, true));
+
+    private final BatchSimulationService service =
+            new BatchSimulationService(pipeline, limits, historyService, objectMapper, 4, 100);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private JsonNode runBatch(List<Map<String, String>> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.run(entries, out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    @Test
+    void testRun_ResultsInInputOrderMatchingSingleRequests() throws IOException {
+        // Given
+        List<Map<String, String>> entries = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            entries.add(Map.of("algorithm", "rr", "arrivalTimes", "0 1 " + i, "burstTimes", "5 3 " + (i + 1),
+                    "quantum", "2", "sessionId", "grading"));
+        }
+
+        // When
+        JsonNode results = runBatch(entries);
+
+        // Then
+        assertEquals(50, results.size());
+        for (int i = 0; i < 50; i++) {
+            Map<String, Object> expected = pipeline.compute(SchedulingAlgorithm.RR,
+                    pipeline.parse(SchedulingAlgorithm.RR, entries.get(i)), entries.get(i), limits.forRequest());
+            JsonNode result = results.get(i);
+            assertEquals(((Double) expected.get("averageTAT")).doubleValue(), result.get("averageTAT").asDouble());
+            assertEquals(((Double) expected.get("averageWT")).doubleValue(), result.get("averageWT").asDouble());
+        }
+        assertEquals(1, savedBatches.size());
+        assertEquals(50, savedBatches.get(0).size());
+        assertEquals("0 1 7", savedBatches.get(0).get(7).getArrivalTimes());
+    }
+
+    @Test
+    void testRun_BadEntryReportsErrorWithoutFailingBatch() throws IOException {
+        // Given
+        List<Map<String, String>> entries = List.of(
+                Map.of("algorithm", "fcfs", "arrivalTimes", "0 1", "burstTimes", "4 2", "sessionId", "s"),
+                Map.of("algorithm", "rr", "arrivalTimes", "0", "burstTimes", "4", "sessionId", "s"),
+                Map.of("algorithm", "lottery", "arrivalTimes", "0", "burstTimes", "4"),
+                Map.of("algorithm", "sjf", "arrivalTimes", "0 x", "burstTimes", "4 2", "sessionId", "s"),
+                Map.of("algorithm", "sjf", "arrivalTimes", "0 0", "burstTimes", "4 2", "sessionId", "s"));
+
+        // When
+        JsonNode results = runBatch(entries);
+
+        // Then
+        assertEquals(5, results.size());
+        assertEquals(4.5, results.get(0).get("averageTAT").asDouble());
+        assertEquals("Missing field: quantum", results.get(1).get("error").asText());
+        assertEquals("Unsupported scheduling algorithm", results.get(2).get("error").asText());
+        assertTrue(results.get(3).has("error"));
+        assertEquals(4.0, results.get(4).get("averageTAT").asDouble());
+        assertEquals(2, savedBatches.get(0).size());
+    }
+
+    @Test
+    void testValidate_RejectsEmptyAndOversizedBatches() {
+        // Given
+        List<Map<String, String>> tooMany = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            tooMany.add(Map.of("algorithm", "fcfs"));
+        }
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> service.validate(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> service.validate(tooMany));
+        assertDoesNotThrow(() -> service.validate(tooMany.subList(0, 100)));
+    }
+}
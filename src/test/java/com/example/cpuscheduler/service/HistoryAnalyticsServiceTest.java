@@ -0,0 +1,120 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.model.AlgorithmStats;
+import com.example.cpuscheduler.model.AlgorithmTrend;
+import com.example.cpuscheduler.model.SimulationHistory;
+import com.example.cpuscheduler.repository.HistoryPageQuery;
+import com.example.cpuscheduler.repository.SessionHistoryVersion;
+import com.example.cpuscheduler.repository.SimulationHistoryStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryAnalyticsServiceTest {
+
+    private final RecordingStore store = new RecordingStore();
+    private final HistoryAnalyticsService service = new HistoryAnalyticsService(store);
+
+    @Test
+    void testGetDailyTrends_DefaultsToLast30DaysAndRejectsBadRanges() {
+        // Given
+        LocalDate today = LocalDate.now();
+
+        // When
+        service.getDailyTrends("s1", null, null);
+
+        // Then
+        assertEquals(List.of("s1", today.minusDays(29), today), store.trendArguments);
+        assertThrows(IllegalArgumentException.class, () -> service.getDailyTrends(null, today, today.minusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getDailyTrends(null, today.minusDays(HistoryAnalyticsService.MAX_TREND_DAYS), today));
+    }
+
+    @Test
+    void testSetRollup_IgnoredWhenStoreIsNotTheDatabase() {
+        // Given
+        service.setRollup(true, 5, 400);
+
+        // When
+        List<AlgorithmStats> stats = service.getAlgorithmStats(null);
+
+        // Then
+        assertEquals("ALL", stats.get(0).algorithm());
+        service.shutdown();
+    }
+
+    // Store answering analytics with canned values and remembering the trend arguments
+    private static final class RecordingStore implements SimulationHistoryStore {
+        private final List<Object> trendArguments = new ArrayList<>();
+
+        @Override
+        public List<AlgorithmStats> findAlgorithmStats(String sessionId) {
+            String algorithm = sessionId == null ? "ALL" : sessionId;
+            return List.of(new AlgorithmStats(algorithm, 1, 1.0, 1.0, 1.0, 2.0, 2.0, 2.0));
+        }
+
+        @Override
+        public List<AlgorithmTrend> findDailyTrends(String sessionId, LocalDate from, LocalDate to) {
+            trendArguments.addAll(List.of(sessionId, from, to));
+            return List.of();
+        }
+
+        @Override
+        public <S extends SimulationHistory> S save(S entry) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void insertBatch(List<SimulationHistory> entries) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<SimulationHistory> findById(Long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<SimulationHistory> findBySessionIdOrderByTimestampDesc(String sessionId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<SimulationHistory> findByAlgorithmAndSessionIdOrderByTimestampDesc(String algorithm,
+                                                                                        String sessionId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<SimulationHistory> findRecentSimulationsBySessionId(String sessionId, Pageable pageable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<SimulationHistory> findPage(HistoryPageQuery query) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SessionHistoryVersion findVersionBySessionId(String sessionId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteOldSimulations(LocalDateTime cutoffDate) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
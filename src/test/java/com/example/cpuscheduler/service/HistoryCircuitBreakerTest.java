@@ -0,0 +1,81 @@
+package com.example.cpuscheduler.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryCircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    // Slow at 100ns, opens at 50% bad over the last 4 calls once 4 are recorded, stays open 1000ns
+    private final HistoryCircuitBreaker breaker = new HistoryCircuitBreaker(100, 50, 4, 4, 1000, clock::get);
+
+    @Test
+    void testRecord_OpensOnceBadShareReachesThreshold() {
+        // Given
+        breaker.record(10, false);
+        breaker.record(10, true);
+        breaker.record(500, false);
+
+        // Then - below the minimum number of calls
+        assertEquals(HistoryCircuitBreaker.State.CLOSED, breaker.state());
+
+        // When
+        breaker.record(10, false);
+
+        // Then
+        assertEquals(HistoryCircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    void testRecord_OldOutcomesLeaveTheWindow() {
+        // Given
+        breaker.record(10, true);
+        for (int i = 0; i < 3; i++) {
+            breaker.record(10, false);
+        }
+
+        // When
+        breaker.record(10, true);
+
+        // Then - the first failure has left the window: 1 bad of 4
+        assertEquals(HistoryCircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void testAllowRequest_OneTrialAfterOpenDuration() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            breaker.record(10, true);
+        }
+        clock.addAndGet(1000);
+
+        // When
+        boolean trial = breaker.allowRequest();
+        boolean second = breaker.allowRequest();
+
+        // Then
+        assertTrue(trial);
+        assertFalse(second);
+        assertEquals(HistoryCircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        // When - the trial is slow
+        breaker.record(200, false);
+
+        // Then
+        assertEquals(HistoryCircuitBreaker.State.OPEN, breaker.state());
+
+        // When - the next trial succeeds
+        clock.addAndGet(1000);
+        assertTrue(breaker.allowRequest());
+        breaker.record(10, false);
+
+        // Then
+        assertEquals(HistoryCircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.allowRequest());
+    }
+}
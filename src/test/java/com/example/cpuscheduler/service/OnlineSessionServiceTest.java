@@ -0,0 +1,69 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.model.GanttChart;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OnlineSessionServiceTest {
+
+    private final OnlineSessionService service = new OnlineSessionService(
+            new SimulationLimits(1000, 10_000, 10_000, 0, 0), SchedulingMetrics.NOOP, 30, 2);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSession_StepsReportOnlyNewEvents() {
+        // Given
+        String id = (String) service.create(SchedulingAlgorithm.RR, 2).get("sessionId");
+        service.appendTasks(id, Map.of("arrivalTimes", "0 1", "burstTimes", "3 2", "quantum", "2"));
+
+        // When
+        Map<String, Object> first = service.advance(id, 3).orElseThrow();
+        service.appendTasks(id, Map.of("arrivalTimes", "3", "burstTimes", "1", "quantum", "2"));
+        Map<String, Object> second = service.drain(id).orElseThrow();
+
+        // Then - the slice 2-4 of process 2 is still running at t=3
+        List<GanttChart> firstChart = (List<GanttChart>) first.get("ganttChart");
+        assertEquals(1, firstChart.size());
+        assertEquals(2L, firstChart.get(0).getEndTime());
+        assertEquals(2, first.get("runningProcessId"));
+        assertEquals(1, first.get("readyCount"));
+
+        List<GanttChart> secondChart = (List<GanttChart>) second.get("ganttChart");
+        assertEquals(List.of(2L, 1L, 3L), secondChart.stream().map(GanttChart::getId).toList());
+        assertEquals(3, second.get("completedTasks"));
+        assertEquals(6L, second.get("now"));
+        assertEquals(3, ((List<?>) second.get("completed")).size());
+    }
+
+    @Test
+    void testAppend_RejectedBatchAddsNothing() {
+        // Given
+        String id = (String) service.create(SchedulingAlgorithm.FCFS, 0).get("sessionId");
+        service.advance(id, 10);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> service.appendTasks(id, Map.of("arrivalTimes", "12 4", "burstTimes", "1 1")));
+        assertEquals(0, service.get(id).orElseThrow().get("taskCount"));
+    }
+
+    @Test
+    void testCreate_CapAndDeleteAndUnknownSession() {
+        // Given
+        String id = (String) service.create(SchedulingAlgorithm.SJF, 0).get("sessionId");
+        service.create(SchedulingAlgorithm.SJF, 0);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> service.create(SchedulingAlgorithm.SJF, 0));
+        assertTrue(service.delete(id));
+        assertFalse(service.delete(id));
+        assertTrue(service.advance(id, 5).isEmpty());
+        assertDoesNotThrow(() -> service.create(SchedulingAlgorithm.SJF, 0));
+        assertEquals(2, service.activeSessionCount());
+    }
+}
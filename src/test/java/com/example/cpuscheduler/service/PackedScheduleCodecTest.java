@@ -0,0 +1,129 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.ComputeBudget;
+import com.example.cpuscheduler.engine.GanttDownsampler;
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.model.CpuTask;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedScheduleCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SchedulingAlgorithmService service = new SchedulingAlgorithmService();
+
+    private static List<CpuTask> randomTasks(SplittableRandom random, int count) {
+        List<CpuTask> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CpuTask task = new CpuTask(random.nextInt(count * 3), 1 + random.nextInt(9));
+            task.setProcessId(i + 1);
+            task.setId((long) i + 1);
+            task.setPriority(random.nextInt(5));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    // The fields the packed format carries, as JSON would render them
+    private JsonNode jsonView(Map<String, Object> result) throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(result));
+        ObjectNode view = objectMapper.createObjectNode();
+        for (String field : new String[]{"scheduledTasks", "ganttChart", "averageTAT", "averageWT"}) {
+            view.set(field, json.get(field));
+        }
+        return view;
+    }
+
+    private JsonNode normalized(JsonNode node) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsBytes(node));
+    }
+
+    @Test
+    void testPacked_RoundTripAgreesWithJsonForEveryAlgorithm() throws Exception {
+        SplittableRandom random = new SplittableRandom(44);
+        for (int round = 0; round < 10; round++) {
+            List<CpuTask> tasks = randomTasks(random, round * 7);
+            for (SchedulingAlgorithm algorithm : SchedulingAlgorithm.values()) {
+                // Given
+                Map<String, Object> result = service.schedule(algorithm, tasks, 2, ComputeBudget.unlimited(),
+                        null, null);
+                JsonNode expected = jsonView(result);
+
+                // When
+                byte[] packed = PackedScheduleCodec.encode(result);
+                byte[] fromHistory = PackedScheduleCodec.encode(expected.get("scheduledTasks"),
+                        expected.get("ganttChart"), (Double) result.get("averageTAT"),
+                        (Double) result.get("averageWT"));
+
+                // Then - both encoders agree byte for byte and decode to the JSON
+                assertEquals(expected, normalized(PackedScheduleCodec.decode(packed)), algorithm + " round " + round);
+                assertArrayEquals(packed, fromHistory, algorithm + " round " + round);
+            }
+        }
+    }
+
+    @Test
+    void testPacked_IdleSegmentsAndLayout() throws Exception {
+        // Given - P1(0, 2) then idle until P2 arrives at 5
+        List<CpuTask> tasks = Arrays.asList(new CpuTask(0L, 2L), new CpuTask(5L, 3L));
+        tasks.get(0).setProcessId(1);
+        tasks.get(1).setProcessId(2);
+        Map<String, Object> result = service.scheduleFCFS(tasks);
+
+        // When
+        byte[] packed = PackedScheduleCodec.encode(result);
+        JsonNode decoded = PackedScheduleCodec.decode(packed);
+
+        // Then - 32 byte header, 8 task columns and 3 segment columns of longs
+        assertEquals(32 + 2 * 8 * 8 + 3 * 3 * 8, packed.length);
+        assertEquals('C', packed[0]);
+        assertEquals(3, decoded.get("ganttChart").size());
+        assertTrue(decoded.get("ganttChart").get(1).get("id").isNull());
+        assertEquals(jsonView(result), normalized(decoded));
+    }
+
+    @Test
+    void testPacked_RejectsDownsampledAndCorruptInput() {
+        // Given
+        List<CpuTask> tasks = randomTasks(new SplittableRandom(1), 20);
+        Map<String, Object> binned = service.schedule(SchedulingAlgorithm.RR, tasks, 1, ComputeBudget.unlimited(),
+                null, new GanttDownsampler(4, 2, 0));
+        byte[] packed = PackedScheduleCodec.encode(service.scheduleFCFS(tasks));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> PackedScheduleCodec.encode(binned));
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedScheduleCodec.decode(Arrays.copyOf(packed, packed.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> PackedScheduleCodec.decode(new byte[]{1, 2, 3}));
+        assertThrows(IllegalArgumentException.class, () -> PackedScheduleCodec.decode(new byte[40]));
+    }
+
+    @Test
+    void testCbor_RoundTripAgreesWithJson() throws Exception {
+        // Given
+        CBORMapper cborMapper = new CBORMapper();
+        SplittableRandom random = new SplittableRandom(7);
+        for (SchedulingAlgorithm algorithm : SchedulingAlgorithm.values()) {
+            Map<String, Object> result = service.schedule(algorithm, randomTasks(random, 50), 3,
+                    ComputeBudget.unlimited(), null, null);
+
+            // When
+            byte[] cbor = cborMapper.writeValueAsBytes(result);
+
+            // Then
+            assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(result)), cborMapper.readTree(cbor),
+                    algorithm.toString());
+        }
+    }
+}
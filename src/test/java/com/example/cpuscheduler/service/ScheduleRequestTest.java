@@ -0,0 +1,53 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleRequestTest {
+
+    @Test
+    void testEquals_ComparesArrayContents() {
+        // Given
+        ScheduleRequest first = new ScheduleRequest(SchedulingAlgorithm.PRIORITY, new long[]{0, 1},
+                new long[]{3, 4}, new int[]{2, 1}, 0, 0, "s1");
+        ScheduleRequest second = new ScheduleRequest(SchedulingAlgorithm.PRIORITY, new long[]{0, 1},
+                new long[]{3, 4}, new int[]{2, 1}, 0, 0, "s1");
+
+        // When & Then
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, new ScheduleRequest(SchedulingAlgorithm.PRIORITY, new long[]{0, 1},
+                new long[]{3, 5}, new int[]{2, 1}, 0, 0, "s1"));
+        assertTrue(first.toString().contains("tasks=2"));
+    }
+
+    @Test
+    void testConstructor_RejectsMismatchedLengths() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleRequest(SchedulingAlgorithm.FCFS,
+                new long[]{0, 1}, new long[]{3}, null, 0, 0, "s1"));
+        assertThrows(IllegalArgumentException.class, () -> new ScheduleRequest(SchedulingAlgorithm.PRIORITY,
+                new long[]{0, 1}, new long[]{3, 4}, new int[]{1}, 0, 0, "s1"));
+    }
+
+    @Test
+    void testParse_RejectsMissingFieldsAsBadInput() {
+        // Given
+        SimulationLimits limits = new SimulationLimits(1000, 10_000, 10_000, 0, 0);
+
+        // When
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+                () -> ScheduleRequest.parse(SchedulingAlgorithm.FCFS, Map.of("arrivalTimes", "0,1"), limits));
+
+        // Then
+        assertEquals("Missing field: burstTimes", missing.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> ScheduleRequest.parse(SchedulingAlgorithm.FCFS,
+                Map.of("arrivalTimes", "0,1", "burstTimes", "3"), limits));
+        assertThrows(NumberFormatException.class, () -> ScheduleRequest.parse(SchedulingAlgorithm.RR,
+                Map.of("arrivalTimes", "0", "burstTimes", "3", "quantum", "two"), limits));
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.cpuscheduler.service;
 
+import com.example.cpuscheduler.engine.ComputeBudget;
+import com.example.cpuscheduler.engine.GanttDownsampler;
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
 import com.example.cpuscheduler.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -405,4 +408,51 @@ class SchedulingAlgorithmServiceTest {
         assertTrue(result.get("averageTAT") instanceof Double);
         assertTrue(result.get("averageWT") instanceof Double);
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSchedule_ResolutionReturnsBinsInsteadOfSegments() {
+        // Given - RR with quantum 1 gives one segment per time unit
+        List<CpuTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(createTask(i + 1, 0, 20, 0));
+        }
+
+        // When
+        Map<String, Object> result = schedulingAlgorithmService.schedule(SchedulingAlgorithm.RR, tasks, 1,
+                ComputeBudget.unlimited(), null, new GanttDownsampler(16, 8, 0));
+
+        // Then
+        assertNull(result.get("ganttChart"));
+        List<GanttBin> bins = (List<GanttBin>) result.get("ganttBins");
+        assertTrue(bins.size() <= 16);
+        assertEquals(1000L, result.get("ganttSegmentCount"));
+        assertEquals(1000L, bins.get(bins.size() - 1).getEndTime());
+        for (GanttBin bin : bins) {
+            assertEquals(0.0, bin.getIdleShare());
+            assertTrue(bin.getOccupancy().size() <= 8);
+        }
+        assertEquals(50, ((List<?>) result.get("scheduledTasks")).size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSchedule_ReportsStatistics() {
+        // Given
+        List<CpuTask> tasks = new ArrayList<>(testTasksWithIdleTime);
+
+        // When
+        Map<String, Object> result = schedulingAlgorithmService.scheduleFCFS(tasks);
+
+        // Then
+        Map<String, Object> statistics = (Map<String, Object>) result.get("statistics");
+        Map<String, Object> waitingTime = (Map<String, Object>) statistics.get("waitingTime");
+        assertNotNull(statistics.get("turnaroundTime"));
+        assertNotNull(statistics.get("responseTime"));
+        assertTrue((Long) waitingTime.get("p50") <= (Long) waitingTime.get("p99"));
+        assertEquals(result.get("averageWT"), waitingTime.get("mean"));
+        double utilization = (Double) statistics.get("cpuUtilization");
+        assertTrue(utilization > 0 && utilization < 1);
+        assertEquals(1.0, utilization + (Double) statistics.get("idleShare"), 1e-3);
+    }
+}
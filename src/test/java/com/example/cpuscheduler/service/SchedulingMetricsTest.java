@@ -0,0 +1,70 @@
+package com.example.cpuscheduler.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulingMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SchedulingMetrics metrics = new SchedulingMetrics(registry);
+
+    @Test
+    void testTime_TagsTimerWithAlgorithmAndPhase() {
+        // When
+        int result = metrics.time("RR", SchedulingMetrics.Phase.SIMULATE, () -> 42);
+        metrics.recordTime("RR", SchedulingMetrics.Phase.PERSIST, TimeUnit.MILLISECONDS.toNanos(5));
+
+        // Then
+        assertEquals(42, result);
+        Timer simulate = registry.get("scheduler.phase").tags("algorithm", "RR", "phase", "simulate").timer();
+        assertEquals(1, simulate.count());
+        Timer persist = registry.get("scheduler.phase").tags("algorithm", "RR", "phase", "persist").timer();
+        assertEquals(1, persist.count());
+        assertEquals(5.0, persist.totalTime(TimeUnit.MILLISECONDS), 1e-9);
+        assertNull(registry.find("scheduler.phase").tags("algorithm", "RR", "phase", "parse").timer());
+        assertNull(registry.find("scheduler.phase").tags("algorithm", "FCFS").timer());
+    }
+
+    @Test
+    void testTime_SameTagsShareOneTimer() {
+        // When
+        metrics.time("FCFS", SchedulingMetrics.Phase.PARSE, () -> null);
+        metrics.time("FCFS", SchedulingMetrics.Phase.PARSE, () -> null);
+        metrics.time("SJF", SchedulingMetrics.Phase.PARSE, () -> null);
+
+        // Then
+        assertEquals(2, registry.get("scheduler.phase").tags("algorithm", "FCFS", "phase", "parse").timer().count());
+        assertEquals(1, registry.get("scheduler.phase").tags("algorithm", "SJF", "phase", "parse").timer().count());
+        assertEquals(2, registry.get("scheduler.phase").timers().size());
+    }
+
+    @Test
+    void testRecordSize_RecordsTasksAndSegmentsPerAlgorithm() {
+        // When
+        metrics.recordSize("SJF", 3, 7);
+        metrics.recordSize("SJF", 5, 11);
+
+        // Then
+        assertEquals(2, registry.get("scheduler.tasks").tag("algorithm", "SJF").summary().count());
+        assertEquals(8.0, registry.get("scheduler.tasks").tag("algorithm", "SJF").summary().totalAmount(), 1e-9);
+        assertEquals(18.0, registry.get("scheduler.gantt.segments").tag("algorithm", "SJF").summary().totalAmount(),
+                1e-9);
+    }
+
+    @Test
+    void testRecordShed_CountsPerAlgorithm() {
+        // When
+        metrics.recordShed("RR");
+        metrics.recordShed("RR");
+        metrics.recordShed("FCFS");
+
+        // Then
+        assertEquals(2.0, registry.get("scheduler.history.shed").tag("algorithm", "RR").counter().count(), 1e-9);
+        assertEquals(1.0, registry.get("scheduler.history.shed").tag("algorithm", "FCFS").counter().count(), 1e-9);
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.model.SimulationHistory;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionHistoryCacheTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SessionHistoryCache cache = new SessionHistoryCache(2, 1 << 20, 1000, clock::get);
+
+    private static SimulationHistory entry(long id, String algorithm, String sessionId) {
+        SimulationHistory history = new SimulationHistory();
+        history.setId(id);
+        history.setAlgorithm(algorithm);
+        history.setSessionId(sessionId);
+        history.setTimestamp(BASE.plusMinutes(id));
+        return history;
+    }
+
+    // Newest first, as the repository returns them
+    private static List<SimulationHistory> entries(String sessionId, int count) {
+        List<SimulationHistory> entries = new ArrayList<>();
+        for (int i = count; i >= 1; i--) {
+            entries.add(entry(i, i % 2 == 0 ? "RR" : "FCFS", sessionId));
+        }
+        return entries;
+    }
+
+    private List<SimulationHistory> all(String sessionId) {
+        return cache.view(sessionId, SessionHistoryCache.ALL, all -> all);
+    }
+
+    @Test
+    void testView_DerivedFromFullList() {
+        // Given
+        cache.putView("s1", SessionHistoryCache.ALL, entries("s1", 4), cache.startLoad());
+
+        // When
+        List<SimulationHistory> rr = cache.view("s1", "algorithm:RR",
+                all -> all.stream().filter(e -> "RR".equals(e.getAlgorithm())).toList());
+        List<SimulationHistory> recent = cache.view("s1", "recent:1", all -> all.subList(0, 1));
+
+        // Then
+        assertEquals(2, rr.size());
+        assertEquals(4L, rr.get(0).getId());
+        assertEquals(4L, recent.get(0).getId());
+        assertEquals(4, cache.version("s1").getEntryCount());
+        assertEquals(4L, cache.version("s1").getLatestId());
+        assertNull(cache.view("s2", SessionHistoryCache.ALL, all -> all));
+    }
+
+    @Test
+    void testSaved_WritesThroughAndTrims() {
+        // Given
+        cache.putView("s1", SessionHistoryCache.ALL, entries("s1", 3), cache.startLoad());
+
+        // When
+        cache.saved(entry(5, "SJF", "s1"), 3);
+
+        // Then
+        List<SimulationHistory> all = all("s1");
+        assertEquals(3, all.size());
+        assertEquals(5L, all.get(0).getId());
+        assertEquals(2L, all.get(2).getId());
+    }
+
+    @Test
+    void testSaved_DropsSessionWithoutFullList() {
+        // Given
+        cache.putView("s1", "recent:2", entries("s1", 2), cache.startLoad());
+
+        // When
+        cache.saved(entry(3, "SJF", "s1"), 10);
+
+        // Then
+        assertNull(cache.view("s1", "recent:2", all -> all));
+    }
+
+    @Test
+    void testInvalidate_OnDeletes() {
+        // Given
+        cache.putView("s1", SessionHistoryCache.ALL, entries("s1", 2), cache.startLoad());
+        cache.putView("s2", SessionHistoryCache.ALL, entries("s2", 1), cache.startLoad());
+
+        // When
+        cache.invalidateEntry(2L);
+
+        // Then
+        assertNull(all("s1"));
+        assertNotNull(all("s2"));
+
+        // When
+        cache.invalidate("s2");
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testEvictOlderThan_DropsSessionsHoldingOldEntries() {
+        // Given
+        cache.putView("s1", SessionHistoryCache.ALL, entries("s1", 3), cache.startLoad());
+        cache.putView("s2", SessionHistoryCache.ALL, List.of(entry(10, "RR", "s2")), cache.startLoad());
+
+        // When
+        cache.evictOlderThan(BASE.plusMinutes(5));
+
+        // Then
+        assertNull(all("s1"));
+        assertNotNull(all("s2"));
+    }
+
+    @Test
+    void testPutView_IgnoredWhenWriteOverlapsLoad() {
+        // Given
+        long loadStart = cache.startLoad();
+        cache.saved(entry(3, "RR", "s1"), 10);
+
+        // When
+        cache.putView("s1", SessionHistoryCache.ALL, entries("s1", 2), loadStart);
+
+        // Then
+        assertNull(all("s1"));
+    }
+
+    @Test
+    void testPutView_KeptWhenWriteIsToAnotherSession() {
+        // Given
+        long loadStart = cache.startLoad();
+        cache.saved(entry(3, "RR", "s2"), 10);
+
+        // When
+        cache.putView("s1", SessionHistoryCache.ALL, entries("s1", 2), loadStart);
+        long deleteLoadStart = cache.startLoad();
+        cache.invalidateEntry(99L);
+        cache.putView("s2", SessionHistoryCache.ALL, entries("s2", 1), deleteLoadStart);
+
+        // Then
+        assertEquals(2, all("s1").size());
+        assertNull(all("s2")); // A delete by id may have been in any session
+    }
+
+    @Test
+    void testSaved_ReplacesEntryAlreadyInLoadedList() {
+        // Given: a load that starts after the insert and is cached before the write-through
+        long loadStart = cache.startLoad();
+        cache.putView("s1", SessionHistoryCache.ALL, entries("s1", 3), loadStart);
+
+        // When
+        cache.saved(entry(3, "FCFS", "s1"), 10);
+
+        // Then
+        assertEquals(List.of(3L, 2L, 1L), all("s1").stream().map(SimulationHistory::getId).toList());
+        assertEquals(3, cache.version("s1").getEntryCount());
+    }
+
+    @Test
+    void testPutView_EvictsLeastRecentlyUsedBeyondByteLimit() {
+        // Given: room for about two sessions of one large entry each
+        SessionHistoryCache bounded = new SessionHistoryCache(10, 3000, 1000, clock::get);
+        List<SimulationHistory> large = entries("s1", 1);
+        large.get(0).setGanttChart("x".repeat(1000));
+
+        // When
+        bounded.putView("s1", SessionHistoryCache.ALL, large, bounded.startLoad());
+        bounded.putView("s2", SessionHistoryCache.ALL, large, bounded.startLoad());
+        bounded.putView("s3", SessionHistoryCache.ALL, large, bounded.startLoad());
+
+        // Then
+        assertEquals(2, bounded.size());
+        assertNull(bounded.view("s1", SessionHistoryCache.ALL, all -> all));
+        assertTrue(bounded.bytes() <= 3000);
+
+        // When: a single entry larger than the limit is not kept
+        large.get(0).setGanttChart("x".repeat(5000));
+        bounded.putView("s4", SessionHistoryCache.ALL, large, bounded.startLoad());
+
+        // Then
+        assertNull(bounded.view("s4", SessionHistoryCache.ALL, all -> all));
+        assertTrue(bounded.bytes() <= 3000);
+    }
+
+    @Test
+    void testView_ExpiresAfterTtlAndEvictsLeastRecentlyUsed() {
+        // Given
+        cache.putView("s1", SessionHistoryCache.ALL, entries("s1", 1), cache.startLoad());
+        cache.putView("s2", SessionHistoryCache.ALL, entries("s2", 1), cache.startLoad());
+        all("s1");
+
+        // When
+        cache.putView("s3", SessionHistoryCache.ALL, entries("s3", 1), cache.startLoad());
+
+        // Then
+        assertNotNull(all("s1"));
+        assertNull(all("s2"));
+
+        // When
+        clock.addAndGet(1001);
+
+        // Then
+        assertNull(all("s1"));
+        assertNull(all("s3"));
+    }
+
+    @Test
+    void testDisabled_CachesNothing() {
+        // Given
+        SessionHistoryCache disabled = new SessionHistoryCache(0, 1 << 20, 1000, clock::get);
+
+        // When
+        disabled.putView("s1", SessionHistoryCache.ALL, entries("s1", 1), disabled.startLoad());
+
+        // Then
+        assertEquals(0, disabled.size());
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.model.CpuTask;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationCoalescerTest {
+
+    private final SimulationCoalescer coalescer = new SimulationCoalescer(SchedulingMetrics.NOOP, true);
+
+    private static List<CpuTask> tasks(long... bursts) {
+        List<CpuTask> tasks = new ArrayList<>();
+        for (int i = 0; i < bursts.length; i++) {
+            CpuTask task = new CpuTask(i, bursts[i]);
+            task.setProcessId(i + 1);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static void awaitInFlight(SimulationCoalescer coalescer, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalescer.inFlightCount() != count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void testCompute_ConcurrentIdenticalRequestsShareOneSimulation() throws Exception {
+        // Given
+        int requests = 8;
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+
+        // When - the first request holds the simulation open until all others have joined it
+        List<Future<Map<String, Object>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> coalescer.compute(SchedulingAlgorithm.FCFS, tasks(5, 3, 8), 0, () -> {
+            computations.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of("averageTAT", 9.0);
+        })));
+        awaitInFlight(coalescer, 1);
+        for (int i = 1; i < requests; i++) {
+            results.add(executor.submit(() -> coalescer.compute(SchedulingAlgorithm.FCFS, tasks(5, 3, 8), 0, () -> {
+                computations.incrementAndGet();
+                return Map.of("averageTAT", -1.0);
+            })));
+        }
+        Thread.sleep(50);
+        release.countDown();
+
+        // Then
+        for (Future<Map<String, Object>> result : results) {
+            assertEquals(9.0, result.get(10, TimeUnit.SECONDS).get("averageTAT"));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(0, coalescer.inFlightCount());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testCompute_DifferentWorkloadsDoNotCoalesce() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> coalescer.compute(SchedulingAlgorithm.RR, tasks(5, 3), 2, () -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of();
+        }));
+        awaitInFlight(coalescer, 1);
+
+        // When - same tasks under another quantum, another algorithm, or other bursts
+        Map<String, Object> otherQuantum = coalescer.compute(SchedulingAlgorithm.RR, tasks(5, 3), 3,
+                () -> Map.of("run", "quantum"));
+        Map<String, Object> otherAlgorithm = coalescer.compute(SchedulingAlgorithm.FCFS, tasks(5, 3), 2,
+                () -> Map.of("run", "algorithm"));
+        Map<String, Object> otherBursts = coalescer.compute(SchedulingAlgorithm.RR, tasks(5, 4), 2,
+                () -> Map.of("run", "bursts"));
+        release.countDown();
+
+        // Then
+        assertEquals("quantum", otherQuantum.get("run"));
+        assertEquals("algorithm", otherAlgorithm.get("run"));
+        assertEquals("bursts", otherBursts.get("run"));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testCompute_FailureReachesEveryWaiter() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Map<String, Object>> leader = executor.submit(() ->
+                coalescer.compute(SchedulingAlgorithm.SJF, tasks(4), 0, () -> {
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new IllegalArgumentException("Quantum must be positive");
+                }));
+        awaitInFlight(coalescer, 1);
+        Future<Map<String, Object>> follower = executor.submit(() ->
+                coalescer.compute(SchedulingAlgorithm.SJF, tasks(4), 0, Map::of));
+        Thread.sleep(50);
+
+        // When
+        release.countDown();
+
+        // Then
+        for (Future<Map<String, Object>> result : List.of(leader, follower)) {
+            Exception exception = assertThrows(Exception.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        }
+        assertEquals(0, coalescer.inFlightCount());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testCompute_FinishedResultsAreNotCached() {
+        // Given
+        AtomicInteger computations = new AtomicInteger();
+
+        // When
+        coalescer.compute(SchedulingAlgorithm.FCFS, tasks(1, 2), 0, () -> Map.of("n", computations.incrementAndGet()));
+        Map<String, Object> second = coalescer.compute(SchedulingAlgorithm.FCFS, tasks(1, 2), 0,
+                () -> Map.of("n", computations.incrementAndGet()));
+
+        // Then
+        assertEquals(2, second.get("n"));
+        assertEquals(2, computations.get());
+    }
+}
@@ -1,18 +1,25 @@
 package com.example.cpuscheduler.service;
 
 import com.example.cpuscheduler.model.SimulationHistory;
+import com.example.cpuscheduler.model.SimulationHistoryPage;
+import com.example.cpuscheduler.repository.HistoryPageQuery;
+import com.example.cpuscheduler.repository.SessionHistoryVersion;
 import com.example.cpuscheduler.repository.SimulationHistoryRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -26,7 +33,9 @@ class SimulationHistoryServiceTest {
     @Mock
     private SimulationHistoryRepository repository;
 
-    @InjectMocks
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     private SimulationHistoryService simulationHistoryService;
 
     private SimulationHistory testHistory;
@@ -36,6 +45,7 @@ class SimulationHistoryServiceTest {
 
     @BeforeEach
     void setUp() {
+        simulationHistoryService = historyService(HistorySettings.defaults());
         testSessionId = "test-session-123";
 
         // Create test data
@@ -64,6 +74,10 @@ class SimulationHistoryServiceTest {
         );
     }
 
+    private SimulationHistoryService historyService(HistorySettings settings) {
+        return new SimulationHistoryService(repository, objectMapper, SchedulingMetrics.NOOP, settings);
+    }
+
     @Test
     void testSaveSimulationHistory_Success() {
         // Given
@@ -294,6 +308,23 @@ class SimulationHistoryServiceTest {
         verify(repository, times(1)).deleteOldSimulations(any(LocalDateTime.class));
     }
 
+    @Test
+    void testSaveSimulationHistory_CleanupRunsOncePerInterval() {
+        // Given
+        when(repository.save(any(SimulationHistory.class))).thenReturn(testHistory);
+        when(repository.findBySessionIdOrderByTimestampDesc(testSessionId)).thenReturn(List.of(testHistory));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            simulationHistoryService.saveSimulationHistory("FCFS", "0,1,2", "5,3,8", "1,2,3", 2,
+                    8.5, 4.2, testGanttChart, testResults, testSessionId);
+        }
+
+        // Then
+        verify(repository, times(3)).save(any(SimulationHistory.class));
+        verify(repository, times(1)).deleteOldSimulations(any(LocalDateTime.class));
+    }
+
     @Test
     void testParseJsonString_Success() {
         // Given
@@ -485,13 +516,77 @@ class SimulationHistoryServiceTest {
         assertEquals("simple string", stringResult);
     }
 
+    @Test
+    void testSaveSimulationHistory_ShedWhenBulkheadFull() {
+        // Given
+        simulationHistoryService = historyService(HistorySettings.defaults().withWriteBulkhead(0, 0));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> simulationHistoryService.saveSimulationHistory(
+                "FCFS", "0,1,2", "5,3,8", null, null, 8.5, 4.2,
+                testGanttChart, testResults, testSessionId));
+        verify(repository, never()).save(any(SimulationHistory.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSaveSimulationHistory_SpoolsWhenStoreFailsAndReplaysLater(@TempDir Path tempDir) throws IOException {
+        // Given
+        simulationHistoryService = historyService(
+                HistorySettings.defaults().withSpool(tempDir.resolve("spool.log").toString(), 1, 60_000));
+        when(repository.save(any(SimulationHistory.class))).thenThrow(new RuntimeException("Connection refused"));
+
+        try {
+            // When
+            SimulationHistory result = simulationHistoryService.saveSimulationHistory(testHistory);
+            simulationHistoryService.replaySpool();
+
+            // Then
+            assertSame(testHistory, result);
+            ArgumentCaptor<List<SimulationHistory>> captor = ArgumentCaptor.forClass(List.class);
+            verify(repository, times(1)).insertBatch(captor.capture());
+            assertEquals(1, captor.getValue().size());
+            assertEquals(testHistory.getResults(), captor.getValue().get(0).getResults());
+            assertEquals(testHistory.getTimestamp(), captor.getValue().get(0).getTimestamp());
+        } finally {
+            simulationHistoryService.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSaveSimulationHistoryBatch_InsertsNewestEntriesPerSessionInOneBatch() {
+        // Given - 12 entries for one session, one for another, one without a session
+        List<SimulationHistory> entries = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            entries.add(new SimulationHistory("FCFS", "0", "5", null, null, 5.0, 0.0, "[]", "[]", testSessionId));
+        }
+        entries.add(new SimulationHistory("RR", "0", "5", null, 2, 5.0, 0.0, "[]", "[]", "other-session"));
+        entries.add(new SimulationHistory("SJF", "0", "5", null, null, 5.0, 0.0, "[]", "[]", null));
+        when(repository.findBySessionIdOrderByTimestampDesc(anyString())).thenReturn(new ArrayList<>());
+
+        // When
+        int inserted = simulationHistoryService.saveSimulationHistoryBatch(entries);
+
+        // Then
+        assertEquals(11, inserted);
+        ArgumentCaptor<List<SimulationHistory>> batch = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).insertBatch(batch.capture());
+        assertEquals(11, batch.getValue().size());
+        assertSame(entries.get(2), batch.getValue().get(0));
+        assertSame(entries.get(12), batch.getValue().get(10));
+        verify(repository, never()).save(any(SimulationHistory.class));
+        verify(repository, times(2)).findBySessionIdOrderByTimestampDesc(anyString());
+    }
+
     @Test
     void testConstructorWithRepository() {
         // Given
         SimulationHistoryRepository mockRepo = mock(SimulationHistoryRepository.class);
 
         // When
-        SimulationHistoryService service = new SimulationHistoryService(mockRepo);
+        SimulationHistoryService service = new SimulationHistoryService(mockRepo, new ObjectMapper(),
+                SchedulingMetrics.NOOP, HistorySettings.defaults());
 
         // Then
         assertNotNull(service);
@@ -517,4 +612,115 @@ class SimulationHistoryServiceTest {
         history.setTimestamp(LocalDateTime.now());
         return history;
     }
-}
\ No newline at end of file
+
+    @Test
+    void testHistoryETag_ChangesWithSessionVersionAndView() {
+        // Given
+        SessionHistoryVersion version = mock(SessionHistoryVersion.class);
+        when(version.getEntryCount()).thenReturn(3L);
+        when(version.getLatestId()).thenReturn(42L);
+        when(version.getLatestTimestamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 0, 0));
+        when(repository.findVersionBySessionId(testSessionId)).thenReturn(version);
+
+        // When
+        String all = simulationHistoryService.historyETag(testSessionId, "all:json");
+        String recent = simulationHistoryService.historyETag(testSessionId, "recent:5:json");
+        when(version.getLatestId()).thenReturn(43L);
+        String afterSave = simulationHistoryService.historyETag(testSessionId, "all:json");
+
+        // Then
+        assertEquals("W/\"all:json-3-42-1704067200000\"", all);
+        assertNotEquals(all, recent);
+        assertNotEquals(all, afterSave);
+        verify(repository, never()).findBySessionIdOrderByTimestampDesc(anyString());
+    }
+
+    @Test
+    void testHistoryETag_EmptySession() {
+        // Given
+        SessionHistoryVersion version = mock(SessionHistoryVersion.class);
+        when(version.getEntryCount()).thenReturn(0L);
+        when(repository.findVersionBySessionId(testSessionId)).thenReturn(version);
+
+        // When & Then
+        assertEquals("W/\"all_json-0-0-0\"", simulationHistoryService.historyETag(testSessionId, "all json"));
+    }
+
+    @Test
+    void testGetAllSimulationHistory_ServedFromCacheUntilDelete() {
+        // Given
+        when(repository.findBySessionIdOrderByTimestampDesc(testSessionId)).thenReturn(Arrays.asList(testHistory));
+
+        // When
+        simulationHistoryService.getAllSimulationHistory(testSessionId);
+        List<SimulationHistory> cached = simulationHistoryService.getAllSimulationHistory(testSessionId);
+        List<SimulationHistory> recent = simulationHistoryService.getRecentSimulations(5, testSessionId);
+
+        // Then
+        assertEquals(1, cached.size());
+        assertEquals(testHistory.getId(), recent.get(0).getId());
+        verify(repository, times(1)).findBySessionIdOrderByTimestampDesc(testSessionId);
+        verify(repository, never()).findRecentSimulationsBySessionId(anyString(), any(Pageable.class));
+
+        // When
+        simulationHistoryService.deleteSimulationHistory(testHistory.getId());
+        simulationHistoryService.getAllSimulationHistory(testSessionId);
+
+        // Then
+        verify(repository, times(2)).findBySessionIdOrderByTimestampDesc(testSessionId);
+    }
+
+    @Test
+    void testSaveSimulationHistory_NotSpooledWithoutSession(@TempDir Path tempDir) throws IOException {
+        // Given
+        simulationHistoryService = historyService(
+                HistorySettings.defaults().withSpool(tempDir.resolve("spool.log").toString(), 1, 60_000));
+        testHistory.setSessionId(null);
+        when(repository.save(any(SimulationHistory.class))).thenThrow(new RuntimeException("null session_id"));
+
+        try {
+            // When & Then
+            assertThrows(IllegalArgumentException.class,
+                    () -> simulationHistoryService.saveSimulationHistory(testHistory));
+            simulationHistoryService.replaySpool();
+            verify(repository, never()).insertBatch(anyList());
+        } finally {
+            simulationHistoryService.shutdown();
+        }
+    }
+
+    @Test
+    void testGetSimulationHistoryPage_CursorResumesAfterLastEntry() {
+        // Given
+        SimulationHistory second = new SimulationHistory();
+        second.setId(7L);
+        second.setTimestamp(LocalDateTime.of(2025, 1, 1, 12, 0, 0, 500));
+        SimulationHistory third = new SimulationHistory();
+        third.setId(3L);
+        third.setTimestamp(second.getTimestamp());
+        when(repository.findPage(any(HistoryPageQuery.class)))
+                .thenReturn(Arrays.asList(testHistory, second, third))
+                .thenReturn(Arrays.asList(third));
+        HistoryPageQuery query = HistoryPageQuery.first(testSessionId, "FCFS", null, null, null, 5.0, null, null, 2);
+
+        // When
+        SimulationHistoryPage first = simulationHistoryService.getSimulationHistoryPage(query, null);
+        SimulationHistoryPage last = simulationHistoryService.getSimulationHistoryPage(query, first.nextCursor());
+
+        // Then
+        assertEquals(2, first.entries().size());
+        assertNotNull(first.nextCursor());
+        assertEquals(1, last.entries().size());
+        assertNull(last.nextCursor());
+        ArgumentCaptor<HistoryPageQuery> captor = ArgumentCaptor.forClass(HistoryPageQuery.class);
+        verify(repository, times(2)).findPage(captor.capture());
+        HistoryPageQuery resumed = captor.getAllValues().get(1);
+        assertEquals(3, resumed.limit());
+        assertEquals(second.getTimestamp(), resumed.afterTimestamp());
+        assertEquals(7L, resumed.afterId());
+        assertEquals("FCFS", resumed.algorithm());
+        assertEquals(5.0, resumed.maxAverageWT());
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationHistoryService.getSimulationHistoryPage(query, "not-a-cursor"));
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.ComputeBudget;
+import com.example.cpuscheduler.engine.ProgressTracker;
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.model.CpuTask;
+import com.example.cpuscheduler.model.GanttChart;
+import com.example.cpuscheduler.model.ScheduleResponse;
+import com.example.cpuscheduler.repository.SimulationHistoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SimulationJobServiceTest {
+
+    private static final Map<String, String> REQUEST = Map.of(
+            "arrivalTimes", "0 1 2",
+            "burstTimes", "5 3 8",
+            "sessionId", "job-session");
+
+    private final SimulationLimits limits = new SimulationLimits(1000, 10_000, 10_000, 0, 0);
+    private final SimulationProgressPublisher publisher = new SimulationProgressPublisher(250, 500, 60_000, 2);
+
+    private SimulationPipeline realPipeline() {
+        return new SimulationPipeline(new SchedulingAlgorithmService(),
+                new SimulationHistoryService(mock(SimulationHistoryRepository.class), new ObjectMapper(),
+                    SchedulingMetrics.NOOP, HistorySettings.defaults()),
+                SchedulingMetrics.NOOP, limits, new SimulationCoalescer(SchedulingMetrics.NOOP, true));
+    }
+
+    // Pipeline whose simulations block until released, to fill the worker and the queue
+    private SimulationPipeline blockingPipeline(CountDownLatch release) {
+        return new SimulationPipeline(null, null, SchedulingMetrics.NOOP, limits, null) {
+            @Override
+            public Map<String, Object> execute(SchedulingAlgorithm algorithm, List<CpuTask> tasks,
+                                               Map<String, String> data, ComputeBudget budget,
+                                               ProgressTracker progress) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Map.of();
+            }
+        };
+    }
+
+    private static SimulationJob awaitFinished(SimulationJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.getStatus().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return job;
+    }
+
+    @Test
+    void testSubmit_ProducesSameResultAsSynchronousRun() throws InterruptedException {
+        // Given
+        SimulationPipeline pipeline = realPipeline();
+        SimulationJobService service = new SimulationJobService(pipeline, limits, publisher, SchedulingMetrics.NOOP,
+                2, 4, 30, 100, 4096, 1_000_000);
+        List<CpuTask> tasks = pipeline.parse(SchedulingAlgorithm.FCFS, REQUEST);
+
+        // When
+        SimulationJob job = awaitFinished(service.submit(SchedulingAlgorithm.FCFS, tasks, REQUEST));
+
+        // Then
+        assertEquals(SimulationJob.Status.SUCCEEDED, job.getStatus());
+        assertEquals(3, job.getTaskCount());
+        assertNotNull(job.getStartedAt());
+        ScheduleResponse expected = pipeline.run(SchedulingAlgorithm.FCFS, REQUEST);
+        assertEquals(expected.averageTAT(), job.getResult().get("averageTAT"));
+        assertEquals(expected.averageWT(), job.getResult().get("averageWT"));
+        assertSame(job, service.getJob(job.getId()).orElseThrow());
+        service.shutdown();
+    }
+
+    @Test
+    void testSubmit_RecordsFinalProgress() throws InterruptedException {
+        // Given
+        SimulationPipeline pipeline = realPipeline();
+        SimulationJobService service = new SimulationJobService(pipeline, limits, publisher, SchedulingMetrics.NOOP,
+                1, 4, 30, 100, 4096, 1_000_000);
+        Map<String, String> request = Map.of("arrivalTimes", "0 1 2", "burstTimes", "5 3 8", "quantum", "2");
+
+        // When
+        SimulationJob job = awaitFinished(service.submit(SchedulingAlgorithm.RR,
+                pipeline.parse(SchedulingAlgorithm.RR, request), request));
+
+        // Then
+        Map<String, Object> event = SimulationProgressPublisher.toEvent(job.getProgress().getLatest());
+        assertEquals(true, event.get("finished"));
+        assertEquals(3, event.get("completedTasks"));
+        assertEquals(16L, event.get("simulatedTime"));
+        assertEquals(((List<?>) job.getResult().get("ganttChart")).size(), ((List<?>) event.get("ganttWindow")).size());
+        assertEquals(job.getResult().get("averageWT"), event.get("averageWT"));
+        service.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStateAt_TimelineJobAnswersScrubQueries() throws InterruptedException {
+        // Given - P2 runs 2-4 while P3 and the preempted P1 wait
+        SimulationPipeline pipeline = realPipeline();
+        SimulationJobService service = new SimulationJobService(pipeline, limits, publisher, SchedulingMetrics.NOOP,
+                1, 4, 30, 100, 4096, 1_000_000);
+        Map<String, String> request = Map.of("arrivalTimes", "0 1 2", "burstTimes", "5 3 2", "quantum", "2",
+                "timeline", "true", "checkpointInterval", "2");
+        SimulationJob plain = awaitFinished(service.submit(SchedulingAlgorithm.FCFS,
+                pipeline.parse(SchedulingAlgorithm.FCFS, REQUEST), REQUEST));
+
+        // When
+        SimulationJob job = awaitFinished(service.submit(SchedulingAlgorithm.RR,
+                pipeline.parse(SchedulingAlgorithm.RR, request), request));
+        Map<String, Object> state = service.stateAt(job.getId(), 3, 10).orElseThrow();
+
+        // Then
+        assertTrue(job.isTimelineRecorded());
+        assertEquals(2, state.get("runningProcessId"));
+        assertEquals(2L, state.get("runningRemainingTime"));
+        List<Map<String, Object>> ready = (List<Map<String, Object>>) state.get("readyQueue");
+        assertEquals(List.of(3, 1), ready.stream().map(entry -> entry.get("processId")).toList());
+        assertFalse(plain.isTimelineRecorded());
+        assertThrows(IllegalStateException.class, () -> service.stateAt(plain.getId(), 3, 10));
+        assertTrue(service.stateAt("missing", 3, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> service.submit(SchedulingAlgorithm.RR, List.of(),
+                Map.of("quantum", "2", "timeline", "true", "checkpointInterval", "0")));
+        service.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGanttRange_ReturnsOnlyOverlappingSegments() throws InterruptedException {
+        // Given - FCFS runs P1 0-5, P2 5-8, P3 8-16
+        SimulationPipeline pipeline = realPipeline();
+        SimulationJobService service = new SimulationJobService(pipeline, limits, publisher, SchedulingMetrics.NOOP,
+                1, 4, 30, 100, 4096, 1_000_000);
+        SimulationJob job = awaitFinished(service.submit(SchedulingAlgorithm.FCFS,
+                pipeline.parse(SchedulingAlgorithm.FCFS, REQUEST), REQUEST));
+
+        // When
+        Map<String, Object> window = service.ganttRange(job.getId(), 6, 9, null, 10, 0).orElseThrow();
+        Map<String, Object> ofProcess = service.ganttRange(job.getId(), 0, 100, 3, 10, 0).orElseThrow();
+
+        // Then
+        List<GanttChart> segments = (List<GanttChart>) window.get("ganttChart");
+        assertEquals(List.of(2L, 3L), segments.stream().map(GanttChart::getId).toList());
+        assertEquals(2, window.get("totalSegments"));
+        assertEquals(false, window.get("truncated"));
+        assertEquals(8L, ((List<GanttChart>) ofProcess.get("ganttChart")).get(0).getStartTime());
+        Map<String, Object> summary = service.ganttRange(job.getId(), 0, 16, null, 10, 4).orElseThrow();
+        assertTrue(((List<?>) summary.get("ganttBins")).size() <= 4);
+        assertEquals(3, summary.get("totalSegments"));
+        assertThrows(IllegalArgumentException.class, () -> service.ganttRange(job.getId(), 9, 6, null, 10, 0));
+        assertTrue(service.ganttRange("missing", 0, 1, null, 10, 0).isEmpty());
+        service.shutdown();
+    }
+
+    @Test
+    void testSubmit_FailedSimulationReportsError() throws InterruptedException {
+        // Given
+        SimulationJobService service = new SimulationJobService(realPipeline(), limits, publisher,
+                SchedulingMetrics.NOOP, 1, 4, 30, 100, 4096, 1_000_000);
+        Map<String, String> request = Map.of("arrivalTimes", "0", "burstTimes", "5", "quantum", "0");
+        CpuTask task = new CpuTask(0L, 5L);
+        task.setProcessId(1);
+
+        // When
+        SimulationJob job = awaitFinished(service.submit(SchedulingAlgorithm.RR, List.of(task), request));
+
+        // Then
+        assertEquals(SimulationJob.Status.FAILED, job.getStatus());
+        assertEquals("Quantum must be positive", job.getError());
+        assertNull(job.getResult());
+        service.shutdown();
+    }
+
+    @Test
+    void testSubmit_JobOverBudgetFails() throws InterruptedException {
+        // Given - RR with quantum 1 over 3 x 5000 time units needs 15000 segments
+        SimulationLimits tightLimits = new SimulationLimits(1000, 1_000_000, 10_000, 0, 0);
+        SimulationPipeline pipeline = new SimulationPipeline(new SchedulingAlgorithmService(),
+                new SimulationHistoryService(mock(SimulationHistoryRepository.class), new ObjectMapper(),
+                    SchedulingMetrics.NOOP, HistorySettings.defaults()),
+                SchedulingMetrics.NOOP, tightLimits, new SimulationCoalescer(SchedulingMetrics.NOOP, true));
+        SimulationJobService service = new SimulationJobService(pipeline, tightLimits, publisher,
+                SchedulingMetrics.NOOP, 1, 4, 30, 100, 4096, 1_000_000);
+        Map<String, String> request = Map.of(
+                "arrivalTimes", "0 0 0", "burstTimes", "5000 5000 5000", "quantum", "1");
+
+        // When
+        SimulationJob job = awaitFinished(service.submit(SchedulingAlgorithm.RR,
+                pipeline.parse(SchedulingAlgorithm.RR, request), request));
+
+        // Then
+        assertEquals(SimulationJob.Status.FAILED, job.getStatus());
+        assertEquals("Simulation exceeded the Gantt segment limit of 10000", job.getError());
+        service.shutdown();
+    }
+
+    @Test
+    void testSubmit_RejectsWhenQueueIsFull() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        SimulationJobService service = new SimulationJobService(blockingPipeline(release), limits, publisher,
+                SchedulingMetrics.NOOP, 1, 1, 30, 100, 4096, 1_000_000);
+
+        // When
+        SimulationJob running = service.submit(SchedulingAlgorithm.FCFS, List.of(), REQUEST);
+        SimulationJob queued = service.submit(SchedulingAlgorithm.FCFS, List.of(), REQUEST);
+
+        // Then
+        assertThrows(RejectedExecutionException.class,
+                () -> service.submit(SchedulingAlgorithm.FCFS, List.of(), REQUEST));
+        assertTrue(service.getJob(running.getId()).isPresent());
+        assertTrue(service.getJob(queued.getId()).isPresent());
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void testCancel_QueuedJobNeverRuns() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        SimulationJobService service = new SimulationJobService(blockingPipeline(release), limits, publisher,
+                SchedulingMetrics.NOOP, 1, 4, 30, 100, 4096, 1_000_000);
+        SimulationJob running = service.submit(SchedulingAlgorithm.FCFS, List.of(), REQUEST);
+        SimulationJob queued = service.submit(SchedulingAlgorithm.FCFS, List.of(), REQUEST);
+
+        // When
+        SimulationJob cancelled = service.cancel(queued.getId()).orElseThrow();
+        release.countDown();
+
+        // Then
+        assertEquals(SimulationJob.Status.CANCELLED, cancelled.getStatus());
+        assertEquals(SimulationJob.Status.SUCCEEDED, awaitFinished(running).getStatus());
+        assertNull(queued.getStartedAt());
+        assertTrue(service.cancel("unknown").isEmpty());
+        service.shutdown();
+    }
+}
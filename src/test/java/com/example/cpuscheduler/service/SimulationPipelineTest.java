@@ -0,0 +1,79 @@
+package com.example.cpuscheduler.service;
+
+import com.example.cpuscheduler.engine.ComputeBudget;
+import com.example.cpuscheduler.engine.SchedulingAlgorithm;
+import com.example.cpuscheduler.model.CpuTask;
+import com.example.cpuscheduler.model.ScheduleResponse;
+import com.example.cpuscheduler.model.SimulationHistory;
+import com.example.cpuscheduler.repository.SimulationHistoryRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SimulationPipelineTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<SimulationHistory> saved = new ArrayList<>();
+    private final SimulationLimits limits = new SimulationLimits(1000, 10_000, 10_000, 0, 0);
+
+    // Captures history writes instead of hitting the database
+    private final SimulationHistoryService historyService =
+            new SimulationHistoryService(mock(SimulationHistoryRepository.class), objectMapper,
+                    SchedulingMetrics.NOOP, HistorySettings.defaults()) {
+                @Override
+                public SimulationHistory saveSimulationHistory(SimulationHistory history) {
+                    saved.add(history);
+                    return history;
+                }
+            };
+
+    private final SimulationPipeline pipeline = new SimulationPipeline(new SchedulingAlgorithmService(),
+            historyService, SchedulingMetrics.NOOP, limits, new SimulationCoalescer(SchedulingMetrics.NOOP, true));
+
+    @Test
+    void testRun_ResponseMatchesUnserializedResultAndSharesJsonWithHistory() throws Exception {
+        // Given
+        Map<String, String> request = Map.of("arrivalTimes", "0 1 6", "burstTimes", "5 3 2", "quantum", "2",
+                "sessionId", "s1");
+        List<CpuTask> tasks = pipeline.parse(SchedulingAlgorithm.RR, request);
+        Map<String, Object> direct = pipeline.compute(SchedulingAlgorithm.RR, tasks, request,
+                ComputeBudget.unlimited());
+
+        // When
+        ScheduleResponse response = pipeline.run(SchedulingAlgorithm.RR, request);
+
+        // Then - same body as serializing the result map, and the history row holds the very same strings
+        JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsBytes(direct));
+        JsonNode actual = objectMapper.readTree(objectMapper.writeValueAsBytes(response));
+        assertEquals(expected, actual);
+        assertEquals(1, saved.size());
+        assertSame(response.scheduledTasks(), saved.get(0).getResults());
+        assertSame(response.ganttChart(), saved.get(0).getGanttChart());
+        assertEquals("s1", saved.get(0).getSessionId());
+        assertEquals(2, saved.get(0).getQuantum().intValue());
+    }
+
+    @Test
+    void testRun_DownsampledResponseCarriesBins() throws Exception {
+        // Given
+        Map<String, String> request = Map.of("arrivalTimes", "0 0", "burstTimes", "50 50", "quantum", "1",
+                "resolution", "4", "sessionId", "s1");
+
+        // When
+        ScheduleResponse response = pipeline.run(SchedulingAlgorithm.RR, request);
+
+        // Then
+        JsonNode body = objectMapper.readTree(objectMapper.writeValueAsBytes(response));
+        assertFalse(body.has("ganttChart"));
+        assertEquals(4, body.get("ganttBins").size());
+        assertEquals(100, body.get("ganttSegmentCount").asLong());
+        assertSame(response.ganttBins(), saved.get(0).getGanttChart());
+    }
+}